@@ -0,0 +1,67 @@
+package application.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.models.Subject;
+import application.utils.AnalyticsUtility;
+
+/**
+ * Analytics of a single subject
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBenchmark {
+    
+    @Param({ "5", "20", "100" })
+    public int assessmentsPerType;
+    
+    private Subject subject;
+    private List<Double> scores;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        subject = BenchmarkData.subject(assessmentsPerType);
+        scores = BenchmarkData.finalScores(subject);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+    
+    @Benchmark
+    public Map<String, Double> calculateStatistics() {
+        return AnalyticsUtility.calculateStatistics(scores);
+    }
+    
+    @Benchmark
+    public Map<String, Map<String, Integer>> gradeDistribution() {
+        return AnalyticsUtility.getGradeDistribution(subject);
+    }
+    
+    @Benchmark
+    public Map<String, List<String>> strengthsAndWeaknesses() {
+        return AnalyticsUtility.identifyStrengthsAndWeaknesses(subject);
+    }
+}
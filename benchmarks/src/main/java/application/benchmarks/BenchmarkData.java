@@ -0,0 +1,134 @@
+package application.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Semester;
+import application.models.Subject;
+
+/**
+ * Builds in-memory grade data for the benchmarks
+ * 
+ * The data is generated from a fixed seed, so every run and every release
+ * measures the same subjects. Each subject has the five assessment types of
+ * the application with weights summing to 100; assignments and quizzes have
+ * the configured number of assessments, the exams and project one each.
+ */
+public final class BenchmarkData {
+    public static final long SEED = 20240501L;
+    
+    // Type, weight; counted types come first
+    private static final String[] COUNTED_TYPES = { "assignment", "quiz" };
+    private static final double[] COUNTED_WEIGHTS = { 30.0, 10.0 };
+    private static final String[] SINGLE_TYPES = { "midterm", "final_exam", "final_project" };
+    private static final double[] SINGLE_WEIGHTS = { 20.0, 25.0, 15.0 };
+    
+    // Share of assessments that already have a final score
+    private static final double FINALIZED_RATIO = 0.7;
+    
+    private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+    private static PrintStream originalOut;
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * Create semesters with subjects and assessments
+     * 
+     * @param semesterCount The number of semesters
+     * @param subjectsPerSemester The number of subjects per semester
+     * @param assessmentsPerType The number of assignments and quizzes per subject
+     * @return The semesters
+     */
+    public static List<Semester> semesters(int semesterCount, int subjectsPerSemester, int assessmentsPerType) {
+        Random random = new Random(SEED);
+        List<Semester> semesters = new ArrayList<>();
+        int subjectId = 1;
+        int typeId = 1;
+        int assessmentId = 1;
+        
+        for (int s = 1; s <= semesterCount; s++) {
+            Semester semester = new Semester(s, 1, "Semester " + s);
+            
+            for (int i = 0; i < subjectsPerSemester; i++) {
+                Subject subject = new Subject(subjectId, s, "Subject " + subjectId);
+                subjectId++;
+                
+                for (int t = 0; t < COUNTED_TYPES.length + SINGLE_TYPES.length; t++) {
+                    boolean counted = t < COUNTED_TYPES.length;
+                    String type = counted ? COUNTED_TYPES[t] : SINGLE_TYPES[t - COUNTED_TYPES.length];
+                    double weight = counted ? COUNTED_WEIGHTS[t] : SINGLE_WEIGHTS[t - COUNTED_TYPES.length];
+                    int count = counted ? assessmentsPerType : 1;
+                    
+                    AssessmentType assessmentType = new AssessmentType(typeId++, subject.getId(), type, count, weight);
+                    List<Assessment> assessments = new ArrayList<>();
+                    for (int n = 1; n <= count; n++) {
+                        boolean isFinal = random.nextDouble() < FINALIZED_RATIO;
+                        double score = isFinal ? 55.0 + random.nextInt(4500) / 100.0 : 0.0;
+                        assessments.add(new Assessment(assessmentId++, assessmentType.getId(), n, score, isFinal));
+                    }
+                    assessmentType.setAssessments(assessments);
+                    subject.addAssessmentType(assessmentType);
+                }
+                
+                semester.getSubjects().add(subject);
+            }
+            semesters.add(semester);
+        }
+        return semesters;
+    }
+    
+    /**
+     * Create one subject
+     * 
+     * @param assessmentsPerType The number of assignments and quizzes
+     * @return The subject
+     */
+    public static Subject subject(int assessmentsPerType) {
+        return semesters(1, 1, assessmentsPerType).get(0).getSubjects().get(0);
+    }
+    
+    /**
+     * Collect all final scores of a subject
+     * 
+     * @param subject The subject
+     * @return The scores
+     */
+    public static List<Double> finalScores(Subject subject) {
+        List<Double> scores = new ArrayList<>();
+        for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+            for (Assessment assessment : assessmentType.getAssessments()) {
+                if (assessment.isFinal()) {
+                    scores.add(assessment.getScore());
+                }
+            }
+        }
+        return scores;
+    }
+    
+    /**
+     * Discard the models' console logging during a trial
+     * The log messages are still built, so their cost stays part of the measurement
+     */
+    public static synchronized void silenceOutput() {
+        if (originalOut == null) {
+            originalOut = System.out;
+            System.setOut(NULL_OUT);
+        }
+    }
+    
+    /**
+     * Restore the console after a trial
+     */
+    public static synchronized void restoreOutput() {
+        if (originalOut != null) {
+            System.setOut(originalOut);
+            originalOut = null;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package application.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import application.cli.DataGenerator;
+import application.database.QueryMetrics;
+import application.database.SemesterRepository;
+import application.database.SubjectRepository;
+import application.database.UserRepository;
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Semester;
+import application.models.Subject;
+import application.models.User;
+import application.services.SemesterService;
+import application.services.SubjectService;
+import application.utils.DatabaseHelper;
+import application.utils.Operation;
+
+/**
+ * Measures the load and write paths of the application against a generated SQLite database
+ * 
+ * The database gets users x semesters x subjects from DataGenerator with a
+ * fixed seed, so runs with the same options measure the same data. Every
+ * path is then run end to end through the services, and the harness reports
+ * p50/p99 latency and the number of SQL statements per operation:
+ * 
+ *   getSemestersByUser   SemesterService.getSemestersByUser
+ *   getSubjectById       SubjectService.getSubjectById
+ *   refreshEverything    SemesterService.refreshSemester, the background load of
+ *                        SemesterController.refreshEverything without the UI
+ *   saveGrades           SubjectService.updateAssessments, as GradeInputHandler saves
+ *   saveGrade            SubjectService.updateAssessment, a single inline edit
+ *   deleteSubject        SubjectService.deleteSubject and its cascade
+ *   deleteSemester       SemesterService.deleteSemester and its cascade
+ * 
+ * Every entity can only be deleted once, so the delete paths run without
+ * warmup, on at most half of the semesters each.
+ * 
+ * Usage: PersistenceBenchmark [--db file] [--users n] [--semesters n] [--subjects n]
+ *                             [--assessments n] [--iterations n] [--warmup n] [--sql]
+ */
+public class PersistenceBenchmark {
+    // Assessments changed by one GradeInputHandler save
+    private static final int GRADES_PER_SAVE = 5;
+    // Subjects loaded up front as targets of the saves
+    private static final int SAVE_TARGETS = 100;
+    private static final int USER_PAGE_SIZE = 500;
+    
+    private static final DataGenerator.ScoreDistribution SCORES = DataGenerator.ScoreDistribution.parse("normal:82,10");
+    private static final double FINALIZED_RATIO = 0.7;
+    
+    private final int users;
+    private final int semestersPerUser;
+    private final int subjectsPerSemester;
+    private final int assessmentsPerType;
+    private final int iterations;
+    private final int warmup;
+    private final boolean dumpStatements;
+    private final PrintStream console;
+    
+    private final SemesterService semesterService = new SemesterService();
+    private final SubjectService subjectService = new SubjectService();
+    private final Random random = new Random(BenchmarkData.SEED);
+    
+    private final List<User> userList = new ArrayList<>();
+    private final List<Integer> semesterIds = new ArrayList<>();
+    private final List<List<Integer>> subjectIdsBySemester = new ArrayList<>();
+    private final List<Integer> subjectIds = new ArrayList<>();
+    
+    /**
+     * Constructor for PersistenceBenchmark
+     * 
+     * @param users The number of users
+     * @param semestersPerUser The number of semesters per user
+     * @param subjectsPerSemester The number of subjects per semester
+     * @param assessmentsPerType The number of assignments and quizzes per subject
+     * @param iterations The measured operations per path
+     * @param warmup The unmeasured operations per path before them
+     * @param dumpStatements Whether to print the QueryMetrics of every statement at the end
+     * @param console The stream the results are printed to
+     */
+    public PersistenceBenchmark(int users, int semestersPerUser, int subjectsPerSemester, int assessmentsPerType,
+                                int iterations, int warmup, boolean dumpStatements, PrintStream console) {
+        if (users < 1 || semestersPerUser < 1 || subjectsPerSemester < 1 || assessmentsPerType < 1) {
+            throw new IllegalArgumentException("The dataset needs at least one of everything");
+        }
+        if (iterations < 1 || warmup < 0) {
+            throw new IllegalArgumentException("At least one iteration is required");
+        }
+        this.users = users;
+        this.semestersPerUser = semestersPerUser;
+        this.subjectsPerSemester = subjectsPerSemester;
+        this.assessmentsPerType = assessmentsPerType;
+        this.iterations = iterations;
+        this.warmup = warmup;
+        this.dumpStatements = dumpStatements;
+        this.console = console;
+    }
+    
+    public static void main(String[] args) {
+        String databasePath = null;
+        int users = 50;
+        int semesters = 4;
+        int subjects = 4;
+        int assessments = 10;
+        int iterations = 200;
+        int warmup = 50;
+        boolean dumpStatements = false;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db":
+                        databasePath = args[++i];
+                        break;
+                    case "--users":
+                        users = Integer.parseInt(args[++i]);
+                        break;
+                    case "--semesters":
+                        semesters = Integer.parseInt(args[++i]);
+                        break;
+                    case "--subjects":
+                        subjects = Integer.parseInt(args[++i]);
+                        break;
+                    case "--assessments":
+                        assessments = Integer.parseInt(args[++i]);
+                        break;
+                    case "--iterations":
+                        iterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--warmup":
+                        warmup = Integer.parseInt(args[++i]);
+                        break;
+                    case "--sql":
+                        dumpStatements = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: PersistenceBenchmark [--db file] [--users n] [--semesters n] [--subjects n] "
+                             + "[--assessments n] [--iterations n] [--warmup n] [--sql]");
+            System.exit(2);
+            return;
+        }
+        
+        int exitCode = 0;
+        Path databaseFile = null;
+        boolean keepDatabase = databasePath != null;
+        PrintStream console = System.out;
+        try {
+            // Always a new database, so runs with the same options measure the same data
+            databaseFile = keepDatabase ? Paths.get(databasePath) : Files.createTempFile("persistence-benchmark", ".db");
+            if (keepDatabase && Files.exists(databaseFile)) {
+                throw new IOException("Database file already exists: " + databaseFile);
+            }
+            
+            DatabaseHelper.setDatabasePath(databaseFile.toString());
+            
+            BenchmarkData.silenceOutput();
+            new PersistenceBenchmark(users, semesters, subjects, assessments, iterations, warmup,
+                                     dumpStatements, console).run();
+        } catch (SQLException | IOException | RuntimeException e) {
+            System.err.println("Error running persistence benchmark: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            DatabaseHelper.getInstance().closeConnection();
+            BenchmarkData.restoreOutput();
+            if (databaseFile != null && !keepDatabase) {
+                try {
+                    Files.deleteIfExists(databaseFile);
+                } catch (IOException e) {
+                    System.err.println("Could not delete " + databaseFile + ": " + e.getMessage());
+                }
+            }
+        }
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Generate the dataset, measure every path and print the results
+     * 
+     * @throws SQLException If there's an error during database operation
+     */
+    public void run() throws SQLException {
+        long startTime = System.nanoTime();
+        Map<String, Long> rowCounts = populate();
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        
+        console.printf("Dataset: %d users x %d semesters x %d subjects, %d assignments and quizzes each, "
+                       + "written in %.2f s: %s%n", users, semestersPerUser, subjectsPerSemester, assessmentsPerType,
+                       seconds, rowCounts);
+        console.printf("%-20s %6s %10s %10s %10s %11s%n", "operation", "ops", "p50 ms", "p99 ms", "max ms",
+                       "queries/op");
+        
+        measure("getSemestersByUser", iterations, warmup,
+                i -> semesterService.getSemestersByUser(pick(userList)));
+        measure("getSubjectById", iterations, warmup,
+                i -> subjectService.getSubjectById(pick(subjectIds)));
+        measure("refreshEverything", iterations, warmup,
+                i -> semesterService.refreshSemester(pick(semesterIds)));
+        
+        List<Subject> saveTargets = new ArrayList<>();
+        for (int i = 0; i < Math.min(SAVE_TARGETS, subjectIds.size()); i++) {
+            saveTargets.add(subjectService.getSubjectById(pick(subjectIds)));
+        }
+        measure("saveGrades", iterations, warmup,
+                i -> subjectService.updateAssessments(changedGrades(pick(saveTargets), GRADES_PER_SAVE)));
+        measure("saveGrade", iterations, warmup,
+                i -> subjectService.updateAssessment(changedGrades(pick(saveTargets), 1).get(0)));
+        
+        // Semesters in the first half are deleted whole, subjects from the second half one by one
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < semesterIds.size(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        List<Integer> deletedSemesters = new ArrayList<>();
+        List<Integer> deletedSubjects = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            if (i < order.size() / 2) {
+                deletedSemesters.add(semesterIds.get(order.get(i)));
+            } else {
+                deletedSubjects.addAll(subjectIdsBySemester.get(order.get(i)));
+            }
+        }
+        Collections.shuffle(deletedSubjects, random);
+        
+        measure("deleteSubject", Math.min(iterations, deletedSubjects.size()), 0,
+                i -> subjectService.deleteSubject(deletedSubjects.get(i)));
+        measure("deleteSemester", Math.min(iterations, deletedSemesters.size()), 0,
+                i -> semesterService.deleteSemester(deletedSemesters.get(i)));
+        
+        if (dumpStatements) {
+            console.println();
+            QueryMetrics.dump(console);
+        }
+    }
+    
+    /**
+     * Write the dataset with the data generator, then collect the IDs the operations pick from
+     * 
+     * @return The rows written per table
+     */
+    private Map<String, Long> populate() throws SQLException {
+        DataGenerator generator = new DataGenerator(BenchmarkData.SEED, users, semestersPerUser, subjectsPerSemester,
+                                                    assessmentsPerType, SCORES, FINALIZED_RATIO, console);
+        generator.generate(DatabaseHelper.getInstance().getConnection());
+        
+        SemesterRepository semesterRepository = new SemesterRepository();
+        SubjectRepository subjectRepository = new SubjectRepository();
+        new UserRepository().forEachUser(USER_PAGE_SIZE, userList::add);
+        
+        for (User user : userList) {
+            for (Semester semester : semesterRepository.findAllByUserId(user.getId())) {
+                List<Integer> semesterSubjectIds = new ArrayList<>();
+                for (Subject subject : subjectRepository.findAllBySemesterId(semester.getId())) {
+                    semesterSubjectIds.add(subject.getId());
+                }
+                semesterIds.add(semester.getId());
+                subjectIdsBySemester.add(semesterSubjectIds);
+                subjectIds.addAll(semesterSubjectIds);
+            }
+        }
+        return generator.getRowCounts();
+    }
+    
+    /**
+     * Copies of some of a subject's assessments with a new final score, as the grade dialog saves them
+     */
+    private List<Assessment> changedGrades(Subject subject, int count) {
+        List<Assessment> assessments = new ArrayList<>();
+        for (AssessmentType type : subject.getAssessmentTypes().values()) {
+            assessments.addAll(type.getAssessments());
+        }
+        Collections.shuffle(assessments, random);
+        
+        List<Assessment> changed = new ArrayList<>();
+        for (Assessment assessment : assessments.subList(0, Math.min(count, assessments.size()))) {
+            changed.add(new Assessment(assessment.getId(), assessment.getAssessmentTypeId(), assessment.getNumber(),
+                                       55.0 + random.nextInt(4500) / 100.0, true));
+        }
+        return changed;
+    }
+    
+    private <T> T pick(List<T> items) {
+        return items.get(random.nextInt(items.size()));
+    }
+    
+    /**
+     * Run an operation, then print its latency percentiles and statements per operation
+     */
+    private void measure(String name, int operations, int warmupOperations, Step step) throws SQLException {
+        if (operations == 0) {
+            console.printf("%-20s %6d %10s %10s %10s %11s%n", name, 0, "-", "-", "-", "-");
+            return;
+        }
+        
+        for (int i = 0; i < warmupOperations; i++) {
+            run(name, step, i);
+        }
+        
+        long[] times = new long[operations];
+        long queriesBefore = QueryMetrics.getExecutionCount();
+        for (int i = 0; i < operations; i++) {
+            long start = System.nanoTime();
+            run(name, step, i);
+            times[i] = System.nanoTime() - start;
+        }
+        double queriesPerOperation = (double) (QueryMetrics.getExecutionCount() - queriesBefore) / operations;
+        
+        Arrays.sort(times);
+        console.printf("%-20s %6d %10.3f %10.3f %10.3f %11.1f%n", name, operations, percentile(times, 0.50),
+                       percentile(times, 0.99), times[times.length - 1] / 1_000_000.0, queriesPerOperation);
+    }
+    
+    /**
+     * Get a percentile of sorted times by the nearest-rank method
+     * 
+     * @return The time in milliseconds
+     */
+    private static double percentile(long[] sortedTimes, double fraction) {
+        int rank = (int) Math.ceil(fraction * sortedTimes.length);
+        return sortedTimes[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+    
+    /**
+     * Run one step as an application Operation, so QueryMetrics attributes and checks its statements
+     */
+    private static void run(String name, Step step, int index) throws SQLException {
+        try (Operation operation = Operation.begin(name)) {
+            step.run(index);
+        }
+    }
+    
+    private interface Step {
+        void run(int index) throws SQLException;
+    }
+}
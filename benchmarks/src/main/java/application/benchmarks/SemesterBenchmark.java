@@ -0,0 +1,90 @@
+package application.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.models.Semester;
+import application.models.Subject;
+import application.utils.DataStructures;
+import application.utils.GradeCalculatorFactory;
+
+/**
+ * Semester GPA, overall GPA and subject sorting
+ * The overall calculator runs over a program of SEMESTERS semesters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemesterBenchmark {
+    private static final int SEMESTERS = 8;
+    
+    @Param({ "2", "6", "20" })
+    public int subjectsPerSemester;
+    
+    @Param({ "5", "20" })
+    public int assessmentsPerType;
+    
+    private List<Semester> semesters;
+    private Semester semester;
+    private GradeCalculatorFactory.OverallGradeCalculator overallCalculator;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        semesters = BenchmarkData.semesters(SEMESTERS, subjectsPerSemester, assessmentsPerType);
+        semester = semesters.get(0);
+        overallCalculator = GradeCalculatorFactory.createOverallCalculator(semesters);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+    
+    @Benchmark
+    public double semesterGPA() {
+        return Semester.calculateGPA(semester.getSubjects());
+    }
+    
+    @Benchmark
+    public double semesterGPAWithLogging() {
+        return semester.calculateGPA();
+    }
+    
+    @Benchmark
+    public double overallPercentage() {
+        return overallCalculator.calculateOverallPercentage();
+    }
+    
+    @Benchmark
+    public double overallGPA() {
+        return overallCalculator.calculateOverallGPA();
+    }
+    
+    @Benchmark
+    public double overallRequiredGPA() {
+        return overallCalculator.calculateRequiredGPA(3.5, SEMESTERS + 4);
+    }
+    
+    @Benchmark
+    public List<Subject> sortSubjectsByGPA() {
+        return DataStructures.getSortedSubjects(semester);
+    }
+}
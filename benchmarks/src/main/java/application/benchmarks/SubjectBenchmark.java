@@ -0,0 +1,66 @@
+package application.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.models.Subject;
+import application.utils.SubjectGradeCalculator;
+
+/**
+ * Grade calculations of a single subject
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubjectBenchmark {
+    
+    @Param({ "5", "20", "100" })
+    public int assessmentsPerType;
+    
+    private Subject subject;
+    private SubjectGradeCalculator calculator;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        subject = BenchmarkData.subject(assessmentsPerType);
+        calculator = new SubjectGradeCalculator(subject);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+    
+    @Benchmark
+    public double calculateOverallPercentage() {
+        return subject.calculateOverallPercentage();
+    }
+    
+    @Benchmark
+    public Map<String, Double> calculateRequiredScores() {
+        return subject.calculateRequiredScores();
+    }
+    
+    @Benchmark
+    public double calculatorRequiredScore() {
+        return calculator.calculateRequiredScore(90.0);
+    }
+}
@@ -3,7 +3,12 @@ package application;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import application.database.QueryMetrics;
+import application.metrics.MetricsRegistry;
+import application.utils.AsyncExecutor;
+import application.utils.DashboardCache;
 import application.utils.DatabaseHelper;
+import application.utils.FxThreadExecutor;
 import application.utils.Navigator;
 import application.views.LoginView;
 
@@ -15,8 +20,16 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) {
         try {
-            // Set up database
-            DatabaseHelper.getInstance();
+            // Continue background work on the FX thread
+            AsyncExecutor.setFxThreadExecutor(FxThreadExecutor.INSTANCE);
+            
+            // Publish metrics, e.g. -Dgradecalculator.metrics.exporters=log,json,http:9464
+            MetricsRegistry.getInstance().addExporters(System.getProperty("gradecalculator.metrics.exporters"),
+                                                       Long.getLong("gradecalculator.metrics.interval", 60));
+            
+            // Open the database in the background, so the window shows right away;
+            // anything that needs it first waits for it
+            AsyncExecutor.run(DatabaseHelper::getInstance);
             
             // Set up navigator
             Navigator.setPrimaryStage(primaryStage);
@@ -35,6 +48,17 @@ public class Main extends Application {
     
     @Override
     public void stop() {
+        // Write the home screen snapshot for the next start
+        DashboardCache.flush();
+        
+        // Run with -Dgradecalculator.db.metrics.dump=true to see the session's SQL statements
+        if (Boolean.getBoolean("gradecalculator.db.metrics.dump")) {
+            QueryMetrics.dump(System.out);
+        }
+        
+        // Final export of the session's metrics
+        MetricsRegistry.getInstance().close();
+        
         // Close database connection
         DatabaseHelper.getInstance().closeConnection();
     }
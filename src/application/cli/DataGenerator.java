@@ -0,0 +1,449 @@
+package application.cli;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import application.utils.DatabaseHelper;
+
+/**
+ * Fills a database with synthetic users and grades for load and scale tests
+ * 
+ * Every user gets the configured number of semesters and subjects. A subject
+ * always has assignments and a final exam or project, and sometimes quizzes
+ * and a midterm; the weights of its assessment types are multiples of 5 that
+ * sum to 100, as the subject dialog requires. Finalized grades are drawn from
+ * the score distribution, the others are 0 and not final.
+ * 
+ * All data comes from one seeded Random and rows get explicit IDs, so the same
+ * options on the same starting database always write the same rows. Rows are
+ * inserted with batched statements and committed in large transactions with
+ * synchronous writes off; an interrupted run leaves a database to throw away.
+ * 
+ * Usage: DataGenerator --db file [--seed n] [--users n] [--semesters n] [--subjects n]
+ *                      [--assessments n] [--scores normal:mean,sd|uniform:min,max]
+ *                      [--finalized ratio] [--verbose]
+ */
+public class DataGenerator {
+    public static final long DEFAULT_SEED = 20240501L;
+    public static final String PASSWORD = "password";
+    
+    // Rows written before the transaction is committed, checked after each user
+    private static final int ROWS_PER_TRANSACTION = 100_000;
+    private static final int PROGRESS_INTERVAL = 1000;
+    
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Maya", "Liam", "Priya", "Noah", "Chen", "Sofia", "Omar", "Emma", "Ravi",
+        "Olivia", "Kenji", "Ava", "Mateo", "Zara", "Ethan", "Ananya", "Lucas", "Isla", "Yusuf"
+    };
+    private static final String[] LAST_NAMES = {
+        "Patel", "Nguyen", "Smith", "Garcia", "Kim", "Shah", "Johnson", "Lopez", "Wang", "Brown",
+        "Singh", "Martin", "Ali", "Davis", "Chen", "Rossi", "Murphy", "Sato", "Kumar", "Silva"
+    };
+    private static final String[] TERMS = { "Spring", "Summer", "Fall" };
+    private static final String[] COURSES = {
+        "Programming Design Paradigm", "Algorithms", "Database Management Systems",
+        "Web Development", "Computer Systems", "Discrete Structures", "Machine Learning",
+        "Natural Language Processing", "Mobile Development", "Software Engineering",
+        "Network Fundamentals", "Computer Vision", "Distributed Systems", "Data Mining",
+        "Information Retrieval", "Cloud Computing", "Human Computer Interaction",
+        "Foundations of Security", "Parallel Processing", "Compilers"
+    };
+    
+    private final long seed;
+    private final int users;
+    private final int semestersPerUser;
+    private final int subjectsPerSemester;
+    private final int assessmentsPerType;
+    private final ScoreDistribution scores;
+    private final double finalizedRatio;
+    private final PrintStream console;
+    
+    private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+    
+    /**
+     * Constructor for DataGenerator
+     * 
+     * @param seed The seed all data is drawn from
+     * @param users The number of users
+     * @param semestersPerUser The number of semesters per user
+     * @param subjectsPerSemester The number of subjects per semester
+     * @param assessmentsPerType The number of assignments, and of quizzes, per subject
+     * @param scores The distribution of finalized scores
+     * @param finalizedRatio The share of grades that are finalized, from 0 to 1
+     * @param console The stream progress is printed to
+     */
+    public DataGenerator(long seed, int users, int semestersPerUser, int subjectsPerSemester,
+                         int assessmentsPerType, ScoreDistribution scores, double finalizedRatio,
+                         PrintStream console) {
+        if (users < 0 || semestersPerUser < 0 || subjectsPerSemester < 0 || assessmentsPerType < 1) {
+            throw new IllegalArgumentException("Counts cannot be negative and a subject needs assessments");
+        }
+        if (finalizedRatio < 0 || finalizedRatio > 1) {
+            throw new IllegalArgumentException("Finalized ratio must be between 0 and 1");
+        }
+        this.seed = seed;
+        this.users = users;
+        this.semestersPerUser = semestersPerUser;
+        this.subjectsPerSemester = subjectsPerSemester;
+        this.assessmentsPerType = assessmentsPerType;
+        this.scores = scores;
+        this.finalizedRatio = finalizedRatio;
+        this.console = console;
+    }
+    
+    public static void main(String[] args) {
+        String databasePath = null;
+        long seed = DEFAULT_SEED;
+        int users = 1000;
+        int semesters = 4;
+        int subjects = 2;
+        int assessments = 6;
+        ScoreDistribution scores = ScoreDistribution.parse("normal:82,10");
+        double finalizedRatio = 0.7;
+        boolean verbose = false;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db":
+                        databasePath = args[++i];
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--users":
+                        users = Integer.parseInt(args[++i]);
+                        break;
+                    case "--semesters":
+                        semesters = Integer.parseInt(args[++i]);
+                        break;
+                    case "--subjects":
+                        subjects = Integer.parseInt(args[++i]);
+                        break;
+                    case "--assessments":
+                        assessments = Integer.parseInt(args[++i]);
+                        break;
+                    case "--scores":
+                        scores = ScoreDistribution.parse(args[++i]);
+                        break;
+                    case "--finalized":
+                        finalizedRatio = Double.parseDouble(args[++i]);
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            // Never fill the application's own database by accident
+            if (databasePath == null) {
+                throw new IllegalArgumentException("--db is required");
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: DataGenerator --db file [--seed n] [--users n] [--semesters n] [--subjects n] "
+                             + "[--assessments n] [--scores normal:mean,sd|uniform:min,max] "
+                             + "[--finalized ratio] [--verbose]");
+            System.exit(2);
+            return;
+        }
+        
+        PrintStream console = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        
+        int exitCode = 0;
+        try {
+            if (Files.exists(Paths.get(databasePath))) {
+                console.println("Adding to existing database " + databasePath);
+            }
+            DatabaseHelper.setDatabasePath(databasePath);
+            DataGenerator generator = new DataGenerator(seed, users, semesters, subjects, assessments, scores,
+                                                        finalizedRatio, console);
+            
+            Connection connection = DatabaseHelper.getInstance().getConnection();
+            if (connection == null) {
+                throw new SQLException("Cannot open database " + databasePath);
+            }
+            
+            long startTime = System.nanoTime();
+            long rows = generator.generate(connection);
+            double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            
+            console.printf("Wrote %d rows in %.2f s (%.0f rows/s): %s%n", rows, seconds,
+                           seconds > 0 ? rows / seconds : 0.0, generator.getRowCounts());
+        } catch (SQLException | IllegalArgumentException e) {
+            System.err.println("Error generating data: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            DatabaseHelper.getInstance().closeConnection();
+        }
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Write all users with their semesters, subjects, assessment types and grades
+     * 
+     * @param connection The connection to an initialized database
+     * @return The number of rows written
+     * @throws SQLException If there's an error during database operation; the current transaction is rolled back
+     */
+    public long generate(Connection connection) throws SQLException {
+        Random random = new Random(seed);
+        rowCounts.clear();
+        
+        // Continue after existing rows, so the same start always gives the same IDs
+        long userId = nextId(connection, "users");
+        long semesterId = nextId(connection, "semesters");
+        long subjectId = nextId(connection, "subjects");
+        long typeId = nextId(connection, "assessment_types");
+        long gradeId = nextId(connection, "grades");
+        
+        String synchronous = pragma(connection, "synchronous");
+        boolean autoCommit = connection.getAutoCommit();
+        
+        try (Statement statement = connection.createStatement();
+             PreparedStatement userStatement = connection.prepareStatement(
+                 "INSERT INTO users (id, first_name, last_name, password) VALUES (?, ?, ?, ?)");
+             PreparedStatement semesterStatement = connection.prepareStatement(
+                 "INSERT INTO semesters (id, user_id, name) VALUES (?, ?, ?)");
+             PreparedStatement subjectStatement = connection.prepareStatement(
+                 "INSERT INTO subjects (id, semester_id, name) VALUES (?, ?, ?)");
+             PreparedStatement typeStatement = connection.prepareStatement(
+                 "INSERT INTO assessment_types (id, subject_id, type, count, weight) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement gradeStatement = connection.prepareStatement(
+                 "INSERT INTO grades (id, assessment_type_id, assessment_number, score, is_final) "
+                 + "VALUES (?, ?, ?, ?, ?)")) {
+            
+            statement.execute("PRAGMA synchronous = OFF");
+            connection.setAutoCommit(false);
+            
+            long uncommittedRows = 0;
+            for (int u = 0; u < users; u++, userId++) {
+                // The ID keeps first names unique, since users log in with their first name
+                userStatement.setLong(1, userId);
+                userStatement.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + userId);
+                userStatement.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                userStatement.setString(4, PASSWORD);
+                userStatement.addBatch();
+                uncommittedRows++;
+                
+                int firstTerm = random.nextInt(TERMS.length);
+                int firstYear = 2018 + random.nextInt(6);
+                for (int s = 0; s < semestersPerUser; s++, semesterId++) {
+                    int term = firstTerm + s;
+                    semesterStatement.setLong(1, semesterId);
+                    semesterStatement.setLong(2, userId);
+                    semesterStatement.setString(3, TERMS[term % TERMS.length] + " " + (firstYear + term / TERMS.length));
+                    semesterStatement.addBatch();
+                    uncommittedRows++;
+                    
+                    for (int c = 0; c < subjectsPerSemester; c++, subjectId++) {
+                        subjectStatement.setLong(1, subjectId);
+                        subjectStatement.setLong(2, semesterId);
+                        subjectStatement.setString(3, COURSES[random.nextInt(COURSES.length)]);
+                        subjectStatement.addBatch();
+                        uncommittedRows++;
+                        
+                        String[] types = chooseTypes(random);
+                        int[] weights = splitWeights(random, types.length);
+                        for (int t = 0; t < types.length; t++, typeId++) {
+                            boolean counted = types[t].equals("assignment") || types[t].equals("quiz");
+                            int count = counted ? assessmentsPerType : 0;
+                            
+                            typeStatement.setLong(1, typeId);
+                            typeStatement.setLong(2, subjectId);
+                            typeStatement.setString(3, types[t]);
+                            typeStatement.setInt(4, count);
+                            typeStatement.setDouble(5, weights[t]);
+                            typeStatement.addBatch();
+                            uncommittedRows++;
+                            
+                            // Counted types are numbered from 1, the exams and project have number 0
+                            for (int n = counted ? 1 : 0; n <= count; n++, gradeId++) {
+                                boolean isFinal = random.nextDouble() < finalizedRatio;
+                                gradeStatement.setLong(1, gradeId);
+                                gradeStatement.setLong(2, typeId);
+                                gradeStatement.setInt(3, n);
+                                gradeStatement.setDouble(4, isFinal ? scores.sample(random) : 0.0);
+                                gradeStatement.setBoolean(5, isFinal);
+                                gradeStatement.addBatch();
+                                uncommittedRows++;
+                            }
+                        }
+                    }
+                }
+                
+                if (uncommittedRows >= ROWS_PER_TRANSACTION || u == users - 1) {
+                    // Parents before children, in case foreign keys are enforced
+                    addRowCount("users", userStatement.executeBatch());
+                    addRowCount("semesters", semesterStatement.executeBatch());
+                    addRowCount("subjects", subjectStatement.executeBatch());
+                    addRowCount("assessment_types", typeStatement.executeBatch());
+                    addRowCount("grades", gradeStatement.executeBatch());
+                    connection.commit();
+                    uncommittedRows = 0;
+                }
+                if ((u + 1) % PROGRESS_INTERVAL == 0) {
+                    console.println((u + 1) + " users generated");
+                }
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA synchronous = " + synchronous);
+            }
+        }
+        
+        long total = 0;
+        for (long rows : rowCounts.values()) {
+            total += rows;
+        }
+        return total;
+    }
+    
+    /**
+     * Get the rows written by the last run per table
+     * 
+     * @return The row counts by table name
+     */
+    public Map<String, Long> getRowCounts() {
+        return rowCounts;
+    }
+    
+    /**
+     * Choose a subject's assessment types: always assignments, and a final exam, a final project or both
+     */
+    private static String[] chooseTypes(Random random) {
+        boolean quiz = random.nextDouble() < 0.6;
+        boolean midterm = random.nextDouble() < 0.7;
+        int finals = random.nextInt(3); // 0: exam, 1: project, 2: both
+        
+        List<String> types = new ArrayList<>();
+        types.add("assignment");
+        if (quiz) {
+            types.add("quiz");
+        }
+        if (midterm) {
+            types.add("midterm");
+        }
+        if (finals != 1) {
+            types.add("final_exam");
+        }
+        if (finals != 0) {
+            types.add("final_project");
+        }
+        return types.toArray(new String[0]);
+    }
+    
+    /**
+     * Split 100 into weights that are multiples of 5, at least 10 each
+     */
+    private static int[] splitWeights(Random random, int parts) {
+        int[] weights = new int[parts];
+        int units = 20 - 2 * parts;
+        for (int i = 0; i < parts; i++) {
+            weights[i] = 10;
+        }
+        for (int i = 0; i < units; i++) {
+            weights[random.nextInt(parts)] += 5;
+        }
+        return weights;
+    }
+    
+    private void addRowCount(String table, int[] results) {
+        rowCounts.merge(table, (long) results.length, Long::sum);
+    }
+    
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 1;
+        }
+    }
+    
+    private static String pragma(Connection connection, String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+    
+    /**
+     * The distribution finalized scores are drawn from, clamped to 0-100 and rounded to 2 decimals
+     */
+    public static class ScoreDistribution {
+        private final boolean normal;
+        private final double first;
+        private final double second;
+        
+        private ScoreDistribution(boolean normal, double first, double second) {
+            this.normal = normal;
+            this.first = first;
+            this.second = second;
+        }
+        
+        /**
+         * Parse a distribution
+         * 
+         * @param spec "normal:mean,sd" or "uniform:min,max"
+         * @return The distribution
+         * @throws IllegalArgumentException If the spec is not valid
+         */
+        public static ScoreDistribution parse(String spec) {
+            int separator = spec.indexOf(':');
+            String[] values = separator >= 0 ? spec.substring(separator + 1).split(",") : new String[0];
+            if (values.length != 2) {
+                throw new IllegalArgumentException("Invalid score distribution: " + spec);
+            }
+            
+            String kind = spec.substring(0, separator);
+            double first = Double.parseDouble(values[0].trim());
+            double second = Double.parseDouble(values[1].trim());
+            if (kind.equals("normal") && second >= 0) {
+                return new ScoreDistribution(true, first, second);
+            }
+            if (kind.equals("uniform") && first <= second) {
+                return new ScoreDistribution(false, first, second);
+            }
+            throw new IllegalArgumentException("Invalid score distribution: " + spec);
+        }
+        
+        /**
+         * Draw a score
+         * 
+         * @param random The source of randomness
+         * @return A score from 0 to 100
+         */
+        public double sample(Random random) {
+            double score = normal
+                    ? first + random.nextGaussian() * second
+                    : first + random.nextDouble() * (second - first);
+            score = Math.max(0.0, Math.min(100.0, score));
+            return Math.round(score * 100.0) / 100.0;
+        }
+        
+        @Override
+        public String toString() {
+            return (normal ? "normal:" : "uniform:") + first + "," + second;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package application.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import application.database.UserRepository;
+import application.models.Semester;
+import application.models.User;
+import application.services.SemesterService;
+import application.utils.DatabaseHelper;
+import application.utils.ExportSnapshot;
+import application.utils.ExportUtility;
+import application.utils.ReportExporter;
+
+/**
+ * Generates transcripts for every user in a database without the UI
+ * 
+ * Users are read page by page and each user's semesters are loaded with a
+ * few bulk queries on the calling thread, which keeps the single SQLite
+ * connection to one thread. Writing the reports runs on a bounded worker
+ * pool; when its queue is full the loading thread writes a user itself, so
+ * memory stays bounded however many users there are.
+ * 
+ * Usage: TranscriptGenerator [--db file] [--out dir] [--format csv|html|both]
+ *                            [--threads n] [--verbose]
+ */
+public class TranscriptGenerator {
+    private static final int USER_PAGE_SIZE = 500;
+    private static final int PROGRESS_INTERVAL = 1000;
+    
+    private final Path outputDirectory;
+    private final boolean writeCsv;
+    private final boolean writeHtml;
+    private final int threads;
+    private final PrintStream console;
+    
+    private final AtomicInteger usersDone = new AtomicInteger();
+    private final AtomicInteger filesWritten = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    
+    /**
+     * Constructor for TranscriptGenerator
+     * 
+     * @param outputDirectory The directory that receives one folder per user
+     * @param writeCsv Whether to write CSV reports
+     * @param writeHtml Whether to write HTML semester reports
+     * @param threads The number of worker threads
+     * @param console The stream progress and the summary are printed to
+     */
+    public TranscriptGenerator(Path outputDirectory, boolean writeCsv, boolean writeHtml, int threads,
+                               PrintStream console) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.outputDirectory = outputDirectory;
+        this.writeCsv = writeCsv;
+        this.writeHtml = writeHtml;
+        this.threads = threads;
+        this.console = console;
+    }
+    
+    public static void main(String[] args) {
+        String databasePath = null;
+        String outputPath = null;
+        String format = "both";
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean verbose = false;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db":
+                        databasePath = args[++i];
+                        break;
+                    case "--out":
+                        outputPath = args[++i];
+                        break;
+                    case "--format":
+                        format = args[++i];
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (!format.equals("csv") && !format.equals("html") && !format.equals("both")) {
+                throw new IllegalArgumentException("Unknown format: " + format);
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: TranscriptGenerator [--db file] [--out dir] [--format csv|html|both] "
+                             + "[--threads n] [--verbose]");
+            System.exit(2);
+            return;
+        }
+        
+        // The grade calculations log every step; keep stdout for the summary unless asked for
+        PrintStream console = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        
+        int exitCode = 0;
+        try {
+            if (databasePath != null) {
+                DatabaseHelper.setDatabasePath(databasePath);
+            }
+            Path outputDirectory = outputPath != null
+                    ? Paths.get(outputPath)
+                    : Paths.get(ExportUtility.getExportsDirectory(), "transcripts");
+            
+            TranscriptGenerator generator = new TranscriptGenerator(outputDirectory, !format.equals("html"),
+                                                                    !format.equals("csv"), threads, console);
+            exitCode = generator.run() ? 0 : 1;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error generating transcripts: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            DatabaseHelper.getInstance().closeConnection();
+        }
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Generate the reports of all users
+     * 
+     * @return true if every user was written without errors
+     * @throws SQLException If the users cannot be read
+     */
+    public boolean run() throws SQLException {
+        SemesterService semesterService = new SemesterService();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), workerThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        
+        long startTime = System.nanoTime();
+        try {
+            new UserRepository().forEachUser(USER_PAGE_SIZE, user -> {
+                List<Semester> semesters;
+                try {
+                    semesters = semesterService.getSemesterTree(user);
+                } catch (SQLException e) {
+                    userFailed(user, e);
+                    return;
+                }
+                workers.execute(() -> writeUser(user, semesters));
+            });
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        int users = usersDone.get();
+        console.printf("Generated %d files for %d users in %.2f s (%.1f users/s), %d failed%n",
+                       filesWritten.get(), users, seconds, seconds > 0 ? users / seconds : 0.0, failures.get());
+        console.println("Output: " + outputDirectory.toAbsolutePath());
+        
+        return failures.get() == 0;
+    }
+    
+    private void writeUser(User user, List<Semester> semesters) {
+        Path userDirectory = outputDirectory.resolve(
+                user.getId() + "_" + ExportUtility.toFileName(user.getFullName()));
+        int files = 0;
+        
+        try {
+            if (writeCsv) {
+                ReportExporter.export(ExportSnapshot.of(user, semesters), ReportExporter.Format.TRANSCRIPT_CSV,
+                                      userDirectory.resolve("transcript.csv"), ReportExporter.NO_PROGRESS);
+                files++;
+            }
+            
+            for (Semester semester : semesters) {
+                // Prefixed with the ID, since semester names are not unique
+                String baseName = semester.getId() + "_" + ExportUtility.toFileName(semester.getName());
+                ExportSnapshot snapshot = ExportSnapshot.of(semester);
+                
+                if (writeCsv) {
+                    ReportExporter.export(snapshot, ReportExporter.Format.SEMESTER_CSV,
+                                          userDirectory.resolve(baseName + ".csv"), ReportExporter.NO_PROGRESS);
+                    files++;
+                }
+                if (writeHtml) {
+                    ReportExporter.export(snapshot, ReportExporter.Format.SEMESTER_HTML,
+                                          userDirectory.resolve(baseName + ".html"), ReportExporter.NO_PROGRESS);
+                    files++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            filesWritten.addAndGet(files);
+            userFailed(user, e);
+            return;
+        }
+        
+        filesWritten.addAndGet(files);
+        int done = usersDone.incrementAndGet();
+        if (done % PROGRESS_INTERVAL == 0) {
+            console.println(done + " users written");
+        }
+    }
+    
+    private void userFailed(User user, Exception e) {
+        failures.incrementAndGet();
+        System.err.println("Error writing transcripts for user " + user.getId() + ": " + e.getMessage());
+    }
+    
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "transcript-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
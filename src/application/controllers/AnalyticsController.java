@@ -2,12 +2,16 @@ package application.controllers;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import application.database.DatabaseExecutor;
+import application.metrics.MetricsRegistry;
 import application.models.Semester;
 import application.models.Subject;
 import application.services.SemesterService;
 import application.services.SubjectService;
 import application.services.UserService;
+import application.utils.AsyncExecutor;
 import application.utils.Navigator;
 import application.views.SemesterView;
 
@@ -30,28 +34,36 @@ public class AnalyticsController {
      */
     public void navigateToSemesterView() {
         try {
-            // Refresh semester data first
-            semester = semesterService.getSemesterById(semester.getId());
-            
-            SemesterView semesterView = new SemesterView(semester);
-            Navigator.navigateTo(semesterView.getView(), "Grade Calculator - " + semester.getName());
-        } catch (SQLException e) {
+            // Usually the semester view is still cached and up to date
+            Navigator.navigateTo(SemesterView.cacheKey(semester.getId()),
+                                 () -> new SemesterView(semester),
+                                 "Grade Calculator - " + semester.getName());
+        } catch (Exception e) {
             showErrorAlert("Error", "Failed to navigate back: " + e.getMessage());
         }
     }
     
     /**
-     * Get all semesters for the current user
+     * Load all semesters of the current user with their assessment data,
+     * off the JavaFX thread
      * 
-     * @return List of all semesters
+     * @return A future for the semesters
      */
-    public List<Semester> getAllSemesters() {
-        try {
-            return semesterService.getSemestersByUser(UserService.getCurrentUser());
-        } catch (SQLException e) {
-            showErrorAlert("Error", "Failed to load semesters: " + e.getMessage());
-            return List.of();
-        }
+    public CompletableFuture<List<Semester>> getAllSemestersAsync() {
+        // Not a DatabaseExecutor task itself, so the semesters load in parallel on its read connections
+        return AsyncExecutor.supply(() -> MetricsRegistry.getInstance().timeOperation(
+            "AnalyticsController.getAllSemesters", () -> DatabaseExecutor.await(
+                semesterService.getSemestersWithAssessmentDataAsync(UserService.getCurrentUser()))));
+    }
+    
+    /**
+     * Load the current semester with its assessment data, off the JavaFX thread
+     * 
+     * @return A future for the semester (null if it no longer exists)
+     */
+    public CompletableFuture<Semester> getSemesterAsync() {
+        return DatabaseExecutor.submit(() -> MetricsRegistry.getInstance().timeOperation(
+            "AnalyticsController.getSemester", () -> semesterService.getSemesterWithAssessmentData(semester.getId())));
     }
     
     /**
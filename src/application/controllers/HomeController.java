@@ -1,14 +1,23 @@
 package application.controllers;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import application.database.DatabaseExecutor;
+import application.metrics.MetricsRegistry;
 import application.models.Semester;
 import application.models.Subject;
 import application.models.User;
 import application.services.SemesterService;
 import application.services.UserService;
+import application.utils.AsyncExecutor;
+import application.utils.GradeIndex;
 import application.utils.Navigator;
+import application.utils.SemesterRenamedEvent;
 import application.views.LoginView;
 import application.views.SemesterView;
 
@@ -28,8 +37,12 @@ public class HomeController {
      * Handle user logout
      */
     public void logout() {
+        GradeIndex.clearUser(currentUser.getId());
         UserService.logout();
         navigateToLogin();
+        
+        // Cached screens belong to the logged out user
+        Navigator.clearCache();
     }
     
     /**
@@ -51,11 +64,22 @@ public class HomeController {
     public List<Semester> getAllSemesters() throws SQLException {
         System.out.println("\n===== GETTING ALL SEMESTERS WITH FRESH DATA =====");
         
-        // Get semesters with all subjects loaded
-        List<Semester> semesters = semesterService.getSemestersByUser(currentUser);
-        
+        // Get semesters with all subjects and their assessment data loaded
+        return indexSemesters(semesterService.getSemestersWithAssessmentData(currentUser));
+    }
+    
+    /**
+     * Recalculate the loaded semesters' values and update the user's grade index
+     * 
+     * @param semesters The semesters with their subjects and assessment data
+     * @return The same semesters
+     */
+    private List<Semester> indexSemesters(List<Semester> semesters) {
         System.out.println("Found " + semesters.size() + " semesters for user ID " + currentUser.getId());
         
+        GradeIndex gradeIndex = GradeIndex.forUser(currentUser.getId());
+        Set<Integer> loadedSubjectIds = new HashSet<>();
+        
         // For each semester, force load all subjects with fresh data
         for (Semester semester : semesters) {
             System.out.println("Processing semester: " + semester.getName() + ", ID: " + semester.getId());
@@ -64,11 +88,7 @@ public class HomeController {
             List<Subject> subjects = semester.getSubjects();
             System.out.println("  Subjects: " + subjects.size());
             
-            // For each subject, force load assessment data
             for (Subject subject : subjects) {
-                // Force load assessment data
-                subject.forceLoadData();
-                
                 // Force recalculation of values for debugging
                 double percentage = subject.calculateOverallPercentage();
                 String letterGrade = subject.calculateLetterGrade();
@@ -78,16 +98,129 @@ public class HomeController {
                                  ": Percentage=" + percentage + 
                                  ", Grade=" + letterGrade + 
                                  ", GPA=" + gpa);
+                
+                // Keep the user's grade index in sync with the fresh percentage
+                gradeIndex.put(subject, percentage);
+                loadedSubjectIds.add(subject.getId());
             }
             
-            // Calculate semester GPA
-            double semesterGPA = semester.calculateGPA();
+            // Calculate semester GPA from the loaded subjects
+            double semesterGPA = Semester.calculateGPA(subjects);
             System.out.println("  Semester GPA: " + semesterGPA);
         }
         
+        // Drop subjects that no longer exist
+        gradeIndex.retainAll(loadedSubjectIds);
+        
         System.out.println("===== FINISHED GETTING SEMESTERS =====\n");
         return semesters;
     }
+    
+    /**
+     * Get all semesters with fresh data, off the JavaFX thread
+     * 
+     * @return A future for the list of semesters with loaded subjects
+     */
+    public CompletableFuture<List<Semester>> getAllSemestersAsync() {
+        // Not a DatabaseExecutor task itself, so the semesters load in parallel on its read connections
+        return AsyncExecutor.supply(() -> MetricsRegistry.getInstance().timeOperation(
+            "HomeController.getAllSemesters", () -> indexSemesters(
+                DatabaseExecutor.await(semesterService.getSemestersWithAssessmentDataAsync(currentUser)))));
+    }
+    
+    /**
+     * Get a single semester with fresh subject data, for updating one semester card
+     * 
+     * @param semesterId The semester ID
+     * @return The semester with loaded subjects, or null if it doesn't exist
+     * @throws SQLException If there's an error during database operation
+     */
+    public Semester getSemester(int semesterId) throws SQLException {
+        Semester semester = semesterService.getSemesterWithAssessmentData(semesterId);
+        
+        if (semester != null) {
+            GradeIndex gradeIndex = GradeIndex.forUser(currentUser.getId());
+            
+            for (Subject subject : semester.getSubjects()) {
+                gradeIndex.put(subject, subject.calculateOverallPercentage());
+            }
+        }
+        
+        return semester;
+    }
+    
+    /**
+     * Get a single semester with fresh subject data, off the JavaFX thread
+     * 
+     * @param semesterId The semester ID
+     * @return A future for the semester (null if it doesn't exist)
+     */
+    public CompletableFuture<Semester> getSemesterAsync(int semesterId) {
+        return DatabaseExecutor.submit(() -> MetricsRegistry.getInstance().timeOperation(
+            "HomeController.getSemester", () -> getSemester(semesterId)));
+    }
+    
+    /**
+     * Create a new semester off the JavaFX thread
+     * 
+     * @param name The semester name
+     * @return A future for the created semester
+     */
+    public CompletableFuture<Semester> createSemesterAsync(String name) {
+        return DatabaseExecutor.submitWrite(() -> MetricsRegistry.getInstance().timeOperation(
+            "HomeController.createSemester", () -> createSemester(name)));
+    }
+    
+    /**
+     * Delete a semester off the JavaFX thread
+     * 
+     * @param semesterId The ID of the semester to delete
+     * @return A future completed after the deletion
+     */
+    public CompletableFuture<Void> deleteSemesterAsync(int semesterId) {
+        return DatabaseExecutor.submitUpdate(() -> MetricsRegistry.getInstance().timeOperation(
+            "HomeController.deleteSemester", () -> {
+                deleteSemester(semesterId);
+                return null;
+            }));
+    }
+    
+    /**
+     * Calculate the required GPA for a goal off the JavaFX thread
+     * 
+     * @param goalGPA The goal GPA
+     * @return A future for the required GPA
+     */
+    public CompletableFuture<Double> calculateRequiredGPAAsync(double goalGPA) {
+        return DatabaseExecutor.submit(() -> MetricsRegistry.getInstance().timeOperation(
+            "HomeController.calculateRequiredGPA", () -> calculateRequiredGPA(goalGPA)));
+    }
+    
+    /**
+     * Rename a semester
+     * 
+     * @param semesterId The semester ID
+     * @param name The new name
+     * @throws Exception If there's an error during the update
+     */
+    public void renameSemester(int semesterId, String name) throws Exception {
+        try {
+            Semester semester = semesterService.getSemesterById(semesterId);
+            if (semester == null) {
+                throw new IllegalArgumentException("Semester not found");
+            }
+            
+            String oldName = semester.getName();
+            semester.setName(name);
+            semesterService.updateSemester(semester);
+            
+            application.utils.EventBus.getInstance().post(new SemesterRenamedEvent(semesterId, oldName, name));
+        } catch (SQLException e) {
+            throw new Exception("Database error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new Exception(e.getMessage());
+        }
+    }
     /**
      * Create a new semester
      * 
@@ -112,7 +245,7 @@ public class HomeController {
             
             // Broadcast a data change event explicitly
             System.out.println("Broadcasting data changed event after creating semester");
-            application.utils.EventBus.getInstance().post(new application.utils.DataChangedEvent());
+            application.utils.EventBus.getInstance().postCoalesced(new application.utils.DataChangedEvent());
             
             return semester;
         } catch (SQLException e) {
@@ -155,10 +288,17 @@ public class HomeController {
             
             // Delete the semester from the database
             semesterService.deleteSemester(semesterId);
+            GradeIndex.forUser(currentUser.getId()).removeSemester(semesterId);
+            
+            // Drop cached screens of the deleted semester (the navigator lives on the FX thread)
+            AsyncExecutor.fxThread().execute(() -> {
+                Navigator.invalidate(SemesterView.cacheKey(semesterId));
+                Navigator.invalidate(application.views.AnalyticsView.cacheKey(semesterId));
+            });
             
             // Trigger a data change event to refresh other views
             System.out.println("Broadcasting data changed event after deleting semester");
-            application.utils.EventBus.getInstance().post(new application.utils.DataChangedEvent());
+            application.utils.EventBus.getInstance().postCoalesced(new application.utils.DataChangedEvent());
             
             System.out.println("Semester deleted successfully");
         } catch (SQLException e) {
@@ -216,6 +356,37 @@ public class HomeController {
     public double calculateRequiredGPA(double goalGPA) throws SQLException {
         return semesterService.calculateRequiredGPA(currentUser, goalGPA);
     }
+    
+    /**
+     * Calculate the required GPA from semester GPAs already in memory, without database access
+     * 
+     * @param semesterGPAs The GPA of each semester
+     * @param goalGPA The goal GPA
+     * @return The required GPA
+     */
+    public double calculateRequiredGPA(Collection<Double> semesterGPAs, double goalGPA) {
+        return SemesterService.calculateRequiredGPA(semesterGPAs, goalGPA);
+    }
+    
+    /**
+     * Move a subject whose grades changed in memory to its new place in the grade index
+     * 
+     * @param subject The subject
+     */
+    public void updateGradeIndex(Subject subject) {
+        GradeIndex.forUser(currentUser.getId()).update(subject);
+    }
+    
+    /**
+     * Get the subjects across all semesters whose GPA is below a goal GPA
+     * Reads the grade index maintained while loading semesters, without recalculating
+     * 
+     * @param goalGPA The goal GPA
+     * @return The subjects, weakest first
+     */
+    public List<Subject> getSubjectsBelowGPA(double goalGPA) {
+        return GradeIndex.forUser(currentUser.getId()).findBelowGPA(goalGPA);
+    }
 
 
     
@@ -227,8 +398,9 @@ public class HomeController {
      */
     public void navigateToSemesterDetails(Semester semester) {
         try {
-            SemesterView semesterView = new SemesterView(semester);
-            Navigator.navigateTo(semesterView.getView(), "Grade Calculator - " + semester.getName());
+            Navigator.navigateTo(SemesterView.cacheKey(semester.getId()),
+                                 () -> new SemesterView(semester),
+                                 "Grade Calculator - " + semester.getName());
         } catch (Exception e) {
             // Show error dialog
             javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.ERROR);
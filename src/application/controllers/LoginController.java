@@ -42,8 +42,9 @@ public class LoginController {
      * @param user The logged in user
      */
     private void navigateToHome(User user) {
-        HomeView homeView = new HomeView();
-        Navigator.navigateTo(homeView.getView(), "Grade Calculator - Welcome, " + user.getFirstName());
+        // Never reuse screens cached for a previous user
+        Navigator.clearCache();
+        Navigator.navigateTo(HomeView.CACHE_KEY, HomeView::new, "Grade Calculator - Welcome, " + user.getFirstName());
     }
     
     /**
@@ -1,29 +1,58 @@
 package application.controllers;
 
 import java.sql.SQLException;
-import javafx.application.Platform;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import application.database.DatabaseExecutor;
+import application.metrics.MetricsRegistry;
+import application.models.Prerequisite;
 import application.models.Semester;
 import application.models.Subject;
+import application.services.PrerequisiteService;
 import application.services.SemesterService;
 import application.services.SubjectService;
+import application.services.UserService;
+import application.utils.AssessmentTypeReweightedEvent;
+import application.utils.AsyncExecutor;
+import application.utils.GradeBatchChangedEvent;
+import application.utils.GradeChangedEvent;
+import application.utils.GradeIndex;
+import application.utils.GraphUtility.PrerequisiteGraph;
 import application.utils.Navigator;
+import application.utils.Operation;
+import application.utils.RefreshScheduler;
+import application.utils.SemesterRefreshedEvent;
+import application.utils.SubjectAddedEvent;
+import application.utils.SubjectRemovedEvent;
 import application.views.HomeView;
 
 /**
  * Controller class for the semester details screen
  */
 public class SemesterController {
-    private Semester semester;
+    // Replaced only on the JavaFX thread (see showSemester); read by background tasks for its ID
+    private volatile Semester semester;
     private SemesterService semesterService;
     private SubjectService subjectService;
+    private PrerequisiteService prerequisiteService;
+    private RefreshScheduler<Semester> refreshScheduler;
     
     public SemesterController(Semester semester) {
         this.semester = semester;
         this.semesterService = new SemesterService();
         this.subjectService = new SubjectService();
+        this.prerequisiteService = new PrerequisiteService();
+        
+        int semesterId = semester.getId();
+        this.refreshScheduler = new RefreshScheduler<>(
+            "SemesterController[" + semesterId + "]",
+            () -> DatabaseExecutor.call(() -> loadSemesterSnapshot(semesterId)),
+            this::publishRefresh,
+            this::showRefreshError
+        );
     }
     
     /**
@@ -65,9 +94,9 @@ public class SemesterController {
                 // Refresh semester data to include the new subject
                 refreshSemester();
                 
-                // Broadcast a data change event
-                System.out.println("Broadcasting data changed event");
-                application.utils.EventBus.getInstance().post(new application.utils.DataChangedEvent());
+                // Broadcast the added subject
+                System.out.println("Broadcasting subject added event");
+                application.utils.EventBus.getInstance().post(new SubjectAddedEvent(semester.getId(), subject.getId()));
             } else {
                 System.out.println("Failed to create subject - null returned from service");
             }
@@ -101,12 +130,13 @@ public class SemesterController {
             
             // Delete the subject from the database
             subjectService.deleteSubject(subjectId);
+            GradeIndex.forUser(semester.getUserId()).remove(subjectId);
             
             // Refresh semester data
             refreshSemester();
             
-            // Notify the application that data has changed
-            application.utils.EventBus.getInstance().post(new application.utils.DataChangedEvent());
+            // Notify the application that the subject is gone
+            application.utils.EventBus.getInstance().post(new SubjectRemovedEvent(semester.getId(), subjectId));
             
             System.out.println("Subject deleted successfully");
         } catch (SQLException e) {
@@ -152,23 +182,9 @@ public class SemesterController {
         try {
             System.out.println("\n===== NAVIGATING BACK TO HOME SCREEN WITH FORCED UPDATE =====");
             
-            // Create a new HomeView
-            HomeView homeView = new HomeView();
-            
-            // Navigate to the home screen
-            Navigator.navigateTo(homeView.getView(), "Grade Calculator - Home");
-            
-            // Just force the UI update directly - it will handle the database refresh internally
-            Platform.runLater(() -> {
-                try {
-                    System.out.println("Forcing UI update after navigation...");
-                    homeView.forceDisplayGPAs();
-                    System.out.println("Successfully forced UI update after navigation");
-                } catch (Exception ex) {
-                    System.err.println("Error forcing UI update: " + ex.getMessage());
-                    ex.printStackTrace();
-                }
-            });
+            // Reuse the cached home screen, which kept itself up to date through
+            // change events; it is only created (and loads in the background) on a cache miss
+            Navigator.navigateTo(HomeView.CACHE_KEY, HomeView::new, "Grade Calculator - Home");
             
             System.out.println("===== NAVIGATION COMPLETE =====\n");
         } catch (Exception e) {
@@ -195,23 +211,45 @@ public class SemesterController {
     
     /**
      * Refresh the semester data
+     * May be called from a background task; the reloaded semester replaces the
+     * current one on the JavaFX thread
      * 
+     * @return The reloaded semester
      * @throws SQLException If there's an error during database operation
      */
-    public void refreshSemester() throws SQLException {
-        semester = semesterService.getSemesterById(semester.getId());
+    public Semester refreshSemester() throws SQLException {
+        Semester refreshedSemester = semesterService.getSemesterById(semester.getId());
+        AsyncExecutor.fxThread().execute(() -> showSemester(refreshedSemester));
+        return refreshedSemester;
+    }
+    
+    /**
+     * Replace the current semester; runs on the JavaFX thread only
+     * 
+     * @param refreshedSemester The reloaded semester
+     */
+    private void showSemester(Semester refreshedSemester) {
+        semester = refreshedSemester;
     }
     
     /**
      * Update an assessment type
      * 
      * @param assessmentType The assessment type to update
+     * @param previousWeight The weight before the change
      * @return The updated assessment type
      * @throws Exception If there's an error during update
      */
-    public application.models.AssessmentType updateAssessmentType(application.models.AssessmentType assessmentType) throws Exception {
+    public application.models.AssessmentType updateAssessmentType(application.models.AssessmentType assessmentType,
+                                                                   double previousWeight) throws Exception {
         try {
-            return subjectService.updateAssessmentType(assessmentType);
+            application.models.AssessmentType updatedType = subjectService.updateAssessmentType(assessmentType);
+            
+            application.utils.EventBus.getInstance().post(new AssessmentTypeReweightedEvent(
+                semester.getId(), assessmentType.getSubjectId(), assessmentType.getId(),
+                assessmentType.getType(), previousWeight, assessmentType.getWeight()));
+            
+            return updatedType;
         } catch (SQLException e) {
             throw new Exception("Database error: " + e.getMessage());
         }
@@ -221,10 +259,14 @@ public class SemesterController {
      * Update an assessment
      * 
      * @param assessment The assessment to update
+     * @param subjectId The ID of the subject owning the assessment
+     * @param previousScore The score before the change
+     * @param previousFinal The finalization status before the change
      * @return The updated assessment
      * @throws Exception If there's an error during update
      */
-    public application.models.Assessment updateAssessment(application.models.Assessment assessment) throws Exception {
+    public application.models.Assessment updateAssessment(application.models.Assessment assessment, int subjectId,
+                                                          double previousScore, boolean previousFinal) throws Exception {
         try {
             // Log the update for debugging
             System.out.println("Updating assessment ID " + assessment.getId() + 
@@ -234,8 +276,10 @@ public class SemesterController {
             // Call the service method to update the assessment in the database
             application.models.Assessment updatedAssessment = subjectService.updateAssessment(assessment);
             
-            // Refresh the semester data to reflect the changes
-            refreshSemester();
+            // Listeners reload only the affected subject
+            application.utils.EventBus.getInstance().post(new GradeChangedEvent(
+                semester.getId(), subjectId, assessment.getAssessmentTypeId(), assessment.getId(),
+                previousScore, assessment.getScore(), previousFinal, assessment.isFinal()));
             
             return updatedAssessment;
         } catch (SQLException e) {
@@ -245,17 +289,46 @@ public class SemesterController {
         }
     }
     
+    /**
+     * Update several assessments of a subject in one transaction
+     * Listeners are notified once for the whole batch
+     * 
+     * @param subjectId The ID of the subject owning the assessments
+     * @param assessments The assessments with their new values
+     * @param previousValues The assessments before the change, by assessment ID
+     * @throws Exception If there's an error during update; nothing is written then
+     */
+    public void updateAssessments(int subjectId, List<application.models.Assessment> assessments,
+                                  Map<Integer, application.models.Assessment> previousValues) throws Exception {
+        try {
+            System.out.println("Updating " + assessments.size() + " assessments of subject ID " + subjectId);
+            subjectService.updateAssessments(assessments);
+            
+            List<GradeChangedEvent> changes = new ArrayList<>();
+            for (application.models.Assessment assessment : assessments) {
+                application.models.Assessment previous = previousValues.get(assessment.getId());
+                changes.add(new GradeChangedEvent(
+                    semester.getId(), subjectId, assessment.getAssessmentTypeId(), assessment.getId(),
+                    previous.getScore(), assessment.getScore(), previous.isFinal(), assessment.isFinal()));
+            }
+            application.utils.EventBus.getInstance().post(
+                new GradeBatchChangedEvent(semester.getId(), subjectId, changes));
+        } catch (SQLException e) {
+            throw new Exception("Database error while updating assessments: " + e.getMessage());
+        }
+    }
+    
     /**
      * Navigate to the analytics screen
      */
     public void navigateToAnalytics() {
         try {
-            // Refresh semester data first
-            refreshSemester();
-            
-            application.views.AnalyticsView analyticsView = new application.views.AnalyticsView(semester);
-            Navigator.navigateTo(analyticsView.getView(), "Grade Calculator - Analytics for " + semester.getName());
-        } catch (SQLException e) {
+            // The analytics view loads fresh data in the background, or reloads
+            // it when a cached view is shown after a change
+            Navigator.navigateTo(application.views.AnalyticsView.cacheKey(semester.getId()),
+                                 () -> new application.views.AnalyticsView(semester),
+                                 "Grade Calculator - Analytics for " + semester.getName());
+        } catch (Exception e) {
             // Show error dialog
             javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.ERROR);
             alert.setTitle("Error");
@@ -310,77 +383,160 @@ public class SemesterController {
         }
     }
     
+    /**
+     * Get a subject with its assessment data, off the JavaFX thread
+     * 
+     * @param subjectId The subject ID
+     * @return A future for the subject (null if it doesn't exist)
+     */
+    public CompletableFuture<Subject> getSubjectAsync(int subjectId) {
+        return DatabaseExecutor.submit(() -> MetricsRegistry.getInstance().timeOperation(
+            "SemesterController.getSubject", () -> subjectService.getSubjectById(subjectId)));
+    }
+    
+    /**
+     * Create a new subject off the JavaFX thread
+     * 
+     * @param name The subject name
+     * @param assessmentConfig Map of assessment type names to their configurations
+     * @return A future for the created subject
+     */
+    public CompletableFuture<Subject> createSubjectAsync(String name, Map<String, Object[]> assessmentConfig) {
+        return DatabaseExecutor.submitWrite(() -> MetricsRegistry.getInstance().timeOperation(
+            "SemesterController.createSubject", () -> createSubject(name, assessmentConfig)));
+    }
+    
+    /**
+     * Delete a subject off the JavaFX thread
+     * 
+     * @param subjectId The ID of the subject to delete
+     * @return A future completed after the deletion
+     */
+    public CompletableFuture<Void> deleteSubjectAsync(int subjectId) {
+        return DatabaseExecutor.submitUpdate(() -> MetricsRegistry.getInstance().timeOperation(
+            "SemesterController.deleteSubject", () -> {
+                deleteSubject(subjectId);
+                return null;
+            }));
+    }
+    
+    /**
+     * Load the prerequisite graph across all of the current user's semesters, off the JavaFX thread
+     * A cached graph built before the subject was created is rebuilt
+     * 
+     * @param subjectId The subject the graph is shown for
+     * @return A future for the graph
+     */
+    public CompletableFuture<PrerequisiteGraph> getPrerequisiteGraphAsync(int subjectId) {
+        return DatabaseExecutor.submit(() -> {
+            PrerequisiteGraph graph = prerequisiteService.getPrerequisiteGraph(UserService.getCurrentUser());
+            if (!graph.containsSubject(subjectId)) {
+                PrerequisiteService.invalidateCache(UserService.getCurrentUser().getId());
+                graph = prerequisiteService.getPrerequisiteGraph(UserService.getCurrentUser());
+            }
+            return graph;
+        });
+    }
+    
+    /**
+     * Make one subject a prerequisite of another, off the JavaFX thread
+     * 
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The subject that must be taken first
+     * @return A future for the created prerequisite; fails with an IllegalArgumentException
+     *         if the relation exists already or would create a cycle
+     */
+    public CompletableFuture<Prerequisite> addPrerequisiteAsync(int subjectId, int prerequisiteId) {
+        return DatabaseExecutor.submitWrite(
+            () -> prerequisiteService.addPrerequisite(UserService.getCurrentUser(), subjectId, prerequisiteId));
+    }
+    
+    /**
+     * Remove a prerequisite relation, off the JavaFX thread
+     * 
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The prerequisite subject ID
+     * @return A future completed after the removal
+     */
+    public CompletableFuture<Void> removePrerequisiteAsync(int subjectId, int prerequisiteId) {
+        return DatabaseExecutor.submitUpdate(
+            () -> prerequisiteService.removePrerequisite(UserService.getCurrentUser(), subjectId, prerequisiteId));
+    }
+    
+    /**
+     * Update the weights of assessment types off the JavaFX thread
+     * 
+     * @param assessmentTypes The assessment types to update, with their new weights
+     * @param previousWeights The weights before the change, by assessment type ID
+     * @return A future completed after all updates
+     */
+    public CompletableFuture<Void> updateAssessmentTypesAsync(List<application.models.AssessmentType> assessmentTypes,
+                                                              Map<Integer, Double> previousWeights) {
+        return DatabaseExecutor.submitUpdate(() -> {
+            for (application.models.AssessmentType assessmentType : assessmentTypes) {
+                updateAssessmentType(assessmentType, previousWeights.get(assessmentType.getId()));
+            }
+        });
+    }
+    
     /**
      * Refresh all data in the application
      * This ensures all GPAs and metrics are recalculated and UI is updated
+     * 
+     * The reload runs on a background thread; requests made in quick succession
+     * (e.g. several grade saves) are merged, and a superseded reload is cancelled.
+     * The result is published on the JavaFX thread as a SemesterRefreshedEvent.
      */
     public void refreshEverything() {
-        try {
-            System.out.println("\n===== PERFORMING COMPLETE APPLICATION REFRESH =====");
-            
-            // First refresh the current semester with fresh data from database
-            refreshSemester();
-            semester = semesterService.getSemesterById(semester.getId());
-            
-            System.out.println("Refreshed semester: " + semester.getName() + ", ID: " + semester.getId());
-            System.out.println("Subjects count: " + semester.getSubjects().size());
-            
-            // Force recalculation of GPA for all subjects
-            for (Subject subject : semester.getSubjects()) {
-                // Ensure we have the latest data for this subject
-                Subject refreshedSubject = subjectService.getSubjectById(subject.getId());
-                
-                if (refreshedSubject != null) {
-                    // Replace the subject in the semester with the refreshed one
-                    for (int i = 0; i < semester.getSubjects().size(); i++) {
-                        if (semester.getSubjects().get(i).getId() == subject.getId()) {
-                            semester.getSubjects().set(i, refreshedSubject);
-                            break;
-                        }
-                    }
-                    
-                    // Recalculate values on the refreshed subject
-                    double percentage = refreshedSubject.calculateOverallPercentage();
-                    String letterGrade = refreshedSubject.calculateLetterGrade();
-                    double gpa = refreshedSubject.calculateGPA();
-                    
-                    System.out.println("Recalculated for subject " + refreshedSubject.getName() + 
-                                      ": Percentage=" + percentage + 
-                                      ", Grade=" + letterGrade + 
-                                      ", GPA=" + gpa);
-                } else {
-                    System.out.println("Warning: Failed to refresh subject ID " + subject.getId());
-                }
-            }
-            
-            // Force recalculation of semester GPA
-            double semesterGpa = semester.calculateGPA();
-            System.out.println("Recalculated GPA for semester " + semester.getName() + ": " + semesterGpa);
-            
-            // Create a fresh DataChangedEvent
-            System.out.println("Broadcasting data changed event to all views");
-            application.utils.DataChangedEvent event = new application.utils.DataChangedEvent();
-            
-            // Notify the app that data has changed - use Platform.runLater to ensure UI thread safety
-            javafx.application.Platform.runLater(() -> {
-                application.utils.EventBus.getInstance().post(event);
-                
-                // REMOVED: initialize() call - this method doesn't exist in SemesterController
-                // The view will be updated via the DataChangedEvent
-            });
-            
-            System.out.println("===== COMPLETE APPLICATION REFRESH FINISHED =====\n");
-        } catch (Exception e) {
-            System.err.println("Error refreshing application data: " + e.getMessage());
-            e.printStackTrace();
-            
-            // Show error dialog
-            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setHeaderText(null);
-            alert.setContentText("Failed to refresh application data: " + e.getMessage());
-            alert.showAndWait();
+        System.out.println("Requesting complete refresh of semester ID " + semester.getId());
+        refreshScheduler.request();
+    }
+    
+    /**
+     * Load the semester with all subjects and assessment data
+     * Runs on the refresh scheduler's background thread
+     * 
+     * @param semesterId The semester ID
+     * @return The loaded semester
+     * @throws SQLException If there's an error during database operation
+     */
+    private Semester loadSemesterSnapshot(int semesterId) throws SQLException {
+        System.out.println("\n===== PERFORMING COMPLETE SEMESTER REFRESH =====");
+        
+        Semester refreshedSemester;
+        try (Operation operation = Operation.begin("SemesterController.refreshEverything")) {
+            refreshedSemester = semesterService.refreshSemester(semesterId);
+            MetricsRegistry.getInstance().timeOperation(operation);
         }
+        
+        System.out.println("Refreshed semester: " + refreshedSemester.getName() + 
+                          ", subjects: " + refreshedSemester.getSubjects().size());
+        System.out.println("===== COMPLETE SEMESTER REFRESH FINISHED =====\n");
+        
+        return refreshedSemester;
+    }
+    
+    /**
+     * Publish a completed refresh on the JavaFX thread
+     * 
+     * @param refreshedSemester The loaded semester
+     */
+    private void publishRefresh(Semester refreshedSemester) {
+        showSemester(refreshedSemester);
+        application.utils.EventBus.getInstance().post(new SemesterRefreshedEvent(refreshedSemester));
+    }
+    
+    /**
+     * Show a failed refresh to the user
+     * 
+     * @param e The failure
+     */
+    private void showRefreshError(Exception e) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText("Failed to refresh application data: " + e.getMessage());
+        alert.showAndWait();
     }
     
     
@@ -389,21 +545,21 @@ public class SemesterController {
      */
     public void debugAllSubjects() {
         try {
-            // Refresh semester data
-            refreshSemester();
+            // Refresh semester data; the field itself is replaced later on the JavaFX thread
+            Semester refreshedSemester = refreshSemester();
             
             System.out.println("============= DEBUGGING ALL SUBJECTS =============");
-            System.out.println("Semester ID: " + semester.getId());
-            System.out.println("Semester Name: " + semester.getName());
+            System.out.println("Semester ID: " + refreshedSemester.getId());
+            System.out.println("Semester Name: " + refreshedSemester.getName());
             
-            List<Subject> subjects = semester.getSubjects();
+            List<Subject> subjects = refreshedSemester.getSubjects();
             System.out.println("Number of subjects: " + subjects.size());
             
             for (Subject subject : subjects) {
                 subject.debug();
             }
             
-            System.out.println("Semester GPA: " + semester.calculateGPA());
+            System.out.println("Semester GPA: " + refreshedSemester.calculateGPA());
             System.out.println("==================================================");
         } catch (Exception e) {
             e.printStackTrace();
@@ -7,6 +7,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import application.models.Assessment;
 import application.utils.DatabaseHelper;
@@ -82,6 +83,51 @@ public class AssessmentRepository {
         return assessments;
     }
     
+    /**
+     * Find all assessments of a user's subjects across all semesters in one query
+     * 
+     * @param userId The user ID
+     * @return A list of assessments ordered by assessment type and number
+     * @throws SQLException If there's an error during the database operation
+     */
+    public List<Assessment> findAllByUserId(int userId) throws SQLException {
+        String sql = "SELECT g.* FROM grades g " +
+                     "JOIN assessment_types t ON t.id = g.assessment_type_id " +
+                     "JOIN subjects s ON s.id = t.subject_id " +
+                     "JOIN semesters sem ON sem.id = s.semester_id " +
+                     "WHERE sem.user_id = ? ORDER BY g.assessment_type_id ASC, g.assessment_number ASC";
+        List<Assessment> assessments = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Assessment assessment = new Assessment(
+                        rs.getInt("id"),
+                        rs.getInt("assessment_type_id"),
+                        rs.getInt("assessment_number"),
+                        rs.getDouble("score"),
+                        rs.getBoolean("is_final")
+                    );
+                    assessments.add(assessment);
+                }
+            }
+        }
+        
+        return assessments;
+    }
+    
+    /**
+     * Find all assessments for a specific assessment type, asynchronously
+     * 
+     * @param assessmentTypeId The assessment type ID
+     * @return A future for a list of assessments
+     */
+    public CompletableFuture<List<Assessment>> findAllByAssessmentTypeIdAsync(int assessmentTypeId) {
+        return DatabaseExecutor.submit(() -> findAllByAssessmentTypeId(assessmentTypeId));
+    }
+    
     /**
      * Find an assessment by ID
      * 
@@ -111,6 +157,16 @@ public class AssessmentRepository {
         return null;
     }
     
+    /**
+     * Find an assessment by ID, asynchronously
+     * 
+     * @param id The assessment ID
+     * @return A future for the assessment if found, null otherwise
+     */
+    public CompletableFuture<Assessment> findByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> findById(id));
+    }
+    
     /**
      * Update an assessment
      * 
@@ -142,6 +198,61 @@ public class AssessmentRepository {
         return assessment;
     }
     
+    /**
+     * Update an assessment, asynchronously
+     * 
+     * @param assessment The assessment to update
+     * @return A future for the updated assessment
+     */
+    public CompletableFuture<Assessment> updateAssessmentAsync(Assessment assessment) {
+        return DatabaseExecutor.submitWrite(() -> updateAssessment(assessment));
+    }
+    
+    /**
+     * Update the scores and finalization status of several assessments in one transaction
+     * Either all updates are written or, if one fails, none of them
+     * 
+     * @param assessments The assessments to update
+     * @throws SQLException If there's an error during the database operation
+     */
+    public void updateBatch(List<Assessment> assessments) throws SQLException {
+        // Holds the write connection until the transaction ends, so no other task's statements join it
+        DatabaseExecutor.runTransaction(() -> {
+            String sql = "UPDATE grades SET score = ?, is_final = ? WHERE id = ?";
+            boolean autoCommit = connection.getAutoCommit();
+            
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                connection.setAutoCommit(false);
+                
+                for (Assessment assessment : assessments) {
+                    pstmt.setDouble(1, assessment.getScore());
+                    pstmt.setBoolean(2, assessment.isFinal());
+                    pstmt.setInt(3, assessment.getId());
+                    pstmt.addBatch();
+                }
+                
+                pstmt.executeBatch();
+                connection.commit();
+                System.out.println("Updated " + assessments.size() + " assessments in one batch");
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+    
+    /**
+     * Update several assessments in one transaction, asynchronously
+     * 
+     * @param assessments The assessments to update
+     * @return A future completed after the operation; fails with the SQLException
+     */
+    public CompletableFuture<Void> updateBatchAsync(List<Assessment> assessments) {
+        return DatabaseExecutor.submitUpdate(() -> updateBatch(assessments));
+    }
+    
     /**
      * Delete an assessment
      * 
@@ -179,4 +290,14 @@ public class AssessmentRepository {
             pstmt.executeBatch();
         }
     }
+    
+    /**
+     * Create multiple assessments in batch, asynchronously
+     * 
+     * @param assessments The list of assessments to create
+     * @return A future completed after the operation; fails with the SQLException
+     */
+    public CompletableFuture<Void> createBatchAsync(List<Assessment> assessments) {
+        return DatabaseExecutor.submitUpdate(() -> createBatch(assessments));
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import application.models.AssessmentType;
 import application.utils.DatabaseHelper;
@@ -82,6 +83,50 @@ public class AssessmentTypeRepository {
         return assessmentTypes;
     }
     
+    /**
+     * Find all assessment types of a user's subjects across all semesters in one query
+     * 
+     * @param userId The user ID
+     * @return A list of assessment types ordered by subject and ID
+     * @throws SQLException If there's an error during the database operation
+     */
+    public List<AssessmentType> findAllByUserId(int userId) throws SQLException {
+        String sql = "SELECT t.* FROM assessment_types t " +
+                     "JOIN subjects s ON s.id = t.subject_id " +
+                     "JOIN semesters sem ON sem.id = s.semester_id " +
+                     "WHERE sem.user_id = ? ORDER BY t.subject_id ASC, t.id ASC";
+        List<AssessmentType> assessmentTypes = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    AssessmentType assessmentType = new AssessmentType(
+                        rs.getInt("id"),
+                        rs.getInt("subject_id"),
+                        rs.getString("type"),
+                        rs.getInt("count"),
+                        rs.getDouble("weight")
+                    );
+                    assessmentTypes.add(assessmentType);
+                }
+            }
+        }
+        
+        return assessmentTypes;
+    }
+    
+    /**
+     * Find all assessment types for a specific subject, asynchronously
+     * 
+     * @param subjectId The subject ID
+     * @return A future for a list of assessment types
+     */
+    public CompletableFuture<List<AssessmentType>> findAllBySubjectIdAsync(int subjectId) {
+        return DatabaseExecutor.submit(() -> findAllBySubjectId(subjectId));
+    }
+    
     /**
      * Find an assessment type by ID
      * 
@@ -111,6 +156,16 @@ public class AssessmentTypeRepository {
         return null;
     }
     
+    /**
+     * Find an assessment type by ID, asynchronously
+     * 
+     * @param id The assessment type ID
+     * @return A future for the assessment type if found, null otherwise
+     */
+    public CompletableFuture<AssessmentType> findByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> findById(id));
+    }
+    
     /**
      * Update an assessment type
      * 
@@ -132,6 +187,16 @@ public class AssessmentTypeRepository {
         return assessmentType;
     }
     
+    /**
+     * Update an assessment type, asynchronously
+     * 
+     * @param assessmentType The assessment type to update
+     * @return A future for the updated assessment type
+     */
+    public CompletableFuture<AssessmentType> updateAssessmentTypeAsync(AssessmentType assessmentType) {
+        return DatabaseExecutor.submitWrite(() -> updateAssessmentType(assessmentType));
+    }
+    
     /**
      * Delete an assessment type
      * 
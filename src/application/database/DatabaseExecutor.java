@@ -0,0 +1,285 @@
+package application.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import application.utils.AsyncExecutor;
+import application.utils.DatabaseHelper;
+
+/**
+ * Runs database work asynchronously, on connections of its own
+ * 
+ * Reads run on a pool of read-only connections (gradecalculator.db.readConnections,
+ * 4 by default), so independent loads such as the subjects of several
+ * semesters run in parallel. Writes and transactions run one at a time on a
+ * single write connection. Repositories keep using the connection from
+ * DatabaseHelper, which routes each call to the connection of the task
+ * running on the current thread, or to the shared connection outside of tasks;
+ * a transaction therefore never picks up statements of other work.
+ * Work submitted from inside a running task (e.g. the per-subject loads of a
+ * semester) runs inline on that task's connection instead of waiting for
+ * another one; a write submitted from a read task switches to the write
+ * connection. Tasks run on the application's async executor (virtual threads
+ * when available); waiting tasks park their thread instead of holding a pool thread.
+ */
+public class DatabaseExecutor {
+    private static final int READ_CONNECTIONS = Integer.getInteger("gradecalculator.db.readConnections", 4);
+    
+    private static final Semaphore readPermits = new Semaphore(READ_CONNECTIONS, true);
+    private static final ConcurrentLinkedQueue<Connection> idleReadConnections = new ConcurrentLinkedQueue<>();
+    private static final Semaphore writePermit = new Semaphore(1, true);
+    private static Connection writeConnection;
+    
+    // The connection of the task running on this thread, so nested work runs inline
+    private static final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> writing = ThreadLocal.withInitial(() -> false);
+    
+    private DatabaseExecutor() {
+        // Static utility
+    }
+    
+    /**
+     * Run a read asynchronously once a read connection is free
+     * A failure completes the future with a CompletionException wrapping the exception
+     * 
+     * @param <T> The result type
+     * @param query The work, e.g. a repository query or a whole service call
+     * @return A future for the result
+     */
+    public static <T> CompletableFuture<T> submit(Query<T> query) {
+        if (boundConnection.get() != null) {
+            return inline(query);
+        }
+        
+        return AsyncExecutor.supply(() -> call(query));
+    }
+    
+    /**
+     * Run a write asynchronously once the write connection is free
+     * A failure completes the future with a CompletionException wrapping the exception
+     * 
+     * @param <T> The result type
+     * @param query The work, e.g. a repository update or a whole service call
+     * @return A future for the result
+     */
+    public static <T> CompletableFuture<T> submitWrite(Query<T> query) {
+        if (boundConnection.get() != null) {
+            return inline(() -> write(query));
+        }
+        
+        return AsyncExecutor.supply(() -> write(query));
+    }
+    
+    /**
+     * Run an update without a result asynchronously, on the write connection
+     * 
+     * @param update The update
+     * @return A future completed after the update
+     */
+    public static CompletableFuture<Void> submitUpdate(Update update) {
+        return submitWrite(() -> {
+            update.execute();
+            return null;
+        });
+    }
+    
+    /**
+     * Run a read on the calling thread once a read connection is free
+     * Used for work that is already off the JavaFX thread, e.g. a scheduled refresh
+     * 
+     * @param <T> The result type
+     * @param query The work
+     * @return The result
+     * @throws Exception If the work fails
+     */
+    public static <T> T call(Query<T> query) throws Exception {
+        if (boundConnection.get() != null) {
+            return query.execute();
+        }
+        
+        readPermits.acquire();
+        Connection connection = idleReadConnections.poll();
+        try {
+            if (connection == null) {
+                connection = DatabaseHelper.getInstance().openConnection(true);
+            }
+            return runOn(connection, query);
+        } finally {
+            if (connection != null) {
+                idleReadConnections.add(connection);
+            }
+            readPermits.release();
+        }
+    }
+    
+    /**
+     * Run a transaction on the calling thread, holding the write connection until it commits or rolls back
+     * 
+     * @param transaction The transaction
+     * @throws SQLException If the transaction fails
+     */
+    public static void runTransaction(Update transaction) throws SQLException {
+        try {
+            write(() -> {
+                transaction.execute();
+                return null;
+            });
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Wrap the shared connection so each call goes to the connection of the current thread's task
+     * 
+     * @param shared The connection used outside of tasks
+     * @return The routing connection handed out to repositories
+     */
+    public static Connection route(Connection shared) {
+        return (Connection) Proxy.newProxyInstance(DatabaseExecutor.class.getClassLoader(),
+                                                   new Class<?>[] { Connection.class },
+                                                   (proxy, method, args) -> {
+            Connection bound = boundConnection.get();
+            try {
+                return method.invoke(bound != null ? bound : shared, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+    
+    /**
+     * Close the connections opened for tasks, e.g. when the application stops
+     */
+    public static synchronized void closeConnections() {
+        try {
+            Connection connection;
+            while ((connection = idleReadConnections.poll()) != null) {
+                connection.close();
+            }
+            if (writeConnection != null) {
+                writeConnection.close();
+                writeConnection = null;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error closing database connections: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Combine futures into one that completes with all their results, in order
+     * Fails as soon as all have completed if any of them failed
+     * 
+     * @param <T> The result type
+     * @param futures The futures
+     * @return A future for the list of results
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<T> results = new ArrayList<>(futures.size());
+                for (CompletableFuture<T> future : futures) {
+                    results.add(future.join());
+                }
+                return results;
+            });
+    }
+    
+    /**
+     * Wait for a future from a synchronous caller, restoring the SQLException of a failed query
+     * Must not be called from inside a task, which would hold its connection while waiting
+     * 
+     * @param <T> The result type
+     * @param future The future
+     * @return The result
+     * @throws SQLException If the query failed
+     */
+    public static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = AsyncExecutor.unwrap(e);
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+    
+    private static <T> T write(Query<T> query) throws Exception {
+        if (writing.get()) {
+            return query.execute();
+        }
+        
+        // Never waits for a read connection while holding this permit, so reads and writes cannot deadlock
+        writePermit.acquire();
+        writing.set(true);
+        try {
+            Connection connection;
+            synchronized (DatabaseExecutor.class) {
+                if (writeConnection == null) {
+                    writeConnection = DatabaseHelper.getInstance().openConnection(false);
+                }
+                connection = writeConnection;
+            }
+            return runOn(connection, query);
+        } finally {
+            writing.set(false);
+            writePermit.release();
+        }
+    }
+    
+    private static <T> T runOn(Connection connection, Query<T> query) throws Exception {
+        Connection previous = boundConnection.get();
+        boundConnection.set(connection);
+        try {
+            return query.execute();
+        } finally {
+            if (previous != null) {
+                boundConnection.set(previous);
+            } else {
+                boundConnection.remove();
+            }
+        }
+    }
+    
+    private static <T> CompletableFuture<T> inline(Query<T> query) {
+        try {
+            return CompletableFuture.completedFuture(query.execute());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+    }
+    
+    /**
+     * Database work with a result
+     * 
+     * @param <T> The result type
+     */
+    public interface Query<T> {
+        T execute() throws Exception;
+    }
+    
+    /**
+     * Database work without a result
+     */
+    public interface Update {
+        void execute() throws Exception;
+    }
+}
@@ -0,0 +1,175 @@
+package application.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import application.models.Prerequisite;
+import application.utils.DatabaseHelper;
+
+/**
+ * Repository class for handling database operations related to subject prerequisites
+ */
+public class PrerequisiteRepository {
+    private Connection connection;
+    
+    public PrerequisiteRepository() {
+        connection = DatabaseHelper.getInstance().getConnection();
+    }
+    
+    /**
+     * Create a new prerequisite relation in the database
+     * 
+     * @param prerequisite The prerequisite to create
+     * @return The created prerequisite with ID set
+     * @throws SQLException If there's an error during the database operation
+     */
+    public Prerequisite createPrerequisite(Prerequisite prerequisite) throws SQLException {
+        String sql = "INSERT INTO subject_prerequisites (subject_id, prerequisite_id) VALUES (?, ?)";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setInt(1, prerequisite.getSubjectId());
+            pstmt.setInt(2, prerequisite.getPrerequisiteId());
+            
+            int affectedRows = pstmt.executeUpdate();
+            
+            if (affectedRows > 0) {
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        prerequisite.setId(generatedKeys.getInt(1));
+                    }
+                }
+            }
+        }
+        
+        return prerequisite;
+    }
+    
+    /**
+     * Find all prerequisite relations between subjects of a user, across all semesters
+     * 
+     * @param userId The user ID
+     * @return A list of prerequisites
+     * @throws SQLException If there's an error during the database operation
+     */
+    public List<Prerequisite> findAllByUserId(int userId) throws SQLException {
+        String sql = "SELECT p.* FROM subject_prerequisites p " +
+                     "JOIN subjects s ON s.id = p.subject_id " +
+                     "JOIN semesters sem ON sem.id = s.semester_id " +
+                     "WHERE sem.user_id = ? ORDER BY p.id ASC";
+        List<Prerequisite> prerequisites = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    prerequisites.add(new Prerequisite(
+                        rs.getInt("id"),
+                        rs.getInt("subject_id"),
+                        rs.getInt("prerequisite_id")
+                    ));
+                }
+            }
+        }
+        
+        return prerequisites;
+    }
+    
+    /**
+     * Find all prerequisite relations between subjects of a user, across all semesters, asynchronously
+     * 
+     * @param userId The user ID
+     * @return A future for a list of prerequisites
+     */
+    public CompletableFuture<List<Prerequisite>> findAllByUserIdAsync(int userId) {
+        return DatabaseExecutor.submit(() -> findAllByUserId(userId));
+    }
+    
+    /**
+     * Find the prerequisites of a specific subject
+     * 
+     * @param subjectId The dependent subject ID
+     * @return A list of prerequisites
+     * @throws SQLException If there's an error during the database operation
+     */
+    public List<Prerequisite> findAllBySubjectId(int subjectId) throws SQLException {
+        String sql = "SELECT * FROM subject_prerequisites WHERE subject_id = ? ORDER BY id ASC";
+        List<Prerequisite> prerequisites = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, subjectId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    prerequisites.add(new Prerequisite(
+                        rs.getInt("id"),
+                        rs.getInt("subject_id"),
+                        rs.getInt("prerequisite_id")
+                    ));
+                }
+            }
+        }
+        
+        return prerequisites;
+    }
+    
+    /**
+     * Find the prerequisites of a specific subject, asynchronously
+     * 
+     * @param subjectId The dependent subject ID
+     * @return A future for a list of prerequisites
+     */
+    public CompletableFuture<List<Prerequisite>> findAllBySubjectIdAsync(int subjectId) {
+        return DatabaseExecutor.submit(() -> findAllBySubjectId(subjectId));
+    }
+    
+    /**
+     * Check whether a prerequisite relation already exists
+     * 
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The prerequisite subject ID
+     * @return true if the relation exists, false otherwise
+     * @throws SQLException If there's an error during the database operation
+     */
+    public boolean exists(int subjectId, int prerequisiteId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM subject_prerequisites WHERE subject_id = ? AND prerequisite_id = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, subjectId);
+            pstmt.setInt(2, prerequisiteId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Delete a prerequisite relation
+     * 
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The prerequisite subject ID
+     * @return true if a relation was deleted, false otherwise
+     * @throws SQLException If there's an error during the database operation
+     */
+    public boolean deletePrerequisite(int subjectId, int prerequisiteId) throws SQLException {
+        String sql = "DELETE FROM subject_prerequisites WHERE subject_id = ? AND prerequisite_id = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, subjectId);
+            pstmt.setInt(2, prerequisiteId);
+            
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package application.database;
+
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import application.utils.Operation;
+
+/**
+ * Records how often each SQL statement runs, how many rows it returns and how long it takes
+ * 
+ * DatabaseHelper hands out a connection wrapped by instrument(), whose
+ * statements report every execution here, keyed by SQL text and broken down
+ * by the Operation that ran it. The latency of a query includes reading its
+ * rows, up to closing the result set; rows are the rows read, or the rows
+ * changed by an update.
+ * 
+ * A statement that runs more than the N+1 threshold times within one
+ * operation, e.g. one query per subject during a refresh, is reported on
+ * stderr the first time, and counted in getWarnings() every time.
+ * 
+ * Instrumentation can be turned off with -Dgradecalculator.db.metrics=false.
+ */
+public class QueryMetrics {
+    public static final boolean ENABLED =
+        !"false".equalsIgnoreCase(System.getProperty("gradecalculator.db.metrics"));
+    
+    // Can be overridden with -Dgradecalculator.db.nPlusOneThreshold=N
+    private static volatile int nPlusOneThreshold = Integer.getInteger("gradecalculator.db.nPlusOneThreshold", 10);
+    
+    private static final int MAX_WARNINGS = 100;
+    private static final String UNATTRIBUTED = "(none)";
+    
+    private static final Map<String, Accumulator> statements = new ConcurrentHashMap<>();
+    // Warning message -> operations that triggered it, in the order first seen
+    private static final Map<String, Long> warnings = new LinkedHashMap<>();
+    
+    private QueryMetrics() {
+        // Static utility
+    }
+    
+    /**
+     * Wrap a connection so its statements are recorded
+     * 
+     * @param connection The connection
+     * @return The instrumented connection, or the connection itself if metrics are disabled
+     */
+    public static Connection instrument(Connection connection) {
+        if (!ENABLED || connection == null) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * Get the recorded statements, most total time first
+     * 
+     * @return A snapshot of the statistics
+     */
+    public static List<StatementStats> getStatementStats() {
+        List<StatementStats> stats = new ArrayList<>();
+        for (Map.Entry<String, Accumulator> entry : statements.entrySet()) {
+            stats.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        stats.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return stats;
+    }
+    
+    /**
+     * Get the statistics of one statement
+     * 
+     * @param sql The SQL text
+     * @return The statistics, or null if the statement has not run
+     */
+    public static StatementStats getStatementStats(String sql) {
+        Accumulator accumulator = statements.get(sql);
+        return accumulator != null ? accumulator.snapshot(sql) : null;
+    }
+    
+    /**
+     * Get the number of statement executions recorded so far
+     * 
+     * @return The count over all statements
+     */
+    public static long getExecutionCount() {
+        long count = 0;
+        for (Accumulator accumulator : statements.values()) {
+            count += accumulator.count.sum();
+        }
+        return count;
+    }
+    
+    /**
+     * Get the N+1 warnings
+     * 
+     * @return The number of operations that triggered each warning, by warning message
+     */
+    public static Map<String, Long> getWarnings() {
+        synchronized (warnings) {
+            return new LinkedHashMap<>(warnings);
+        }
+    }
+    
+    /**
+     * Set how often a statement may run within one operation before it is reported
+     * 
+     * @param threshold The number of executions
+     */
+    public static void setNPlusOneThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be at least 1");
+        }
+        nPlusOneThreshold = threshold;
+    }
+    
+    /**
+     * Forget all recorded statements and warnings
+     */
+    public static void reset() {
+        statements.clear();
+        synchronized (warnings) {
+            warnings.clear();
+        }
+    }
+    
+    /**
+     * Print the recorded statements as a table, most total time first
+     * 
+     * @param out The stream to print to
+     */
+    public static void dump(PrintStream out) {
+        List<StatementStats> stats = getStatementStats();
+        out.printf("SQL statements: %d, executions: %d%n", stats.size(), getExecutionCount());
+        out.printf("%8s %10s %10s %9s %9s  %s%n", "count", "rows", "total ms", "mean ms", "max ms", "statement");
+        
+        for (StatementStats statement : stats) {
+            out.printf("%8d %10d %10.1f %9.3f %9.3f  %s%n", statement.getCount(), statement.getRows(),
+                       statement.getTotalNanos() / 1_000_000.0, statement.getMeanNanos() / 1_000_000.0,
+                       statement.getMaxNanos() / 1_000_000.0, statement.getSql().replaceAll("\\s+", " ").trim());
+            out.println("         by operation: " + statement.getCountsByOperation());
+        }
+        
+        for (Map.Entry<String, Long> warning : getWarnings().entrySet()) {
+            out.println(warning.getKey() + " (" + warning.getValue() + " operations)");
+        }
+    }
+    
+    /**
+     * Count an execution within the current operation and report statements that repeat too often
+     */
+    private static void checkRepetition(Operation operation, String sql) {
+        int executions = operation.increment("sql:" + sql);
+        if (executions == nPlusOneThreshold + 1) {
+            String warning = "QueryMetrics: Possible N+1 query in " + operation.getName() + ", statement ran more than "
+                           + nPlusOneThreshold + " times: " + sql.replaceAll("\\s+", " ").trim();
+            boolean first;
+            synchronized (warnings) {
+                first = !warnings.containsKey(warning);
+                if (first && warnings.size() == MAX_WARNINGS) {
+                    return;
+                }
+                warnings.merge(warning, 1L, Long::sum);
+            }
+            if (first) {
+                System.err.println(warning);
+            }
+        }
+    }
+    
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * One run of a statement, recorded when its result set is closed or it completes
+     */
+    private static class Execution {
+        private final String sql;
+        private final String operation;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+        
+        Execution(String sql) {
+            this.sql = sql;
+            Operation current = Operation.current();
+            this.operation = current != null ? current.getName() : UNATTRIBUTED;
+            if (current != null) {
+                checkRepetition(current, sql);
+            }
+        }
+        
+        synchronized void add(long elapsedNanos, long addedRows) {
+            nanos += elapsedNanos;
+            rows += addedRows;
+        }
+        
+        synchronized void finish() {
+            if (!finished) {
+                finished = true;
+                statements.computeIfAbsent(sql, key -> new Accumulator()).record(operation, nanos, rows);
+            }
+        }
+    }
+    
+    /**
+     * Times the execute calls of a statement
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private String batchSql;
+        private Execution execution;
+        
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = batchSql == null ? (String) args[0] : batchSql;
+            }
+            if (!name.startsWith("execute")) {
+                if (name.equals("close")) {
+                    finishExecution();
+                }
+                if (name.equals("getResultSet") && execution != null) {
+                    Object result = QueryMetrics.invoke(statement, method, args);
+                    return result != null ? wrapResultSet((ResultSet) result, execution, proxy) : null;
+                }
+                return QueryMetrics.invoke(statement, method, args);
+            }
+            
+            finishExecution();
+            String executedSql = sql != null ? sql
+                               : args != null && args.length > 0 ? (String) args[0]
+                               : batchSql != null ? batchSql : "(batch)";
+            Execution current = new Execution(executedSql);
+            execution = current;
+            
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = QueryMetrics.invoke(statement, method, args);
+            } finally {
+                current.add(System.nanoTime() - start, 0);
+            }
+            
+            if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result, current, proxy);
+            }
+            if (result instanceof int[]) {
+                batchSql = null;
+                long changed = 0;
+                for (int count : (int[]) result) {
+                    changed += Math.max(count, 0);
+                }
+                current.add(0, changed);
+                current.finish();
+            } else if (result instanceof Integer || result instanceof Long) {
+                current.add(0, ((Number) result).longValue());
+                current.finish();
+            } else if (Boolean.FALSE.equals(result)) {
+                current.add(0, Math.max(statement.getUpdateCount(), 0));
+                current.finish();
+            }
+            // execute() returning true finishes with its result set or the statement
+            return result;
+        }
+        
+        private void finishExecution() {
+            if (execution != null) {
+                execution.finish();
+                execution = null;
+            }
+        }
+        
+        private ResultSet wrapResultSet(ResultSet resultSet, Execution execution, Object statementProxy) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("next")) {
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) QueryMetrics.invoke(resultSet, method, args);
+                    execution.add(System.nanoTime() - start, hasRow ? 1 : 0);
+                    return hasRow;
+                }
+                if (name.equals("close")) {
+                    execution.finish();
+                }
+                if (name.equals("getStatement")) {
+                    // Callers get the instrumented statement back, not the driver's
+                    return statementProxy;
+                }
+                return QueryMetrics.invoke(resultSet, method, args);
+            });
+        }
+    }
+    
+    /**
+     * The live statistics of one statement
+     */
+    private static class Accumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Map<String, LongAdder> byOperation = new ConcurrentHashMap<>();
+        
+        void record(String operation, long nanos, long rowCount) {
+            count.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            byOperation.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+        
+        StatementStats snapshot(String sql) {
+            Map<String, Long> counts = new TreeMap<>();
+            for (Map.Entry<String, LongAdder> entry : byOperation.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().sum());
+            }
+            return new StatementStats(sql, count.sum(), rows.sum(), totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+    
+    /**
+     * The statistics of one statement at some point in time
+     */
+    public static class StatementStats {
+        private final String sql;
+        private final long count;
+        private final long rows;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final Map<String, Long> countsByOperation;
+        
+        public StatementStats(String sql, long count, long rows, long totalNanos, long maxNanos,
+                              Map<String, Long> countsByOperation) {
+            this.sql = sql;
+            this.count = count;
+            this.rows = rows;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.countsByOperation = Collections.unmodifiableMap(new LinkedHashMap<>(countsByOperation));
+        }
+        
+        public String getSql() {
+            return sql;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getRows() {
+            return rows;
+        }
+        
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+        
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+        
+        public long getMeanNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+        
+        /**
+         * Get how often each operation ran the statement
+         * 
+         * @return The execution counts by operation name
+         */
+        public Map<String, Long> getCountsByOperation() {
+            return countsByOperation;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import application.models.Semester;
 import application.utils.DatabaseHelper;
@@ -79,6 +80,16 @@ public class SemesterRepository {
         return semesters;
     }
     
+    /**
+     * Find all semesters for a specific user, asynchronously
+     * 
+     * @param userId The user ID
+     * @return A future for a list of semesters
+     */
+    public CompletableFuture<List<Semester>> findAllByUserIdAsync(int userId) {
+        return DatabaseExecutor.submit(() -> findAllByUserId(userId));
+    }
+    
     /**
      * Find a semester by ID
      * 
@@ -106,6 +117,16 @@ public class SemesterRepository {
         return null;
     }
     
+    /**
+     * Find a semester by ID, asynchronously
+     * 
+     * @param id The semester ID
+     * @return A future for the semester if found, null otherwise
+     */
+    public CompletableFuture<Semester> findByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> findById(id));
+    }
+    
     /**
      * Update a semester
      * 
@@ -180,6 +201,14 @@ public class SemesterRepository {
                 int deletedTypes = pstmt.executeUpdate();
                 System.out.println("Deleted " + deletedTypes + " assessment types for subject ID " + subjectId);
             }
+            
+            // Delete prerequisite relations in both directions
+            String deletePrerequisitesSql = "DELETE FROM subject_prerequisites WHERE subject_id = ? OR prerequisite_id = ?";
+            try (PreparedStatement pstmt = connection.prepareStatement(deletePrerequisitesSql)) {
+                pstmt.setInt(1, subjectId);
+                pstmt.setInt(2, subjectId);
+                pstmt.executeUpdate();
+            }
         }
         
         // Delete subjects
@@ -226,4 +255,14 @@ public class SemesterRepository {
         
         return 0;
     }
+    
+    /**
+     * Count the number of semesters for a user, asynchronously
+     * 
+     * @param userId The user ID
+     * @return A future for the number of semesters
+     */
+    public CompletableFuture<Integer> countByUserIdAsync(int userId) {
+        return DatabaseExecutor.submit(() -> countByUserId(userId));
+    }
 }
\ No newline at end of file
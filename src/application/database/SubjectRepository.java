@@ -7,6 +7,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import application.models.Subject;
 import application.utils.DatabaseHelper;
@@ -78,6 +79,56 @@ public class SubjectRepository {
         return subjects;
     }
     
+    /**
+     * Find all subjects for a specific semester, asynchronously
+     * 
+     * @param semesterId The semester ID
+     * @return A future for a list of subjects
+     */
+    public CompletableFuture<List<Subject>> findAllBySemesterIdAsync(int semesterId) {
+        return DatabaseExecutor.submit(() -> findAllBySemesterId(semesterId));
+    }
+    
+    /**
+     * Find all subjects of a user across all semesters
+     * 
+     * @param userId The user ID
+     * @return A list of subjects ordered by semester and ID
+     * @throws SQLException If there's an error during the database operation
+     */
+    public List<Subject> findAllByUserId(int userId) throws SQLException {
+        String sql = "SELECT s.* FROM subjects s JOIN semesters sem ON sem.id = s.semester_id " +
+                     "WHERE sem.user_id = ? ORDER BY s.semester_id ASC, s.id ASC";
+        List<Subject> subjects = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Subject subject = new Subject(
+                        rs.getInt("id"),
+                        rs.getInt("semester_id"),
+                        rs.getString("name")
+                    );
+                    subjects.add(subject);
+                }
+            }
+        }
+        
+        return subjects;
+    }
+    
+    /**
+     * Find all subjects of a user across all semesters, asynchronously
+     * 
+     * @param userId The user ID
+     * @return A future for a list of subjects ordered by semester and ID
+     */
+    public CompletableFuture<List<Subject>> findAllByUserIdAsync(int userId) {
+        return DatabaseExecutor.submit(() -> findAllByUserId(userId));
+    }
+    
     /**
      * Find a subject by ID
      * 
@@ -105,6 +156,16 @@ public class SubjectRepository {
         return null;
     }
     
+    /**
+     * Find a subject by ID, asynchronously
+     * 
+     * @param id The subject ID
+     * @return A future for the subject if found, null otherwise
+     */
+    public CompletableFuture<Subject> findByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> findById(id));
+    }
+    
     /**
      * Update a subject
      * 
@@ -164,6 +225,15 @@ public class SubjectRepository {
             System.out.println("Deleted " + deletedTypes + " assessment types for subject ID " + id);
         }
         
+        // Delete prerequisite relations in both directions
+        String deletePrerequisitesSql = "DELETE FROM subject_prerequisites WHERE subject_id = ? OR prerequisite_id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(deletePrerequisitesSql)) {
+            pstmt.setInt(1, id);
+            pstmt.setInt(2, id);
+            int deletedPrerequisites = pstmt.executeUpdate();
+            System.out.println("Deleted " + deletedPrerequisites + " prerequisite relations for subject ID " + id);
+        }
+        
         // Finally, delete the subject
         String deleteSubjectSql = "DELETE FROM subjects WHERE id = ?";
         try (PreparedStatement pstmt = connection.prepareStatement(deleteSubjectSql)) {
@@ -201,6 +271,16 @@ public class SubjectRepository {
         return 0;
     }
     
+    /**
+     * Count the number of subjects for a semester, asynchronously
+     * 
+     * @param semesterId The semester ID
+     * @return A future for the number of subjects
+     */
+    public CompletableFuture<Integer> countBySemesterIdAsync(int semesterId) {
+        return DatabaseExecutor.submit(() -> countBySemesterId(semesterId));
+    }
+    
     /**
      * Debug method to log assessment types and assessments for a subject
      */
@@ -5,6 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import application.models.User;
 import application.utils.DatabaseHelper;
@@ -78,6 +82,17 @@ public class UserRepository {
         return null;
     }
     
+    /**
+     * Find a user by first name and password for authentication, asynchronously
+     * 
+     * @param firstName The user's first name
+     * @param password The user's password
+     * @return A future for the user if found, null otherwise
+     */
+    public CompletableFuture<User> findByFirstNameAndPasswordAsync(String firstName, String password) {
+        return DatabaseExecutor.submit(() -> findByFirstNameAndPassword(firstName, password));
+    }
+    
     /**
      * Check if a user with the given first name already exists
      * 
@@ -101,6 +116,49 @@ public class UserRepository {
         return false;
     }
     
+    /**
+     * Visit every user in ID order
+     * Users are read in pages by ID, so no cursor stays open while the action
+     * runs its own queries and memory stays bounded for any number of users
+     * 
+     * @param pageSize The number of users read per query
+     * @param action The action run for each user
+     * @throws SQLException If there's an error during the database operation
+     */
+    public void forEachUser(int pageSize, Consumer<User> action) throws SQLException {
+        String sql = "SELECT * FROM users WHERE id > ? ORDER BY id ASC LIMIT ?";
+        int lastId = 0;
+        
+        while (true) {
+            List<User> page = new ArrayList<>(pageSize);
+            
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setInt(1, lastId);
+                pstmt.setInt(2, pageSize);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        page.add(new User(
+                            rs.getInt("id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("password")
+                        ));
+                    }
+                }
+            }
+            
+            for (User user : page) {
+                action.accept(user);
+            }
+            
+            if (page.size() < pageSize) {
+                return;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+    
     /**
      * Find a user by ID
      * 
@@ -128,4 +186,14 @@ public class UserRepository {
         
         return null;
     }
+    
+    /**
+     * Find a user by ID, asynchronously
+     * 
+     * @param id The user ID
+     * @return A future for the user if found, null otherwise
+     */
+    public CompletableFuture<User> findByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> findById(id));
+    }
 }
\ No newline at end of file
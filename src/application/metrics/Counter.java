@@ -0,0 +1,35 @@
+package application.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, cheap to update from many threads
+ */
+public class Counter {
+    private final String name;
+    private final LongAdder value = new LongAdder();
+    
+    Counter(String name) {
+        this.name = name;
+    }
+    
+    public void increment() {
+        value.increment();
+    }
+    
+    public void add(long amount) {
+        value.add(amount);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getValue() {
+        return value.sum();
+    }
+    
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,186 @@
+package application.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with fixed relative precision, in the style of an HDR histogram
+ * 
+ * Each power of two is split into 32 linear buckets, so the value reported for
+ * a percentile is within 1/32 (about 3%) of the recorded one, from nanoseconds
+ * up to about 18 minutes. Recording is lock-free and allocation-free: one
+ * atomic bucket increment plus a few striped adders. Values are nanoseconds.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Larger values are counted in the last bucket
+    private static final long MAX_TRACKED_VALUE = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKED_VALUE) + 1;
+    
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    
+    Histogram(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Record a value
+     * 
+     * @param value The value in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        
+        counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKED_VALUE)));
+        count.increment();
+        total.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+    
+    /**
+     * Record the time elapsed since a start time
+     * 
+     * @param startNanos The start time, from System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Record the time from now until a future completes, normally or not
+     * 
+     * @param <T> The result type
+     * @param future The future
+     * @return The same future
+     */
+    public <T> CompletableFuture<T> time(CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        future.whenComplete((result, error) -> recordSince(start));
+        return future;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    /**
+     * Take a consistent copy of the recorded distribution
+     * 
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        
+        long recorded = count.sum();
+        return new Snapshot(copy, recorded, total.sum(),
+                            recorded > 0 ? min.get() : 0, recorded > 0 ? max.get() : 0);
+    }
+    
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        min.reset();
+        max.reset();
+    }
+    
+    /**
+     * Get the bucket of a value: values below 2 * SUB_BUCKETS have their own
+     * bucket, larger ones keep only their top SUB_BUCKET_BITS + 1 bits
+     */
+    private static int bucketIndex(long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = Math.max(0, highestBit - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+    
+    /**
+     * Get the largest value that falls into a bucket
+     */
+    private static long highestValueIn(int index) {
+        int shift = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+        long lowest = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+    
+    /**
+     * An immutable copy of a histogram
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long min;
+        private final long max;
+        
+        private Snapshot(long[] counts, long count, long total, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.min = min;
+            this.max = max;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getMin() {
+            return min;
+        }
+        
+        public long getMax() {
+            return max;
+        }
+        
+        public double getMean() {
+            return count > 0 ? (double) total / count : 0;
+        }
+        
+        /**
+         * Get the value at a percentile
+         * 
+         * @param percentile The percentile, from 0 to 100
+         * @return The highest value of the bucket holding the percentile, capped at the maximum
+         */
+        public long getValueAtPercentile(double percentile) {
+            long bucketed = 0;
+            for (long bucketCount : counts) {
+                bucketed += bucketCount;
+            }
+            if (bucketed == 0) {
+                return 0;
+            }
+            
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * bucketed));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package application.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hits and misses of a cache
+ */
+public class HitRatio {
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    HitRatio(String name) {
+        this.name = name;
+    }
+    
+    public void hit() {
+        hits.increment();
+    }
+    
+    public void miss() {
+        misses.increment();
+    }
+    
+    /**
+     * Record a lookup
+     * 
+     * @param hit Whether the cache had the entry
+     */
+    public void record(boolean hit) {
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Snapshot snapshot() {
+        return new Snapshot(hits.sum(), misses.sum());
+    }
+    
+    void reset() {
+        hits.reset();
+        misses.reset();
+    }
+    
+    /**
+     * An immutable copy of a hit ratio
+     */
+    public static class Snapshot {
+        private final long hits;
+        private final long misses;
+        
+        private Snapshot(long hits, long misses) {
+            this.hits = hits;
+            this.misses = misses;
+        }
+        
+        public long getHits() {
+            return hits;
+        }
+        
+        public long getMisses() {
+            return misses;
+        }
+        
+        /**
+         * Get the fraction of lookups that were hits
+         * 
+         * @return The ratio from 0 to 1, or NaN if there were no lookups
+         */
+        public double getRatio() {
+            long lookups = hits + misses;
+            return lookups > 0 ? (double) hits / lookups : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package application.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves the current metrics as JSON on http://127.0.0.1:port/metrics
+ * 
+ * The server only listens on the loopback interface. Every request takes a
+ * fresh snapshot, so periodic exports have nothing to do.
+ */
+public class HttpExporter implements MetricsExporter {
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    
+    /**
+     * Start serving
+     * 
+     * @param registry The registry to serve
+     * @param port The local port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public HttpExporter(MetricsRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        System.out.println("Metrics: Serving http://127.0.0.1:" + getPort() + "/metrics");
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    @Override
+    public void export(MetricsSnapshot snapshot) {
+        // Served on request
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            byte[] body = registry.snapshot().toJson().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package application.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the latest metrics to a JSON file
+ * 
+ * Each export replaces the whole file, through a temporary file that is moved
+ * over it, so readers never see a partial document.
+ */
+public class JsonFileExporter implements MetricsExporter {
+    private final Path file;
+    
+    public JsonFileExporter(Path file) {
+        this.file = file;
+    }
+    
+    /**
+     * Get the default metrics file, next to the application's cache directory
+     * 
+     * @return The path
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(System.getProperty("user.home"), "GradeCalculator", "metrics.json");
+    }
+    
+    @Override
+    public void export(MetricsSnapshot snapshot) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".part");
+        
+        try {
+            Files.write(tempFile, snapshot.toJson().getBytes(StandardCharsets.UTF_8));
+            
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,19 @@
+package application.metrics;
+
+import java.io.PrintStream;
+
+/**
+ * Prints the metrics as tables, e.g. to the console
+ */
+public class LogExporter implements MetricsExporter {
+    private final PrintStream out;
+    
+    public LogExporter(PrintStream out) {
+        this.out = out;
+    }
+    
+    @Override
+    public void export(MetricsSnapshot snapshot) {
+        snapshot.print(out);
+    }
+}
@@ -0,0 +1,27 @@
+package application.metrics;
+
+import java.io.IOException;
+
+/**
+ * Publishes metrics somewhere outside the application
+ * 
+ * The registry calls export() periodically on its exporter thread, and once
+ * more when it is closed.
+ */
+public interface MetricsExporter extends AutoCloseable {
+    
+    /**
+     * Publish a snapshot of the metrics
+     * 
+     * @param snapshot The snapshot
+     * @throws IOException If the snapshot cannot be written
+     */
+    void export(MetricsSnapshot snapshot) throws IOException;
+    
+    /**
+     * Release the exporter's resources
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
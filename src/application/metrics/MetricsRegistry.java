@@ -0,0 +1,243 @@
+package application.metrics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import application.utils.Operation;
+
+/**
+ * The application's in-process metrics: timers, counters and cache hit ratios
+ * 
+ * Metrics are created on first use by name and live for the whole session;
+ * callers on hot paths keep them in static fields. Exporters publish
+ * snapshots periodically from a background thread, and once more on close().
+ * 
+ * Names are dotted, starting with the area they measure, e.g.
+ * "view.HomeView.construct", "operation.HomeController.getAllSemesters",
+ * "subject.calculateOverallPercentage", "cache.navigator.views" or
+ * "eventbus.GradeChangedEvent.dispatch".
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+    
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, HitRatio> hitRatios = new ConcurrentHashMap<>();
+    private final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService exportScheduler;
+    
+    private MetricsRegistry() {
+        // Private constructor for singleton
+    }
+    
+    /**
+     * Get the singleton instance
+     * 
+     * @return The MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+    
+    /**
+     * Get or create a counter
+     * 
+     * @param name The metric name
+     * @return The counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+    
+    /**
+     * Get or create a timer histogram
+     * 
+     * @param name The metric name
+     * @return The histogram, recording nanoseconds
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, Histogram::new);
+    }
+    
+    /**
+     * Get or create a cache hit ratio
+     * 
+     * @param name The metric name
+     * @return The hit ratio
+     */
+    public HitRatio hitRatio(String name) {
+        return hitRatios.computeIfAbsent(name, HitRatio::new);
+    }
+    
+    /**
+     * Run a task as an operation and record how long it takes, in "operation.<name>"
+     * The operation begins and ends on the calling thread, so call this inside
+     * the background task itself; subtasks it submits inherit the operation.
+     * 
+     * @param <T> The result type
+     * @param name The operation name, e.g. the controller method
+     * @param task The task
+     * @return The task's result
+     * @throws Exception If the task fails; its time is recorded either way
+     */
+    public <T> T timeOperation(String name, Callable<T> task) throws Exception {
+        try (Operation operation = Operation.begin(name)) {
+            try {
+                return task.call();
+            } finally {
+                timeOperation(operation);
+            }
+        }
+    }
+    
+    /**
+     * Record how long an operation has taken so far, in "operation.<name>"
+     * 
+     * @param operation The operation, typically just before it is closed
+     */
+    public void timeOperation(Operation operation) {
+        histogram("operation." + operation.getName()).recordSince(operation.getStartNanos());
+    }
+    
+    /**
+     * Take a snapshot of all metrics, sorted by name
+     * 
+     * @return The snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        for (Counter counter : counters.values()) {
+            counterValues.put(counter.getName(), counter.getValue());
+        }
+        
+        Map<String, Histogram.Snapshot> histogramValues = new TreeMap<>();
+        for (Histogram histogram : histograms.values()) {
+            histogramValues.put(histogram.getName(), histogram.snapshot());
+        }
+        
+        Map<String, HitRatio.Snapshot> hitRatioValues = new TreeMap<>();
+        for (HitRatio hitRatio : hitRatios.values()) {
+            hitRatioValues.put(hitRatio.getName(), hitRatio.snapshot());
+        }
+        
+        return new MetricsSnapshot(Instant.now(), counterValues, histogramValues, hitRatioValues);
+    }
+    
+    /**
+     * Clear all recorded values; the metrics themselves stay registered
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+        hitRatios.values().forEach(HitRatio::reset);
+    }
+    
+    /**
+     * Add an exporter
+     * 
+     * @param exporter The exporter
+     * @param intervalSeconds Seconds between exports, or 0 to export only on close()
+     */
+    public synchronized void addExporter(MetricsExporter exporter, long intervalSeconds) {
+        exporters.add(exporter);
+        
+        if (intervalSeconds > 0) {
+            if (exportScheduler == null) {
+                exportScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "metrics-exporter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            exportScheduler.scheduleAtFixedRate(() -> export(exporter, snapshot()),
+                                                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+    
+    /**
+     * Add exporters from a comma-separated list such as "log,json:metrics.json,http:9464"
+     * 
+     * "log" prints to stdout, "json[:file]" writes a file (by default in the
+     * application's directory), "http[:port]" serves the metrics on localhost
+     * (by default on port 9464).
+     * 
+     * @param spec The list, or null or empty for none
+     * @param intervalSeconds Seconds between exports
+     * @throws IllegalArgumentException If an exporter is unknown
+     * @throws IOException If the HTTP port cannot be bound
+     */
+    public void addExporters(String spec, long intervalSeconds) throws IOException {
+        if (spec == null || spec.trim().isEmpty()) {
+            return;
+        }
+        
+        for (String part : spec.split(",")) {
+            String[] kindAndArgument = part.trim().split(":", 2);
+            String argument = kindAndArgument.length > 1 ? kindAndArgument[1] : null;
+            
+            switch (kindAndArgument[0]) {
+                case "log":
+                    addExporter(new LogExporter(System.out), intervalSeconds);
+                    break;
+                case "json":
+                    addExporter(new JsonFileExporter(argument != null ? Paths.get(argument)
+                                                                      : JsonFileExporter.getDefaultFile()),
+                                intervalSeconds);
+                    break;
+                case "http":
+                    addExporter(new HttpExporter(this, argument != null ? Integer.parseInt(argument) : 9464), 0);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown metrics exporter: " + part.trim());
+            }
+        }
+    }
+    
+    /**
+     * Export to every exporter now
+     */
+    public void exportNow() {
+        MetricsSnapshot snapshot = snapshot();
+        for (MetricsExporter exporter : exporters) {
+            export(exporter, snapshot);
+        }
+    }
+    
+    /**
+     * Export one last time, then stop and close all exporters
+     */
+    public synchronized void close() {
+        if (exportScheduler != null) {
+            exportScheduler.shutdownNow();
+            exportScheduler = null;
+        }
+        
+        exportNow();
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.close();
+            } catch (IOException e) {
+                System.err.println("Error closing metrics exporter: " + e.getMessage());
+            }
+        }
+        exporters.clear();
+    }
+    
+    private static void export(MetricsExporter exporter, MetricsSnapshot snapshot) {
+        try {
+            exporter.export(snapshot);
+        } catch (IOException e) {
+            System.err.println("Error exporting metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package application.metrics;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The values of all metrics at one point in time, as handed to exporters
+ */
+public class MetricsSnapshot {
+    private final Instant timestamp;
+    private final Map<String, Long> counters;
+    private final Map<String, Histogram.Snapshot> histograms;
+    private final Map<String, HitRatio.Snapshot> hitRatios;
+    
+    MetricsSnapshot(Instant timestamp, Map<String, Long> counters,
+                    Map<String, Histogram.Snapshot> histograms, Map<String, HitRatio.Snapshot> hitRatios) {
+        this.timestamp = timestamp;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.histograms = Collections.unmodifiableMap(histograms);
+        this.hitRatios = Collections.unmodifiableMap(hitRatios);
+    }
+    
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+    
+    public Map<String, Histogram.Snapshot> getHistograms() {
+        return histograms;
+    }
+    
+    public Map<String, HitRatio.Snapshot> getHitRatios() {
+        return hitRatios;
+    }
+    
+    /**
+     * Print the metrics as tables, latencies in milliseconds
+     * 
+     * @param out The stream to print to
+     */
+    public void print(PrintStream out) {
+        out.println("Metrics at " + timestamp);
+        
+        if (!histograms.isEmpty()) {
+            out.println(String.format(Locale.ROOT, "%10s %9s %9s %9s %9s %9s  %s",
+                                      "count", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "timer"));
+            for (Map.Entry<String, Histogram.Snapshot> entry : histograms.entrySet()) {
+                Histogram.Snapshot histogram = entry.getValue();
+                out.println(String.format(Locale.ROOT, "%10d %9.3f %9.3f %9.3f %9.3f %9.3f  %s",
+                                          histogram.getCount(), histogram.getMean() / 1e6,
+                                          histogram.getValueAtPercentile(50) / 1e6,
+                                          histogram.getValueAtPercentile(99) / 1e6,
+                                          histogram.getValueAtPercentile(99.9) / 1e6,
+                                          histogram.getMax() / 1e6, entry.getKey()));
+            }
+        }
+        
+        for (Map.Entry<String, HitRatio.Snapshot> entry : hitRatios.entrySet()) {
+            HitRatio.Snapshot ratio = entry.getValue();
+            out.println(String.format(Locale.ROOT, "%s: %d hits, %d misses (%.1f%%)", entry.getKey(),
+                                      ratio.getHits(), ratio.getMisses(), ratio.getRatio() * 100));
+        }
+        
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            out.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+    
+    /**
+     * Format the metrics as a JSON object, latencies in nanoseconds
+     * 
+     * @return The JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"timestamp\": ").append(quote(timestamp.toString()));
+        
+        json.append(",\n  \"timers\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Histogram.Snapshot> entry : histograms.entrySet()) {
+            Histogram.Snapshot histogram = entry.getValue();
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+                .append("\"count\": ").append(histogram.getCount())
+                .append(", \"min\": ").append(histogram.getMin())
+                .append(", \"mean\": ").append(Math.round(histogram.getMean()))
+                .append(", \"p50\": ").append(histogram.getValueAtPercentile(50))
+                .append(", \"p90\": ").append(histogram.getValueAtPercentile(90))
+                .append(", \"p99\": ").append(histogram.getValueAtPercentile(99))
+                .append(", \"p999\": ").append(histogram.getValueAtPercentile(99.9))
+                .append(", \"max\": ").append(histogram.getMax()).append('}');
+            separator = ",\n";
+        }
+        json.append(histograms.isEmpty() ? "}" : "\n  }");
+        
+        json.append(",\n  \"hitRatios\": {");
+        separator = "\n";
+        for (Map.Entry<String, HitRatio.Snapshot> entry : hitRatios.entrySet()) {
+            HitRatio.Snapshot ratio = entry.getValue();
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+                .append("\"hits\": ").append(ratio.getHits())
+                .append(", \"misses\": ").append(ratio.getMisses()).append('}');
+            separator = ",\n";
+        }
+        json.append(hitRatios.isEmpty() ? "}" : "\n  }");
+        
+        json.append(",\n  \"counters\": {");
+        separator = "\n";
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        json.append(counters.isEmpty() ? "}" : "\n  }");
+        
+        return json.append("\n}\n").toString();
+    }
+    
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,56 @@
+package application.models;
+
+/**
+ * Model class representing a prerequisite relation between two subjects
+ * (the prerequisite subject must be taken before the dependent subject)
+ */
+public class Prerequisite {
+    private int id;
+    private int subjectId;       // The dependent subject
+    private int prerequisiteId;  // The subject that must come first
+    
+    public Prerequisite() {
+        // Default constructor
+    }
+    
+    public Prerequisite(int subjectId, int prerequisiteId) {
+        this.subjectId = subjectId;
+        this.prerequisiteId = prerequisiteId;
+    }
+    
+    public Prerequisite(int id, int subjectId, int prerequisiteId) {
+        this.id = id;
+        this.subjectId = subjectId;
+        this.prerequisiteId = prerequisiteId;
+    }
+    
+    // Getters and setters
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(int subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public int getPrerequisiteId() {
+        return prerequisiteId;
+    }
+    
+    public void setPrerequisiteId(int prerequisiteId) {
+        this.prerequisiteId = prerequisiteId;
+    }
+    
+    @Override
+    public String toString() {
+        return "Prerequisite [id=" + id + ", subjectId=" + subjectId + ", prerequisiteId=" + prerequisiteId + "]";
+    }
+}
@@ -1,6 +1,7 @@
 package application.models;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -108,7 +109,8 @@ public class Semester {
  // Replace the existing calculateGPA() method with this implementation
     /**
      * Calculate the GPA for this semester based on all subjects
-     * This version aggressively logs all data and ensures proper calculation
+     * The subjects' assessment data must be loaded, e.g. by SemesterService.getSemesterTree;
+     * this version aggressively logs all data
      * 
      * @return The calculated GPA
      */
@@ -125,10 +127,6 @@ public class Semester {
         
         for (Subject subject : subjects) {
             try {
-                // Force load assessment data before calculating GPA
-                subject.forceLoadData();
-                
-                // Now calculate the GPA with fresh data
                 double subjectGPA = subject.calculateGPA();
                 System.out.println("Subject " + subject.getName() + " GPA: " + subjectGPA);
                 
@@ -154,6 +152,30 @@ public class Semester {
         return semesterGPA;
     }
     
+    /**
+     * Calculate the GPA of subjects whose assessment data is already loaded,
+     * without reloading it from the database
+     * 
+     * @param subjects The loaded subjects
+     * @return The average GPA of the subjects with a GPA above 0
+     */
+    public static double calculateGPA(Collection<Subject> subjects) {
+        double totalGPA = 0.0;
+        int validSubjects = 0;
+        
+        for (Subject subject : subjects) {
+            double subjectGPA = subject.calculateGPA();
+            
+            // Only count subjects with GPAs > 0
+            if (subjectGPA > 0) {
+                totalGPA += subjectGPA;
+                validSubjects++;
+            }
+        }
+        
+        return validSubjects > 0 ? totalGPA / validSubjects : 0.0;
+    }
+    
     @Override
     public String toString() {
         return "Semester [id=" + id + ", name=" + name + ", subjects=" + subjects.size() + "]";
@@ -5,10 +5,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import application.metrics.Histogram;
+import application.metrics.MetricsRegistry;
+
 /**
  * Model class representing a subject in a semester
  */
 public class Subject {
+    private static final Histogram calculationTime =
+        MetricsRegistry.getInstance().histogram("subject.calculateOverallPercentage");
+    
     private int id;
     private int semesterId;
     private String name;
@@ -90,6 +96,7 @@ public class Subject {
      * @return The calculated percentage
      */
     public double calculateOverallPercentage() {
+        long start = System.nanoTime();
         double totalWeightedScore = 0.0;
         double totalWeight = 0.0;
         
@@ -147,6 +154,7 @@ public class Subject {
         }
         
         System.out.println("----- END CALCULATION -----\n");
+        calculationTime.recordSince(start);
         return overallPercentage;
     }
 
@@ -160,6 +168,16 @@ public class Subject {
         
         System.out.println("Calculating letter grade for " + percentage + "%");
         
+        return letterGradeFor(percentage);
+    }
+    
+    /**
+     * Get the letter grade for an overall percentage
+     * 
+     * @param percentage The overall percentage
+     * @return The letter grade
+     */
+    public static String letterGradeFor(double percentage) {
         if (percentage >= 93.0) return "A";
         if (percentage >= 90.0) return "A-";
         if (percentage >= 87.0) return "B+";
@@ -184,6 +202,16 @@ public class Subject {
         
         System.out.println("Calculating GPA for grade " + letterGrade);
         
+        return gpaFor(letterGrade);
+    }
+    
+    /**
+     * Get the grade points of a letter grade
+     * 
+     * @param letterGrade The letter grade
+     * @return The grade points
+     */
+    public static double gpaFor(String letterGrade) {
         switch (letterGrade) {
             case "A": return 4.0;
             case "A-": return 3.7;
@@ -428,30 +456,6 @@ public class Subject {
         System.out.println("GPA: " + gpa);
         System.out.println("======================================================");
     }
-    /**
-     * Force loading of assessment types and assessments
-     * This should be called before any GPA calculations
-     */
-    public void forceLoadData() {
-        try {
-            // Get a reference to the SubjectService
-            application.services.SubjectService service = new application.services.SubjectService();
-            
-            // Load assessment types and assessments
-            Subject freshData = service.getSubjectById(this.id);
-            
-            // Copy data from the fresh instance
-            if (freshData != null) {
-                this.assessmentTypes = freshData.getAssessmentTypes();
-                System.out.println("Successfully loaded " + 
-                                 (assessmentTypes != null ? assessmentTypes.size() : 0) + 
-                                 " assessment types for subject " + name);
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading data for subject " + name + ": " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     /**
      * Get the total percentage score for this subject
      * For debugging only
@@ -0,0 +1,198 @@
+package application.services;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import application.database.PrerequisiteRepository;
+import application.database.SemesterRepository;
+import application.database.SubjectRepository;
+import application.metrics.HitRatio;
+import application.metrics.MetricsRegistry;
+import application.models.Prerequisite;
+import application.models.Semester;
+import application.models.Subject;
+import application.models.User;
+import application.utils.GraphUtility;
+import application.utils.GraphUtility.PrerequisiteGraph;
+
+/**
+ * Service class for prerequisite relations between subjects across semesters
+ */
+public class PrerequisiteService {
+    // Built graphs per user ID, shared by all service instances.
+    // Grades never affect the graph, so entries are only dropped when edges change.
+    private static final Map<Integer, PrerequisiteGraph> graphCache = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a graph built from data read before it is not cached
+    private static long cacheVersion;
+    private static final HitRatio graphCacheHits = MetricsRegistry.getInstance().hitRatio("cache.prerequisiteGraphs");
+    
+    private PrerequisiteRepository prerequisiteRepository;
+    private SemesterRepository semesterRepository;
+    private SubjectRepository subjectRepository;
+    
+    public PrerequisiteService() {
+        prerequisiteRepository = new PrerequisiteRepository();
+        semesterRepository = new SemesterRepository();
+        subjectRepository = new SubjectRepository();
+    }
+    
+    /**
+     * Get the prerequisite graph for a user, building it on first use
+     * 
+     * @param user The user
+     * @return The prerequisite graph spanning all of the user's semesters
+     * @throws SQLException If there's an error during database operation
+     */
+    public PrerequisiteGraph getPrerequisiteGraph(User user) throws SQLException {
+        PrerequisiteGraph graph = graphCache.get(user.getId());
+        graphCacheHits.record(graph != null);
+        if (graph != null) {
+            return graph;
+        }
+        
+        long version;
+        synchronized (graphCache) {
+            version = cacheVersion;
+        }
+        
+        graph = buildGraph(user.getId());
+        
+        synchronized (graphCache) {
+            if (version == cacheVersion) {
+                PrerequisiteGraph cached = graphCache.putIfAbsent(user.getId(), graph);
+                if (cached != null) {
+                    graph = cached;
+                }
+            }
+        }
+        return graph;
+    }
+    
+    /**
+     * Add a prerequisite relation between two subjects of a user
+     * 
+     * @param user The user owning both subjects
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The subject that must be taken first
+     * @return The created prerequisite
+     * @throws SQLException If there's an error during database operation
+     * @throws IllegalArgumentException If validation fails
+     */
+    public Prerequisite addPrerequisite(User user, int subjectId, int prerequisiteId)
+            throws SQLException, IllegalArgumentException {
+        PrerequisiteGraph graph = getPrerequisiteGraph(user);
+        
+        // Subjects created after the graph was cached are not in it yet
+        if (!graph.containsSubject(subjectId) || !graph.containsSubject(prerequisiteId)) {
+            invalidateCache(user.getId());
+            graph = getPrerequisiteGraph(user);
+        }
+        
+        if (!graph.containsSubject(subjectId) || !graph.containsSubject(prerequisiteId)) {
+            throw new IllegalArgumentException("Both subjects must belong to the current user");
+        }
+        
+        if (graph.wouldCreateCycle(prerequisiteId, subjectId)) {
+            throw new IllegalArgumentException("A subject cannot be its own prerequisite, directly or indirectly");
+        }
+        
+        if (prerequisiteRepository.exists(subjectId, prerequisiteId)) {
+            throw new IllegalArgumentException("This prerequisite already exists");
+        }
+        
+        Prerequisite prerequisite = prerequisiteRepository.createPrerequisite(new Prerequisite(subjectId, prerequisiteId));
+        invalidateCache(user.getId());
+        
+        return prerequisite;
+    }
+    
+    /**
+     * Remove a prerequisite relation
+     * 
+     * @param user The user owning both subjects
+     * @param subjectId The dependent subject ID
+     * @param prerequisiteId The prerequisite subject ID
+     * @throws SQLException If there's an error during database operation
+     */
+    public void removePrerequisite(User user, int subjectId, int prerequisiteId) throws SQLException {
+        if (prerequisiteRepository.deletePrerequisite(subjectId, prerequisiteId)) {
+            invalidateCache(user.getId());
+        }
+    }
+    
+    /**
+     * Get the longest chain of prerequisites across the user's plan
+     * 
+     * @param user The user
+     * @return Subjects on the critical path, first prerequisite first
+     * @throws SQLException If there's an error during database operation
+     */
+    public List<Subject> getCriticalPath(User user) throws SQLException {
+        return getPrerequisiteGraph(user).findCriticalPath();
+    }
+    
+    /**
+     * Get the earliest semester each subject can be scheduled in
+     * 
+     * @param user The user
+     * @return Map of subject ID to earliest semester ordinal (0-based)
+     * @throws SQLException If there's an error during database operation
+     */
+    public Map<Integer, Integer> getEarliestSemesters(User user) throws SQLException {
+        return getPrerequisiteGraph(user).getEarliestSemesters();
+    }
+    
+    /**
+     * Get the future subjects affected by the grade of a subject
+     * 
+     * @param user The user
+     * @param subjectId The subject whose grade changed
+     * @return Subjects that directly or transitively depend on it
+     * @throws SQLException If there's an error during database operation
+     */
+    public List<Subject> getAffectedSubjects(User user, int subjectId) throws SQLException {
+        return getPrerequisiteGraph(user).findAffectedSubjects(subjectId);
+    }
+    
+    /**
+     * Drop the cached graph of a user
+     * 
+     * @param userId The user ID
+     */
+    public static void invalidateCache(int userId) {
+        synchronized (graphCache) {
+            cacheVersion++;
+            graphCache.remove(userId);
+        }
+    }
+    
+    /**
+     * Drop all cached graphs, e.g. after subjects (and their edges) were deleted
+     */
+    public static void invalidateCache() {
+        synchronized (graphCache) {
+            cacheVersion++;
+            graphCache.clear();
+        }
+    }
+    
+    /**
+     * Load semesters, subjects and edges with one query each and build the graph
+     * 
+     * @param userId The user ID
+     * @return The built graph
+     * @throws SQLException If there's an error during database operation
+     */
+    private PrerequisiteGraph buildGraph(int userId) throws SQLException {
+        List<Semester> semesters = semesterRepository.findAllByUserId(userId);
+        List<Subject> subjects = subjectRepository.findAllByUserId(userId);
+        List<Prerequisite> prerequisites = prerequisiteRepository.findAllByUserId(userId);
+        
+        System.out.println("PrerequisiteService: Building graph for user " + userId + " with " +
+                          subjects.size() + " subjects and " + prerequisites.size() + " prerequisites");
+        
+        return GraphUtility.createPrerequisiteGraph(semesters, subjects, prerequisites);
+    }
+}
@@ -1,13 +1,24 @@
 package application.services;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import application.database.AssessmentRepository;
+import application.database.AssessmentTypeRepository;
+import application.database.DatabaseExecutor;
 import application.database.SemesterRepository;
 import application.database.SubjectRepository;
+import application.models.Assessment;
+import application.models.AssessmentType;
 import application.models.Semester;
 import application.models.Subject;
 import application.models.User;
+import application.utils.GradeIndex;
 
 /**
  * Service class for semester-related business logic
@@ -15,10 +26,16 @@ import application.models.User;
 public class SemesterService {
     private SemesterRepository semesterRepository;
     private SubjectRepository subjectRepository;
+    private AssessmentTypeRepository assessmentTypeRepository;
+    private AssessmentRepository assessmentRepository;
+    private SubjectService subjectService;
     
     public SemesterService() {
         semesterRepository = new SemesterRepository();
         subjectRepository = new SubjectRepository();
+        assessmentTypeRepository = new AssessmentTypeRepository();
+        assessmentRepository = new AssessmentRepository();
+        subjectService = new SubjectService();
     }
     
     /**
@@ -84,6 +101,141 @@ public class SemesterService {
         return semester;
     }
     
+    /**
+     * Get all semesters for a user, with each subject's assessment types and assessments loaded
+     * 
+     * @param user The user
+     * @return The list of semesters
+     * @throws SQLException If there's an error during database operation
+     */
+    public List<Semester> getSemestersWithAssessmentData(User user) throws SQLException {
+        List<Semester> semesters = semesterRepository.findAllByUserId(user.getId());
+        
+        for (Semester semester : semesters) {
+            semester.setSubjects(subjectService.getSubjectsBySemester(semester.getId()));
+        }
+        
+        return semesters;
+    }
+    
+    /**
+     * Get all semesters for a user with assessment data, using four bulk queries
+     * 
+     * Semesters, subjects, assessment types and assessments are each read with
+     * one query over the whole user and joined in memory, instead of one query
+     * per semester, subject and assessment type. Meant for batch jobs that
+     * load many users one after another.
+     * 
+     * @param user The user
+     * @return The list of semesters with their subjects
+     * @throws SQLException If there's an error during database operation
+     */
+    public List<Semester> getSemesterTree(User user) throws SQLException {
+        List<Semester> semesters = semesterRepository.findAllByUserId(user.getId());
+        Map<Integer, Semester> semestersById = new HashMap<>();
+        for (Semester semester : semesters) {
+            semester.setSubjects(new ArrayList<>());
+            semestersById.put(semester.getId(), semester);
+        }
+        
+        Map<Integer, Subject> subjectsById = new HashMap<>();
+        for (Subject subject : subjectRepository.findAllByUserId(user.getId())) {
+            Semester semester = semestersById.get(subject.getSemesterId());
+            if (semester != null) {
+                semester.getSubjects().add(subject);
+                subjectsById.put(subject.getId(), subject);
+            }
+        }
+        
+        // Assessments are grouped first, so every type is complete when added to its subject
+        Map<Integer, List<Assessment>> assessmentsByType = new HashMap<>();
+        for (Assessment assessment : assessmentRepository.findAllByUserId(user.getId())) {
+            assessmentsByType.computeIfAbsent(assessment.getAssessmentTypeId(), id -> new ArrayList<>()).add(assessment);
+        }
+        
+        for (AssessmentType assessmentType : assessmentTypeRepository.findAllByUserId(user.getId())) {
+            Subject subject = subjectsById.get(assessmentType.getSubjectId());
+            if (subject != null) {
+                assessmentType.setAssessments(assessmentsByType.getOrDefault(assessmentType.getId(), new ArrayList<>()));
+                subject.addAssessmentType(assessmentType);
+            }
+        }
+        
+        return semesters;
+    }
+    
+    /**
+     * Get a semester by ID, with each subject's assessment types and assessments loaded
+     * 
+     * @param id The semester ID
+     * @return The semester, or null if it doesn't exist
+     * @throws SQLException If there's an error during database operation
+     */
+    public Semester getSemesterWithAssessmentData(int id) throws SQLException {
+        Semester semester = semesterRepository.findById(id);
+        
+        if (semester != null) {
+            semester.setSubjects(subjectService.getSubjectsBySemester(id));
+        }
+        
+        return semester;
+    }
+    
+    /**
+     * Load a semester for a complete refresh and move its subjects within the user's grade index
+     * This is the work SemesterController.refreshEverything does in the background
+     * 
+     * @param id The semester ID
+     * @return The semester with each subject's assessment data
+     * @throws SQLException If the semester no longer exists or there's an error during database operation
+     */
+    public Semester refreshSemester(int id) throws SQLException {
+        // One load per subject, including assessment types and assessments
+        Semester semester = getSemesterWithAssessmentData(id);
+        if (semester == null) {
+            throw new SQLException("Semester " + id + " no longer exists");
+        }
+        
+        GradeIndex gradeIndex = GradeIndex.forUser(semester.getUserId());
+        for (Subject subject : semester.getSubjects()) {
+            gradeIndex.put(subject, subject.calculateOverallPercentage());
+        }
+        
+        return semester;
+    }
+    
+    /**
+     * Get all semesters for a user with assessment data, off the calling thread
+     * 
+     * @param user The user
+     * @return A future for the list of semesters
+     */
+    public CompletableFuture<List<Semester>> getSemestersWithAssessmentDataAsync(User user) {
+        // One DatabaseExecutor read per semester; they run in parallel on the read connections
+        return semesterRepository.findAllByUserIdAsync(user.getId())
+            .thenCompose(semesters -> {
+                List<CompletableFuture<Semester>> loads = new ArrayList<>(semesters.size());
+                for (Semester semester : semesters) {
+                    loads.add(subjectService.getSubjectsBySemesterAsync(semester.getId())
+                        .thenApply(subjects -> {
+                            semester.setSubjects(subjects);
+                            return semester;
+                        }));
+                }
+                return DatabaseExecutor.allOf(loads);
+            });
+    }
+    
+    /**
+     * Get a semester by ID with assessment data, off the calling thread
+     * 
+     * @param id The semester ID
+     * @return A future for the semester (null if it doesn't exist)
+     */
+    public CompletableFuture<Semester> getSemesterWithAssessmentDataAsync(int id) {
+        return DatabaseExecutor.submit(() -> getSemesterWithAssessmentData(id));
+    }
+    
     /**
      * Update a semester
      * 
@@ -109,6 +261,9 @@ public class SemesterService {
      */
     public void deleteSemester(int id) throws SQLException {
         semesterRepository.deleteSemester(id);
+        
+        // Prerequisite edges of the semester's subjects were deleted with them
+        PrerequisiteService.invalidateCache();
     }
     
     /**
@@ -120,7 +275,7 @@ public class SemesterService {
      */
     public double calculateOverallGPA(User user) throws SQLException {
         System.out.println("SemesterService: Calculating overall GPA for user " + user.getFullName());
-        List<Semester> semesters = getSemestersByUser(user);
+        List<Semester> semesters = getSemesterTree(user);
         
         if (semesters.isEmpty()) {
             System.out.println("  No semesters found, GPA is 0.0");
@@ -159,12 +314,25 @@ public class SemesterService {
      * @throws SQLException If there's an error during database operation
      */
     public double calculateRequiredGPA(User user, double goalGPA) throws SQLException {
-        List<Semester> semesters = getSemestersByUser(user);
+        List<Double> semesterGPAs = new ArrayList<>();
+        for (Semester semester : getSemesterTree(user)) {
+            semesterGPAs.add(semester.calculateGPA());
+        }
+        return calculateRequiredGPA(semesterGPAs, goalGPA);
+    }
+    
+    /**
+     * Calculate the required GPA for future semesters from already calculated semester GPAs
+     * 
+     * @param semesterGPAs The GPA of each semester; semesters without a GPA count as not completed
+     * @param goalGPA The goal GPA
+     * @return The required GPA for future semesters
+     */
+    public static double calculateRequiredGPA(Collection<Double> semesterGPAs, double goalGPA) {
         int completedSemesters = 0;
         double currentGPA = 0.0;
         
-        for (Semester semester : semesters) {
-            double semesterGPA = semester.calculateGPA();
+        for (double semesterGPA : semesterGPAs) {
             if (semesterGPA > 0) {
                 currentGPA += semesterGPA;
                 completedSemesters++;
@@ -4,9 +4,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import application.database.AssessmentRepository;
 import application.database.AssessmentTypeRepository;
+import application.database.DatabaseExecutor;
 import application.database.SubjectRepository;
 import application.models.Assessment;
 import application.models.AssessmentType;
@@ -124,6 +126,37 @@ public class SubjectService {
         return subjects;
     }
     
+    /**
+     * Get all subjects for a semester with assessment data, off the calling thread
+     * 
+     * The subjects' assessment data is loaded as separate DatabaseExecutor
+     * reads, in parallel on its read connections, or inline when called from
+     * inside a task.
+     * 
+     * @param semesterId The semester ID
+     * @return A future for the list of subjects
+     */
+    public CompletableFuture<List<Subject>> getSubjectsBySemesterAsync(int semesterId) {
+        return subjectRepository.findAllBySemesterIdAsync(semesterId)
+            .thenCompose(subjects -> {
+                List<CompletableFuture<Subject>> loads = new ArrayList<>(subjects.size());
+                for (Subject subject : subjects) {
+                    loads.add(loadAssessmentDataAsync(subject));
+                }
+                return DatabaseExecutor.allOf(loads);
+            });
+    }
+    
+    /**
+     * Get a subject by ID with assessment data, off the calling thread
+     * 
+     * @param id The subject ID
+     * @return A future for the subject (null if it doesn't exist)
+     */
+    public CompletableFuture<Subject> getSubjectByIdAsync(int id) {
+        return DatabaseExecutor.submit(() -> getSubjectById(id));
+    }
+    
     /**
      * Get a subject by ID, including its assessment types and assessments
      * 
@@ -172,6 +205,38 @@ public class SubjectService {
         }
     }
     
+    /**
+     * Load assessment types and then the assessments of every type concurrently
+     * 
+     * @param subject The subject
+     * @return A future for the subject, completed once all its data is loaded
+     */
+    private CompletableFuture<Subject> loadAssessmentDataAsync(Subject subject) {
+        return assessmentTypeRepository.findAllBySubjectIdAsync(subject.getId())
+            .thenCompose(assessmentTypes -> {
+                List<CompletableFuture<AssessmentType>> loads = new ArrayList<>(assessmentTypes.size());
+                
+                for (AssessmentType assessmentType : assessmentTypes) {
+                    System.out.println("Loading assessments for type: " + assessmentType.getType() + ", ID: " + assessmentType.getId());
+                    loads.add(assessmentRepository.findAllByAssessmentTypeIdAsync(assessmentType.getId())
+                        .thenApply(assessments -> {
+                            System.out.println("Found " + assessments.size() + " assessments");
+                            assessmentType.setAssessments(assessments);
+                            return assessmentType;
+                        }));
+                }
+                
+                return DatabaseExecutor.allOf(loads);
+            })
+            .thenApply(assessmentTypes -> {
+                // Added in query order, once all types are complete
+                for (AssessmentType assessmentType : assessmentTypes) {
+                    subject.addAssessmentType(assessmentType);
+                }
+                return subject;
+            });
+    }
+    
     /**
      * Update a subject
      * 
@@ -228,6 +293,28 @@ public class SubjectService {
         return updatedAssessment;
     }
     
+    /**
+     * Update the scores and finalization status of several assessments together
+     * All assessments are validated before anything is written
+     * 
+     * @param assessments The assessments to update
+     * @throws SQLException If there's an error during database operation
+     */
+    public void updateAssessments(List<Assessment> assessments) throws SQLException {
+        if (assessments == null) {
+            throw new IllegalArgumentException("Assessments cannot be null");
+        }
+        
+        for (Assessment assessment : assessments) {
+            if (assessment.getScore() < 0 || assessment.getScore() > 100) {
+                throw new IllegalArgumentException("Score must be between 0 and 100");
+            }
+        }
+        
+        System.out.println("SubjectService: Updating " + assessments.size() + " assessments");
+        assessmentRepository.updateBatch(assessments);
+    }
+    
     /**
      * Delete a subject
      * 
@@ -236,6 +323,9 @@ public class SubjectService {
      */
     public void deleteSubject(int id) throws SQLException {
         subjectRepository.deleteSubject(id);
+        
+        // The subject's prerequisite edges were deleted with it
+        PrerequisiteService.invalidateCache();
     }
     
 }
\ No newline at end of file
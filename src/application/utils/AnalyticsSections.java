@@ -0,0 +1,263 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Semester;
+import application.models.Subject;
+
+/**
+ * The computed sections of a semester's analytics
+ * (statistics, distributions, trends, projections and recommendations)
+ * 
+ * Each section is computed by an independent subtask of a TaskScope and the
+ * results are joined before anything is rendered or exported. Instances are
+ * immutable once computed and can be read from any thread.
+ */
+public class AnalyticsSections {
+    // Program length used for GPA projections
+    private static final int TOTAL_SEMESTERS = 8;
+    
+    private double semesterGPA;
+    private Map<String, Double> statistics;
+    private Map<Integer, SubjectMetrics> subjectMetrics;
+    private Map<Integer, Map<String, Map<String, Integer>>> distributions;
+    private Map<Integer, List<Map.Entry<String, Double>>> trends;
+    private Map<String, Double> projections;
+    private Map<Integer, List<String>> recommendations;
+    
+    private List<Subject> subjects;
+    
+    private AnalyticsSections() {
+        // Created by compute()
+    }
+    
+    /**
+     * Compute all sections concurrently and wait for them
+     * The scope is cancelled if any section fails, or from outside (e.g. when
+     * the data changes), in which case this method throws
+     * 
+     * @param semesterId The ID of the analyzed semester
+     * @param subjects The semester's subjects with assessment data
+     * @param semesters All of the user's semesters with subjects, or null to skip projections
+     * @param scope The scope the section subtasks run in
+     * @return The computed sections
+     * @throws Exception If a section failed or the scope was cancelled
+     */
+    public static AnalyticsSections compute(int semesterId, List<Subject> subjects, List<Semester> semesters,
+            TaskScope scope)
+            throws Exception {
+        List<Subject> snapshot = new ArrayList<>(subjects);
+        
+        Future<Map<Integer, SubjectMetrics>> metrics = scope.fork(() -> computeSubjectMetrics(snapshot, scope));
+        Future<Map<String, Double>> statistics = scope.fork(() -> computeStatistics(snapshot));
+        Future<Map<Integer, Map<String, Map<String, Integer>>>> distributions = scope.fork(() -> {
+            Map<Integer, Map<String, Map<String, Integer>>> result = new LinkedHashMap<>();
+            for (Subject subject : snapshot) {
+                scope.throwIfCancelled();
+                result.put(subject.getId(), AnalyticsUtility.getGradeDistribution(subject));
+            }
+            return result;
+        });
+        Future<Map<Integer, List<Map.Entry<String, Double>>>> trends = scope.fork(() -> {
+            Map<Integer, List<Map.Entry<String, Double>>> result = new LinkedHashMap<>();
+            for (Subject subject : snapshot) {
+                scope.throwIfCancelled();
+                result.put(subject.getId(), AnalyticsUtility.calculateGradeTrend(subject));
+            }
+            return result;
+        });
+        Future<Map<Integer, List<String>>> recommendations = scope.fork(() -> {
+            Map<Integer, List<String>> result = new LinkedHashMap<>();
+            for (Subject subject : snapshot) {
+                scope.throwIfCancelled();
+                result.put(subject.getId(), AnalyticsUtility.calculateRecommendations(subject));
+            }
+            return result;
+        });
+        Future<Map<String, Double>> projections = semesters == null ? null
+            : scope.fork(() -> computeProjections(semesterId, snapshot, new ArrayList<>(semesters)));
+        
+        scope.join();
+        
+        AnalyticsSections sections = new AnalyticsSections();
+        sections.subjects = Collections.unmodifiableList(snapshot);
+        sections.subjectMetrics = Collections.unmodifiableMap(metrics.get());
+        sections.statistics = Collections.unmodifiableMap(statistics.get());
+        sections.distributions = Collections.unmodifiableMap(distributions.get());
+        sections.trends = Collections.unmodifiableMap(trends.get());
+        sections.recommendations = Collections.unmodifiableMap(recommendations.get());
+        sections.projections = projections != null ? Collections.unmodifiableMap(projections.get()) : null;
+        sections.semesterGPA = Semester.calculateGPA(snapshot);
+        return sections;
+    }
+    
+    private static Map<Integer, SubjectMetrics> computeSubjectMetrics(List<Subject> subjects, TaskScope scope) {
+        Map<Integer, SubjectMetrics> result = new LinkedHashMap<>();
+        for (Subject subject : subjects) {
+            scope.throwIfCancelled();
+            result.put(subject.getId(), new SubjectMetrics(subject));
+        }
+        return result;
+    }
+    
+    /**
+     * Descriptive statistics over all entered (non-zero) scores of weighted types
+     */
+    private static Map<String, Double> computeStatistics(List<Subject> subjects) {
+        List<Double> allScores = new ArrayList<>();
+        for (Subject subject : subjects) {
+            for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+                if (assessmentType.getWeight() > 0) {
+                    for (Assessment assessment : assessmentType.getAssessments()) {
+                        if (assessment.getScore() > 0) {
+                            allScores.add(assessment.getScore());
+                        }
+                    }
+                }
+            }
+        }
+        return AnalyticsUtility.calculateStatistics(allScores);
+    }
+    
+    /**
+     * GPA projections over the semesters that have grades
+     * Semester GPAs are computed from the subjects loaded with each semester,
+     * without database access. The analyzed semester uses its own subjects,
+     * which may have been reloaded after the semester list.
+     */
+    private static Map<String, Double> computeProjections(int semesterId, List<Subject> subjects,
+            List<Semester> semesters) {
+        double totalGPA = 0.0;
+        int semesterCount = 0;
+        
+        for (Semester semester : semesters) {
+            double gpa = Semester.calculateGPA(semester.getId() == semesterId ? subjects : semester.getSubjects());
+            if (gpa > 0) {
+                totalGPA += gpa;
+                semesterCount++;
+            }
+        }
+        
+        Map<String, Double> projections = new HashMap<>();
+        double overallGPA = semesterCount > 0 ? totalGPA / semesterCount : 0.0;
+        int remaining = TOTAL_SEMESTERS - semesterCount;
+        
+        projections.put("completed", (double) semesterCount);
+        projections.put("current", overallGPA);
+        projections.put("realistic", overallGPA);
+        if (remaining <= 0) {
+            projections.put("best", overallGPA);
+            projections.put("worst", overallGPA);
+        } else {
+            double best = ((overallGPA * semesterCount) + (4.0 * remaining)) / TOTAL_SEMESTERS;
+            projections.put("best", Math.min(4.0, best));
+            projections.put("worst", ((overallGPA * semesterCount) + (2.0 * remaining)) / TOTAL_SEMESTERS);
+        }
+        return projections;
+    }
+    
+    /**
+     * Get the subjects the sections were computed from
+     * 
+     * @return The subjects
+     */
+    public List<Subject> getSubjects() {
+        return subjects;
+    }
+    
+    public double getSemesterGPA() {
+        return semesterGPA;
+    }
+    
+    public Map<String, Double> getStatistics() {
+        return statistics;
+    }
+    
+    public SubjectMetrics getSubjectMetrics(int subjectId) {
+        return subjectMetrics.get(subjectId);
+    }
+    
+    public Map<String, Map<String, Integer>> getDistribution(int subjectId) {
+        return distributions.get(subjectId);
+    }
+    
+    public List<Map.Entry<String, Double>> getTrend(int subjectId) {
+        return trends.get(subjectId);
+    }
+    
+    /**
+     * Get the GPA projections
+     * Keys: current, best, realistic, worst and completed (the number of semesters with grades)
+     * 
+     * @return The projections, or null if they were not computed
+     */
+    public Map<String, Double> getProjections() {
+        return projections;
+    }
+    
+    public List<String> getRecommendations(int subjectId) {
+        return recommendations.get(subjectId);
+    }
+    
+    /**
+     * Overall results of one subject and the average score of each assessment type
+     */
+    public static class SubjectMetrics {
+        private final double percentage;
+        private final String letterGrade;
+        private final double gpa;
+        private final Map<String, Double> typeAverages;
+        
+        public SubjectMetrics(Subject subject) {
+            this.percentage = subject.calculateOverallPercentage();
+            this.letterGrade = subject.calculateLetterGrade();
+            this.gpa = subject.calculateGPA();
+            
+            Map<String, Double> averages = new LinkedHashMap<>();
+            for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
+                double totalScore = 0;
+                int scoredCount = 0;
+                
+                for (Assessment assessment : entry.getValue().getAssessments()) {
+                    if (assessment.getScore() > 0) {
+                        totalScore += assessment.getScore();
+                        scoredCount++;
+                    }
+                }
+                
+                averages.put(entry.getKey(), scoredCount > 0 ? totalScore / scoredCount : 0.0);
+            }
+            this.typeAverages = Collections.unmodifiableMap(averages);
+        }
+        
+        public double getPercentage() {
+            return percentage;
+        }
+        
+        public String getLetterGrade() {
+            return letterGrade;
+        }
+        
+        public double getGpa() {
+            return gpa;
+        }
+        
+        /**
+         * Get the average entered score of an assessment type
+         * 
+         * @param type The assessment type key
+         * @return The average, or 0 if no scores were entered
+         */
+        public double getTypeAverage(String type) {
+            return typeAverages.getOrDefault(type, 0.0);
+        }
+    }
+}
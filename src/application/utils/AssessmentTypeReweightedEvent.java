@@ -0,0 +1,53 @@
+package application.utils;
+
+/**
+ * Event indicating that the weight of an assessment type of a subject changed
+ */
+public class AssessmentTypeReweightedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final int subjectId;
+    private final int assessmentTypeId;
+    private final String type;
+    private final double oldWeight;
+    private final double newWeight;
+    
+    public AssessmentTypeReweightedEvent(int semesterId, int subjectId, int assessmentTypeId, String type,
+                                         double oldWeight, double newWeight) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.subjectId = subjectId;
+        this.assessmentTypeId = assessmentTypeId;
+        this.type = type;
+        this.oldWeight = oldWeight;
+        this.newWeight = newWeight;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+    
+    public int getAssessmentTypeId() {
+        return assessmentTypeId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public double getOldWeight() {
+        return oldWeight;
+    }
+    
+    public double getNewWeight() {
+        return newWeight;
+    }
+}
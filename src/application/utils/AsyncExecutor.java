@@ -0,0 +1,146 @@
+package application.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs database and computation work off the JavaFX application thread
+ * 
+ * Tasks run on virtual threads when the runtime supports them (Java 21+),
+ * otherwise on a cached pool of daemon threads. Results are CompletableFutures
+ * that views continue on the FX thread via {@link #fxThread()}. Tasks run in
+ * the Operation that was current when they were submitted.
+ * 
+ * This class has no JavaFX dependency: the application installs the FX thread
+ * executor at startup, and without it callbacks run inline (headless use).
+ */
+public class AsyncExecutor {
+    // Declared before the executor, which sets it while being created
+    private static boolean virtualThreads;
+    private static final ExecutorService executor = createExecutor();
+    // Runs each task in the Operation that submitted it
+    private static final Executor operationExecutor = task -> executor.execute(Operation.propagate(task));
+    private static volatile Executor fxThreadExecutor = Runnable::run;
+    
+    private AsyncExecutor() {
+        // Static utility
+    }
+    
+    /**
+     * Run a task asynchronously
+     * Checked exceptions complete the future exceptionally (wrapped in a CompletionException)
+     * 
+     * @param <T> The result type
+     * @param task The task
+     * @return A future for the task's result
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, operationExecutor);
+    }
+    
+    /**
+     * Run a task without a result asynchronously
+     * 
+     * @param task The task
+     * @return A future completed when the task finishes
+     */
+    public static CompletableFuture<Void> run(Task task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Get the executor used for asynchronous work, e.g. for thenApplyAsync
+     * 
+     * @return The executor
+     */
+    public static Executor getExecutor() {
+        return operationExecutor;
+    }
+    
+    /**
+     * Get an executor that runs tasks on the JavaFX application thread
+     * Runs inline when no FX thread executor was installed (headless use)
+     * 
+     * @return The FX thread executor
+     */
+    public static Executor fxThread() {
+        return fxThreadExecutor;
+    }
+    
+    /**
+     * Install the executor returned by fxThread(), e.g. FxThreadExecutor at application start
+     * 
+     * @param executor The executor that runs tasks on the UI thread
+     */
+    public static void setFxThreadExecutor(Executor executor) {
+        fxThreadExecutor = executor;
+    }
+    
+    /**
+     * Get the underlying cause of a failed future
+     * 
+     * @param error The error passed to exceptionally/handle/whenComplete
+     * @return The original exception
+     */
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+    
+    /**
+     * Check whether tasks run on virtual threads
+     * 
+     * @return true if virtual threads are used
+     */
+    public static boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    private static ExecutorService createExecutor() {
+        // Looked up reflectively so the application still runs on Java 17
+        try {
+            ExecutorService virtualExecutor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+            virtualThreads = true;
+            System.out.println("AsyncExecutor: Using virtual threads");
+            return virtualExecutor;
+        } catch (ReflectiveOperationException e) {
+            System.out.println("AsyncExecutor: Virtual threads unavailable, using a cached thread pool");
+        }
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "async-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * A task without a result that may throw
+     */
+    public interface Task {
+        void run() throws Exception;
+    }
+}
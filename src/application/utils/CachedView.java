@@ -0,0 +1,37 @@
+package application.utils;
+
+import javafx.scene.Parent;
+
+/**
+ * A screen that the Navigator may keep alive and show again instead of rebuilding it
+ * 
+ * Cached views stay subscribed to change events while hidden, so they are
+ * already up to date when shown again.
+ */
+public interface CachedView {
+    
+    /**
+     * Get the root node of the view
+     * 
+     * @return The root node
+     */
+    Parent getView();
+    
+    /**
+     * Called when the view is shown again from the cache
+     */
+    default void onShow() {
+    }
+    
+    /**
+     * Called when another screen replaces this view
+     */
+    default void onHide() {
+    }
+    
+    /**
+     * Called when the view is evicted from the cache and will not be shown again
+     */
+    default void dispose() {
+    }
+}
@@ -0,0 +1,742 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * A chart drawn on a single Canvas
+ * 
+ * JavaFX charts create scene graph nodes for every data point and lay them out
+ * again on each update. This chart keeps its data in primitive arrays and draws
+ * bars, lines, pies or histograms in one pass, however many points there are.
+ * Changing single values only redraws the region they cover, at most once per
+ * pulse. The look follows the default (Modena) chart style.
+ */
+public class CanvasChart extends Region {
+    
+    /**
+     * The kind of chart
+     */
+    public enum Type {
+        BAR, LINE, PIE, HISTOGRAM
+    }
+    
+    // Default Modena series and pie slice colors
+    private static final Color[] DEFAULT_COLORS = {
+        Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"), Color.web("#41a9c9"),
+        Color.web("#4258c9"), Color.web("#9a42c8"), Color.web("#c84164"), Color.web("#888888")
+    };
+    
+    private static final Color GRID_COLOR = Color.web("#e0e0e0");
+    private static final Color AXIS_COLOR = Color.web("#a0a0a0");
+    private static final Color TEXT_COLOR = Color.web("#333333");
+    private static final Font TITLE_FONT = Font.font(16);
+    private static final Font AXIS_LABEL_FONT = Font.font(12);
+    private static final Font TICK_FONT = Font.font(11);
+    
+    private static final double PADDING = 10;
+    private static final double TICK_GAP = 6;
+    private static final double LINE_HEIGHT = 16;
+    
+    // Fraction of a category's width left empty between bars
+    private static final double CATEGORY_GAP = 0.2;
+    private static final double LINE_WIDTH = 3;
+    private static final double SYMBOL_RADIUS = 4;
+    private static final double LEGEND_SWATCH = 10;
+    
+    // Used to measure text; only touched on the FX thread
+    private static final Text measurer = new Text();
+    
+    private final Type type;
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+    private boolean tooltipInstalled;
+    
+    private String title;
+    private String xAxisLabel;
+    private String yAxisLabel;
+    private String seriesName;
+    private double minValue = 0;
+    private double maxValue = 100;
+    private double tickUnit = 10;
+    private String tickSuffix = "";
+    private boolean legendVisible;
+    
+    private String[] labels = new String[0];
+    private double[] values = new double[0];
+    private Color[] colors;
+    
+    // Indices of the line points drawn at the current plot width
+    private int[] shownPoints;
+    private double shownPointsWidth = -1;
+    
+    // Geometry of the last draw, used for dirty regions and hit testing
+    private double plotX;
+    private double plotY;
+    private double plotWidth;
+    private double plotHeight;
+    private double pieCenterX;
+    private double pieCenterY;
+    private double pieRadius;
+    
+    // Pending dirty region (minX, minY, maxX, maxY), or null if nothing is pending
+    private double[] dirty;
+    private boolean redrawScheduled;
+    
+    /**
+     * Constructor for CanvasChart
+     * 
+     * @param type The kind of chart
+     */
+    public CanvasChart(Type type) {
+        this.type = type;
+        this.legendVisible = type == Type.PIE;
+        
+        canvas.setManaged(false);
+        getChildren().add(canvas);
+        setPrefSize(500, 400);
+        setMinSize(100, 80);
+        
+        canvas.setOnMouseMoved(event -> updateTooltip(hitTest(event.getX(), event.getY())));
+        canvas.setOnMouseExited(event -> updateTooltip(null));
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+        redrawAll();
+    }
+    
+    /**
+     * Set the axis titles
+     * 
+     * @param xAxisLabel The category axis title, or null for none
+     * @param yAxisLabel The value axis title, or null for none
+     */
+    public void setAxisLabels(String xAxisLabel, String yAxisLabel) {
+        this.xAxisLabel = xAxisLabel;
+        this.yAxisLabel = yAxisLabel;
+        redrawAll();
+    }
+    
+    /**
+     * Set the value axis range like NumberAxis(lowerBound, upperBound, tickUnit)
+     * 
+     * @param minValue The lower bound
+     * @param maxValue The upper bound
+     * @param tickUnit The distance between ticks
+     */
+    public void setRange(double minValue, double maxValue, double tickUnit) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.tickUnit = tickUnit;
+        redrawAll();
+    }
+    
+    /**
+     * Set a suffix for tick labels and tooltips (e.g. "%")
+     * 
+     * @param tickSuffix The suffix
+     */
+    public void setTickSuffix(String tickSuffix) {
+        this.tickSuffix = tickSuffix != null ? tickSuffix : "";
+        redrawAll();
+    }
+    
+    /**
+     * Set the series name shown in the legend of bar, line and histogram charts
+     * 
+     * @param seriesName The series name
+     */
+    public void setSeriesName(String seriesName) {
+        this.seriesName = seriesName;
+        redrawAll();
+    }
+    
+    public void setLegendVisible(boolean legendVisible) {
+        this.legendVisible = legendVisible;
+        redrawAll();
+    }
+    
+    /**
+     * Set colors per bar or slice, repeated if there are fewer colors than values
+     * 
+     * @param colors The colors, or null for the default style
+     */
+    public void setColors(Color... colors) {
+        this.colors = colors != null && colors.length > 0 ? colors.clone() : null;
+        redrawAll();
+    }
+    
+    /**
+     * Replace the data
+     * 
+     * @param labels The category (or slice) labels
+     * @param values The values, in the same order
+     */
+    public void setData(String[] labels, double[] values) {
+        if (labels.length != values.length) {
+            throw new IllegalArgumentException("Labels and values must have the same length");
+        }
+        
+        this.labels = labels.clone();
+        this.values = values.clone();
+        this.shownPoints = null;
+        redrawAll();
+    }
+    
+    /**
+     * Replace the data with a histogram of samples
+     * 
+     * @param samples The samples
+     * @param lowerBound The start of the first bin
+     * @param upperBound The end of the last bin
+     * @param binCount The number of equally wide bins
+     */
+    public void setHistogram(double[] samples, double lowerBound, double upperBound, int binCount) {
+        if (binCount <= 0 || upperBound <= lowerBound) {
+            throw new IllegalArgumentException("Invalid histogram bins");
+        }
+        
+        double binWidth = (upperBound - lowerBound) / binCount;
+        String[] binLabels = new String[binCount];
+        double[] counts = new double[binCount];
+        
+        for (int i = 0; i < binCount; i++) {
+            binLabels[i] = formatNumber(lowerBound + i * binWidth, binWidth) + "-"
+                + formatNumber(lowerBound + (i + 1) * binWidth, binWidth);
+        }
+        
+        for (double sample : samples) {
+            if (sample >= lowerBound && sample <= upperBound) {
+                int bin = Math.min(binCount - 1, (int) ((sample - lowerBound) / binWidth));
+                counts[bin]++;
+            }
+        }
+        
+        setData(binLabels, counts);
+    }
+    
+    /**
+     * Change one value, redrawing only the region it affects
+     * 
+     * @param index The data index
+     * @param value The new value
+     */
+    public void setValue(int index, double value) {
+        values[index] = value;
+        
+        if (plotWidth <= 0 || values.length == 0) {
+            redrawAll();
+            return;
+        }
+        
+        double categoryWidth = plotWidth / values.length;
+        
+        if (type == Type.BAR || type == Type.HISTOGRAM) {
+            double left = plotX + index * categoryWidth;
+            markDirty(left - 1, plotY - 1, left + categoryWidth + 1, plotY + plotHeight + 1);
+        } else if (type == Type.LINE && shownPoints != null && shownPoints.length == values.length) {
+            // The segments to the neighbouring points move along with the point
+            double left = plotX + Math.max(0, index - 1) * categoryWidth;
+            double right = plotX + Math.min(values.length, index + 2) * categoryWidth;
+            markDirty(left - LINE_WIDTH, plotY - SYMBOL_RADIUS - LINE_WIDTH,
+                right + LINE_WIDTH, plotY + plotHeight + SYMBOL_RADIUS + LINE_WIDTH);
+        } else {
+            // Downsampled lines may pick other points, and every slice of a pie moves
+            shownPoints = null;
+            redrawAll();
+        }
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    @Override
+    protected void layoutChildren() {
+        Insets insets = getInsets();
+        double width = Math.max(0, getWidth() - insets.getLeft() - insets.getRight());
+        double height = Math.max(0, getHeight() - insets.getTop() - insets.getBottom());
+        
+        canvas.relocate(insets.getLeft(), insets.getTop());
+        
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            
+            // Draw right away so a resized chart never shows an empty frame
+            dirty = new double[] { 0, 0, width, height };
+            redraw();
+        }
+    }
+    
+    private void redrawAll() {
+        markDirty(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+    
+    /**
+     * Add a region to redraw; all regions marked during one pulse are drawn together
+     */
+    private void markDirty(double minX, double minY, double maxX, double maxY) {
+        if (dirty == null) {
+            dirty = new double[] { minX, minY, maxX, maxY };
+        } else {
+            dirty[0] = Math.min(dirty[0], minX);
+            dirty[1] = Math.min(dirty[1], minY);
+            dirty[2] = Math.max(dirty[2], maxX);
+            dirty[3] = Math.max(dirty[3], maxY);
+        }
+        
+        if (!redrawScheduled) {
+            redrawScheduled = true;
+            Platform.runLater(this::redraw);
+        }
+    }
+    
+    private void redraw() {
+        redrawScheduled = false;
+        if (dirty == null || canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+            return;
+        }
+        
+        double[] region = dirty;
+        dirty = null;
+        
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        
+        // Drawing outside the dirty region is clipped away
+        gc.beginPath();
+        gc.rect(region[0], region[1], region[2] - region[0], region[3] - region[1]);
+        gc.clip();
+        gc.clearRect(region[0], region[1], region[2] - region[0], region[3] - region[1]);
+        
+        draw(gc, canvas.getWidth(), canvas.getHeight());
+        
+        gc.restore();
+    }
+    
+    private void draw(GraphicsContext gc, double width, double height) {
+        double top = PADDING;
+        
+        if (title != null && !title.isEmpty()) {
+            gc.setFont(TITLE_FONT);
+            gc.setFill(TEXT_COLOR);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.TOP);
+            gc.fillText(title, width / 2, top);
+            top += textHeight(TITLE_FONT) + PADDING;
+        }
+        
+        List<String> legendLabels = new ArrayList<>();
+        List<Color> legendColors = new ArrayList<>();
+        collectLegend(legendLabels, legendColors);
+        
+        double bottom = height - PADDING;
+        if (!legendLabels.isEmpty()) {
+            bottom -= drawLegend(gc, legendLabels, legendColors, width, bottom);
+        }
+        
+        if (type == Type.PIE) {
+            drawPie(gc, PADDING, top, width - 2 * PADDING, bottom - top);
+        } else {
+            drawXYChart(gc, PADDING, top, width - 2 * PADDING, bottom - top);
+        }
+    }
+    
+    private void drawXYChart(GraphicsContext gc, double x, double y, double width, double height) {
+        // Lay out the axes around the plot area
+        double left = x;
+        if (yAxisLabel != null) {
+            left += textHeight(AXIS_LABEL_FONT) + TICK_GAP;
+        }
+        double maxTickWidth = 0;
+        for (double tick = minValue; tick <= maxValue + tickUnit / 1000; tick += tickUnit) {
+            maxTickWidth = Math.max(maxTickWidth, textWidth(formatTick(tick), TICK_FONT));
+        }
+        left += maxTickWidth + TICK_GAP;
+        
+        double bottom = y + height - LINE_HEIGHT - TICK_GAP;
+        if (xAxisLabel != null) {
+            bottom -= textHeight(AXIS_LABEL_FONT) + TICK_GAP;
+        }
+        
+        plotX = left;
+        plotY = y + SYMBOL_RADIUS;
+        plotWidth = Math.max(1, x + width - left);
+        plotHeight = Math.max(1, bottom - plotY);
+        
+        // Horizontal grid lines and value ticks
+        gc.setFont(TICK_FONT);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setLineWidth(1);
+        for (double tick = minValue; tick <= maxValue + tickUnit / 1000; tick += tickUnit) {
+            double tickY = snap(valueToY(tick));
+            gc.setStroke(GRID_COLOR);
+            gc.strokeLine(plotX, tickY, plotX + plotWidth, tickY);
+            gc.setFill(TEXT_COLOR);
+            gc.fillText(formatTick(tick), plotX - TICK_GAP, tickY);
+        }
+        
+        // Axis lines
+        gc.setStroke(AXIS_COLOR);
+        gc.strokeLine(snap(plotX), plotY, snap(plotX), plotY + plotHeight);
+        gc.strokeLine(plotX, snap(plotY + plotHeight), plotX + plotWidth, snap(plotY + plotHeight));
+        
+        // Axis titles
+        gc.setFont(AXIS_LABEL_FONT);
+        gc.setFill(TEXT_COLOR);
+        gc.setTextAlign(TextAlignment.CENTER);
+        if (xAxisLabel != null) {
+            gc.setTextBaseline(VPos.BOTTOM);
+            gc.fillText(xAxisLabel, plotX + plotWidth / 2, y + height);
+        }
+        if (yAxisLabel != null) {
+            gc.save();
+            gc.translate(x, plotY + plotHeight / 2);
+            gc.rotate(-90);
+            gc.setTextBaseline(VPos.TOP);
+            gc.fillText(yAxisLabel, 0, 0);
+            gc.restore();
+        }
+        
+        if (values.length == 0) {
+            return;
+        }
+        
+        double categoryWidth = plotWidth / values.length;
+        drawCategoryLabels(gc, categoryWidth);
+        
+        if (type == Type.LINE) {
+            drawLine(gc, categoryWidth);
+        } else {
+            drawBars(gc, categoryWidth);
+        }
+    }
+    
+    /**
+     * Draw category labels, skipping labels where they would overlap
+     */
+    private void drawCategoryLabels(GraphicsContext gc, double categoryWidth) {
+        double widest = 0;
+        int sampleStep = Math.max(1, labels.length / 50);
+        for (int i = 0; i < labels.length; i += sampleStep) {
+            widest = Math.max(widest, textWidth(labels[i], TICK_FONT));
+        }
+        int step = Math.max(1, (int) Math.ceil((widest + TICK_GAP) / categoryWidth));
+        
+        gc.setFont(TICK_FONT);
+        gc.setFill(TEXT_COLOR);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        for (int i = 0; i < labels.length; i += step) {
+            gc.fillText(labels[i], plotX + (i + 0.5) * categoryWidth, plotY + plotHeight + TICK_GAP);
+        }
+    }
+    
+    private void drawBars(GraphicsContext gc, double categoryWidth) {
+        boolean histogram = type == Type.HISTOGRAM;
+        double barWidth = histogram ? categoryWidth : categoryWidth * (1 - CATEGORY_GAP);
+        double baseY = valueToY(Math.max(minValue, 0));
+        
+        for (int i = 0; i < values.length; i++) {
+            double barX = plotX + i * categoryWidth + (categoryWidth - barWidth) / 2;
+            double valueY = valueToY(values[i]);
+            
+            gc.setFill(colorAt(i, false));
+            gc.fillRect(barX, Math.min(valueY, baseY), barWidth, Math.abs(baseY - valueY));
+            
+            if (histogram && barWidth > 3) {
+                // Separate adjacent bins
+                gc.setStroke(Color.WHITE);
+                gc.strokeRect(barX, Math.min(valueY, baseY), barWidth, Math.abs(baseY - valueY));
+            }
+        }
+    }
+    
+    private void drawLine(GraphicsContext gc, double categoryWidth) {
+        int[] points = shownPoints();
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = plotX + (points[i] + 0.5) * categoryWidth;
+            ys[i] = valueToY(values[points[i]]);
+        }
+        
+        Color color = colorAt(0, false);
+        gc.setStroke(color);
+        gc.setLineWidth(LINE_WIDTH);
+        gc.strokePolyline(xs, ys, points.length);
+        gc.setLineWidth(1);
+        
+        // Symbols only while they do not overlap
+        if (points.length * SYMBOL_RADIUS * 3 <= plotWidth) {
+            gc.setFill(Color.WHITE);
+            gc.setLineWidth(2);
+            for (int i = 0; i < points.length; i++) {
+                gc.fillOval(xs[i] - SYMBOL_RADIUS, ys[i] - SYMBOL_RADIUS, SYMBOL_RADIUS * 2, SYMBOL_RADIUS * 2);
+                gc.strokeOval(xs[i] - SYMBOL_RADIUS, ys[i] - SYMBOL_RADIUS, SYMBOL_RADIUS * 2, SYMBOL_RADIUS * 2);
+            }
+            gc.setLineWidth(1);
+        }
+    }
+    
+    /**
+     * Get the line points to draw, downsampled to what the plot width can show
+     * Full resolution values are kept for tooltips
+     */
+    private int[] shownPoints() {
+        if (shownPoints == null || shownPointsWidth != plotWidth) {
+            shownPoints = ChartDownsampler.largestTriangleThreeBuckets(values, ChartDownsampler.maxPoints(plotWidth));
+            shownPointsWidth = plotWidth;
+        }
+        return shownPoints;
+    }
+    
+    private void drawPie(GraphicsContext gc, double x, double y, double width, double height) {
+        plotWidth = 0;
+        
+        double total = 0;
+        for (double value : values) {
+            total += Math.max(0, value);
+        }
+        
+        // Leave room for the slice labels around the pie
+        double labelSpace = LINE_HEIGHT + 2 * TICK_GAP;
+        pieRadius = Math.max(10, Math.min(width / 2 - labelSpace * 3, height / 2 - labelSpace));
+        pieCenterX = x + width / 2;
+        pieCenterY = y + height / 2;
+        
+        if (total <= 0) {
+            return;
+        }
+        
+        // Clockwise from 3 o'clock, like PieChart
+        double angle = 0;
+        gc.setStroke(Color.WHITE);
+        gc.setLineWidth(1);
+        for (int i = 0; i < values.length; i++) {
+            double extent = Math.max(0, values[i]) / total * 360;
+            gc.setFill(colorAt(i, true));
+            gc.fillArc(pieCenterX - pieRadius, pieCenterY - pieRadius, pieRadius * 2, pieRadius * 2,
+                -angle, -extent, ArcType.ROUND);
+            gc.strokeArc(pieCenterX - pieRadius, pieCenterY - pieRadius, pieRadius * 2, pieRadius * 2,
+                -angle, -extent, ArcType.ROUND);
+            angle += extent;
+        }
+        
+        // Slice labels with leader lines
+        gc.setFont(TICK_FONT);
+        gc.setTextBaseline(VPos.CENTER);
+        angle = 0;
+        for (int i = 0; i < values.length; i++) {
+            double extent = Math.max(0, values[i]) / total * 360;
+            if (extent > 0) {
+                double middle = Math.toRadians(angle + extent / 2);
+                double cos = Math.cos(middle);
+                double sin = Math.sin(middle);
+                
+                gc.setStroke(AXIS_COLOR);
+                gc.strokeLine(pieCenterX + cos * pieRadius, pieCenterY + sin * pieRadius,
+                    pieCenterX + cos * (pieRadius + TICK_GAP * 2), pieCenterY + sin * (pieRadius + TICK_GAP * 2));
+                
+                gc.setFill(TEXT_COLOR);
+                gc.setTextAlign(cos >= 0 ? TextAlignment.LEFT : TextAlignment.RIGHT);
+                gc.fillText(labels[i], pieCenterX + cos * (pieRadius + TICK_GAP * 3),
+                    pieCenterY + sin * (pieRadius + TICK_GAP * 3));
+            }
+            angle += extent;
+        }
+    }
+    
+    /**
+     * Collect the legend entries: the slices of a pie, otherwise the series name
+     */
+    private void collectLegend(List<String> legendLabels, List<Color> legendColors) {
+        if (!legendVisible) {
+            return;
+        }
+        
+        if (type == Type.PIE) {
+            for (int i = 0; i < labels.length; i++) {
+                if (values[i] > 0) {
+                    legendLabels.add(labels[i]);
+                    legendColors.add(colorAt(i, true));
+                }
+            }
+        } else if (seriesName != null) {
+            legendLabels.add(seriesName);
+            legendColors.add(colorAt(0, false));
+        }
+    }
+    
+    /**
+     * Draw the legend centered at the bottom, wrapping into rows
+     * 
+     * @return The height used
+     */
+    private double drawLegend(GraphicsContext gc, List<String> legendLabels, List<Color> legendColors,
+            double width, double bottom) {
+        double available = width - 2 * PADDING;
+        List<List<Integer>> rows = new ArrayList<>();
+        List<Double> rowWidths = new ArrayList<>();
+        List<Integer> row = new ArrayList<>();
+        double rowWidth = 0;
+        
+        for (int i = 0; i < legendLabels.size(); i++) {
+            double itemWidth = LEGEND_SWATCH + TICK_GAP + textWidth(legendLabels.get(i), TICK_FONT) + PADDING * 2;
+            if (!row.isEmpty() && rowWidth + itemWidth > available) {
+                rows.add(row);
+                rowWidths.add(rowWidth);
+                row = new ArrayList<>();
+                rowWidth = 0;
+            }
+            row.add(i);
+            rowWidth += itemWidth;
+        }
+        rows.add(row);
+        rowWidths.add(rowWidth);
+        
+        double legendHeight = rows.size() * LINE_HEIGHT + PADDING;
+        double rowY = bottom - legendHeight + PADDING;
+        
+        gc.setFont(TICK_FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int r = 0; r < rows.size(); r++) {
+            double itemX = (width - rowWidths.get(r)) / 2 + PADDING;
+            double centerY = rowY + r * LINE_HEIGHT + LINE_HEIGHT / 2;
+            
+            for (int i : rows.get(r)) {
+                String label = legendLabels.get(i);
+                gc.setFill(legendColors.get(i));
+                gc.fillRect(itemX, centerY - LEGEND_SWATCH / 2, LEGEND_SWATCH, LEGEND_SWATCH);
+                gc.setFill(TEXT_COLOR);
+                gc.fillText(label, itemX + LEGEND_SWATCH + TICK_GAP, centerY);
+                itemX += LEGEND_SWATCH + TICK_GAP + textWidth(label, TICK_FONT) + PADDING * 2;
+            }
+        }
+        
+        return legendHeight;
+    }
+    
+    /**
+     * Find the data point under the mouse
+     * 
+     * @return The tooltip text for it, or null if there is none
+     */
+    private String hitTest(double x, double y) {
+        if (values.length == 0) {
+            return null;
+        }
+        
+        int index = -1;
+        double total = 0;
+        for (double value : values) {
+            total += Math.max(0, value);
+        }
+        
+        if (type == Type.PIE) {
+            double dx = x - pieCenterX;
+            double dy = y - pieCenterY;
+            if (total <= 0 || dx * dx + dy * dy > pieRadius * pieRadius) {
+                return null;
+            }
+            
+            double angle = (Math.toDegrees(Math.atan2(dy, dx)) + 360) % 360;
+            double start = 0;
+            for (int i = 0; i < values.length && index < 0; i++) {
+                start += Math.max(0, values[i]) / total * 360;
+                if (angle < start) {
+                    index = i;
+                }
+            }
+        } else if (x >= plotX && x <= plotX + plotWidth && y >= plotY && y <= plotY + plotHeight) {
+            index = Math.min(values.length - 1, (int) ((x - plotX) / (plotWidth / values.length)));
+        }
+        
+        if (index < 0) {
+            return null;
+        }
+        if (type == Type.PIE) {
+            return labels[index] + ": " + String.format("%.1f%%", values[index] / total * 100);
+        }
+        return labels[index] + ": " + formatNumber(values[index], 0.1) + tickSuffix;
+    }
+    
+    private void updateTooltip(String text) {
+        if (text == null) {
+            if (tooltipInstalled) {
+                Tooltip.uninstall(canvas, tooltip);
+                tooltipInstalled = false;
+            }
+            return;
+        }
+        
+        tooltip.setText(text);
+        if (!tooltipInstalled) {
+            Tooltip.install(canvas, tooltip);
+            tooltipInstalled = true;
+        }
+    }
+    
+    private Color colorAt(int index, boolean pie) {
+        if (colors != null) {
+            return colors[index % colors.length];
+        }
+        return pie ? DEFAULT_COLORS[index % DEFAULT_COLORS.length] : DEFAULT_COLORS[0];
+    }
+    
+    private double valueToY(double value) {
+        double clamped = Math.max(minValue, Math.min(maxValue, value));
+        return plotY + plotHeight - (clamped - minValue) / (maxValue - minValue) * plotHeight;
+    }
+    
+    private String formatTick(double tick) {
+        return formatNumber(tick, tickUnit) + tickSuffix;
+    }
+    
+    /**
+     * Format a number with as many decimals as its step needs
+     */
+    private static String formatNumber(double value, double step) {
+        if (Math.abs(step - Math.rint(step)) < 1e-9 && Math.abs(value - Math.rint(value)) < 1e-9) {
+            return String.format("%.0f", value);
+        }
+        return String.format("%.1f", value);
+    }
+    
+    /**
+     * Snap a coordinate to the pixel center so 1px lines stay sharp
+     */
+    private static double snap(double coordinate) {
+        return Math.floor(coordinate) + 0.5;
+    }
+    
+    private static double textWidth(String text, Font font) {
+        measurer.setText(text);
+        measurer.setFont(font);
+        return measurer.getLayoutBounds().getWidth();
+    }
+    
+    private static double textHeight(Font font) {
+        measurer.setText("Ag");
+        measurer.setFont(font);
+        return measurer.getLayoutBounds().getHeight();
+    }
+}
@@ -0,0 +1,104 @@
+package application.utils;
+
+/**
+ * Downsampling of line chart data to the number of points the chart can show
+ * 
+ * Long grade histories have more points than a chart has room for. Lines are
+ * reduced with the largest-triangle-three-buckets (LTTB) algorithm, which
+ * keeps the points that shape the line (peaks, dips and the first and last
+ * point). Callers keep the full resolution data, e.g. for tooltips.
+ */
+public class ChartDownsampler {
+    // Horizontal space each shown point needs to stay readable
+    private static final double PIXELS_PER_POINT = 12.0;
+    
+    // Used before the chart has been laid out
+    private static final int DEFAULT_MAX_POINTS = 60;
+    
+    // LTTB always keeps the first and last point and needs at least one bucket between them
+    private static final int MIN_POINTS = 3;
+    
+    private ChartDownsampler() {
+        // Static utility
+    }
+    
+    /**
+     * Select the points to show with the largest-triangle-three-buckets algorithm
+     * The x value of a point is its index
+     * 
+     * @param values The y values in order
+     * @param threshold The maximum number of points to keep
+     * @return The indices of the kept points in ascending order
+     */
+    public static int[] largestTriangleThreeBuckets(double[] values, int threshold) {
+        int length = values.length;
+        threshold = Math.max(MIN_POINTS, threshold);
+        
+        if (length <= threshold) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        
+        int[] sampled = new int[threshold];
+        int sampledCount = 0;
+        
+        // The first and last points are always kept; the rest is split into buckets
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = 0;
+        sampled[sampledCount++] = 0;
+        
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket, the third corner of the triangle
+            int averageStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int averageEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = averageStart; i < averageEnd; i++) {
+                averageX += i;
+                averageY += values[i];
+            }
+            int averageLength = averageEnd - averageStart;
+            averageX /= averageLength;
+            averageY /= averageLength;
+            
+            // Keep the point of this bucket forming the largest triangle with the previous kept point
+            int rangeStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int rangeEnd = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int selected = rangeStart;
+            
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                double area = Math.abs(
+                    (previous - averageX) * (values[i] - values[previous]) -
+                    (previous - i) * (averageY - values[previous])
+                );
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            
+            sampled[sampledCount++] = selected;
+            previous = selected;
+        }
+        
+        sampled[sampledCount] = length - 1;
+        return sampled;
+    }
+    
+    /**
+     * Get the number of points that fit in a chart
+     * 
+     * @param width The chart width, or 0 if it was not laid out yet
+     * @return The maximum number of points to show
+     */
+    public static int maxPoints(double width) {
+        if (width <= 0) {
+            return DEFAULT_MAX_POINTS;
+        }
+        return Math.max(MIN_POINTS, (int) (width / PIXELS_PER_POINT));
+    }
+}
@@ -0,0 +1,167 @@
+package application.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import application.metrics.HitRatio;
+import application.metrics.MetricsRegistry;
+
+/**
+ * Keeps each user's last home screen state in a snapshot file
+ * 
+ * Files are read and written through heap buffers rather than memory
+ * mappings: a mapping stays open until it is garbage collected, and on
+ * Windows an open mapping keeps the file from being replaced or deleted.
+ * 
+ * The home screen shows the snapshot right away and reconciles it with the
+ * database in the background. Saves are coalesced: only the newest snapshot
+ * per user is written, on a background thread, and an unchanged snapshot is
+ * not written at all. flush() writes whatever is pending, e.g. on shutdown.
+ */
+public class DashboardCache {
+    // Larger files are not snapshots written by this class
+    private static final long MAX_FILE_SIZE = 16L * 1024 * 1024;
+    
+    private static final Map<Integer, DashboardSnapshot> pending = new ConcurrentHashMap<>();
+    private static final Map<Integer, DashboardSnapshot> written = new ConcurrentHashMap<>();
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private static final HitRatio snapshotHits = MetricsRegistry.getInstance().hitRatio("cache.dashboardSnapshots");
+    
+    private DashboardCache() {
+        // Static utility
+    }
+    
+    /**
+     * Read a user's snapshot
+     * 
+     * @param userId The user ID
+     * @return The snapshot, or null if there is none or it cannot be used
+     */
+    public static DashboardSnapshot load(int userId) {
+        DashboardSnapshot snapshot = read(userId);
+        snapshotHits.record(snapshot != null);
+        return snapshot;
+    }
+    
+    private static DashboardSnapshot read(int userId) {
+        Path file = getSnapshotFile(userId);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < DashboardSnapshot.HEADER_SIZE || size > MAX_FILE_SIZE) {
+                return null;
+            }
+            
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+            buffer.flip();
+            
+            DashboardSnapshot snapshot = DashboardSnapshot.readFrom(buffer);
+            if (snapshot == null || snapshot.getUserId() != userId) {
+                System.out.println("DashboardCache: Ignoring outdated or damaged snapshot " + file);
+                return null;
+            }
+            
+            written.putIfAbsent(userId, snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            System.err.println("Error reading dashboard snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Save a user's snapshot in the background
+     * Does nothing if it equals the last written snapshot
+     * 
+     * @param snapshot The snapshot
+     */
+    public static void save(DashboardSnapshot snapshot) {
+        if (snapshot.equals(written.get(snapshot.getUserId()))) {
+            pending.remove(snapshot.getUserId());
+            return;
+        }
+        
+        pending.put(snapshot.getUserId(), snapshot);
+        if (flushScheduled.compareAndSet(false, true)) {
+            AsyncExecutor.run(DashboardCache::flush);
+        }
+    }
+    
+    /**
+     * Write all pending snapshots now
+     */
+    public static synchronized void flush() {
+        flushScheduled.set(false);
+        
+        for (Integer userId : pending.keySet()) {
+            DashboardSnapshot snapshot = pending.remove(userId);
+            if (snapshot == null || snapshot.equals(written.get(userId))) {
+                continue;
+            }
+            
+            try {
+                write(snapshot);
+                written.put(userId, snapshot);
+            } catch (IOException e) {
+                System.err.println("Error writing dashboard snapshot: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Write a snapshot to a new file that then replaces the old one
+     */
+    private static void write(DashboardSnapshot snapshot) throws IOException {
+        Path file = getSnapshotFile(snapshot.getUserId());
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".part");
+        
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(snapshot.getEncodedSize());
+            snapshot.writeTo(buffer);
+            buffer.flip();
+            
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Get the snapshot file of a user
+     * 
+     * @param userId The user ID
+     * @return The path in the application's cache directory
+     */
+    public static Path getSnapshotFile(int userId) {
+        return Paths.get(System.getProperty("user.home"), "GradeCalculator", "cache",
+                         "dashboard-" + userId + ".snapshot");
+    }
+}
@@ -0,0 +1,339 @@
+package application.utils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import application.models.Semester;
+import application.models.Subject;
+
+/**
+ * The computed home screen state of one user: semester and subject aggregates
+ * 
+ * The snapshot has a compact binary form so the home screen can be shown from
+ * it at startup, before anything is loaded from the database. The layout is:
+ * 
+ *   header:  magic (int), version (short), reserved (short),
+ *            saved at (long, epoch millis), payload length (int), payload CRC32 (int)
+ *   payload: user ID (int), overall GPA (double), semester count (int), then per semester
+ *            ID (int), name, GPA (double), subject count (int), then per subject
+ *            ID (int), name, percentage (double), GPA (double)
+ * 
+ * Names are an unsigned short byte length followed by UTF-8 bytes; numbers
+ * are big-endian. A snapshot with another magic, version or checksum is
+ * rejected rather than misread, so bumping VERSION invalidates old files.
+ */
+public class DashboardSnapshot {
+    public static final int MAGIC = 0x4E47444D; // "NGDM"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 4 + 2 + 2 + 8 + 4 + 4;
+    
+    private final int userId;
+    private final double overallGPA;
+    private final List<SemesterEntry> semesters;
+    private final long savedAt;
+    
+    // Encoded lazily; the snapshot is immutable
+    private byte[] payload;
+    
+    public DashboardSnapshot(int userId, List<SemesterEntry> semesters, long savedAt) {
+        this.userId = userId;
+        this.semesters = Collections.unmodifiableList(new ArrayList<>(semesters));
+        this.savedAt = savedAt;
+        
+        // Same rule as the home screen: semesters without a GPA don't count
+        double totalGPA = 0.0;
+        int gradedSemesters = 0;
+        for (SemesterEntry semester : semesters) {
+            if (semester.gpa > 0) {
+                totalGPA += semester.gpa;
+                gradedSemesters++;
+            }
+        }
+        this.overallGPA = gradedSemesters > 0 ? totalGPA / gradedSemesters : 0.0;
+    }
+    
+    /**
+     * Take the snapshot entry of a loaded semester
+     * Callers keep the entries of unchanged semesters, so only this semester's subjects are calculated
+     * 
+     * @param semester A semester whose subjects include their assessment data
+     * @param gpa The already calculated GPA of the semester
+     * @return The entry
+     */
+    public static SemesterEntry entryOf(Semester semester, double gpa) {
+        List<SubjectEntry> subjects = new ArrayList<>();
+        for (Subject subject : semester.getSubjects()) {
+            double percentage = subject.calculateOverallPercentage();
+            subjects.add(new SubjectEntry(subject.getId(), subject.getName(), percentage,
+                                          Subject.gpaFor(Subject.letterGradeFor(percentage))));
+        }
+        
+        return new SemesterEntry(semester.getId(), semester.getName(), gpa, subjects);
+    }
+    
+    /**
+     * Get the number of bytes the snapshot takes when written
+     * 
+     * @return The header and payload size
+     */
+    public int getEncodedSize() {
+        return HEADER_SIZE + payload().length;
+    }
+    
+    /**
+     * Write the snapshot at the buffer's position
+     * 
+     * @param buffer A buffer with at least getEncodedSize() bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        byte[] bytes = payload();
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes);
+        
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putLong(savedAt);
+        buffer.putInt(bytes.length);
+        buffer.putInt((int) checksum.getValue());
+        buffer.put(bytes);
+    }
+    
+    /**
+     * Read a snapshot from the buffer's position
+     * 
+     * @param buffer The buffer
+     * @return The snapshot, or null if the data is not a valid snapshot of this version
+     */
+    public static DashboardSnapshot readFrom(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            buffer.getShort();
+            long savedAt = buffer.getLong();
+            int length = buffer.getInt();
+            int expectedChecksum = buffer.getInt();
+            
+            if (length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                return null;
+            }
+            
+            return decode(ByteBuffer.wrap(bytes), savedAt);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static DashboardSnapshot decode(ByteBuffer in, long savedAt) {
+        int userId = in.getInt();
+        in.getDouble(); // The overall GPA follows from the semesters
+        
+        int semesterCount = in.getInt();
+        List<SemesterEntry> semesters = new ArrayList<>();
+        for (int i = 0; i < semesterCount; i++) {
+            int id = in.getInt();
+            String name = readString(in);
+            double gpa = in.getDouble();
+            
+            int subjectCount = in.getInt();
+            List<SubjectEntry> subjects = new ArrayList<>();
+            for (int j = 0; j < subjectCount; j++) {
+                subjects.add(new SubjectEntry(in.getInt(), readString(in), in.getDouble(), in.getDouble()));
+            }
+            semesters.add(new SemesterEntry(id, name, gpa, subjects));
+        }
+        
+        DashboardSnapshot snapshot = new DashboardSnapshot(userId, semesters, savedAt);
+        snapshot.payload = in.array();
+        return snapshot;
+    }
+    
+    private byte[] payload() {
+        if (payload == null) {
+            int size = 4 + 8 + 4;
+            for (SemesterEntry semester : semesters) {
+                size += 4 + 2 + semester.nameBytes.length + 8 + 4;
+                for (SubjectEntry subject : semester.subjects) {
+                    size += 4 + 2 + subject.nameBytes.length + 8 + 8;
+                }
+            }
+            
+            ByteBuffer out = ByteBuffer.allocate(size);
+            out.putInt(userId);
+            out.putDouble(overallGPA);
+            out.putInt(semesters.size());
+            for (SemesterEntry semester : semesters) {
+                out.putInt(semester.id);
+                writeString(out, semester.nameBytes);
+                out.putDouble(semester.gpa);
+                out.putInt(semester.subjects.size());
+                for (SubjectEntry subject : semester.subjects) {
+                    out.putInt(subject.id);
+                    writeString(out, subject.nameBytes);
+                    out.putDouble(subject.percentage);
+                    out.putDouble(subject.gpa);
+                }
+            }
+            payload = out.array();
+        }
+        return payload;
+    }
+    
+    private static void writeString(ByteBuffer out, byte[] bytes) {
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String exceeds the snapshot");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Encode a name, cut to the longest UTF-8 prefix that fits an unsigned short length
+     */
+    private static byte[] encodeName(String name) {
+        String text = name != null ? name : "";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int maxLength = 0xFFFF;
+        if (bytes.length <= maxLength) {
+            return bytes;
+        }
+        // Don't cut a multi-byte character in half
+        int length = maxLength;
+        while ((bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+    
+    public int getUserId() {
+        return userId;
+    }
+    
+    public double getOverallGPA() {
+        return overallGPA;
+    }
+    
+    public List<SemesterEntry> getSemesters() {
+        return semesters;
+    }
+    
+    /**
+     * Get when the snapshot was taken
+     * 
+     * @return The time in epoch milliseconds
+     */
+    public long getSavedAt() {
+        return savedAt;
+    }
+    
+    /**
+     * Snapshots are equal if they hold the same aggregates, whenever they were taken
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DashboardSnapshot)) {
+            return false;
+        }
+        return Arrays.equals(payload(), ((DashboardSnapshot) obj).payload());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(payload());
+    }
+    
+    /**
+     * A semester with its GPA and subjects
+     */
+    public static class SemesterEntry {
+        private final int id;
+        private final String name;
+        private final byte[] nameBytes;
+        private final double gpa;
+        private final List<SubjectEntry> subjects;
+        
+        public SemesterEntry(int id, String name, double gpa, List<SubjectEntry> subjects) {
+            this.id = id;
+            this.nameBytes = encodeName(name);
+            this.name = new String(nameBytes, StandardCharsets.UTF_8);
+            this.gpa = gpa;
+            this.subjects = Collections.unmodifiableList(new ArrayList<>(subjects));
+        }
+        
+        public int getId() {
+            return id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getGpa() {
+            return gpa;
+        }
+        
+        public List<SubjectEntry> getSubjects() {
+            return subjects;
+        }
+    }
+    
+    /**
+     * A subject with its overall percentage and GPA
+     */
+    public static class SubjectEntry {
+        private final int id;
+        private final String name;
+        private final byte[] nameBytes;
+        private final double percentage;
+        private final double gpa;
+        
+        public SubjectEntry(int id, String name, double percentage, double gpa) {
+            this.id = id;
+            this.nameBytes = encodeName(name);
+            this.name = new String(nameBytes, StandardCharsets.UTF_8);
+            this.percentage = percentage;
+            this.gpa = gpa;
+        }
+        
+        public int getId() {
+            return id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getPercentage() {
+            return percentage;
+        }
+        
+        public double getGpa() {
+            return gpa;
+        }
+    }
+}
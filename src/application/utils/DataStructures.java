@@ -50,25 +50,47 @@ public class DataStructures {
      * Find subjects with GPA less than target value using recursion
      * Demonstrates use of Recursion
      * 
+     * The list is split in halves, so the recursion depth is O(log n) and
+     * large lists cannot overflow the stack. For repeated queries over a
+     * user's whole history, use GradeIndex.findBelowGPA instead.
+     * 
      * @param subjects The list of subjects
      * @param targetGPA The target GPA
-     * @param index The current index in recursion
+     * @param index The index to start from
      * @param result The result list
      */
     public static void findSubjectsBelowGPA(List<Subject> subjects, double targetGPA, int index, List<Subject> result) {
-        // Base case: if we've processed all subjects
-        if (index >= subjects.size()) {
+        findSubjectsBelowGPA(subjects, targetGPA, index, subjects.size(), result);
+    }
+    
+    /**
+     * Recursive helper processing subjects in [from, to) by halving the range
+     * 
+     * @param subjects The list of subjects
+     * @param targetGPA The target GPA
+     * @param from The first index (inclusive)
+     * @param to The last index (exclusive)
+     * @param result The result list
+     */
+    private static void findSubjectsBelowGPA(List<Subject> subjects, double targetGPA, int from, int to, List<Subject> result) {
+        // Base case: empty range
+        if (from >= to) {
             return;
         }
         
-        // Check if current subject has GPA below target
-        Subject subject = subjects.get(index);
-        if (subject.calculateGPA() < targetGPA) {
-            result.add(subject);
+        // Base case: single subject
+        if (to - from == 1) {
+            Subject subject = subjects.get(from);
+            if (subject.calculateGPA() < targetGPA) {
+                result.add(subject);
+            }
+            return;
         }
         
-        // Recursively process the next subject
-        findSubjectsBelowGPA(subjects, targetGPA, index + 1, result);
+        // Recursively process both halves, left first to keep the original order
+        int middle = (from + to) >>> 1;
+        findSubjectsBelowGPA(subjects, targetGPA, from, middle, result);
+        findSubjectsBelowGPA(subjects, targetGPA, middle, to, result);
     }
     
     /**
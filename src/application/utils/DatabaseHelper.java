@@ -4,19 +4,26 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
+
+import application.database.DatabaseExecutor;
+import application.database.QueryMetrics;
 
 /**
  * Utility class for managing database connections and operations
  */
 public class DatabaseHelper {
     private static final String DB_URL = "jdbc:sqlite:gradecalculator.db";
+    private static String databaseUrl = DB_URL;
     private static DatabaseHelper instance;
     private Connection connection;
+    private Connection routedConnection;
     
     private DatabaseHelper() {
         try {
-            // Create a connection to the database
-            connection = DriverManager.getConnection(DB_URL);
+            // Create a connection to the database; its statements are recorded in QueryMetrics
+            connection = QueryMetrics.instrument(DriverManager.getConnection(databaseUrl));
+            routedConnection = DatabaseExecutor.route(connection);
             System.out.println("Connection to SQLite has been established.");
             
             // Initialize the database schema
@@ -26,6 +33,19 @@ public class DatabaseHelper {
         }
     }
     
+    /**
+     * Use another database file instead of gradecalculator.db, e.g. for batch runs
+     * Must be called before the connection is first opened
+     * 
+     * @param path The path of the SQLite database file
+     */
+    public static synchronized void setDatabasePath(String path) {
+        if (instance != null) {
+            throw new IllegalStateException("Database connection is already open");
+        }
+        databaseUrl = "jdbc:sqlite:" + path;
+    }
+    
     public static synchronized DatabaseHelper getInstance() {
         if (instance == null) {
             instance = new DatabaseHelper();
@@ -33,11 +53,35 @@ public class DatabaseHelper {
         return instance;
     }
     
+    /**
+     * Get the connection repositories use
+     * Inside a DatabaseExecutor task it runs statements on the task's connection,
+     * elsewhere on the shared connection
+     * 
+     * @return The connection, or null if the database could not be opened
+     */
     public Connection getConnection() {
-        return connection;
+        return connection != null ? routedConnection : null;
+    }
+    
+    /**
+     * Open another connection to the same database, for DatabaseExecutor
+     * 
+     * @param readOnly Whether the connection may only read
+     * @return The new connection; its statements are recorded in QueryMetrics
+     * @throws SQLException If the connection cannot be opened
+     */
+    public Connection openConnection(boolean readOnly) throws SQLException {
+        Properties properties = new Properties();
+        if (readOnly) {
+            // SQLITE_OPEN_READONLY
+            properties.setProperty("open_mode", "1");
+        }
+        return QueryMetrics.instrument(DriverManager.getConnection(databaseUrl, properties));
     }
     
     public void closeConnection() {
+        DatabaseExecutor.closeConnections();
         try {
             if (connection != null) {
                 connection.close();
@@ -104,6 +148,18 @@ public class DatabaseHelper {
                 ");"
             );
             
+            // Create subject_prerequisites table (edges between subjects across semesters)
+            statement.execute(
+                "CREATE TABLE IF NOT EXISTS subject_prerequisites (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "subject_id INTEGER NOT NULL," +
+                "prerequisite_id INTEGER NOT NULL," +
+                "UNIQUE (subject_id, prerequisite_id)," +
+                "FOREIGN KEY (subject_id) REFERENCES subjects(id)," +
+                "FOREIGN KEY (prerequisite_id) REFERENCES subjects(id)" +
+                ");"
+            );
+            
             System.out.println("Database schema initialized.");
         } catch (SQLException e) {
             System.out.println("Error initializing database schema: " + e.getMessage());
@@ -1,19 +1,58 @@
 package application.utils;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
+
+import application.metrics.Histogram;
+import application.metrics.MetricsRegistry;
 
 /**
- * A simple event bus implementation to propagate events across the application
+ * A thread-safe event bus to propagate events across the application
+ * 
+ * Listener lists are copy-on-write, so posting never blocks registration and
+ * listeners may (un)register from inside a callback. Each subscription chooses
+ * where it is dispatched (posting thread, JavaFX thread or a background
+ * executor) and may be held weakly so that discarded views stop receiving
+ * events without unregistering explicitly.
+ * 
+ * The time from posting an event until each listener has handled it is
+ * recorded in the "eventbus.<event type>.dispatch" metric.
  */
 public class EventBus {
     private static EventBus instance;
-    private Map<Class<?>, List<EventListener<?>>> listeners = new HashMap<>();
+    
+    private final Map<Class<?>, List<Entry>> listeners = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> pendingEvents = new ConcurrentHashMap<>();
+    private final ExecutorService backgroundExecutor;
+    
+    /**
+     * Where a listener is invoked
+     */
+    public enum DispatchMode {
+        /** Synchronously on the thread that posted the event */
+        POSTING_THREAD,
+        /** On the JavaFX application thread (inline if already on it) */
+        FX_THREAD,
+        /** On the bus's shared background executor */
+        BACKGROUND
+    }
     
     private EventBus() {
         // Private constructor for singleton
+        backgroundExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "event-bus-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     /**
@@ -29,15 +68,63 @@ public class EventBus {
     }
     
     /**
-     * Register a listener for an event type
+     * Register a listener for an event type, dispatched on the posting thread
+     * The listener is held strongly until it is unregistered
      * 
      * @param <T> The event type
      * @param eventType The class of the event
      * @param listener The listener to register
      */
     public <T> void register(Class<T> eventType, EventListener<T> listener) {
-        List<EventListener<?>> eventListeners = listeners.computeIfAbsent(eventType, k -> new ArrayList<>());
-        eventListeners.add(listener);
+        register(eventType, listener, DispatchMode.POSTING_THREAD);
+    }
+    
+    /**
+     * Register a strongly held listener with a dispatch mode
+     * 
+     * @param <T> The event type
+     * @param eventType The class of the event
+     * @param listener The listener to register
+     * @param mode Where the listener is invoked
+     * @return A subscription that can be used to unregister
+     */
+    public <T> Subscription register(Class<T> eventType, EventListener<T> listener, DispatchMode mode) {
+        return register(eventType, listener, executorFor(mode));
+    }
+    
+    /**
+     * Register a strongly held listener invoked on a custom executor
+     * 
+     * @param <T> The event type
+     * @param eventType The class of the event
+     * @param listener The listener to register
+     * @param executor The executor to invoke the listener on (null for the posting thread)
+     * @return A subscription that can be used to unregister
+     */
+    public <T> Subscription register(Class<T> eventType, EventListener<T> listener, Executor executor) {
+        Entry entry = new Entry(eventType, listener, null, executor);
+        addEntry(entry);
+        return new Subscription(this, entry, null);
+    }
+    
+    /**
+     * Register a weakly held listener
+     * 
+     * The bus only keeps a weak reference to the listener; the returned
+     * subscription keeps it alive. Store the subscription in a field of the
+     * owning object (e.g. a view): once the owner is garbage collected, the
+     * listener is dropped automatically on the next post.
+     * 
+     * @param <T> The event type
+     * @param eventType The class of the event
+     * @param listener The listener to register
+     * @param mode Where the listener is invoked
+     * @return The subscription that keeps the listener reachable
+     */
+    public <T> Subscription registerWeak(Class<T> eventType, EventListener<T> listener, DispatchMode mode) {
+        Entry entry = new Entry(eventType, null, new WeakReference<>(listener), executorFor(mode));
+        addEntry(entry);
+        return new Subscription(this, entry, listener);
     }
     
     /**
@@ -48,9 +135,14 @@ public class EventBus {
      * @param listener The listener to unregister
      */
     public <T> void unregister(Class<T> eventType, EventListener<T> listener) {
-        List<EventListener<?>> eventListeners = listeners.get(eventType);
+        List<Entry> eventListeners = listeners.get(eventType);
         if (eventListeners != null) {
-            eventListeners.remove(listener);
+            // Deactivated like a cancelled subscription, so deliveries already queued are dropped
+            for (Entry entry : eventListeners) {
+                if (entry.getListener() == listener) {
+                    removeEntry(entry);
+                }
+            }
         }
     }
     
@@ -62,11 +154,217 @@ public class EventBus {
      */
     @SuppressWarnings("unchecked")
     public <T> void post(T event) {
-        List<EventListener<?>> eventListeners = listeners.get(event.getClass());
+        List<Entry> eventListeners = listeners.get(event.getClass());
+        if (eventListeners == null) {
+            return;
+        }
+        
+        long postedAt = System.nanoTime();
+        boolean hasStaleEntries = false;
+        
+        for (Entry entry : eventListeners) {
+            EventListener<T> listener = (EventListener<T>) entry.getListener();
+            
+            if (listener == null) {
+                // Weak listener whose owner was garbage collected
+                hasStaleEntries = true;
+                continue;
+            }
+            
+            if (entry.executor == null) {
+                deliver(listener, event);
+                entry.dispatchTime.recordSince(postedAt);
+            } else {
+                entry.executor.execute(() -> {
+                    if (entry.active) {
+                        deliver(listener, event);
+                        entry.dispatchTime.recordSince(postedAt);
+                    }
+                });
+            }
+        }
+        
+        if (hasStaleEntries) {
+            eventListeners.removeIf(entry -> entry.getListener() == null);
+        }
+    }
+    
+    /**
+     * Post an event, merging bursts of events of the same type into one delivery
+     * 
+     * The first event of a burst queues a flush on the JavaFX thread, which
+     * runs on its next turn; events of the same type posted before then replace
+     * the pending one, so listeners see only the latest event once.
+     * 
+     * The flush posts from the JavaFX thread, so POSTING_THREAD listeners of a
+     * coalesced event run there rather than on the thread that posted it;
+     * FX_THREAD and BACKGROUND listeners are dispatched as usual. When the
+     * toolkit is not running (headless use), the event is posted immediately
+     * on the calling thread without coalescing.
+     * 
+     * @param <T> The event type
+     * @param event The event to post
+     */
+    public <T> void postCoalesced(T event) {
+        Class<?> eventType = event.getClass();
+        
+        if (pendingEvents.put(eventType, event) == null) {
+            try {
+                // Always queued, even on the JavaFX thread, so the rest of the burst can merge
+                Platform.runLater(() -> flushCoalesced(eventType));
+            } catch (IllegalStateException e) {
+                flushCoalesced(eventType);
+            }
+        }
+    }
+    
+    private void flushCoalesced(Class<?> eventType) {
+        Object latest = pendingEvents.remove(eventType);
+        if (latest != null) {
+            post(latest);
+        }
+    }
+    
+    /**
+     * Get the number of live listeners for an event type
+     * 
+     * @param eventType The class of the event
+     * @return The number of listeners
+     */
+    public int getListenerCount(Class<?> eventType) {
+        List<Entry> eventListeners = listeners.get(eventType);
+        if (eventListeners == null) {
+            return 0;
+        }
+        
+        int count = 0;
+        for (Entry entry : eventListeners) {
+            if (entry.getListener() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private void addEntry(Entry entry) {
+        listeners.computeIfAbsent(entry.eventType, k -> new CopyOnWriteArrayList<>()).add(entry);
+    }
+    
+    private void removeEntry(Entry entry) {
+        entry.active = false;
+        List<Entry> eventListeners = listeners.get(entry.eventType);
         if (eventListeners != null) {
-            for (EventListener<?> listener : eventListeners) {
-                ((EventListener<T>) listener).onEvent(event);
+            eventListeners.remove(entry);
+        }
+    }
+    
+    private Executor executorFor(DispatchMode mode) {
+        switch (mode) {
+            case FX_THREAD: return EventBus::runOnFxThread;
+            case BACKGROUND: return backgroundExecutor;
+            default: return null;
+        }
+    }
+    
+    private static <T> void deliver(EventListener<T> listener, T event) {
+        try {
+            listener.onEvent(event);
+        } catch (Exception e) {
+            System.err.println("Error delivering " + event.getClass().getSimpleName() + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Run a task on the JavaFX thread, or inline when already on it
+     * Falls back to the calling thread when the toolkit is not running (headless use)
+     */
+    private static void runOnFxThread(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+            return;
+        }
+        
+        try {
+            Platform.runLater(task);
+        } catch (IllegalStateException e) {
+            task.run();
+        }
+    }
+    
+    /**
+     * A registered listener as stored by the bus
+     */
+    private static class Entry {
+        private final Class<?> eventType;
+        private final EventListener<?> strongListener;
+        private final WeakReference<EventListener<?>> weakListener;
+        private final Executor executor;
+        private final Histogram dispatchTime;
+        private volatile boolean active = true;
+        
+        public Entry(Class<?> eventType, EventListener<?> strongListener,
+                     WeakReference<EventListener<?>> weakListener, Executor executor) {
+            this.eventType = eventType;
+            this.strongListener = strongListener;
+            this.weakListener = weakListener;
+            this.executor = executor;
+            this.dispatchTime = MetricsRegistry.getInstance()
+                .histogram("eventbus." + eventType.getSimpleName() + ".dispatch");
+        }
+        
+        public EventListener<?> getListener() {
+            return strongListener != null ? strongListener : weakListener.get();
+        }
+    }
+    
+    /**
+     * Handle for a registration; unsubscribing also cancels deliveries that
+     * were already queued on an executor
+     */
+    public static class Subscription implements AutoCloseable {
+        private final EventBus bus;
+        private final Entry entry;
+        @SuppressWarnings("unused")
+        private final EventListener<?> listenerHold; // Keeps weak listeners reachable
+        
+        private Subscription(EventBus bus, Entry entry, EventListener<?> listenerHold) {
+            this.bus = bus;
+            this.entry = entry;
+            this.listenerHold = listenerHold;
+        }
+        
+        public void unsubscribe() {
+            bus.removeEntry(entry);
+        }
+        
+        public boolean isActive() {
+            return entry.active;
+        }
+        
+        @Override
+        public void close() {
+            unsubscribe();
+        }
+    }
+    
+    /**
+     * A group of subscriptions closed together, e.g. everything a view registered
+     */
+    public static class SubscriptionScope implements AutoCloseable {
+        private final List<Subscription> subscriptions = new ArrayList<>();
+        
+        public synchronized Subscription add(Subscription subscription) {
+            subscriptions.add(subscription);
+            return subscription;
+        }
+        
+        @Override
+        public synchronized void close() {
+            for (Subscription subscription : subscriptions) {
+                subscription.unsubscribe();
             }
+            subscriptions.clear();
         }
     }
     
@@ -78,4 +376,4 @@ public class EventBus {
     public interface EventListener<T> {
         void onEvent(T event);
     }
-}
\ No newline at end of file
+}
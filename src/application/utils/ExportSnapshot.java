@@ -0,0 +1,344 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Semester;
+import application.models.Subject;
+import application.models.User;
+
+/**
+ * An immutable, precomputed copy of the data an export writes
+ * 
+ * Every percentage, letter grade and GPA is calculated exactly once while the
+ * snapshot is taken, so writing it only formats values. The snapshot does not
+ * reference any model object and can be written on a background thread while
+ * the models keep changing.
+ */
+public class ExportSnapshot {
+    private final String studentName;
+    private final double overallGPA;
+    private final List<SemesterData> semesters;
+    private final int rowCount;
+    
+    private ExportSnapshot(String studentName, List<SemesterData> semesters) {
+        this.studentName = studentName;
+        this.semesters = Collections.unmodifiableList(semesters);
+        
+        double totalGPA = 0.0;
+        int semesterCount = 0;
+        int rows = 0;
+        
+        for (SemesterData semester : semesters) {
+            if (semester.gpa > 0) {
+                totalGPA += semester.gpa;
+                semesterCount++;
+            }
+            for (SubjectData subject : semester.subjects) {
+                rows += 1 + subject.types.size() + subject.assessments.size();
+            }
+        }
+        
+        this.overallGPA = semesterCount > 0 ? totalGPA / semesterCount : 0.0;
+        this.rowCount = rows;
+    }
+    
+    /**
+     * Take a snapshot of one semester with its loaded subjects
+     * 
+     * @param semester The semester with assessment data
+     * @return The snapshot
+     */
+    public static ExportSnapshot of(Semester semester) {
+        return new ExportSnapshot(null, List.of(semesterData(semester)));
+    }
+    
+    /**
+     * Take a snapshot of one semester from its computed analytics sections
+     * Uses the section metrics, so nothing is recalculated
+     * 
+     * @param semester The semester
+     * @param sections The computed sections of the semester
+     * @return The snapshot
+     */
+    public static ExportSnapshot of(Semester semester, AnalyticsSections sections) {
+        List<SubjectData> subjects = new ArrayList<>();
+        
+        for (Subject subject : sections.getSubjects()) {
+            AnalyticsSections.SubjectMetrics metrics = sections.getSubjectMetrics(subject.getId());
+            
+            List<TypeRow> types = new ArrayList<>();
+            for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
+                AssessmentType assessmentType = entry.getValue();
+                if (assessmentType.getWeight() > 0) {
+                    double averageScore = metrics.getTypeAverage(entry.getKey());
+                    types.add(new TypeRow(assessmentType.getDisplayName(), assessmentType.getCount(),
+                                          assessmentType.getWeight(), averageScore,
+                                          averageScore * (assessmentType.getWeight() / 100.0)));
+                }
+            }
+            
+            subjects.add(new SubjectData(subject.getName(), metrics.getPercentage(), metrics.getLetterGrade(),
+                                         metrics.getGpa(), types, assessmentRows(subject)));
+        }
+        
+        return new ExportSnapshot(null, List.of(new SemesterData(semester.getName(), sections.getSemesterGPA(),
+                                                                  subjects)));
+    }
+    
+    /**
+     * Take a snapshot of a user's whole transcript
+     * 
+     * @param user The user
+     * @param semesters The user's semesters with assessment data
+     * @return The snapshot
+     */
+    public static ExportSnapshot of(User user, List<Semester> semesters) {
+        List<SemesterData> semesterData = new ArrayList<>();
+        for (Semester semester : semesters) {
+            semesterData.add(semesterData(semester));
+        }
+        return new ExportSnapshot(user.getFullName(), semesterData);
+    }
+    
+    private static SemesterData semesterData(Semester semester) {
+        List<SubjectData> subjects = new ArrayList<>();
+        double totalGPA = 0.0;
+        int gradedSubjects = 0;
+        
+        for (Subject subject : semester.getSubjects()) {
+            // One calculation per subject; letter grade and GPA follow from the percentage
+            double percentage = subject.calculateOverallPercentage();
+            String letterGrade = Subject.letterGradeFor(percentage);
+            double gpa = Subject.gpaFor(letterGrade);
+            
+            List<TypeRow> types = new ArrayList<>();
+            for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+                if (assessmentType.getWeight() > 0) {
+                    double averageScore = averageScore(assessmentType);
+                    types.add(new TypeRow(assessmentType.getDisplayName(), assessmentType.getCount(),
+                                          assessmentType.getWeight(), averageScore,
+                                          assessmentType.getWeight() * (averageScore / 100.0)));
+                }
+            }
+            
+            subjects.add(new SubjectData(subject.getName(), percentage, letterGrade, gpa, types,
+                                         assessmentRows(subject)));
+            
+            // Same rule as Semester.calculateGPA: only subjects with a GPA count
+            if (gpa > 0) {
+                totalGPA += gpa;
+                gradedSubjects++;
+            }
+        }
+        
+        return new SemesterData(semester.getName(), gradedSubjects > 0 ? totalGPA / gradedSubjects : 0.0, subjects);
+    }
+    
+    /**
+     * Average of all scores of a type, as AssessmentType.calculateAverageScore() without the logging
+     */
+    private static double averageScore(AssessmentType assessmentType) {
+        List<Assessment> assessments = assessmentType.getAssessments();
+        if (assessments == null || assessments.isEmpty()) {
+            return 0.0;
+        }
+        
+        double totalScore = 0.0;
+        int count = 0;
+        for (Assessment assessment : assessments) {
+            if (assessment != null) {
+                totalScore += assessment.getScore();
+                count++;
+            }
+        }
+        return count > 0 ? totalScore / count : 0.0;
+    }
+    
+    private static List<AssessmentRow> assessmentRows(Subject subject) {
+        List<AssessmentRow> rows = new ArrayList<>();
+        for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+            if (assessmentType.getWeight() > 0 && assessmentType.getAssessments() != null) {
+                for (Assessment assessment : assessmentType.getAssessments()) {
+                    rows.add(new AssessmentRow(assessment.getDisplayName(assessmentType.getType()),
+                                               assessment.getScore(), assessment.isFinal()));
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Get the student's name
+     * 
+     * @return The name, or null for a single semester snapshot
+     */
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    /**
+     * Get the average GPA of the semesters that have grades
+     * 
+     * @return The overall GPA
+     */
+    public double getOverallGPA() {
+        return overallGPA;
+    }
+    
+    public List<SemesterData> getSemesters() {
+        return semesters;
+    }
+    
+    /**
+     * Get the number of subject, assessment type and assessment rows, used as the progress total
+     * 
+     * @return The row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * A semester with its GPA and subjects
+     */
+    public static class SemesterData {
+        private final String name;
+        private final double gpa;
+        private final List<SubjectData> subjects;
+        
+        public SemesterData(String name, double gpa, List<SubjectData> subjects) {
+            this.name = name;
+            this.gpa = gpa;
+            this.subjects = Collections.unmodifiableList(subjects);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getGpa() {
+            return gpa;
+        }
+        
+        public List<SubjectData> getSubjects() {
+            return subjects;
+        }
+    }
+    
+    /**
+     * A subject with its overall results and weighted assessment rows
+     */
+    public static class SubjectData {
+        private final String name;
+        private final double percentage;
+        private final String letterGrade;
+        private final double gpa;
+        private final List<TypeRow> types;
+        private final List<AssessmentRow> assessments;
+        
+        public SubjectData(String name, double percentage, String letterGrade, double gpa,
+                           List<TypeRow> types, List<AssessmentRow> assessments) {
+            this.name = name;
+            this.percentage = percentage;
+            this.letterGrade = letterGrade;
+            this.gpa = gpa;
+            this.types = Collections.unmodifiableList(types);
+            this.assessments = Collections.unmodifiableList(assessments);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getPercentage() {
+            return percentage;
+        }
+        
+        public String getLetterGrade() {
+            return letterGrade;
+        }
+        
+        public double getGpa() {
+            return gpa;
+        }
+        
+        public List<TypeRow> getTypes() {
+            return types;
+        }
+        
+        public List<AssessmentRow> getAssessments() {
+            return assessments;
+        }
+    }
+    
+    /**
+     * One weighted assessment type of a subject
+     */
+    public static class TypeRow {
+        private final String displayName;
+        private final int count;
+        private final double weight;
+        private final double averageScore;
+        private final double weightedScore;
+        
+        public TypeRow(String displayName, int count, double weight, double averageScore, double weightedScore) {
+            this.displayName = displayName;
+            this.count = count;
+            this.weight = weight;
+            this.averageScore = averageScore;
+            this.weightedScore = weightedScore;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public double getWeight() {
+            return weight;
+        }
+        
+        public double getAverageScore() {
+            return averageScore;
+        }
+        
+        public double getWeightedScore() {
+            return weightedScore;
+        }
+    }
+    
+    /**
+     * One assessment of a weighted type
+     */
+    public static class AssessmentRow {
+        private final String name;
+        private final double score;
+        private final boolean isFinal;
+        
+        public AssessmentRow(String name, double score, boolean isFinal) {
+            this.name = name;
+            this.score = score;
+            this.isFinal = isFinal;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getScore() {
+            return score;
+        }
+        
+        public boolean isFinal() {
+            return isFinal;
+        }
+    }
+}
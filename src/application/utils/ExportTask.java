@@ -0,0 +1,64 @@
+package application.utils;
+
+import java.nio.file.Path;
+
+import javafx.concurrent.Task;
+
+/**
+ * A cancellable background task that writes a report
+ * 
+ * The snapshot is taken before the task starts, so the export never touches
+ * the models. Progress is the fraction of rows written; cancelling the task
+ * stops the export between rows and leaves the target file unchanged.
+ */
+public class ExportTask extends Task<Path> {
+    private final ExportSnapshot snapshot;
+    private final ReportExporter.Format format;
+    private final Path target;
+    
+    /**
+     * Constructor for ExportTask
+     * 
+     * @param snapshot The data to write
+     * @param format The report format
+     * @param target The file to write
+     */
+    public ExportTask(ExportSnapshot snapshot, ReportExporter.Format format, Path target) {
+        this.snapshot = snapshot;
+        this.format = format;
+        this.target = target;
+        updateTitle("Exporting " + target.getFileName());
+    }
+    
+    /**
+     * Start the task on the async executor
+     * 
+     * @return This task
+     */
+    public ExportTask start() {
+        AsyncExecutor.getExecutor().execute(this);
+        return this;
+    }
+    
+    @Override
+    protected Path call() throws Exception {
+        System.out.println("Exporting " + snapshot.getRowCount() + " rows as " + format + " to " + target);
+        long start = System.nanoTime();
+        
+        ReportExporter.export(snapshot, format, target, new ReportExporter.Progress() {
+            @Override
+            public void update(long done, long total) {
+                // Task coalesces progress updates into one per pulse on the JavaFX thread
+                updateProgress(done, total);
+            }
+            
+            @Override
+            public boolean isCancelled() {
+                return ExportTask.this.isCancelled();
+            }
+        });
+        
+        System.out.println("Export finished in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return target;
+    }
+}
@@ -0,0 +1,265 @@
+package application.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A buffered UTF-8 writer on a file channel for exports
+ * 
+ * Text is encoded straight into one large buffer that is written to the
+ * channel when full, and numbers are formatted digit by digit into it, so
+ * writing a row allocates nothing (unlike String.format). The output goes to
+ * a temporary file next to the target that only replaces the target on
+ * commit(); closing without committing, e.g. after a cancellation, deletes it
+ * and leaves any existing file untouched.
+ */
+public class ExportWriter implements Closeable {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long[] POWERS_OF_TEN = { 1, 10, 100, 1000, 10000, 100000, 1000000 };
+    
+    private final Path target;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+    private boolean committed;
+    private boolean closed;
+    
+    /**
+     * Constructor for ExportWriter
+     * 
+     * @param target The file to write
+     * @throws IOException If the temporary file cannot be created
+     */
+    public ExportWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Path directory = this.target.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.tempFile = Files.createTempFile(directory, this.target.getFileName().toString(), ".part");
+        this.channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    /**
+     * Write text as UTF-8
+     * 
+     * @param text The text
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter write(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Rare non-ASCII text is encoded by the JDK
+                writeBytes(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) c);
+        }
+        return this;
+    }
+    
+    /**
+     * Write an ASCII character
+     * 
+     * @param c The character
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter write(char c) throws IOException {
+        if (c >= 0x80) {
+            return write(String.valueOf(c));
+        }
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) c);
+        return this;
+    }
+    
+    /**
+     * Write an integer
+     * 
+     * @param value The value
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter write(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return write(Long.toString(value));
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        
+        if (buffer.remaining() < digits.length - position) {
+            flush();
+        }
+        buffer.put(digits, position, digits.length - position);
+        return this;
+    }
+    
+    /**
+     * Write a number with a fixed number of decimals, rounded half up
+     * Writes the same text as String.format("%.2f", value) for two decimals:
+     * the value's shortest decimal form is rounded, so 1.005 becomes 1.01, and
+     * negative values that round to zero keep their sign (-0.00)
+     * 
+     * @param value The value
+     * @param decimals The number of decimals, 0 to 6
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter writeFixed(double value, int decimals) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e12) {
+            return write(String.format("%." + decimals + "f", value));
+        }
+        
+        long scale = POWERS_OF_TEN[decimals];
+        double shifted = Math.abs(value) * scale;
+        long scaled;
+        if (shifted < 1e9 && Math.abs(shifted - Math.floor(shifted) - 0.5) > 1e-6) {
+            scaled = Math.round(shifted);
+        } else {
+            // Close to a tie the binary product can fall on either side, so round the decimal form
+            scaled = BigDecimal.valueOf(Math.abs(value)).setScale(decimals, RoundingMode.HALF_UP)
+                .unscaledValue().longValue();
+        }
+        if (Math.copySign(1.0, value) < 0) {
+            write('-');
+        }
+        
+        write(scaled / scale);
+        if (decimals > 0) {
+            write('.');
+            long fraction = scaled % scale;
+            for (long divisor = scale / 10; divisor > 0; divisor /= 10) {
+                write((char) ('0' + (fraction / divisor) % 10));
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Write text as a CSV field, quoting it if it contains a separator, quote or line break
+     * 
+     * @param text The text
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter writeCsv(String text) throws IOException {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return write(text);
+        }
+        write('"');
+        write(text.replace("\"", "\"\""));
+        return write('"');
+    }
+    
+    /**
+     * Write text with HTML special characters escaped
+     * 
+     * @param text The text
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter writeHtml(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': write("&amp;"); break;
+                case '<': write("&lt;"); break;
+                case '>': write("&gt;"); break;
+                case '"': write("&quot;"); break;
+                default: write(c);
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Write a line break
+     * 
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public ExportWriter newLine() throws IOException {
+        return write('\n');
+    }
+    
+    /**
+     * Write everything and replace the target file with the written file
+     * 
+     * @throws IOException If writing or moving fails
+     */
+    public void commit() throws IOException {
+        flush();
+        channel.close();
+        closed = true;
+        
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+    
+    /**
+     * Close the writer; discards the output if it was not committed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            channel.close();
+        }
+        if (!committed) {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    private void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+    
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
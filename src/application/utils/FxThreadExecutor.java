@@ -0,0 +1,35 @@
+package application.utils;
+
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+
+/**
+ * Runs tasks on the JavaFX application thread
+ * Installed into AsyncExecutor at startup, so the headless core needs no JavaFX
+ */
+public class FxThreadExecutor implements Executor {
+    public static final FxThreadExecutor INSTANCE = new FxThreadExecutor();
+    
+    private FxThreadExecutor() {
+    }
+    
+    /**
+     * Run a task on the FX thread; inline if already on it or if the toolkit is not running
+     * 
+     * @param task The task
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+            return;
+        }
+        
+        try {
+            Platform.runLater(task);
+        } catch (IllegalStateException e) {
+            task.run();
+        }
+    }
+}
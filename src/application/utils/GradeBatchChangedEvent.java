@@ -0,0 +1,43 @@
+package application.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event indicating that several assessments of one subject were saved together
+ * Listeners handle the batch once instead of once per changed assessment
+ */
+public class GradeBatchChangedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final int subjectId;
+    private final List<GradeChangedEvent> changes;
+    
+    public GradeBatchChangedEvent(int semesterId, int subjectId, List<GradeChangedEvent> changes) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.subjectId = subjectId;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+    
+    /**
+     * Get the individual changes of the batch
+     * 
+     * @return The changes, one per assessment
+     */
+    public List<GradeChangedEvent> getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,92 @@
+package application.utils;
+
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Subject;
+
+/**
+ * Event indicating that the score or finalization of a single assessment changed
+ */
+public class GradeChangedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final int subjectId;
+    private final int assessmentTypeId;
+    private final int assessmentId;
+    private final double oldScore;
+    private final double newScore;
+    private final boolean oldFinal;
+    private final boolean newFinal;
+    
+    public GradeChangedEvent(int semesterId, int subjectId, int assessmentTypeId, int assessmentId,
+                             double oldScore, double newScore, boolean oldFinal, boolean newFinal) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.subjectId = subjectId;
+        this.assessmentTypeId = assessmentTypeId;
+        this.assessmentId = assessmentId;
+        this.oldScore = oldScore;
+        this.newScore = newScore;
+        this.oldFinal = oldFinal;
+        this.newFinal = newFinal;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+    
+    public int getAssessmentTypeId() {
+        return assessmentTypeId;
+    }
+    
+    public int getAssessmentId() {
+        return assessmentId;
+    }
+    
+    public double getOldScore() {
+        return oldScore;
+    }
+    
+    public double getNewScore() {
+        return newScore;
+    }
+    
+    public boolean isOldFinal() {
+        return oldFinal;
+    }
+    
+    public boolean isNewFinal() {
+        return newFinal;
+    }
+    
+    /**
+     * Apply the change to a subject already in memory, without reloading it
+     * 
+     * @param subject The subject owning the assessment
+     * @return True if the assessment was found and updated, false if the subject must be reloaded
+     */
+    public boolean applyTo(Subject subject) {
+        for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+            if (assessmentType.getId() != assessmentTypeId) {
+                continue;
+            }
+            
+            for (Assessment assessment : assessmentType.getAssessments()) {
+                if (assessment.getId() == assessmentId) {
+                    assessment.setScore(newScore);
+                    assessment.setFinal(newFinal);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
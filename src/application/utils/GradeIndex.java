@@ -0,0 +1,332 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import application.models.Subject;
+
+/**
+ * A sorted index of subjects by overall percentage across a user's whole history
+ * Demonstrates use of a navigable (tree-based) set for range queries
+ * 
+ * The index is updated incrementally (one subject at a time, O(log n)) and answers
+ * below/above/between queries on percentage or GPA and letter grade buckets in
+ * O(log n + k), without recalculating any subject.
+ */
+public class GradeIndex {
+    // Letter grades from best to worst, with their lower percentage bound and GPA value
+    private static final String[] LETTERS = { "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "F" };
+    private static final double[] LOWER_BOUNDS = {
+        GradeCalculator.A_THRESHOLD, GradeCalculator.A_MINUS_THRESHOLD,
+        GradeCalculator.B_PLUS_THRESHOLD, GradeCalculator.B_THRESHOLD, GradeCalculator.B_MINUS_THRESHOLD,
+        GradeCalculator.C_PLUS_THRESHOLD, GradeCalculator.C_THRESHOLD, GradeCalculator.C_MINUS_THRESHOLD,
+        GradeCalculator.D_PLUS_THRESHOLD, GradeCalculator.D_THRESHOLD, GradeCalculator.D_MINUS_THRESHOLD,
+        Double.NEGATIVE_INFINITY
+    };
+    private static final double[] GPA_VALUES = { 4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3, 1.0, 0.7, 0.0 };
+    
+    private static final Map<Integer, GradeIndex> userIndexes = new ConcurrentHashMap<>();
+    
+    private final NavigableSet<Entry> entries;
+    private final Map<Integer, Entry> entriesById;
+    
+    public GradeIndex() {
+        this.entries = new TreeSet<>();
+        this.entriesById = new HashMap<>();
+    }
+    
+    /**
+     * Get the maintained index for a user, creating an empty one if needed
+     * 
+     * @param userId The user ID
+     * @return The user's grade index
+     */
+    public static GradeIndex forUser(int userId) {
+        return userIndexes.computeIfAbsent(userId, id -> new GradeIndex());
+    }
+    
+    /**
+     * Drop the maintained index of a user, e.g. when they log out
+     * 
+     * @param userId The user ID
+     */
+    public static void clearUser(int userId) {
+        userIndexes.remove(userId);
+    }
+    
+    /**
+     * Add or move a subject using an already calculated percentage
+     * 
+     * @param subject The subject
+     * @param percentage The subject's overall percentage
+     */
+    public synchronized void put(Subject subject, double percentage) {
+        Entry previous = entriesById.get(subject.getId());
+        if (previous != null) {
+            entries.remove(previous);
+        }
+        
+        Entry entry = new Entry(subject, percentage);
+        entries.add(entry);
+        entriesById.put(subject.getId(), entry);
+    }
+    
+    /**
+     * Add or move a subject, calculating its percentage once
+     * 
+     * @param subject The subject
+     */
+    public void update(Subject subject) {
+        put(subject, subject.calculateOverallPercentage());
+    }
+    
+    /**
+     * Remove a subject from the index
+     * 
+     * @param subjectId The subject ID
+     */
+    public synchronized void remove(int subjectId) {
+        Entry entry = entriesById.remove(subjectId);
+        if (entry != null) {
+            entries.remove(entry);
+        }
+    }
+    
+    /**
+     * Remove every subject of a semester from the index
+     * 
+     * @param semesterId The semester ID
+     */
+    public synchronized void removeSemester(int semesterId) {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.subject.getSemesterId() == semesterId) {
+                iterator.remove();
+                entriesById.remove(entry.subject.getId());
+            }
+        }
+    }
+    
+    /**
+     * Remove every subject whose ID is not in the given set
+     * 
+     * @param subjectIds The IDs to keep
+     */
+    public synchronized void retainAll(Set<Integer> subjectIds) {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!subjectIds.contains(entry.subject.getId())) {
+                iterator.remove();
+                entriesById.remove(entry.subject.getId());
+            }
+        }
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+        entriesById.clear();
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized boolean contains(int subjectId) {
+        return entriesById.containsKey(subjectId);
+    }
+    
+    /**
+     * Get the indexed percentage of a subject
+     * 
+     * @param subjectId The subject ID
+     * @return The percentage, or NaN if the subject is not indexed
+     */
+    public synchronized double getPercentage(int subjectId) {
+        Entry entry = entriesById.get(subjectId);
+        return entry != null ? entry.percentage : Double.NaN;
+    }
+    
+    /**
+     * Find subjects with a percentage strictly below a value
+     * 
+     * @param percentage The upper bound (exclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public List<Subject> findBelowPercentage(double percentage) {
+        return findBetweenPercentage(Double.NEGATIVE_INFINITY, percentage);
+    }
+    
+    /**
+     * Find subjects with a percentage at or above a value
+     * 
+     * @param percentage The lower bound (inclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public List<Subject> findAbovePercentage(double percentage) {
+        return findBetweenPercentage(percentage, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Find subjects with a percentage in [from, to)
+     * 
+     * @param from The lower bound (inclusive)
+     * @param to The upper bound (exclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public synchronized List<Subject> findBetweenPercentage(double from, double to) {
+        List<Subject> result = new ArrayList<>();
+        if (!(from < to)) {
+            return result;
+        }
+        
+        for (Entry entry : entries.subSet(Entry.lowerProbe(from), true, Entry.lowerProbe(to), false)) {
+            result.add(entry.subject);
+        }
+        return result;
+    }
+    
+    /**
+     * Find subjects whose GPA is strictly below a value
+     * 
+     * @param gpa The GPA bound (exclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public List<Subject> findBelowGPA(double gpa) {
+        return findBelowPercentage(minimumPercentageForGPA(gpa));
+    }
+    
+    /**
+     * Find subjects whose GPA is at or above a value
+     * 
+     * @param gpa The GPA bound (inclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public List<Subject> findAboveGPA(double gpa) {
+        return findAbovePercentage(minimumPercentageForGPA(gpa));
+    }
+    
+    /**
+     * Find subjects whose GPA is in [from, to)
+     * 
+     * @param from The lower GPA bound (inclusive)
+     * @param to The upper GPA bound (exclusive)
+     * @return Subjects in ascending order of percentage
+     */
+    public List<Subject> findBetweenGPA(double from, double to) {
+        return findBetweenPercentage(minimumPercentageForGPA(from), minimumPercentageForGPA(to));
+    }
+    
+    /**
+     * Get the subjects with a given letter grade
+     * 
+     * @param letterGrade The letter grade (e.g. "B+")
+     * @return Subjects in ascending order of percentage, or an empty list for an unknown grade
+     */
+    public List<Subject> findByLetterGrade(String letterGrade) {
+        for (int i = 0; i < LETTERS.length; i++) {
+            if (LETTERS[i].equals(letterGrade)) {
+                double upper = i == 0 ? Double.POSITIVE_INFINITY : LOWER_BOUNDS[i - 1];
+                return findBetweenPercentage(LOWER_BOUNDS[i], upper);
+            }
+        }
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Group all indexed subjects by letter grade, best grade first
+     * Only non-empty grades are included
+     * 
+     * @return A map from letter grade to subjects
+     */
+    public synchronized Map<String, List<Subject>> groupByLetterGrade() {
+        Map<String, List<Subject>> groups = new LinkedHashMap<>();
+        
+        // Walk the index from the highest percentage down, switching bucket at each bound
+        int bucket = 0;
+        for (Entry entry : entries.descendingSet()) {
+            while (entry.percentage < LOWER_BOUNDS[bucket]) {
+                bucket++;
+            }
+            groups.computeIfAbsent(LETTERS[bucket], k -> new ArrayList<>()).add(entry.subject);
+        }
+        
+        return groups;
+    }
+    
+    /**
+     * Get all indexed subjects in ascending order of percentage
+     * 
+     * @return The subjects
+     */
+    public synchronized Collection<Subject> getSubjects() {
+        List<Subject> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.subject);
+        }
+        return result;
+    }
+    
+    /**
+     * Get the lowest percentage that earns at least the given GPA
+     * 
+     * @param gpa The GPA
+     * @return The percentage bound
+     */
+    public static double minimumPercentageForGPA(double gpa) {
+        if (gpa > GPA_VALUES[0]) {
+            return Double.POSITIVE_INFINITY;
+        }
+        
+        // GPA values decrease with the index, so the last match has the lowest bound
+        double bound = LOWER_BOUNDS[0];
+        for (int i = 0; i < GPA_VALUES.length && GPA_VALUES[i] >= gpa; i++) {
+            bound = LOWER_BOUNDS[i];
+        }
+        return bound;
+    }
+    
+    /**
+     * An indexed subject, ordered by percentage and then by subject ID
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final Subject subject;
+        private final int subjectId;
+        private final double percentage;
+        
+        public Entry(Subject subject, double percentage) {
+            this.subject = subject;
+            this.subjectId = subject.getId();
+            this.percentage = percentage;
+        }
+        
+        private Entry(double percentage) {
+            this.subject = null;
+            this.subjectId = Integer.MIN_VALUE;
+            this.percentage = percentage;
+        }
+        
+        /**
+         * Create a search key ordered before every real entry with the same percentage
+         */
+        public static Entry lowerProbe(double percentage) {
+            return new Entry(percentage);
+        }
+        
+        @Override
+        public int compareTo(Entry other) {
+            int result = Double.compare(percentage, other.percentage);
+            return result != 0 ? result : Integer.compare(subjectId, other.subjectId);
+        }
+    }
+}
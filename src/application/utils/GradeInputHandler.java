@@ -1,17 +1,18 @@
 package application.utils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javafx.scene.control.Alert;
-import javafx.scene.control.CheckBox;
-import javafx.scene.control.TextField;
 import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
 
 import application.controllers.SemesterController;
+import application.database.DatabaseExecutor;
+import application.metrics.MetricsRegistry;
 import application.models.Assessment;
-import application.models.AssessmentType;
 import application.models.Subject;
 
 /**
@@ -21,8 +22,7 @@ public class GradeInputHandler {
     
     private Subject subject;
     private SemesterController controller;
-    private Map<Integer, TextField> scoreFields;
-    private Map<Integer, CheckBox> finalCheckboxes;
+    private GradeTable gradeTable;
     private Stage dialog;
     
     /**
@@ -30,107 +30,75 @@ public class GradeInputHandler {
      * 
      * @param subject The subject to input grades for
      * @param controller The semester controller
-     * @param scoreFields Map of assessment IDs to score text fields
-     * @param finalCheckboxes Map of assessment IDs to finalization checkboxes
+     * @param gradeTable The grid the grades are edited in
      * @param dialog The dialog window
      */
     public GradeInputHandler(Subject subject, SemesterController controller,
-                          Map<Integer, TextField> scoreFields,
-                          Map<Integer, CheckBox> finalCheckboxes,
-                          Stage dialog) {
+                          GradeTable gradeTable, Stage dialog) {
         this.subject = subject;
         this.controller = controller;
-        this.scoreFields = scoreFields;
-        this.finalCheckboxes = finalCheckboxes;
+        this.gradeTable = gradeTable;
         this.dialog = dialog;
     }
     
     /**
-     * Save the input grades to the database
+     * Save the edited grades to the database
      * 
-     * @return true if successful, false otherwise
+     * All changed rows are written as one batch in the background and the
+     * dialog closes once they are done. The models are only updated after the
+     * batch was written, so a failed save leaves them unchanged.
+     * 
+     * @return true if the save was started, false otherwise
      */
     public boolean saveGrades() {
         try {
-            boolean anyChange = false;
-            
             System.out.println("============= SAVING GRADES =============");
             System.out.println("Subject: " + subject.getName() + ", ID: " + subject.getId());
             
-            // Update assessment scores and finalization status
-            for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                String typeName = entry.getKey();
-                AssessmentType assessmentType = entry.getValue();
-                
-                System.out.println("Processing type: " + typeName + ", ID: " + assessmentType.getId());
-                
-                if (assessmentType.getWeight() > 0) {
-                    for (Assessment assessment : assessmentType.getAssessments()) {
-                        TextField scoreField = scoreFields.get(assessment.getId());
-                        CheckBox finalizedCheckbox = finalCheckboxes.get(assessment.getId());
-                        
-                        if (scoreField != null && finalizedCheckbox != null) {
-                            try {
-                                double score = Double.parseDouble(scoreField.getText().trim());
-                                
-                                // Validate score
-                                if (score < 0 || score > 100) {
-                                    throw new IllegalArgumentException("Score must be between 0 and 100");
-                                }
-                                
-                                boolean isFinalized = finalizedCheckbox.isSelected();
-                                
-                                System.out.println("  Assessment ID: " + assessment.getId() + 
-                                                  ", Old Score: " + assessment.getScore() + 
-                                                  ", New Score: " + score + 
-                                                  ", Old Final: " + assessment.isFinal() + 
-                                                  ", New Final: " + isFinalized);
-                                
-                                // Check if anything changed
-                                if (score != assessment.getScore() || isFinalized != assessment.isFinal()) {
-                                    // Set the values in the model
-                                    assessment.setScore(score);
-                                    assessment.setFinal(isFinalized);
-                                    
-                                    // Update in database
-                                    System.out.println("  Updating assessment in database");
-                                    Assessment updatedAssessment = controller.updateAssessment(assessment);
-                                    
-                                    if (updatedAssessment != null) {
-                                        System.out.println("  Database update successful");
-                                        anyChange = true;
-                                    } else {
-                                        System.out.println("  Database update FAILED!");
-                                    }
-                                } else {
-                                    System.out.println("  No changes detected for this assessment");
-                                }
-                            } catch (NumberFormatException ex) {
-                                throw new IllegalArgumentException("Invalid score: " + scoreField.getText() + 
-                                                                 " for " + assessment.getDisplayName(assessmentType.getType()));
-                            }
-                        } else {
-                            System.out.println("  Warning: Missing UI controls for assessment ID: " + assessment.getId());
-                        }
-                    }
-                } else {
-                    System.out.println("  Skipping type with zero weight");
-                }
-            }
+            // The grid only holds valid scores; edits are saved as one batch
+            List<GradeTable.GradeRow> changedRows = gradeTable.getChangedRows();
             
-            if (anyChange) {
-                // Refresh the entire app data
-                System.out.println("Changes detected, refreshing data");
-                controller.refreshEverything();
-                controller.debugAllSubjects();  // Debug output to see the updated data
-                showInfoAlert("Success", "Grades saved successfully!");
-            } else {
+            if (changedRows.isEmpty()) {
                 System.out.println("No changes detected");
+                System.out.println("======================================");
+                dialog.close();
+                return true;
+            }
+            
+            List<PendingChange> changes = new ArrayList<>();
+            for (GradeTable.GradeRow row : changedRows) {
+                Assessment assessment = row.getAssessment();
+                System.out.println("  Assessment ID: " + assessment.getId() + 
+                                  ", Old Score: " + assessment.getScore() + 
+                                  ", New Score: " + row.getScore() + 
+                                  ", Old Final: " + assessment.isFinal() + 
+                                  ", New Final: " + row.isFinal());
+                changes.add(new PendingChange(assessment, row.getScore(), row.isFinal()));
             }
             
-            System.out.println("======================================");
+            // Update the database off the JavaFX thread
+            DatabaseExecutor.submitUpdate(() -> writeChanges(changes))
+                .whenCompleteAsync((ignored, error) -> {
+                    if (error != null) {
+                        Throwable cause = AsyncExecutor.unwrap(error);
+                        cause.printStackTrace();
+                        System.err.println("Error saving grades: " + cause.getMessage());
+                        showErrorAlert("Error", cause.getMessage());
+                        return;
+                    }
+                    
+                    // Only update the shown models once the batch is stored
+                    for (PendingChange change : changes) {
+                        change.assessment.setScore(change.score);
+                        change.assessment.setFinal(change.isFinal);
+                    }
+                    
+                    // The open views were updated by the batch's GradeBatchChangedEvent
+                    System.out.println("Changes saved");
+                    showInfoAlert("Success", "Grades saved successfully!");
+                    dialog.close();
+                }, AsyncExecutor.fxThread());
             
-            dialog.close();
             return true;
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -140,6 +108,33 @@ public class GradeInputHandler {
         }
     }
     
+    /**
+     * Write changed assessments to the database in one transaction
+     * Runs on a background thread
+     * 
+     * @param changes The changed assessments
+     * @throws Exception If the update fails; nothing is written then
+     */
+    private void writeChanges(List<PendingChange> changes) throws Exception {
+        List<Assessment> updatedAssessments = new ArrayList<>();
+        Map<Integer, Assessment> previousValues = new HashMap<>();
+        
+        for (PendingChange change : changes) {
+            Assessment assessment = change.assessment;
+            previousValues.put(assessment.getId(), new Assessment(assessment.getId(), assessment.getAssessmentTypeId(),
+                                                                  assessment.getNumber(), assessment.getScore(),
+                                                                  assessment.isFinal()));
+            updatedAssessments.add(new Assessment(assessment.getId(), assessment.getAssessmentTypeId(),
+                                                  assessment.getNumber(), change.score, change.isFinal));
+        }
+        
+        try (Operation operation = Operation.begin("GradeInputHandler.saveGrades")) {
+            controller.updateAssessments(subject.getId(), updatedAssessments, previousValues);
+            MetricsRegistry.getInstance().timeOperation(operation);
+        }
+        System.out.println("======================================");
+    }
+    
     /**
      * Show an error alert
      * 
@@ -167,4 +162,19 @@ public class GradeInputHandler {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
\ No newline at end of file
+    
+    /**
+     * An assessment changed in the grid, with its new values
+     */
+    private static class PendingChange {
+        private final Assessment assessment;
+        private final double score;
+        private final boolean isFinal;
+        
+        public PendingChange(Assessment assessment, double score, boolean isFinal) {
+            this.assessment = assessment;
+            this.score = score;
+            this.isFinal = isFinal;
+        }
+    }
+}
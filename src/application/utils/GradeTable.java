@@ -0,0 +1,494 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.CheckBoxTableCell;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+
+import application.models.Assessment;
+import application.models.AssessmentType;
+import application.models.Subject;
+
+/**
+ * An inline-editable grid of a subject's graded assessments
+ * 
+ * Rows are virtualized by the TableView, so subjects with hundreds of
+ * assessments stay responsive. Edits are kept in the rows until the caller
+ * saves the changed rows as one batch; the models are not touched before.
+ * The overall percentage is recomputed while typing from running per-type
+ * totals, so a keystroke costs O(1) instead of a full recalculation.
+ * 
+ * Keyboard: typing a number or Enter/F2 starts editing the focused score,
+ * Enter/Tab commit and move down (with Shift: up), Escape reverts, Space
+ * toggles completion and Ctrl+V pastes a column of scores (optionally with a
+ * second column of completion flags) copied from a spreadsheet.
+ */
+public class GradeTable extends TableView<GradeTable.GradeRow> {
+    private static final double ROW_HEIGHT = 36;
+    private static final KeyCombination PASTE = new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN);
+    
+    private final TableColumn<GradeRow, Double> scoreColumn = new TableColumn<>("Score (%)");
+    private final TableColumn<GradeRow, Boolean> finalColumn = new TableColumn<>("Completed");
+    private final Map<String, TypeTotal> typeTotals = new LinkedHashMap<>();
+    private final ReadOnlyDoubleWrapper percentage = new ReadOnlyDoubleWrapper();
+    
+    // Text typed to start editing, used as the editor's initial content
+    private String pendingEditText;
+    
+    /**
+     * Constructor for GradeTable
+     * Lists the assessments of all weighted assessment types
+     * 
+     * @param subject The subject whose grades are edited
+     */
+    public GradeTable(Subject subject) {
+        for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+            List<Assessment> assessments = assessmentType.getAssessments();
+            if (assessmentType.getWeight() <= 0 || assessments == null || assessments.isEmpty()) {
+                continue;
+            }
+            
+            TypeTotal total = new TypeTotal(assessmentType.getWeight(), assessments.size());
+            typeTotals.put(assessmentType.getType(), total);
+            
+            List<Assessment> sortedAssessments = new ArrayList<>(assessments);
+            sortedAssessments.sort((a1, a2) -> Integer.compare(a1.getNumber(), a2.getNumber()));
+            
+            for (Assessment assessment : sortedAssessments) {
+                GradeRow row = new GradeRow(assessment, assessmentType);
+                total.sum += assessment.getScore();
+                row.score.addListener((obs, oldScore, newScore) -> {
+                    total.sum += newScore.doubleValue() - oldScore.doubleValue();
+                    updatePercentage();
+                });
+                getItems().add(row);
+            }
+        }
+        updatePercentage();
+        
+        setEditable(true);
+        setFixedCellSize(ROW_HEIGHT);
+        getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        setPlaceholder(new Label("No assessments found with weight > 0. Please check subject configuration."));
+        
+        TableColumn<GradeRow, String> typeColumn = new TableColumn<>("Type");
+        typeColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getTypeName()));
+        typeColumn.setEditable(false);
+        typeColumn.setSortable(false);
+        typeColumn.setPrefWidth(220);
+        
+        TableColumn<GradeRow, String> nameColumn = new TableColumn<>("Assessment");
+        nameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getName()));
+        nameColumn.setEditable(false);
+        nameColumn.setSortable(false);
+        nameColumn.setPrefWidth(220);
+        
+        scoreColumn.setCellValueFactory(cell -> cell.getValue().score.asObject());
+        scoreColumn.setCellFactory(column -> new ScoreCell());
+        scoreColumn.setOnEditCommit(event -> event.getRowValue().score.set(event.getNewValue()));
+        scoreColumn.setSortable(false);
+        scoreColumn.setPrefWidth(150);
+        
+        finalColumn.setCellValueFactory(cell -> cell.getValue().finalized);
+        finalColumn.setCellFactory(CheckBoxTableCell.forTableColumn(finalColumn));
+        finalColumn.setSortable(false);
+        finalColumn.setPrefWidth(150);
+        
+        getColumns().add(typeColumn);
+        getColumns().add(nameColumn);
+        getColumns().add(scoreColumn);
+        getColumns().add(finalColumn);
+        
+        addEventFilter(KeyEvent.KEY_PRESSED, this::handleKeyPressed);
+        addEventHandler(KeyEvent.KEY_TYPED, this::handleKeyTyped);
+    }
+    
+    /**
+     * Get the overall percentage of the edited scores, updated while typing
+     * Computed the same way as Subject.calculateOverallPercentage()
+     * 
+     * @return The percentage property
+     */
+    public ReadOnlyDoubleProperty percentageProperty() {
+        return percentage.getReadOnlyProperty();
+    }
+    
+    public double getPercentage() {
+        return percentage.get();
+    }
+    
+    /**
+     * Get the rows whose score or completion differs from their assessment
+     * 
+     * @return The changed rows in display order
+     */
+    public List<GradeRow> getChangedRows() {
+        List<GradeRow> changedRows = new ArrayList<>();
+        for (GradeRow row : getItems()) {
+            if (row.isChanged()) {
+                changedRows.add(row);
+            }
+        }
+        return changedRows;
+    }
+    
+    /**
+     * Paste tab-separated text, one row per line, starting at the focused row
+     * The first column holds scores; an optional second column holds completion
+     * flags (true/false, yes/no, x, 1/0). Nothing is applied if any value is invalid.
+     * 
+     * @param text The pasted text
+     * @return The number of rows pasted
+     * @throws IllegalArgumentException If a value is invalid or there are more lines than rows
+     */
+    public int paste(String text) {
+        int start = Math.max(0, getFocusModel().getFocusedIndex());
+        String[] lines = text.stripTrailing().split("\\r?\\n");
+        
+        if (start + lines.length > getItems().size()) {
+            throw new IllegalArgumentException("Pasted " + lines.length + " rows, but only "
+                                               + (getItems().size() - start) + " rows follow the selected row");
+        }
+        
+        double[] scores = new double[lines.length];
+        Boolean[] finals = new Boolean[lines.length];
+        
+        for (int i = 0; i < lines.length; i++) {
+            String[] cells = lines[i].split("\t");
+            GradeRow row = getItems().get(start + i);
+            
+            Double score = parseScore(cells[0]);
+            if (score == null) {
+                throw new IllegalArgumentException("Invalid score: " + cells[0].trim() + " for " + row.getName());
+            }
+            scores[i] = score;
+            
+            if (cells.length > 1 && !cells[1].isBlank()) {
+                finals[i] = parseFlag(cells[1]);
+                if (finals[i] == null) {
+                    throw new IllegalArgumentException("Invalid completion value: " + cells[1].trim()
+                                                       + " for " + row.getName());
+                }
+            }
+        }
+        
+        for (int i = 0; i < lines.length; i++) {
+            GradeRow row = getItems().get(start + i);
+            row.score.set(scores[i]);
+            if (finals[i] != null) {
+                row.finalized.set(finals[i]);
+            }
+        }
+        
+        getSelectionModel().selectRange(start, start + lines.length);
+        return lines.length;
+    }
+    
+    /**
+     * Parse a score between 0 and 100, allowing a trailing percent sign
+     * 
+     * @param text The score text
+     * @return The score, or null if the text is not a valid score
+     */
+    public static Double parseScore(String text) {
+        String trimmed = text.trim();
+        if (trimmed.endsWith("%")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        
+        try {
+            double score = Double.parseDouble(trimmed);
+            return score >= 0 && score <= 100 ? score : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static Boolean parseFlag(String text) {
+        switch (text.trim().toLowerCase()) {
+            case "true": case "yes": case "y": case "x": case "1": case "completed": case "final":
+                return true;
+            case "false": case "no": case "n": case "0":
+                return false;
+            default:
+                return null;
+        }
+    }
+    
+    private void updatePercentage() {
+        double totalWeightedScore = 0.0;
+        double totalWeight = 0.0;
+        
+        for (TypeTotal total : typeTotals.values()) {
+            totalWeightedScore += (total.sum / total.count) * total.weight / 100.0;
+            totalWeight += total.weight;
+        }
+        
+        percentage.set(totalWeight > 0 ? (totalWeightedScore * 100.0) / totalWeight : 0.0);
+    }
+    
+    private void handleKeyPressed(KeyEvent event) {
+        if (getEditingCell() != null) {
+            return;
+        }
+        
+        int focusedIndex = getFocusModel().getFocusedIndex();
+        
+        if (PASTE.match(event)) {
+            String text = Clipboard.getSystemClipboard().getString();
+            if (text != null && !text.isBlank()) {
+                try {
+                    paste(text);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Paste rejected: " + e.getMessage());
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Invalid Paste");
+                    alert.setHeaderText(null);
+                    alert.setContentText(e.getMessage());
+                    alert.showAndWait();
+                }
+            }
+            event.consume();
+        } else if (focusedIndex < 0) {
+            return;
+        } else if (event.getCode() == KeyCode.ENTER || event.getCode() == KeyCode.F2) {
+            edit(focusedIndex, scoreColumn);
+            event.consume();
+        } else if (event.getCode() == KeyCode.SPACE) {
+            for (GradeRow row : new ArrayList<>(getSelectionModel().getSelectedItems())) {
+                row.finalized.set(!row.finalized.get());
+            }
+            event.consume();
+        }
+    }
+    
+    private void handleKeyTyped(KeyEvent event) {
+        String character = event.getCharacter();
+        int focusedIndex = getFocusModel().getFocusedIndex();
+        
+        // Typing a number over a selected row replaces its score, as in a spreadsheet
+        if (getEditingCell() == null && focusedIndex >= 0 && !character.isEmpty()
+                && (Character.isDigit(character.charAt(0)) || character.equals("."))) {
+            pendingEditText = character;
+            edit(focusedIndex, scoreColumn);
+            event.consume();
+        }
+    }
+    
+    /**
+     * Move the editor to another row after a commit
+     */
+    private void editRow(int index) {
+        if (index >= 0 && index < getItems().size()) {
+            getSelectionModel().clearAndSelect(index);
+            getFocusModel().focus(index);
+            scrollTo(Math.max(0, index - 3));
+            edit(index, scoreColumn);
+        }
+    }
+    
+    /**
+     * Running totals of one assessment type for the live percentage
+     */
+    private static class TypeTotal {
+        private final double weight;
+        private final int count;
+        private double sum;
+        
+        TypeTotal(double weight, int count) {
+            this.weight = weight;
+            this.count = count;
+        }
+    }
+    
+    /**
+     * One assessment with its edited (not yet saved) values
+     */
+    public static class GradeRow {
+        private final Assessment assessment;
+        private final String typeName;
+        private final String name;
+        private final DoubleProperty score;
+        private final BooleanProperty finalized;
+        
+        GradeRow(Assessment assessment, AssessmentType assessmentType) {
+            this.assessment = assessment;
+            this.typeName = assessmentType.getDisplayName() + " (" + assessmentType.getWeight() + "%)";
+            this.name = assessment.getDisplayName(assessmentType.getType());
+            this.score = new SimpleDoubleProperty(assessment.getScore());
+            this.finalized = new SimpleBooleanProperty(assessment.isFinal());
+        }
+        
+        public Assessment getAssessment() {
+            return assessment;
+        }
+        
+        public String getTypeName() {
+            return typeName;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public double getScore() {
+            return score.get();
+        }
+        
+        public boolean isFinal() {
+            return finalized.get();
+        }
+        
+        /**
+         * Check whether the row differs from its saved assessment
+         * 
+         * @return true if the score or completion was edited
+         */
+        public boolean isChanged() {
+            return score.get() != assessment.getScore() || finalized.get() != assessment.isFinal();
+        }
+    }
+    
+    /**
+     * A score cell edited with a text field
+     * Valid input updates the row while typing, so the percentage follows the keystrokes
+     */
+    private class ScoreCell extends TableCell<GradeRow, Double> {
+        private final TextField textField = new TextField();
+        private GradeRow editingRow;
+        private double scoreBeforeEdit;
+        
+        ScoreCell() {
+            textField.textProperty().addListener((obs, oldText, newText) -> {
+                if (!isEditing()) {
+                    return;
+                }
+                Double score = parseScore(newText);
+                textField.setStyle(score == null ? "-fx-border-color: #cc3333;" : "");
+                if (score != null && editingRow != null) {
+                    editingRow.score.set(score);
+                }
+            });
+            
+            textField.setOnKeyPressed(event -> {
+                if (event.getCode() == KeyCode.ENTER || event.getCode() == KeyCode.TAB) {
+                    int index = getIndex();
+                    if (commitText()) {
+                        editRow(event.isShiftDown() ? index - 1 : index + 1);
+                    }
+                    event.consume();
+                } else if (event.getCode() == KeyCode.ESCAPE) {
+                    cancelEdit();
+                    event.consume();
+                }
+            });
+            
+            // Leaving the field keeps a valid score and reverts an invalid one
+            textField.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+                if (!isFocused && isEditing() && !commitText()) {
+                    cancelEdit();
+                }
+            });
+        }
+        
+        @Override
+        public void startEdit() {
+            super.startEdit();
+            if (!isEditing()) {
+                return;
+            }
+            
+            editingRow = getTableRow().getItem();
+            scoreBeforeEdit = editingRow.getScore();
+            setText(null);
+            setGraphic(textField);
+            
+            if (pendingEditText != null) {
+                textField.setText(pendingEditText);
+                pendingEditText = null;
+                textField.requestFocus();
+                textField.end();
+            } else {
+                textField.setText(format(getItem()));
+                textField.requestFocus();
+                textField.selectAll();
+            }
+        }
+        
+        @Override
+        public void cancelEdit() {
+            super.cancelEdit();
+            
+            // Undo the live updates made while typing; the cell may already show another row
+            if (editingRow != null) {
+                editingRow.score.set(scoreBeforeEdit);
+                editingRow = null;
+            }
+            textField.setStyle("");
+            showScore(getItem());
+        }
+        
+        @Override
+        public void commitEdit(Double newValue) {
+            editingRow = null;
+            super.commitEdit(newValue);
+            textField.setStyle("");
+            showScore(newValue);
+        }
+        
+        @Override
+        protected void updateItem(Double score, boolean empty) {
+            super.updateItem(score, empty);
+            
+            if (empty || score == null) {
+                setText(null);
+                setGraphic(null);
+            } else if (isEditing()) {
+                setText(null);
+                setGraphic(textField);
+            } else {
+                showScore(score);
+            }
+        }
+        
+        private boolean commitText() {
+            Double score = parseScore(textField.getText());
+            if (score == null) {
+                return false;
+            }
+            commitEdit(score);
+            return true;
+        }
+        
+        private void showScore(Double score) {
+            setGraphic(null);
+            setText(score != null ? format(score) : null);
+        }
+        
+        private String format(double score) {
+            return String.format("%.1f", score);
+        }
+    }
+}
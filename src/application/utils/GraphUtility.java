@@ -1,15 +1,22 @@
 package application.utils;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Stack;
 
 import application.models.Assessment;
 import application.models.AssessmentType;
+import application.models.Prerequisite;
 import application.models.Semester;
 import application.models.Subject;
 
@@ -242,8 +249,378 @@ public class GraphUtility {
         }
     }
     
+    /**
+     * A directed acyclic graph of real prerequisite relations between subjects,
+     * spanning all semesters of a user. Edges point from a prerequisite to the
+     * subjects that depend on it.
+     * 
+     * The graph only depends on its edges, never on grades, so derived results
+     * (topological order, critical path, earliest semesters, affected subjects)
+     * are computed lazily once and reused until the edges change.
+     * 
+     * A built graph is shared between threads through PrerequisiteService's
+     * cache, so all methods synchronize on the graph.
+     */
+    public static class PrerequisiteGraph {
+        private Map<Integer, Subject> subjects;              // Subject ID to subject
+        private Map<Integer, Integer> semesterIndex;         // Subject ID to semester ordinal
+        private Map<Integer, List<Integer>> dependents;      // Prerequisite ID to dependent IDs
+        private Map<Integer, List<Integer>> prerequisites;   // Subject ID to prerequisite IDs
+        
+        // Lazily computed results, cleared whenever an edge is added
+        private List<Integer> topologicalOrder;
+        private Map<Integer, Integer> chainLength;
+        private Map<Integer, Integer> earliestSemesters;
+        private List<Subject> criticalPath;
+        private Map<Integer, List<Subject>> affectedCache;
+        
+        public PrerequisiteGraph() {
+            this.subjects = new LinkedHashMap<>();
+            this.semesterIndex = new HashMap<>();
+            this.dependents = new HashMap<>();
+            this.prerequisites = new HashMap<>();
+            this.affectedCache = new HashMap<>();
+        }
+        
+        /**
+         * Add a subject node to the graph
+         * 
+         * @param subject The subject
+         * @param semesterOrdinal The position of the subject's semester in the user's plan (0-based)
+         */
+        public synchronized void addSubject(Subject subject, int semesterOrdinal) {
+            subjects.put(subject.getId(), subject);
+            semesterIndex.put(subject.getId(), semesterOrdinal);
+            dependents.putIfAbsent(subject.getId(), new ArrayList<>());
+            prerequisites.putIfAbsent(subject.getId(), new ArrayList<>());
+        }
+        
+        /**
+         * Add a prerequisite edge between two subjects already in the graph
+         * 
+         * @param prerequisiteId The subject that must be taken first
+         * @param subjectId The dependent subject
+         * @throws IllegalArgumentException If a subject is unknown or the edge would create a cycle
+         */
+        public synchronized void addPrerequisite(int prerequisiteId, int subjectId) {
+            if (!subjects.containsKey(prerequisiteId) || !subjects.containsKey(subjectId)) {
+                throw new IllegalArgumentException("Both subjects must belong to the graph");
+            }
+            
+            if (wouldCreateCycle(prerequisiteId, subjectId)) {
+                throw new IllegalArgumentException("Prerequisite would create a cycle");
+            }
+            
+            if (!dependents.get(prerequisiteId).contains(subjectId)) {
+                dependents.get(prerequisiteId).add(subjectId);
+                prerequisites.get(subjectId).add(prerequisiteId);
+                invalidate();
+            }
+        }
+        
+        /**
+         * Check whether adding an edge would create a cycle, i.e. whether the
+         * prerequisite is already reachable from the dependent subject
+         * 
+         * @param prerequisiteId The subject that would be taken first
+         * @param subjectId The dependent subject
+         * @return true if the edge would create a cycle
+         */
+        public synchronized boolean wouldCreateCycle(int prerequisiteId, int subjectId) {
+            if (prerequisiteId == subjectId) {
+                return true;
+            }
+            
+            Set<Integer> visited = new HashSet<>();
+            Deque<Integer> stack = new ArrayDeque<>();
+            stack.push(subjectId);
+            
+            while (!stack.isEmpty()) {
+                int current = stack.pop();
+                if (current == prerequisiteId) {
+                    return true;
+                }
+                
+                if (visited.add(current)) {
+                    for (int next : dependents.getOrDefault(current, List.of())) {
+                        stack.push(next);
+                    }
+                }
+            }
+            
+            return false;
+        }
+        
+        public synchronized boolean containsSubject(int subjectId) {
+            return subjects.containsKey(subjectId);
+        }
+        
+        public synchronized Subject getSubject(int subjectId) {
+            return subjects.get(subjectId);
+        }
+        
+        /**
+         * Get the direct prerequisites of a subject
+         * 
+         * @param subjectId The subject ID
+         * @return List of prerequisite subjects
+         */
+        public synchronized List<Subject> getPrerequisites(int subjectId) {
+            return toSubjects(prerequisites.getOrDefault(subjectId, List.of()));
+        }
+        
+        /**
+         * Get the subjects in an order where every prerequisite comes before its dependents
+         * Uses Kahn's algorithm with a queue
+         * 
+         * @return List of subject IDs in topological order
+         */
+        public synchronized List<Integer> getTopologicalOrder() {
+            if (topologicalOrder != null) {
+                return topologicalOrder;
+            }
+            
+            Map<Integer, Integer> inDegree = new HashMap<>();
+            for (Integer id : subjects.keySet()) {
+                inDegree.put(id, prerequisites.get(id).size());
+            }
+            
+            Queue<Integer> queue = new LinkedList<>();
+            for (Integer id : subjects.keySet()) {
+                if (inDegree.get(id) == 0) {
+                    queue.add(id);
+                }
+            }
+            
+            List<Integer> order = new ArrayList<>(subjects.size());
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                order.add(current);
+                
+                for (int next : dependents.get(current)) {
+                    int remaining = inDegree.merge(next, -1, Integer::sum);
+                    if (remaining == 0) {
+                        queue.add(next);
+                    }
+                }
+            }
+            
+            if (order.size() != subjects.size()) {
+                throw new IllegalStateException("Prerequisite graph contains a cycle");
+            }
+            
+            topologicalOrder = Collections.unmodifiableList(order);
+            return topologicalOrder;
+        }
+        
+        /**
+         * Find the critical path: the longest chain of prerequisites in the graph
+         * 
+         * @return List of subjects on the critical path, first prerequisite first
+         */
+        public synchronized List<Subject> findCriticalPath() {
+            if (criticalPath != null) {
+                return criticalPath;
+            }
+            
+            Map<Integer, Integer> previous = new HashMap<>();
+            computeChainLengths(previous);
+            
+            int end = -1;
+            int longest = 0;
+            for (Map.Entry<Integer, Integer> entry : chainLength.entrySet()) {
+                if (entry.getValue() > longest) {
+                    longest = entry.getValue();
+                    end = entry.getKey();
+                }
+            }
+            
+            LinkedList<Subject> path = new LinkedList<>();
+            Integer current = end;
+            while (current != null && current != -1) {
+                path.addFirst(subjects.get(current));
+                current = previous.get(current);
+            }
+            
+            criticalPath = Collections.unmodifiableList(path);
+            return criticalPath;
+        }
+        
+        /**
+         * Get the length of the longest prerequisite chain ending at a subject
+         * 
+         * @param subjectId The subject ID
+         * @return The number of subjects in the chain, including the subject itself
+         */
+        public synchronized int getChainLength(int subjectId) {
+            if (chainLength == null) {
+                computeChainLengths(new HashMap<>());
+            }
+            return chainLength.getOrDefault(subjectId, 0);
+        }
+        
+        /**
+         * Compute the earliest semester each subject can be taken in, assuming a
+         * subject can only follow its prerequisites in a later semester
+         * 
+         * @return Map of subject ID to earliest semester ordinal (0-based)
+         */
+        public synchronized Map<Integer, Integer> getEarliestSemesters() {
+            if (earliestSemesters != null) {
+                return earliestSemesters;
+            }
+            
+            Map<Integer, Integer> earliest = new HashMap<>();
+            for (int id : getTopologicalOrder()) {
+                int semester = 0;
+                for (int prerequisiteId : prerequisites.get(id)) {
+                    semester = Math.max(semester, earliest.get(prerequisiteId) + 1);
+                }
+                earliest.put(id, semester);
+            }
+            
+            earliestSemesters = Collections.unmodifiableMap(earliest);
+            return earliestSemesters;
+        }
+        
+        /**
+         * Find subjects that are planned earlier than their prerequisites allow
+         * 
+         * @return List of subjects scheduled before their earliest possible semester
+         */
+        public synchronized List<Subject> findSchedulingConflicts() {
+            List<Subject> conflicts = new ArrayList<>();
+            Map<Integer, Integer> earliest = getEarliestSemesters();
+            
+            for (int id : getTopologicalOrder()) {
+                for (int prerequisiteId : prerequisites.get(id)) {
+                    if (semesterIndex.get(prerequisiteId) >= semesterIndex.get(id)) {
+                        conflicts.add(subjects.get(id));
+                        break;
+                    }
+                }
+            }
+            
+            // Also flag subjects whose chain is longer than the semesters before them
+            for (Map.Entry<Integer, Integer> entry : earliest.entrySet()) {
+                Subject subject = subjects.get(entry.getKey());
+                if (entry.getValue() > semesterIndex.get(entry.getKey()) && !conflicts.contains(subject)) {
+                    conflicts.add(subject);
+                }
+            }
+            
+            return conflicts;
+        }
+        
+        /**
+         * Find all subjects that directly or transitively depend on a subject,
+         * i.e. the future courses affected by a grade in this subject
+         * 
+         * @param subjectId The subject ID
+         * @return List of affected subjects in breadth-first order
+         */
+        public synchronized List<Subject> findAffectedSubjects(int subjectId) {
+            List<Subject> cached = affectedCache.get(subjectId);
+            if (cached != null) {
+                return cached;
+            }
+            
+            List<Integer> result = new ArrayList<>();
+            if (subjects.containsKey(subjectId)) {
+                Set<Integer> visited = new HashSet<>();
+                Queue<Integer> queue = new LinkedList<>();
+                queue.add(subjectId);
+                visited.add(subjectId);
+                
+                while (!queue.isEmpty()) {
+                    int current = queue.poll();
+                    for (int next : dependents.get(current)) {
+                        if (visited.add(next)) {
+                            result.add(next);
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+            
+            List<Subject> affected = Collections.unmodifiableList(toSubjects(result));
+            affectedCache.put(subjectId, affected);
+            return affected;
+        }
+        
+        /**
+         * Longest-path dynamic programming over the topological order
+         * 
+         * @param previous Map filled with the predecessor of each subject on its longest chain
+         */
+        private void computeChainLengths(Map<Integer, Integer> previous) {
+            Map<Integer, Integer> lengths = new HashMap<>();
+            
+            for (int id : getTopologicalOrder()) {
+                int best = 0;
+                for (int prerequisiteId : prerequisites.get(id)) {
+                    int length = lengths.get(prerequisiteId);
+                    if (length > best) {
+                        best = length;
+                        previous.put(id, prerequisiteId);
+                    }
+                }
+                lengths.put(id, best + 1);
+            }
+            
+            chainLength = lengths;
+        }
+        
+        private List<Subject> toSubjects(List<Integer> ids) {
+            List<Subject> result = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                result.add(subjects.get(id));
+            }
+            return result;
+        }
+        
+        private void invalidate() {
+            topologicalOrder = null;
+            chainLength = null;
+            earliestSemesters = null;
+            criticalPath = null;
+            affectedCache.clear();
+        }
+    }
+    
+    /**
+     * Create a prerequisite graph spanning all semesters of a user
+     * 
+     * @param semesters The user's semesters in plan order
+     * @param subjects The user's subjects (from any semester)
+     * @param prerequisites The persisted prerequisite relations
+     * @return A prerequisite graph
+     */
+    public static PrerequisiteGraph createPrerequisiteGraph(List<Semester> semesters, List<Subject> subjects,
+                                                           List<Prerequisite> prerequisites) {
+        PrerequisiteGraph graph = new PrerequisiteGraph();
+        
+        Map<Integer, Integer> semesterOrdinals = new HashMap<>();
+        for (int i = 0; i < semesters.size(); i++) {
+            semesterOrdinals.put(semesters.get(i).getId(), i);
+        }
+        
+        for (Subject subject : subjects) {
+            graph.addSubject(subject, semesterOrdinals.getOrDefault(subject.getSemesterId(), 0));
+        }
+        
+        for (Prerequisite prerequisite : prerequisites) {
+            if (graph.containsSubject(prerequisite.getPrerequisiteId()) && graph.containsSubject(prerequisite.getSubjectId())) {
+                graph.addPrerequisite(prerequisite.getPrerequisiteId(), prerequisite.getSubjectId());
+            }
+        }
+        
+        return graph;
+    }
+    
     /**
      * Create a subject graph from a semester
+     * Edges are inferred from final exam weights; use createPrerequisiteGraph for real prerequisites
      * 
      * @param semester The semester
      * @return A subject graph
@@ -289,69 +666,277 @@ public class GraphUtility {
     }
     
     /**
-     * Analyze assessment dependencies for a subject
+     * A contiguous run of assessments of one type, [fromOrdinal, toOrdinal)
+     * Used to describe "all earlier items of this type" without listing them
+     */
+    public static class DependencyRange {
+        private final String type;
+        private final int fromOrdinal;
+        private final int toOrdinal;
+        private final List<Assessment> source;
+        
+        public DependencyRange(String type, int fromOrdinal, int toOrdinal, List<Assessment> source) {
+            this.type = type;
+            this.fromOrdinal = fromOrdinal;
+            this.toOrdinal = toOrdinal;
+            this.source = source;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public int getFromOrdinal() {
+            return fromOrdinal;
+        }
+        
+        public int getToOrdinal() {
+            return toOrdinal;
+        }
+        
+        public int size() {
+            return toOrdinal - fromOrdinal;
+        }
+        
+        /**
+         * Get the assessments in this range as a view (no copy)
+         * 
+         * @return The assessments covered by the range
+         */
+        public List<Assessment> getAssessments() {
+            return source.subList(fromOrdinal, toOrdinal);
+        }
+        
+        @Override
+        public String toString() {
+            return type + "[" + fromOrdinal + ", " + toOrdinal + ")";
+        }
+    }
+    
+    /**
+     * Implicit model of assessment dependencies within a subject
      * 
-     * @param subject The subject
-     * @return A map of assessment ID to list of dependent assessment IDs
+     * Rules (same as analyzeAssessmentDependencies):
+     * - an assignment or quiz depends on all earlier items of its own type
+     * - the first midterm depends on all assignments and quizzes
+     * - the first final exam depends on every other assessment
+     * - later midterms and final exams have no dependencies
+     * 
+     * Instead of listing every dependency, each assessment is indexed by its
+     * (type, ordinal) position and dependencies are answered as at most one
+     * range per type. Memory is O(n) and every query is O(1) or O(number of types).
      */
-    public static Map<Integer, List<Integer>> analyzeAssessmentDependencies(Subject subject) {
-        Map<Integer, List<Integer>> dependencies = new HashMap<>();
+    public static class AssessmentDependencyModel {
+        private final List<String> types;                   // Type names by type index
+        private final List<List<Assessment>> assessments;   // Assessments by type index, in order
+        private final Map<Integer, int[]> positions;        // Assessment ID to {type index, ordinal}
         
-        // For each assessment type
-        for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
-            List<Assessment> assessments = assessmentType.getAssessments();
+        public AssessmentDependencyModel(Subject subject) {
+            this.types = new ArrayList<>();
+            this.assessments = new ArrayList<>();
+            this.positions = new HashMap<>();
             
-            // For each assessment
-            for (int i = 0; i < assessments.size(); i++) {
-                Assessment current = assessments.get(i);
-                int currentId = current.getId();
+            for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
+                int typeIndex = types.size();
+                List<Assessment> items = assessmentType.getAssessments();
                 
-                dependencies.put(currentId, new ArrayList<>());
+                types.add(assessmentType.getType());
+                assessments.add(items);
                 
-                // If this is an assignment or quiz, it depends on previous ones
-                if (assessmentType.getType().equals("assignment") || assessmentType.getType().equals("quiz")) {
-                    for (int j = 0; j < i; j++) {
-                        Assessment previous = assessments.get(j);
-                        dependencies.get(currentId).add(previous.getId());
-                    }
+                for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+                    positions.put(items.get(ordinal).getId(), new int[] { typeIndex, ordinal });
                 }
             }
         }
         
-        // Midterms depend on assignments and quizzes
-        AssessmentType midtermType = subject.getAssessmentType("midterm");
-        if (midtermType != null && !midtermType.getAssessments().isEmpty()) {
-            Assessment midterm = midtermType.getAssessments().get(0);
-            int midtermId = midterm.getId();
+        /**
+         * Check whether one assessment depends on another in O(1)
+         * 
+         * @param assessmentId The dependent assessment
+         * @param dependencyId The possible dependency
+         * @return true if the first assessment depends on the second
+         */
+        public boolean dependsOn(int assessmentId, int dependencyId) {
+            int[] position = positions.get(assessmentId);
+            int[] dependency = positions.get(dependencyId);
+            
+            if (position == null || dependency == null || assessmentId == dependencyId) {
+                return false;
+            }
             
-            dependencies.put(midtermId, new ArrayList<>());
+            String type = types.get(position[0]);
+            String dependencyType = types.get(dependency[0]);
             
-            // Add dependencies on assignments and quizzes
-            for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
-                if (assessmentType.getType().equals("assignment") || assessmentType.getType().equals("quiz")) {
-                    for (Assessment assessment : assessmentType.getAssessments()) {
-                        dependencies.get(midtermId).add(assessment.getId());
+            if (isCumulative(type)) {
+                return position[0] == dependency[0] && dependency[1] < position[1];
+            }
+            if (type.equals("midterm")) {
+                return position[1] == 0 && isCumulative(dependencyType);
+            }
+            if (type.equals("final_exam")) {
+                return position[1] == 0 && !dependencyType.equals("final_exam");
+            }
+            
+            return false;
+        }
+        
+        /**
+         * Get the dependencies of an assessment as ranges
+         * 
+         * @param assessmentId The assessment ID
+         * @return At most one range per assessment type
+         */
+        public List<DependencyRange> getDependencies(int assessmentId) {
+            List<DependencyRange> ranges = new ArrayList<>();
+            int[] position = positions.get(assessmentId);
+            
+            if (position == null) {
+                return ranges;
+            }
+            
+            String type = types.get(position[0]);
+            
+            if (isCumulative(type)) {
+                addRange(ranges, position[0], 0, position[1]);
+            } else if (type.equals("midterm") && position[1] == 0) {
+                for (int i = 0; i < types.size(); i++) {
+                    if (isCumulative(types.get(i))) {
+                        addRange(ranges, i, 0, assessments.get(i).size());
+                    }
+                }
+            } else if (type.equals("final_exam") && position[1] == 0) {
+                for (int i = 0; i < types.size(); i++) {
+                    if (!types.get(i).equals("final_exam")) {
+                        addRange(ranges, i, 0, assessments.get(i).size());
                     }
                 }
             }
+            
+            return ranges;
         }
         
-        // Final exam depends on everything
-        AssessmentType finalExamType = subject.getAssessmentType("final_exam");
-        if (finalExamType != null && !finalExamType.getAssessments().isEmpty()) {
-            Assessment finalExam = finalExamType.getAssessments().get(0);
-            int finalExamId = finalExam.getId();
+        /**
+         * Get the assessments that depend on an assessment as ranges
+         * 
+         * @param assessmentId The assessment ID
+         * @return At most one range per assessment type
+         */
+        public List<DependencyRange> getDependents(int assessmentId) {
+            List<DependencyRange> ranges = new ArrayList<>();
+            int[] position = positions.get(assessmentId);
             
-            dependencies.put(finalExamId, new ArrayList<>());
+            if (position == null) {
+                return ranges;
+            }
             
-            // Add dependencies on all other assessments
-            for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
-                if (!assessmentType.getType().equals("final_exam")) {
-                    for (Assessment assessment : assessmentType.getAssessments()) {
-                        dependencies.get(finalExamId).add(assessment.getId());
-                    }
+            String type = types.get(position[0]);
+            
+            if (isCumulative(type)) {
+                addRange(ranges, position[0], position[1] + 1, assessments.get(position[0]).size());
+            }
+            
+            for (int i = 0; i < types.size(); i++) {
+                String otherType = types.get(i);
+                boolean midtermDepends = otherType.equals("midterm") && isCumulative(type);
+                boolean finalDepends = otherType.equals("final_exam") && !type.equals("final_exam");
+                
+                // Only the first midterm or final exam depends on other types
+                if (midtermDepends || finalDepends) {
+                    addRange(ranges, i, 0, Math.min(1, assessments.get(i).size()));
                 }
             }
+            
+            return ranges;
+        }
+        
+        /**
+         * Count the dependencies of an assessment without listing them
+         * 
+         * @param assessmentId The assessment ID
+         * @return The number of assessments it depends on
+         */
+        public int getDependencyCount(int assessmentId) {
+            int count = 0;
+            for (DependencyRange range : getDependencies(assessmentId)) {
+                count += range.size();
+            }
+            return count;
+        }
+        
+        /**
+         * Count the assessments depending on an assessment without listing them
+         * 
+         * @param assessmentId The assessment ID
+         * @return The number of dependent assessments
+         */
+        public int getDependentCount(int assessmentId) {
+            int count = 0;
+            for (DependencyRange range : getDependents(assessmentId)) {
+                count += range.size();
+            }
+            return count;
+        }
+        
+        /**
+         * Materialize the dependency IDs of one assessment
+         * Only use this when the full list is actually needed
+         * 
+         * @param assessmentId The assessment ID
+         * @return List of assessment IDs it depends on
+         */
+        public List<Integer> expandDependencies(int assessmentId) {
+            List<Integer> ids = new ArrayList<>(getDependencyCount(assessmentId));
+            for (DependencyRange range : getDependencies(assessmentId)) {
+                for (Assessment assessment : range.getAssessments()) {
+                    ids.add(assessment.getId());
+                }
+            }
+            return ids;
+        }
+        
+        public boolean contains(int assessmentId) {
+            return positions.containsKey(assessmentId);
+        }
+        
+        public Set<Integer> getAssessmentIds() {
+            return Collections.unmodifiableSet(positions.keySet());
+        }
+        
+        private void addRange(List<DependencyRange> ranges, int typeIndex, int from, int to) {
+            if (to > from) {
+                ranges.add(new DependencyRange(types.get(typeIndex), from, to, assessments.get(typeIndex)));
+            }
+        }
+        
+        private static boolean isCumulative(String type) {
+            return type.equals("assignment") || type.equals("quiz");
+        }
+    }
+    
+    /**
+     * Create an implicit dependency model for the assessments of a subject
+     * 
+     * @param subject The subject
+     * @return The dependency model
+     */
+    public static AssessmentDependencyModel createAssessmentDependencyModel(Subject subject) {
+        return new AssessmentDependencyModel(subject);
+    }
+    
+    /**
+     * Analyze assessment dependencies for a subject
+     * This materializes every dependency list (quadratic in the number of items per type);
+     * prefer createAssessmentDependencyModel for queries on large subjects
+     * 
+     * @param subject The subject
+     * @return A map of assessment ID to list of dependent assessment IDs
+     */
+    public static Map<Integer, List<Integer>> analyzeAssessmentDependencies(Subject subject) {
+        AssessmentDependencyModel model = createAssessmentDependencyModel(subject);
+        Map<Integer, List<Integer>> dependencies = new HashMap<>();
+        
+        for (Integer assessmentId : model.getAssessmentIds()) {
+            dependencies.put(assessmentId, model.expandDependencies(assessmentId));
         }
         
         return dependencies;
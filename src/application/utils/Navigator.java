@@ -1,15 +1,49 @@
 package application.utils;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TabPane;
 import javafx.stage.Stage;
 
+import application.metrics.HitRatio;
+import application.metrics.MetricsRegistry;
+
 /**
  * Utility class for navigating between scenes
+ * 
+ * Views opened through {@link #navigateTo(String, Supplier, String)} are kept
+ * in a small LRU cache, so going back to a recently used screen reuses its
+ * node graph instead of rebuilding it. Scroll positions and selected tabs are
+ * restored when a cached view is shown again. The cache shrinks when the heap
+ * runs low.
  */
 public class Navigator {
+    private static final int MAX_CACHED_VIEWS = 4;
+    
+    private static final HitRatio viewCacheHits = MetricsRegistry.getInstance().hitRatio("cache.navigator.views");
+    
+    // Evict cached views while more than this fraction of the maximum heap is in use
+    private static final double MEMORY_PRESSURE_RATIO = 0.75;
+    
     private static Stage primaryStage;
     
+    // Access-ordered: the least recently shown view comes first
+    private static final Map<String, CachedView> viewCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<Parent, ViewState> viewStates = new IdentityHashMap<>();
+    private static String currentKey;
+    private static CachedView currentView;
+    
     /**
      * Set the primary stage for the application
      * 
@@ -21,15 +55,99 @@ public class Navigator {
     
     /**
      * Navigate to a new scene
+     * The view is not cached (e.g. login and signup screens)
      * 
      * @param root The root node of the new scene
      * @param title The title for the window
      */
     public static void navigateTo(Parent root, String title) {
-        primaryStage.setTitle(title);
-        Scene scene = new Scene(root);
-        primaryStage.setScene(scene);
-        primaryStage.show();
+        hideCurrentView();
+        currentKey = null;
+        currentView = null;
+        
+        show(root, title);
+    }
+    
+    /**
+     * Navigate to a cached view, creating it only if it is not cached yet
+     * 
+     * @param <V> The view type
+     * @param key The cache key identifying the screen (e.g. "semester:12")
+     * @param factory Creates the view on a cache miss
+     * @param title The title for the window
+     * @return The shown view
+     */
+    @SuppressWarnings("unchecked")
+    public static <V extends CachedView> V navigateTo(String key, Supplier<V> factory, String title) {
+        if (key.equals(currentKey) && currentView != null) {
+            primaryStage.setTitle(title);
+            return (V) currentView;
+        }
+        
+        hideCurrentView();
+        
+        CachedView view = viewCache.get(key);
+        boolean cached = view != null;
+        viewCacheHits.record(cached);
+        
+        if (!cached) {
+            System.out.println("Navigator: Creating view " + key);
+            view = factory.get();
+            viewCache.put(key, view);
+        } else {
+            System.out.println("Navigator: Reusing cached view " + key);
+        }
+        
+        currentKey = key;
+        currentView = view;
+        show(view.getView(), title);
+        
+        if (cached) {
+            view.onShow();
+            restoreState(view.getView());
+        }
+        
+        evictIfNeeded();
+        return (V) view;
+    }
+    
+    /**
+     * Drop a cached view, e.g. because the semester it shows was deleted
+     * 
+     * @param key The cache key
+     */
+    public static void invalidate(String key) {
+        if (key.equals(currentKey)) {
+            // Still on screen; it is dropped once the user navigates away
+            viewCache.remove(key);
+            return;
+        }
+        
+        CachedView view = viewCache.remove(key);
+        if (view != null) {
+            disposeView(view);
+        }
+    }
+    
+    /**
+     * Drop all cached views, e.g. when the user logs out
+     */
+    public static void clearCache() {
+        for (CachedView view : new ArrayList<>(viewCache.values())) {
+            if (view != currentView) {
+                disposeView(view);
+            }
+        }
+        viewCache.clear();
+    }
+    
+    /**
+     * Get the number of cached views
+     * 
+     * @return The cache size
+     */
+    public static int getCachedViewCount() {
+        return viewCache.size();
     }
     
     /**
@@ -40,4 +158,124 @@ public class Navigator {
     public static Stage getPrimaryStage() {
         return primaryStage;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Swap the root of the stage's scene, keeping the window size
+     */
+    private static void show(Parent root, String title) {
+        primaryStage.setTitle(title);
+        
+        Scene scene = primaryStage.getScene();
+        if (scene == null) {
+            primaryStage.setScene(new Scene(root));
+        } else {
+            scene.setRoot(root);
+        }
+        
+        primaryStage.show();
+    }
+    
+    private static void hideCurrentView() {
+        if (currentView == null) {
+            return;
+        }
+        
+        currentView.onHide();
+        
+        if (viewCache.get(currentKey) == currentView) {
+            viewStates.put(currentView.getView(), ViewState.capture(currentView.getView()));
+        } else {
+            // Invalidated while it was shown
+            disposeView(currentView);
+        }
+    }
+    
+    private static void restoreState(Parent root) {
+        ViewState state = viewStates.remove(root);
+        if (state != null) {
+            // Restore after the first layout pass, which may clamp scroll positions
+            Platform.runLater(state::restore);
+        }
+    }
+    
+    /**
+     * Evict least recently used views beyond the size limit or while memory is low
+     * The current view is never evicted
+     */
+    private static void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedView>> iterator = viewCache.entrySet().iterator();
+        
+        while (iterator.hasNext() && (viewCache.size() > MAX_CACHED_VIEWS || isMemoryLow())) {
+            Map.Entry<String, CachedView> eldest = iterator.next();
+            if (eldest.getValue() == currentView) {
+                continue;
+            }
+            
+            System.out.println("Navigator: Evicting cached view " + eldest.getKey());
+            iterator.remove();
+            disposeView(eldest.getValue());
+        }
+    }
+    
+    private static boolean isMemoryLow() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * MEMORY_PRESSURE_RATIO;
+    }
+    
+    private static void disposeView(CachedView view) {
+        viewStates.remove(view.getView());
+        try {
+            view.dispose();
+        } catch (Exception e) {
+            System.err.println("Error disposing view: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Scroll positions and selected tabs of a hidden view
+     */
+    private static class ViewState {
+        private final Map<ScrollPane, double[]> scrollPositions = new IdentityHashMap<>();
+        private final Map<TabPane, Integer> selectedTabs = new IdentityHashMap<>();
+        
+        public static ViewState capture(Parent root) {
+            ViewState state = new ViewState();
+            List<Node> pending = new ArrayList<>();
+            pending.add(root);
+            
+            // Walk the node graph
+            while (!pending.isEmpty()) {
+                Node node = pending.remove(pending.size() - 1);
+                
+                if (node instanceof ScrollPane) {
+                    ScrollPane scrollPane = (ScrollPane) node;
+                    state.scrollPositions.put(scrollPane, new double[] { scrollPane.getHvalue(), scrollPane.getVvalue() });
+                } else if (node instanceof TabPane) {
+                    TabPane tabPane = (TabPane) node;
+                    state.selectedTabs.put(tabPane, tabPane.getSelectionModel().getSelectedIndex());
+                }
+                
+                if (node instanceof Parent) {
+                    pending.addAll(((Parent) node).getChildrenUnmodifiable());
+                }
+            }
+            
+            return state;
+        }
+        
+        public void restore() {
+            for (Map.Entry<TabPane, Integer> entry : selectedTabs.entrySet()) {
+                if (entry.getValue() >= 0 && entry.getValue() < entry.getKey().getTabs().size()) {
+                    entry.getKey().getSelectionModel().select(entry.getValue());
+                }
+            }
+            
+            for (Map.Entry<ScrollPane, double[]> entry : scrollPositions.entrySet()) {
+                entry.getKey().setHvalue(entry.getValue()[0]);
+                entry.getKey().setVvalue(entry.getValue()[1]);
+            }
+        }
+    }
+}
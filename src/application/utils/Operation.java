@@ -0,0 +1,120 @@
+package application.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A named logical operation of the application, e.g. a screen load or a refresh
+ * 
+ * The current operation is kept per thread. AsyncExecutor runs each task in
+ * the operation that submitted it, so work fanned out to other threads is
+ * still attributed to the operation that started it. Operations nest; closing
+ * one makes the enclosing operation current again.
+ * 
+ * Usage: try (Operation operation = Operation.begin("SemesterController.refreshEverything")) { ... }
+ */
+public final class Operation implements AutoCloseable {
+    private static final ThreadLocal<Operation> current = new ThreadLocal<>();
+    
+    private final String name;
+    private final Operation enclosing;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    
+    private Operation(String name, Operation enclosing) {
+        this.name = name;
+        this.enclosing = enclosing;
+    }
+    
+    /**
+     * Start an operation on the current thread
+     * 
+     * @param name The operation name, e.g. the controller method
+     * @return The operation, to be closed when it ends
+     */
+    public static Operation begin(String name) {
+        Operation operation = new Operation(name, current.get());
+        current.set(operation);
+        return operation;
+    }
+    
+    /**
+     * Get the operation the current thread works for
+     * 
+     * @return The operation, or null if there is none
+     */
+    public static Operation current() {
+        return current.get();
+    }
+    
+    /**
+     * Count an occurrence of something within this operation, on any thread
+     * 
+     * @param key What occurred, e.g. a statement
+     * @return The number of occurrences so far, including this one
+     */
+    public int increment(String key) {
+        return counts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get when the operation began
+     * 
+     * @return The start time, from System.nanoTime()
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+    
+    /**
+     * End the operation on the current thread
+     * Tasks it already submitted keep working for it
+     */
+    @Override
+    public void close() {
+        if (current.get() == this) {
+            if (enclosing != null) {
+                current.set(enclosing);
+            } else {
+                current.remove();
+            }
+        }
+    }
+    
+    /**
+     * Wrap a task so it runs in the operation that is current now
+     * 
+     * @param task The task
+     * @return The task, unchanged if there is no current operation
+     */
+    static Runnable propagate(Runnable task) {
+        Operation operation = current.get();
+        if (operation == null) {
+            return task;
+        }
+        
+        return () -> {
+            Operation previous = current.get();
+            current.set(operation);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    current.set(previous);
+                } else {
+                    current.remove();
+                }
+            }
+        };
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,132 @@
+package application.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Coalesces refresh requests into background loads whose results are published on the JavaFX thread
+ * 
+ * Requests arriving within one frame of each other are merged into a single load.
+ * A request arriving while a load is running cancels it, and its result is discarded;
+ * the next load starts only after the cancelled one has returned, so loads never overlap.
+ * Only the result of the latest request is handed to the publisher, in one FX-thread call.
+ * 
+ * @param <T> The type of the loaded result
+ */
+public class RefreshScheduler<T> {
+    // Roughly one JavaFX frame at 60 fps
+    private static final long FRAME_MILLIS = 16;
+    
+    // One loader thread shared by all schedulers, so refreshes of different screens don't compete
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final String name;
+    private final Loader<T> loader;
+    private final Consumer<T> publisher;
+    private final Consumer<Exception> errorHandler;
+    
+    // Guarded by this
+    private long generation;
+    private ScheduledFuture<?> currentRun;
+    private boolean currentRunStarted;
+    
+    /**
+     * Constructor
+     * 
+     * @param name The name used in log output
+     * @param loader Loads the result on the background thread
+     * @param publisher Receives the result of the latest request on the JavaFX thread
+     * @param errorHandler Receives load failures on the JavaFX thread
+     */
+    public RefreshScheduler(String name, Loader<T> loader, Consumer<T> publisher, Consumer<Exception> errorHandler) {
+        this.name = name;
+        this.loader = loader;
+        this.publisher = publisher;
+        this.errorHandler = errorHandler;
+    }
+    
+    /**
+     * Request a refresh
+     * Returns immediately; the result is published later on the JavaFX thread
+     */
+    public synchronized void request() {
+        generation++;
+        
+        if (currentRun != null && !currentRunStarted) {
+            // A load is already scheduled and will see the latest data
+            return;
+        }
+        
+        if (currentRun != null && !currentRun.isDone()) {
+            System.out.println(name + ": Cancelling superseded refresh");
+            currentRun.cancel(true);
+        }
+        
+        currentRunStarted = false;
+        currentRun = executor.schedule(this::run, FRAME_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Check whether a refresh is scheduled or running
+     * 
+     * @return true if a refresh has not been published yet
+     */
+    public synchronized boolean isPending() {
+        return currentRun != null && !currentRun.isDone();
+    }
+    
+    private void run() {
+        long runGeneration;
+        synchronized (this) {
+            currentRunStarted = true;
+            // Covers every request merged into this run while it was scheduled
+            runGeneration = generation;
+        }
+        
+        try {
+            T result = loader.load();
+            
+            if (Thread.currentThread().isInterrupted() || !isLatest(runGeneration)) {
+                System.out.println(name + ": Discarding superseded refresh result");
+                return;
+            }
+            
+            Platform.runLater(() -> {
+                // A newer request may have arrived while this was queued
+                if (isLatest(runGeneration)) {
+                    publisher.accept(result);
+                }
+            });
+        } catch (Exception e) {
+            if (!isLatest(runGeneration)) {
+                return;
+            }
+            
+            System.err.println(name + ": Refresh failed: " + e.getMessage());
+            e.printStackTrace();
+            Platform.runLater(() -> errorHandler.accept(e));
+        }
+    }
+    
+    private synchronized boolean isLatest(long runGeneration) {
+        return runGeneration == generation;
+    }
+    
+    /**
+     * Loads the refreshed data off the JavaFX thread
+     * 
+     * @param <T> The type of the loaded result
+     */
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+}
@@ -0,0 +1,469 @@
+package application.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Writes export snapshots as CSV or HTML reports
+ * 
+ * Rows are streamed through an ExportWriter, progress is reported per row and
+ * cancellation is checked between rows. Nothing here depends on JavaFX, so
+ * reports can be written from a background task or without a UI.
+ * 
+ * HTML reports are written incrementally: each subject section carries a hash
+ * of its data, recorded in the ReportManifest of the directory. A re-export
+ * leaves an unchanged report untouched and copies unchanged sections from the
+ * previous file, rendering only the sections whose data changed. The
+ * stylesheet is a shared report.css next to the reports.
+ */
+public class ReportExporter {
+    
+    /**
+     * The supported report formats
+     */
+    public enum Format {
+        SEMESTER_CSV("csv"),
+        SEMESTER_HTML("html"),
+        TRANSCRIPT_CSV("csv");
+        
+        private final String extension;
+        
+        Format(String extension) {
+            this.extension = extension;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+    }
+    
+    /**
+     * Receives progress and decides whether the export goes on
+     */
+    public interface Progress {
+        
+        /**
+         * Report the number of written rows
+         * 
+         * @param done The rows written so far
+         * @param total The total number of rows
+         */
+        void update(long done, long total);
+        
+        /**
+         * Check whether the export was cancelled
+         * 
+         * @return true to stop the export
+         */
+        boolean isCancelled();
+    }
+    
+    // The shared stylesheet of HTML reports, written next to them
+    public static final String STYLESHEET_FILE = "report.css";
+    
+    private static final String STYLESHEET =
+        "body { font-family: Arial, sans-serif; margin: 20px; color: #333; }\n" +
+        "h1, h2, h3 { color: #003B6F; }\n" + // Northeastern Blue
+        "table { border-collapse: collapse; width: 100%; margin-bottom: 20px; }\n" +
+        "th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n" +
+        "th { background-color: #f2f2f2; }\n" +
+        "tr:nth-child(even) { background-color: #f9f9f9; }\n" +
+        ".section { margin-bottom: 30px; }\n" +
+        ".summary { font-weight: bold; margin: 20px 0; }\n" +
+        ".subject-header { background-color: #e0e0f0; padding: 10px; margin-top: 30px; }\n" +
+        ".finalized { color: green; }\n" +
+        ".not-finalized { color: orange; }\n";
+    
+    // Part of every section hash; change it when the section markup changes
+    private static final String SECTION_LAYOUT_VERSION = "1";
+    private static final String SECTION_START = "    <!-- section ";
+    private static final String SECTION_END = "    <!-- /section -->\n";
+    
+    // Used when the caller does not track progress
+    public static final Progress NO_PROGRESS = new Progress() {
+        @Override
+        public void update(long done, long total) {
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return Thread.currentThread().isInterrupted();
+        }
+    };
+    
+    private final ExportSnapshot snapshot;
+    private final ExportWriter writer;
+    private final Progress progress;
+    private long rowsWritten;
+    
+    private ReportExporter(ExportSnapshot snapshot, ExportWriter writer, Progress progress) {
+        this.snapshot = snapshot;
+        this.writer = writer;
+        this.progress = progress;
+    }
+    
+    /**
+     * Write a report to a file
+     * The file is only replaced once the whole report was written
+     * 
+     * @param snapshot The data to write
+     * @param format The report format
+     * @param target The file to write
+     * @param progress Receives progress and cancellation
+     * @throws IOException If writing fails
+     * @throws CancellationException If the export was cancelled; the target is left unchanged
+     */
+    public static void export(ExportSnapshot snapshot, Format format, Path target, Progress progress)
+            throws IOException {
+        if (format == Format.SEMESTER_HTML) {
+            exportSemesterHTML(snapshot, target, progress);
+            return;
+        }
+        
+        try (ExportWriter writer = new ExportWriter(target)) {
+            ReportExporter exporter = new ReportExporter(snapshot, writer, progress);
+            
+            switch (format) {
+                case SEMESTER_CSV:
+                    exporter.writeSemesterCSV();
+                    break;
+                case TRANSCRIPT_CSV:
+                    exporter.writeTranscriptCSV();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+            
+            exporter.checkCancelled();
+            writer.commit();
+            progress.update(snapshot.getRowCount(), snapshot.getRowCount());
+        }
+    }
+    
+    private void writeSemesterCSV() throws IOException {
+        for (ExportSnapshot.SemesterData semester : snapshot.getSemesters()) {
+            writer.write("Semester: ").write(semester.getName()).newLine();
+            writer.write("GPA: ").writeFixed(semester.getGpa(), 2).newLine().newLine();
+            
+            for (ExportSnapshot.SubjectData subject : semester.getSubjects()) {
+                writer.write("Subject: ").write(subject.getName()).newLine();
+                writer.write("Overall Percentage: ").writeFixed(subject.getPercentage(), 2).write('%').newLine();
+                writer.write("Letter Grade: ").write(subject.getLetterGrade()).newLine();
+                writer.write("GPA: ").writeFixed(subject.getGpa(), 2).newLine().newLine();
+                rowWritten();
+                
+                writer.write("Assessment Type,Count,Weight,Average Score,Weighted Score").newLine();
+                for (ExportSnapshot.TypeRow type : subject.getTypes()) {
+                    writer.writeCsv(type.getDisplayName()).write(',')
+                          .write(type.getCount()).write(',')
+                          .writeFixed(type.getWeight(), 2).write("%,")
+                          .writeFixed(type.getAverageScore(), 2).write("%,")
+                          .writeFixed(type.getWeightedScore(), 2).write('%').newLine();
+                    rowWritten();
+                }
+                writer.newLine();
+                
+                writer.write("Assessment,Score,Finalized").newLine();
+                for (ExportSnapshot.AssessmentRow assessment : subject.getAssessments()) {
+                    writer.writeCsv(assessment.getName()).write(',')
+                          .writeFixed(assessment.getScore(), 2).write("%,")
+                          .write(assessment.isFinal() ? "Yes" : "No").newLine();
+                    rowWritten();
+                }
+                writer.newLine().newLine();
+            }
+        }
+    }
+    
+    private void writeTranscriptCSV() throws IOException {
+        writer.write("Student: ").write(snapshot.getStudentName() != null ? snapshot.getStudentName() : "").newLine();
+        writer.write("Overall GPA: ").writeFixed(snapshot.getOverallGPA(), 2).newLine().newLine();
+        
+        writer.write("Semester,GPA").newLine();
+        for (ExportSnapshot.SemesterData semester : snapshot.getSemesters()) {
+            writer.writeCsv(semester.getName()).write(',').writeFixed(semester.getGpa(), 2).newLine();
+        }
+        writer.newLine().newLine();
+        
+        writer.write("Subject,Semester,Percentage,Letter Grade,GPA").newLine();
+        for (ExportSnapshot.SemesterData semester : snapshot.getSemesters()) {
+            for (ExportSnapshot.SubjectData subject : semester.getSubjects()) {
+                writer.writeCsv(subject.getName()).write(',')
+                      .writeCsv(semester.getName()).write(',')
+                      .writeFixed(subject.getPercentage(), 2).write("%,")
+                      .write(subject.getLetterGrade()).write(',')
+                      .writeFixed(subject.getGpa(), 2).newLine();
+                
+                // The transcript has one line per subject; its detail rows count as written
+                rowsWritten += subject.getTypes().size() + subject.getAssessments().size();
+                rowWritten();
+            }
+        }
+    }
+    
+    /**
+     * Write a semester HTML report, reusing whatever the previous export of the file still has right
+     */
+    private static void exportSemesterHTML(ExportSnapshot snapshot, Path target, Progress progress)
+            throws IOException {
+        Path file = target.toAbsolutePath();
+        Path directory = file.getParent();
+        String fileName = file.getFileName().toString();
+        ExportSnapshot.SemesterData semester = snapshot.getSemesters().get(0);
+        
+        List<String> sectionHashes = new ArrayList<>();
+        for (ExportSnapshot.SubjectData subject : semester.getSubjects()) {
+            sectionHashes.add(sectionHash(subject));
+        }
+        ReportManifest.Entry entry = new ReportManifest.Entry(headerHash(semester), sectionHashes);
+        
+        synchronized (ReportManifest.lockFor(directory)) {
+            Files.createDirectories(directory);
+            ReportManifest manifest = ReportManifest.load(directory);
+            ReportManifest.Entry previous = manifest.get(fileName);
+            writeStylesheet(directory);
+            
+            if (entry.equals(previous) && Files.isRegularFile(file)) {
+                // Nothing changed since the last export
+                progress.update(snapshot.getRowCount(), snapshot.getRowCount());
+                return;
+            }
+            
+            Map<String, String> previousSections = previous != null
+                    ? readSections(file, previous.getSectionHashes())
+                    : Map.of();
+            
+            try (ExportWriter writer = new ExportWriter(file)) {
+                ReportExporter exporter = new ReportExporter(snapshot, writer, progress);
+                exporter.writeSemesterHTML(sectionHashes, previousSections);
+                exporter.checkCancelled();
+                writer.commit();
+            }
+            
+            manifest.put(fileName, entry);
+            manifest.save();
+            progress.update(snapshot.getRowCount(), snapshot.getRowCount());
+        }
+    }
+    
+    private void writeSemesterHTML(List<String> sectionHashes, Map<String, String> previousSections)
+            throws IOException {
+        ExportSnapshot.SemesterData semester = snapshot.getSemesters().get(0);
+        
+        writer.write("<!DOCTYPE html>\n");
+        writer.write("<html lang=\"en\">\n");
+        writer.write("<head>\n");
+        writer.write("    <meta charset=\"UTF-8\">\n");
+        writer.write("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
+        writer.write("    <title>").writeHtml(semester.getName()).write(" - Grade Report</title>\n");
+        writer.write("    <link rel=\"stylesheet\" href=\"").write(STYLESHEET_FILE).write("\">\n");
+        writer.write("</head>\n");
+        writer.write("<body>\n");
+        
+        writer.write("    <h1>").writeHtml(semester.getName()).write(" - Grade Report</h1>\n");
+        writer.write("    <p>Generated on: ").write(LocalDate.now().toString()).write("</p>\n");
+        
+        writer.write("    <div class=\"summary\">\n");
+        writer.write("        <p>Semester GPA: ").writeFixed(semester.getGpa(), 2).write("</p>\n");
+        writer.write("    </div>\n");
+        
+        List<ExportSnapshot.SubjectData> subjects = semester.getSubjects();
+        for (int i = 0; i < subjects.size(); i++) {
+            ExportSnapshot.SubjectData subject = subjects.get(i);
+            String previousSection = previousSections.get(sectionHashes.get(i));
+            
+            if (previousSection != null) {
+                writer.write(previousSection);
+                rowsCopied(1 + subject.getTypes().size() + subject.getAssessments().size());
+            } else {
+                writer.write(SECTION_START).write(sectionHashes.get(i)).write(" -->\n");
+                writeSubjectSection(subject);
+                writer.write(SECTION_END);
+            }
+        }
+        
+        writer.write("</body>\n");
+        writer.write("</html>");
+    }
+    
+    private void writeSubjectSection(ExportSnapshot.SubjectData subject) throws IOException {
+        writer.write("    <div class=\"section\">\n");
+        writer.write("        <div class=\"subject-header\">\n");
+        writer.write("            <h2>Subject: ").writeHtml(subject.getName()).write("</h2>\n");
+        writer.write("            <p><strong>Overall Percentage:</strong> ")
+              .writeFixed(subject.getPercentage(), 2).write("%</p>\n");
+        writer.write("            <p><strong>Letter Grade:</strong> ").write(subject.getLetterGrade()).write("</p>\n");
+        writer.write("            <p><strong>GPA:</strong> ").writeFixed(subject.getGpa(), 2).write("</p>\n");
+        writer.write("        </div>\n");
+        rowWritten();
+        
+        writer.write("        <div class=\"section\">\n");
+        writer.write("            <h3>Assessment Types</h3>\n");
+        writer.write("            <table>\n");
+        writer.write("                <tr>\n");
+        writer.write("                    <th>Assessment Type</th>\n");
+        writer.write("                    <th>Count</th>\n");
+        writer.write("                    <th>Weight</th>\n");
+        writer.write("                    <th>Average Score</th>\n");
+        writer.write("                    <th>Weighted Score</th>\n");
+        writer.write("                </tr>\n");
+        
+        for (ExportSnapshot.TypeRow type : subject.getTypes()) {
+            writer.write("                <tr>\n");
+            writer.write("                    <td>").writeHtml(type.getDisplayName()).write("</td>\n");
+            writer.write("                    <td>").write(type.getCount()).write("</td>\n");
+            writer.write("                    <td>").writeFixed(type.getWeight(), 2).write("%</td>\n");
+            writer.write("                    <td>").writeFixed(type.getAverageScore(), 2).write("%</td>\n");
+            writer.write("                    <td>").writeFixed(type.getWeightedScore(), 2).write("%</td>\n");
+            writer.write("                </tr>\n");
+            rowWritten();
+        }
+        
+        writer.write("            </table>\n");
+        writer.write("        </div>\n");
+        
+        writer.write("        <div class=\"section\">\n");
+        writer.write("            <h3>Individual Assessments</h3>\n");
+        writer.write("            <table>\n");
+        writer.write("                <tr>\n");
+        writer.write("                    <th>Assessment</th>\n");
+        writer.write("                    <th>Score</th>\n");
+        writer.write("                    <th>Status</th>\n");
+        writer.write("                </tr>\n");
+        
+        for (ExportSnapshot.AssessmentRow assessment : subject.getAssessments()) {
+            writer.write("                <tr>\n");
+            writer.write("                    <td>").writeHtml(assessment.getName()).write("</td>\n");
+            writer.write("                    <td>").writeFixed(assessment.getScore(), 2).write("%</td>\n");
+            if (assessment.isFinal()) {
+                writer.write("                    <td class=\"finalized\">Finalized</td>\n");
+            } else {
+                writer.write("                    <td class=\"not-finalized\">Not Finalized</td>\n");
+            }
+            writer.write("                </tr>\n");
+            rowWritten();
+        }
+        
+        writer.write("            </table>\n");
+        writer.write("        </div>\n");
+        writer.write("    </div>\n");
+    }
+    
+    /**
+     * Write the shared stylesheet if it is missing or outdated
+     */
+    private static void writeStylesheet(Path directory) throws IOException {
+        Path file = directory.resolve(STYLESHEET_FILE);
+        if (Files.isRegularFile(file) && Files.readString(file, StandardCharsets.UTF_8).equals(STYLESHEET)) {
+            return;
+        }
+        
+        try (ExportWriter writer = new ExportWriter(file)) {
+            writer.write(STYLESHEET);
+            writer.commit();
+        }
+    }
+    
+    /**
+     * Read the sections of a previously written report
+     * 
+     * @param file The report
+     * @param hashes The section hashes the manifest recorded for it; other sections are ignored
+     * @return The section markup by hash, empty if the file cannot be read
+     */
+    private static Map<String, String> readSections(Path file, List<String> hashes) {
+        Map<String, String> sections = new HashMap<>();
+        if (hashes.isEmpty() || !Files.isRegularFile(file)) {
+            return sections;
+        }
+        
+        String html;
+        try {
+            html = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not read previous report " + file + ": " + e.getMessage());
+            return sections;
+        }
+        
+        int start = html.indexOf(SECTION_START);
+        while (start >= 0) {
+            int hashEnd = html.indexOf(" -->", start);
+            int end = html.indexOf(SECTION_END, start);
+            if (hashEnd < 0 || end < 0) {
+                break;
+            }
+            
+            String hash = html.substring(start + SECTION_START.length(), hashEnd);
+            end += SECTION_END.length();
+            if (hashes.contains(hash)) {
+                sections.put(hash, html.substring(start, end));
+            }
+            start = html.indexOf(SECTION_START, end);
+        }
+        return sections;
+    }
+    
+    /**
+     * Hash the parts of the report above the sections, except the generation date
+     */
+    private static String headerHash(ExportSnapshot.SemesterData semester) {
+        StringBuilder content = new StringBuilder();
+        content.append(SECTION_LAYOUT_VERSION).append('\n')
+               .append(STYLESHEET_FILE).append('\n')
+               .append(semester.getName()).append('\n')
+               .append(semester.getGpa()).append('\n');
+        return ReportManifest.hash(content);
+    }
+    
+    /**
+     * Hash everything a subject section shows: its results, weights and assessments
+     */
+    private static String sectionHash(ExportSnapshot.SubjectData subject) {
+        StringBuilder content = new StringBuilder();
+        content.append(SECTION_LAYOUT_VERSION).append('\n')
+               .append(subject.getName()).append('\n')
+               .append(subject.getPercentage()).append(',')
+               .append(subject.getLetterGrade()).append(',')
+               .append(subject.getGpa()).append('\n');
+        
+        for (ExportSnapshot.TypeRow type : subject.getTypes()) {
+            content.append("type,").append(type.getDisplayName()).append(',')
+                   .append(type.getCount()).append(',')
+                   .append(type.getWeight()).append(',')
+                   .append(type.getAverageScore()).append(',')
+                   .append(type.getWeightedScore()).append('\n');
+        }
+        for (ExportSnapshot.AssessmentRow assessment : subject.getAssessments()) {
+            content.append("assessment,").append(assessment.getName()).append(',')
+                   .append(assessment.getScore()).append(',')
+                   .append(assessment.isFinal()).append('\n');
+        }
+        return ReportManifest.hash(content);
+    }
+    
+    private void rowWritten() {
+        rowsWritten++;
+        progress.update(rowsWritten, snapshot.getRowCount());
+        checkCancelled();
+    }
+    
+    private void rowsCopied(int rows) {
+        rowsWritten += rows;
+        progress.update(rowsWritten, snapshot.getRowCount());
+        checkCancelled();
+    }
+    
+    private void checkCancelled() {
+        if (progress.isCancelled()) {
+            throw new CancellationException("Export was cancelled");
+        }
+    }
+}
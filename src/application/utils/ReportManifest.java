@@ -0,0 +1,193 @@
+package application.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the content hashes of the reports exported to a directory
+ * 
+ * The manifest is a properties file next to the reports. For every report it
+ * keeps the hash of the report header and of each subject section, so a
+ * re-export can tell which parts of a report changed since it was written.
+ */
+public class ReportManifest {
+    public static final String FILE_NAME = "report-manifest.properties";
+    
+    // One lock per directory, so concurrent exports into the same directory don't lose entries
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+    
+    private final Path file;
+    private final Properties entries = new Properties();
+    private boolean changed;
+    
+    private ReportManifest(Path file) {
+        this.file = file;
+    }
+    
+    /**
+     * Load the manifest of a directory
+     * 
+     * @param directory The report directory
+     * @return The manifest, empty if the directory has none or it cannot be read
+     */
+    public static ReportManifest load(Path directory) {
+        ReportManifest manifest = new ReportManifest(directory.resolve(FILE_NAME));
+        
+        if (Files.exists(manifest.file)) {
+            try (InputStream in = Files.newInputStream(manifest.file)) {
+                manifest.entries.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // A damaged manifest only means every report is written again
+                System.err.println("Ignoring unreadable report manifest " + manifest.file + ": " + e.getMessage());
+                manifest.entries.clear();
+            }
+        }
+        return manifest;
+    }
+    
+    /**
+     * Get the lock that guards the manifest of a directory
+     * 
+     * @param directory The report directory
+     * @return The lock object
+     */
+    public static Object lockFor(Path directory) {
+        return LOCKS.computeIfAbsent(directory.toAbsolutePath().normalize(), key -> new Object());
+    }
+    
+    /**
+     * Get the recorded hashes of a report
+     * 
+     * @param fileName The report's file name
+     * @return The entry, or null if the report is not in the manifest
+     */
+    public Entry get(String fileName) {
+        String value = entries.getProperty(fileName);
+        return value != null ? Entry.parse(value) : null;
+    }
+    
+    /**
+     * Record the hashes of a written report
+     * 
+     * @param fileName The report's file name
+     * @param entry The hashes
+     */
+    public void put(String fileName, Entry entry) {
+        String value = entry.toString();
+        if (!value.equals(entries.getProperty(fileName))) {
+            entries.setProperty(fileName, value);
+            changed = true;
+        }
+    }
+    
+    /**
+     * Write the manifest if an entry changed
+     * 
+     * @throws IOException If the manifest cannot be written
+     */
+    public void save() throws IOException {
+        if (!changed) {
+            return;
+        }
+        
+        Path tempFile = Files.createTempFile(file.getParent(), FILE_NAME, ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                entries.store(out, "Content hashes of exported reports");
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            changed = false;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Hash a canonical description of some content
+     * 
+     * @param content The content
+     * @return The hash as 32 hex characters
+     */
+    public static String hash(CharSequence content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * The hashes of one report: its header and its sections in order
+     */
+    public static class Entry {
+        private final String headerHash;
+        private final List<String> sectionHashes;
+        
+        public Entry(String headerHash, List<String> sectionHashes) {
+            this.headerHash = headerHash;
+            this.sectionHashes = Collections.unmodifiableList(new ArrayList<>(sectionHashes));
+        }
+        
+        static Entry parse(String value) {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                return new Entry(value, List.of());
+            }
+            
+            List<String> sections = new ArrayList<>();
+            for (String section : value.substring(separator + 1).split(",")) {
+                if (!section.isEmpty()) {
+                    sections.add(section);
+                }
+            }
+            return new Entry(value.substring(0, separator), sections);
+        }
+        
+        public String getHeaderHash() {
+            return headerHash;
+        }
+        
+        public List<String> getSectionHashes() {
+            return sectionHashes;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return headerHash.equals(other.headerHash) && sectionHashes.equals(other.sectionHashes);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * headerHash.hashCode() + sectionHashes.hashCode();
+        }
+        
+        @Override
+        public String toString() {
+            return headerHash + ":" + String.join(",", sectionHashes);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package application.utils;
+
+import application.models.Semester;
+
+/**
+ * Event indicating that a semester was completely reloaded
+ * Carries the reloaded semester, whose subjects include their assessment data
+ */
+public class SemesterRefreshedEvent {
+    private final long timestamp;
+    private final Semester semester;
+    
+    public SemesterRefreshedEvent(Semester semester) {
+        this.timestamp = System.currentTimeMillis();
+        this.semester = semester;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semester.getId();
+    }
+    
+    public Semester getSemester() {
+        return semester;
+    }
+}
@@ -0,0 +1,34 @@
+package application.utils;
+
+/**
+ * Event indicating that a semester was renamed
+ */
+public class SemesterRenamedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final String oldName;
+    private final String newName;
+    
+    public SemesterRenamedEvent(int semesterId, String oldName, String newName) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.oldName = oldName;
+        this.newName = newName;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public String getOldName() {
+        return oldName;
+    }
+    
+    public String getNewName() {
+        return newName;
+    }
+}
@@ -0,0 +1,28 @@
+package application.utils;
+
+/**
+ * Event indicating that a subject was added to a semester
+ */
+public class SubjectAddedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final int subjectId;
+    
+    public SubjectAddedEvent(int semesterId, int subjectId) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.subjectId = subjectId;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+}
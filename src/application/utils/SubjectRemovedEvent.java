@@ -0,0 +1,28 @@
+package application.utils;
+
+/**
+ * Event indicating that a subject was removed from a semester
+ */
+public class SubjectRemovedEvent {
+    private final long timestamp;
+    private final int semesterId;
+    private final int subjectId;
+    
+    public SubjectRemovedEvent(int semesterId, int subjectId) {
+        this.timestamp = System.currentTimeMillis();
+        this.semesterId = semesterId;
+        this.subjectId = subjectId;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public int getSemesterId() {
+        return semesterId;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+}
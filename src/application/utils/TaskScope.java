@@ -0,0 +1,144 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A scope for subtasks that are forked together and joined together
+ * 
+ * Modelled on structured concurrency (StructuredTaskScope is still a preview
+ * API): subtasks run on the async executor, join() waits for all of them and
+ * fails fast, cancelling the others, as soon as any one fails, whatever the
+ * order they were forked in. Closing or cancelling the scope interrupts every
+ * subtask that is still running, so no work outlives the scope.
+ */
+public class TaskScope implements AutoCloseable {
+    private final List<FutureTask<?>> subtasks = new ArrayList<>();
+    private volatile boolean cancelled;
+    
+    // Guarded by this; join() waits until no subtask runs or one has failed
+    private int running;
+    private Throwable failure;
+    
+    /**
+     * Start a subtask
+     * 
+     * @param <T> The result type
+     * @param task The subtask
+     * @return The subtask's future; only read it after join()
+     * @throws CancellationException If the scope was already cancelled
+     */
+    public synchronized <T> Future<T> fork(Callable<T> task) {
+        if (cancelled) {
+            throw new CancellationException("Task scope was cancelled");
+        }
+        
+        FutureTask<T> subtask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                subtaskDone(this);
+            }
+        };
+        subtasks.add(subtask);
+        running++;
+        AsyncExecutor.getExecutor().execute(subtask);
+        return subtask;
+    }
+    
+    /**
+     * Record a finished subtask and wake join()
+     * 
+     * @param subtask The subtask, completed, failed or cancelled
+     */
+    private synchronized void subtaskDone(FutureTask<?> subtask) {
+        running--;
+        
+        if (failure == null && !subtask.isCancelled()) {
+            try {
+                subtask.get();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException | CancellationException e) {
+                // Not reached: the subtask is already done and was not cancelled
+            }
+        }
+        
+        notifyAll();
+    }
+    
+    /**
+     * Wait for all subtasks
+     * As soon as a subtask fails, the others are cancelled and its exception is thrown
+     * 
+     * @throws Exception The first failure of a subtask
+     * @throws CancellationException If the scope was cancelled
+     * @throws InterruptedException If the waiting thread was interrupted
+     */
+    public void join() throws Exception {
+        Throwable firstFailure;
+        try {
+            synchronized (this) {
+                while (running > 0 && failure == null && !cancelled) {
+                    wait();
+                }
+                firstFailure = failure;
+            }
+        } catch (InterruptedException e) {
+            cancel();
+            throw e;
+        }
+        
+        if (firstFailure != null) {
+            cancel();
+            throw firstFailure instanceof Exception ? (Exception) firstFailure : new ExecutionException(firstFailure);
+        }
+        
+        if (cancelled) {
+            throw new CancellationException("Task scope was cancelled");
+        }
+    }
+    
+    /**
+     * Cancel all subtasks that have not finished yet, interrupting running ones
+     */
+    public void cancel() {
+        List<FutureTask<?>> forked;
+        synchronized (this) {
+            cancelled = true;
+            forked = new ArrayList<>(subtasks);
+            notifyAll();
+        }
+        
+        for (FutureTask<?> subtask : forked) {
+            subtask.cancel(true);
+        }
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Throw if the scope was cancelled; subtasks call this between steps of long loops
+     * 
+     * @throws CancellationException If the scope was cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Task scope was cancelled");
+        }
+    }
+    
+    /**
+     * Cancel whatever is still running
+     */
+    @Override
+    public void close() {
+        cancel();
+    }
+}
@@ -0,0 +1,161 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+/**
+ * A virtualized, scrollable grid of cards
+ * 
+ * Cards are laid out in rows of as many cards as fit the width. The rows are
+ * the cells of a ListView, so only visible rows are instantiated and their
+ * cards are recycled while scrolling. A card is created once and then bound
+ * to different items through {@link Card#update(Object)}, so changing the data
+ * updates the visible cards in place instead of rebuilding them.
+ * 
+ * @param <T> The item type
+ */
+public class VirtualCardGrid<T> extends ListView<List<T>> {
+    private final double cardWidth;
+    private final double hgap;
+    private final Supplier<Card<T>> cardFactory;
+    private final List<T> cards = new ArrayList<>();
+    private int columns = 1;
+    
+    /**
+     * A reusable card
+     * 
+     * @param <T> The item type
+     */
+    public interface Card<T> {
+        
+        /**
+         * Get the card's root node, which is created once
+         * 
+         * @return The root node
+         */
+        Node getNode();
+        
+        /**
+         * Show an item in this card, replacing whatever it showed before
+         * 
+         * @param item The item
+         */
+        void update(T item);
+    }
+    
+    /**
+     * Constructor for VirtualCardGrid
+     * 
+     * @param cardWidth The width of a card, or 0 for one card per row
+     * @param hgap The horizontal gap between cards
+     * @param vgap The vertical gap between rows
+     * @param cardFactory Creates a new, empty card
+     */
+    public VirtualCardGrid(double cardWidth, double hgap, double vgap, Supplier<Card<T>> cardFactory) {
+        this.cardWidth = cardWidth;
+        this.hgap = hgap;
+        this.cardFactory = cardFactory;
+        
+        setFocusTraversable(false);
+        setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 0;");
+        setCellFactory(listView -> new RowCell(vgap));
+        
+        // Re-split the cards into rows when the number of columns changes
+        widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            if (computeColumns(newWidth.doubleValue()) != columns) {
+                updateRows();
+            }
+        });
+    }
+    
+    /**
+     * Show a list of items
+     * Visible cards are updated in place; the scroll position is kept
+     * 
+     * @param items The items in display order
+     */
+    public void setCards(List<T> items) {
+        cards.clear();
+        cards.addAll(items);
+        updateRows();
+    }
+    
+    /**
+     * Get the shown items
+     * 
+     * @return The items in display order
+     */
+    public List<T> getCards() {
+        return new ArrayList<>(cards);
+    }
+    
+    private void updateRows() {
+        columns = computeColumns(getWidth());
+        
+        List<List<T>> rows = new ArrayList<>();
+        for (int start = 0; start < cards.size(); start += columns) {
+            rows.add(new ArrayList<>(cards.subList(start, Math.min(cards.size(), start + columns))));
+        }
+        getItems().setAll(rows);
+    }
+    
+    private int computeColumns(double width) {
+        if (cardWidth <= 0 || width <= 0) {
+            return cardWidth <= 0 ? 1 : Math.max(1, columns);
+        }
+        
+        // Leave room for the vertical scroll bar
+        double available = width - 20;
+        return Math.max(1, (int) ((available + hgap) / (cardWidth + hgap)));
+    }
+    
+    /**
+     * One row of recycled cards
+     */
+    private class RowCell extends ListCell<List<T>> {
+        private final HBox row = new HBox(hgap);
+        private final List<Card<T>> rowCards = new ArrayList<>();
+        
+        RowCell(double vgap) {
+            row.setAlignment(Pos.CENTER);
+            row.setPadding(new Insets(vgap / 2, 0, vgap / 2, 0));
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
+        
+        @Override
+        protected void updateItem(List<T> items, boolean empty) {
+            super.updateItem(items, empty);
+            
+            if (empty || items == null) {
+                setGraphic(null);
+                return;
+            }
+            
+            while (rowCards.size() < items.size()) {
+                rowCards.add(cardFactory.get());
+            }
+            
+            if (row.getChildren().size() != items.size()) {
+                List<Node> nodes = new ArrayList<>();
+                for (int i = 0; i < items.size(); i++) {
+                    nodes.add(rowCards.get(i).getNode());
+                }
+                row.getChildren().setAll(nodes);
+            }
+            
+            for (int i = 0; i < items.size(); i++) {
+                rowCards.get(i).update(items.get(i));
+            }
+            
+            setGraphic(row);
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package application.views;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.chart.BarChart;
-import javafx.scene.chart.CategoryAxis;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.PieChart;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
@@ -35,16 +36,36 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.shape.Rectangle;
+import javafx.stage.FileChooser;
 import javafx.stage.Screen;
 import javafx.application.Platform;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
 
 import application.controllers.AnalyticsController;
+import application.metrics.Histogram;
+import application.metrics.MetricsRegistry;
 import application.models.Assessment;
 import application.models.AssessmentType;
 import application.models.Semester;
 import application.models.Subject;
+import application.utils.AnalyticsSections;
 import application.utils.AnalyticsUtility;
+import application.utils.AsyncExecutor;
+import application.utils.CachedView;
+import application.utils.CanvasChart;
+import application.utils.DataChangedEvent;
+import application.utils.EventBus;
+import application.utils.ExportSnapshot;
+import application.utils.ExportTask;
+import application.utils.GradeBatchChangedEvent;
+import application.utils.GradeChangedEvent;
+import application.utils.AssessmentTypeReweightedEvent;
+import application.utils.SubjectAddedEvent;
+import application.utils.SubjectRemovedEvent;
+import application.utils.TaskScope;
 import application.utils.ExportUtility;
+import application.utils.ReportExporter;
 import application.utils.GradeCalculatorFactory;
 
 import javafx.stage.Stage;
@@ -59,10 +80,38 @@ import javafx.geometry.Insets;
 /**
  * View class for the analytics screen
  */
-public class AnalyticsView {
+public class AnalyticsView implements CachedView {
+    private static final Histogram constructionTime =
+        MetricsRegistry.getInstance().histogram("view.AnalyticsView.construct");
+    private static final Histogram initializationTime =
+        MetricsRegistry.getInstance().histogram("view.AnalyticsView.initialize");
+    
     private BorderPane mainLayout;
     private AnalyticsController controller;
     private Semester semester;
+    private TabPane tabPane;
+    
+    // Loaded in the background when the view is created
+    private List<Subject> loadedSubjects = new ArrayList<>();
+    private List<Semester> allSemesters = new ArrayList<>();
+    
+    // Tabs are built on first selection and kept until the data changes
+    private static final int OVERVIEW_TAB = 0;
+    private static final int DISTRIBUTION_TAB = 1;
+    private static final int TRENDS_TAB = 2;
+    private static final int PROJECTIONS_TAB = 3;
+    private static final int RECOMMENDATIONS_TAB = 4;
+    private final boolean[] tabBuilt = new boolean[5];
+    private CompletableFuture<Void> subjectsLoad;
+    private CompletableFuture<Void> semestersLoad;
+    
+    // Computed sections, used by the projections and recommendations tabs and by exports
+    private AnalyticsSections sections;
+    private CompletableFuture<AnalyticsSections> sectionsLoad;
+    private TaskScope sectionScope;
+    private int dataGeneration;
+    private boolean visible = true;
+    private EventBus.SubscriptionScope eventSubscriptions;
     
     // Screen dimensions for responsive design
     private final double screenWidth = Screen.getPrimary().getVisualBounds().getWidth();
@@ -74,12 +123,23 @@ public class AnalyticsView {
     private static final Color ACCENT_COLOR = Color.rgb(0, 173, 86); // Green for grades
     private static final Color LIGHT_GRAY = Color.rgb(240, 240, 240);
     
+    /**
+     * Get the key of a semester's analytics in the navigator's view cache
+     * 
+     * @param semesterId The semester ID
+     * @return The cache key
+     */
+    public static String cacheKey(int semesterId) {
+        return "analytics:" + semesterId;
+    }
+    
     /**
      * Constructor for AnalyticsView
      * 
      * @param semester The semester to analyze
      */
     public AnalyticsView(Semester semester) {
+        long start = System.nanoTime();
         try {
             System.out.println("\n===== CREATING ANALYTICS VIEW =====");
             System.out.println("Initial semester: " + semester.getName() + ", ID: " + semester.getId());
@@ -87,21 +147,15 @@ public class AnalyticsView {
             this.semester = semester;
             this.controller = new AnalyticsController(semester);
             
-            // Get fresh semester data
-            this.semester = controller.getSemester();
-            System.out.println("Refreshed semester data");
-            
-            // Force calculations to verify data
-            double semesterGPA = this.semester.calculateGPA();
-            System.out.println("Semester GPA: " + semesterGPA);
-            
-            // Initialize the view with fresh data
+            // Build the layout; the data is loaded in the background
             initialize();
             
             System.out.println("===== ANALYTICS VIEW CREATION COMPLETE =====\n");
         } catch (Exception e) {
             System.err.println("Error creating analytics view: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            constructionTime.recordSince(start);
         }
     }
     
@@ -109,44 +163,13 @@ public class AnalyticsView {
      * Initialize the analytics view with fresh data
      */
     private void initialize() {
+        long start = System.nanoTime();
         try {
             System.out.println("\n===== INITIALIZING ANALYTICS VIEW =====");
             
-            // Get fresh semester data
-            semester = controller.getSemester();
             System.out.println("Working with semester: " + semester.getName() + ", ID: " + semester.getId());
             
-            // Refresh all subjects with fresh data from database
-            List<Subject> subjects = semester.getSubjects();
-            System.out.println("Found " + subjects.size() + " subjects");
-            
-            // For each subject, get fresh data and force calculations
-            for (int i = 0; i < subjects.size(); i++) {
-                Subject subject = subjects.get(i);
-                
-                // Get fresh data directly from database
-                Subject freshSubject = controller.getSubjectById(subject.getId());
-                
-                if (freshSubject != null) {
-                    System.out.println("Refreshed subject: " + freshSubject.getName());
-                    
-                    // Replace with fresh data
-                    subjects.set(i, freshSubject);
-                    
-                    // Force calculations to verify data
-                    double percentage = freshSubject.calculateOverallPercentage();
-                    String grade = freshSubject.calculateLetterGrade();
-                    double gpa = freshSubject.calculateGPA();
-                    
-                    System.out.println("  Values - Percentage: " + percentage + 
-                                      ", Grade: " + grade + 
-                                      ", GPA: " + gpa);
-                } else {
-                    System.out.println("Could not refresh subject ID " + subject.getId());
-                }
-            }
-            
-            // Create the UI with the refreshed data
+            // Create the UI; tabs show placeholders until the data is loaded
             mainLayout = new BorderPane();
             mainLayout.setStyle("-fx-background-color: #f5f5ff;");
             mainLayout.setPadding(new Insets(20));
@@ -219,7 +242,7 @@ public class AnalyticsView {
             shadow.setOffsetY(3);
             tabContainer.setEffect(shadow);
             
-            TabPane tabPane = new TabPane();
+            tabPane = new TabPane();
             tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
             tabPane.setStyle(
                 "-fx-background-color: transparent; " +
@@ -235,7 +258,7 @@ public class AnalyticsView {
             overviewScrollPane.setFitToWidth(true);
             overviewScrollPane.setPrefWidth(screenWidth - 40);
             overviewScrollPane.setStyle("-fx-background-color: transparent;");
-            overviewScrollPane.setContent(createOverviewContent());
+            overviewScrollPane.setContent(createLoadingContent());
             overviewTab.setContent(overviewScrollPane);
             
             // Grade Distribution tab
@@ -245,7 +268,7 @@ public class AnalyticsView {
             distributionScrollPane.setFitToWidth(true);
             distributionScrollPane.setPrefWidth(screenWidth - 40);
             distributionScrollPane.setStyle("-fx-background-color: transparent;");
-            distributionScrollPane.setContent(createDistributionContent());
+            distributionScrollPane.setContent(createLoadingContent());
             distributionTab.setContent(distributionScrollPane);
             
             // Trends tab
@@ -255,7 +278,7 @@ public class AnalyticsView {
             trendsScrollPane.setFitToWidth(true);
             trendsScrollPane.setPrefWidth(screenWidth - 40);
             trendsScrollPane.setStyle("-fx-background-color: transparent;");
-            trendsScrollPane.setContent(createTrendsContent());
+            trendsScrollPane.setContent(createLoadingContent());
             trendsTab.setContent(trendsScrollPane);
             
             // Projections tab
@@ -265,7 +288,7 @@ public class AnalyticsView {
             projectionsScrollPane.setFitToWidth(true);
             projectionsScrollPane.setPrefWidth(screenWidth - 40);
             projectionsScrollPane.setStyle("-fx-background-color: transparent;");
-            projectionsScrollPane.setContent(createProjectionsContent());
+            projectionsScrollPane.setContent(createLoadingContent());
             projectionsTab.setContent(projectionsScrollPane);
             
             // Recommendations tab
@@ -275,7 +298,7 @@ public class AnalyticsView {
             recommendationsScrollPane.setFitToWidth(true);
             recommendationsScrollPane.setPrefWidth(screenWidth - 40);
             recommendationsScrollPane.setStyle("-fx-background-color: transparent;");
-            recommendationsScrollPane.setContent(createRecommendationsContent());
+            recommendationsScrollPane.setContent(createLoadingContent());
             recommendationsTab.setContent(recommendationsScrollPane);
             
             tabPane.getTabs().addAll(overviewTab, distributionTab, trendsTab, projectionsTab, recommendationsTab);
@@ -287,11 +310,266 @@ public class AnalyticsView {
             backButton.setOnAction(e -> controller.navigateToSemesterView());
             exportButton.setOnAction(e -> showExportOptions());
             
+            // Only the selected tab is built, in the background, when first shown
+            tabPane.getSelectionModel().selectedIndexProperty().addListener(
+                (obs, oldIndex, newIndex) -> showSelectedTab());
+            
+            registerEventListeners();
+            showSelectedTab();
+            
             System.out.println("===== ANALYTICS VIEW INITIALIZATION COMPLETE =====\n");
         } catch (Exception e) {
             System.err.println("Error initializing analytics view: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            initializationTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Build the selected tab once its data is available
+     * Tabs are only built when first shown and kept until the data changes
+     */
+    private void showSelectedTab() {
+        int tabIndex = tabPane.getSelectionModel().getSelectedIndex();
+        if (tabIndex < 0 || tabBuilt[tabIndex]) {
+            return;
         }
+        
+        int generation = dataGeneration;
+        tabBuilt[tabIndex] = true;
+        
+        CompletableFuture<Void> dataLoad = tabIndex >= PROJECTIONS_TAB
+            ? computeSections().thenAccept(computed -> { })
+            : loadTabData(tabIndex);
+        
+        dataLoad
+            .thenRunAsync(() -> {
+                // Ignore data that changed while it was loading
+                if (generation != dataGeneration) {
+                    return;
+                }
+                
+                ScrollPane scrollPane = (ScrollPane) tabPane.getTabs().get(tabIndex).getContent();
+                scrollPane.setContent(createTabContent(tabIndex));
+            }, AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                if (cause instanceof CancellationException) {
+                    // Left or invalidated while computing; cancelSections() reset the tab
+                    return null;
+                }
+                
+                System.err.println("Error loading analytics data: " + cause.getMessage());
+                cause.printStackTrace();
+                AsyncExecutor.fxThread().execute(() -> {
+                    if (generation == dataGeneration) {
+                        // Retry on the next selection
+                        tabBuilt[tabIndex] = false;
+                        subjectsLoad = null;
+                        semestersLoad = null;
+                        showErrorAlert("Error", "Failed to load analytics data: " + cause.getMessage());
+                    }
+                });
+                return null;
+            });
+    }
+    
+    /**
+     * Load the data a tab needs in the background
+     * Only the projections tab needs the other semesters
+     * 
+     * @param tabIndex The tab index
+     * @return A future completed once the data is loaded
+     */
+    private CompletableFuture<Void> loadTabData(int tabIndex) {
+        if (subjectsLoad == null) {
+            int generation = dataGeneration;
+            subjectsLoad = controller.getSemesterAsync()
+                .thenAcceptAsync(loadedSemester -> {
+                    if (generation == dataGeneration && loadedSemester != null) {
+                        semester = loadedSemester;
+                        loadedSubjects = new ArrayList<>(loadedSemester.getSubjects());
+                        System.out.println("Analytics: Loaded " + loadedSubjects.size() + " subjects");
+                    }
+                }, AsyncExecutor.fxThread());
+        }
+        
+        if (tabIndex != PROJECTIONS_TAB) {
+            return subjectsLoad;
+        }
+        
+        if (semestersLoad == null) {
+            int generation = dataGeneration;
+            semestersLoad = controller.getAllSemestersAsync()
+                .thenAcceptAsync(semesters -> {
+                    if (generation == dataGeneration) {
+                        allSemesters = semesters;
+                    }
+                }, AsyncExecutor.fxThread());
+        }
+        
+        return CompletableFuture.allOf(subjectsLoad, semestersLoad);
+    }
+    
+    /**
+     * Compute the analytics sections once the data is loaded
+     * The sections run as parallel subtasks of one TaskScope; the result is
+     * discarded if the data changes while they run (see cancelSections())
+     * 
+     * @return A future for the computed sections
+     */
+    private CompletableFuture<AnalyticsSections> computeSections() {
+        if (sectionsLoad != null) {
+            return sectionsLoad;
+        }
+        
+        int generation = dataGeneration;
+        TaskScope scope = new TaskScope();
+        sectionScope = scope;
+        
+        sectionsLoad = loadTabData(PROJECTIONS_TAB)
+            .thenComposeAsync(ignored -> {
+                int semesterId = semester.getId();
+                List<Subject> subjects = new ArrayList<>(loadedSubjects);
+                List<Semester> semesters = new ArrayList<>(allSemesters);
+                
+                return AsyncExecutor.supply(() -> {
+                    try (scope) {
+                        return AnalyticsSections.compute(semesterId, subjects, semesters, scope);
+                    }
+                });
+            }, AsyncExecutor.fxThread())
+            .thenApplyAsync(computed -> {
+                if (generation != dataGeneration) {
+                    throw new CancellationException("Analytics data changed");
+                }
+                sections = computed;
+                return computed;
+            }, AsyncExecutor.fxThread());
+        
+        return sectionsLoad;
+    }
+    
+    /**
+     * Cancel the sections that are still being computed and drop the computed ones
+     * The tabs built from them are rebuilt when next shown
+     */
+    private void cancelSections() {
+        if (sectionScope != null) {
+            sectionScope.cancel();
+            sectionScope = null;
+        }
+        sectionsLoad = null;
+        sections = null;
+        tabBuilt[PROJECTIONS_TAB] = false;
+        tabBuilt[RECOMMENDATIONS_TAB] = false;
+    }
+    
+    /**
+     * Create the content of a tab from the loaded data
+     * 
+     * @param tabIndex The tab index
+     * @return The tab content
+     */
+    private VBox createTabContent(int tabIndex) {
+        switch (tabIndex) {
+            case OVERVIEW_TAB: return createOverviewContent();
+            case DISTRIBUTION_TAB: return createDistributionContent();
+            case TRENDS_TAB: return createTrendsContent();
+            case PROJECTIONS_TAB: return createProjectionsContent();
+            case RECOMMENDATIONS_TAB: return createRecommendationsContent();
+            default: return createLoadingContent();
+        }
+    }
+    
+    /**
+     * Drop loaded data and built tabs after a change
+     * The visible tab is rebuilt in place; the others when they are next selected
+     */
+    private void invalidateData() {
+        dataGeneration++;
+        subjectsLoad = null;
+        semestersLoad = null;
+        cancelSections();
+        Arrays.fill(tabBuilt, false);
+        
+        if (visible) {
+            showSelectedTab();
+        }
+    }
+    
+    /**
+     * Invalidate the data on any grade or subject change
+     * Analytics span all semesters, so any change may affect them
+     */
+    private void registerEventListeners() {
+        eventSubscriptions = new EventBus.SubscriptionScope();
+        EventBus eventBus = EventBus.getInstance();
+        EventBus.DispatchMode fxThread = EventBus.DispatchMode.FX_THREAD;
+        
+        eventSubscriptions.add(eventBus.registerWeak(DataChangedEvent.class, event -> invalidateData(), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(GradeChangedEvent.class, event -> invalidateData(), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(GradeBatchChangedEvent.class, event -> invalidateData(), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(AssessmentTypeReweightedEvent.class, event -> invalidateData(), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(SubjectAddedEvent.class, event -> invalidateData(), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(SubjectRemovedEvent.class, event -> invalidateData(), fxThread));
+    }
+    
+    /**
+     * Rebuild the selected tab in place if the data changed while the view was hidden
+     * The tabs keep their selection and scroll position
+     */
+    @Override
+    public void onShow() {
+        visible = true;
+        showSelectedTab();
+    }
+    
+    /**
+     * Stop computing sections that nobody will see
+     * Finished sections are kept for when the view is shown again
+     */
+    @Override
+    public void onHide() {
+        visible = false;
+        if (sectionsLoad != null && !sectionsLoad.isDone()) {
+            cancelSections();
+        }
+    }
+    
+    /**
+     * Stop receiving change events once the navigator drops this view
+     */
+    @Override
+    public void dispose() {
+        visible = false;
+        cancelSections();
+        if (eventSubscriptions != null) {
+            eventSubscriptions.close();
+        }
+    }
+    
+    /**
+     * Create a placeholder shown while the data is loaded
+     * 
+     * @return The placeholder content
+     */
+    private VBox createLoadingContent() {
+        VBox content = new VBox(15);
+        content.setPadding(new Insets(40));
+        content.setAlignment(Pos.CENTER);
+        content.setPrefWidth(screenWidth - 60);
+        
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setMaxSize(40, 40);
+        
+        Label loadingLabel = new Label("Loading analytics...");
+        loadingLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        loadingLabel.setTextFill(Color.rgb(100, 100, 120));
+        
+        content.getChildren().addAll(progressIndicator, loadingLabel);
+        return content;
     }
     
     /**
@@ -397,44 +675,12 @@ public class AnalyticsView {
     }
     
     /**
-     * Load fresh subject data directly from the database
+     * Get the subjects loaded for this view
      * 
-     * @return A list of subjects with fresh data
+     * @return A list of subjects with their assessment data
      */
     private List<Subject> loadFreshSubjectData() {
-        List<Subject> freshSubjects = new ArrayList<>();
-        
-        try {
-            // Get subjects from semester
-            List<Subject> subjects = semester.getSubjects();
-            
-            // Create a SubjectService to directly access the database
-            application.services.SubjectService subjectService = new application.services.SubjectService();
-            
-            for (Subject subject : subjects) {
-                // Load fresh data directly using repository pattern
-                Subject freshSubject = subjectService.getSubjectById(subject.getId());
-                
-                if (freshSubject != null) {
-                    freshSubjects.add(freshSubject);
-                    
-                    // Pre-calculate values to ensure they're ready
-                    double percentage = freshSubject.calculateOverallPercentage();
-                    String letterGrade = freshSubject.calculateLetterGrade();
-                    double gpa = freshSubject.calculateGPA();
-                    
-                    System.out.println("Loaded fresh data for " + freshSubject.getName() + 
-                                      ": " + percentage + "%, " + 
-                                      letterGrade + ", " + 
-                                      "GPA " + gpa);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading fresh subject data: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
-        return freshSubjects;
+        return new ArrayList<>(loadedSubjects);
     }
     
     /**
@@ -525,41 +771,30 @@ public class AnalyticsView {
             subjectNameLabel.setTextFill(PRIMARY_COLOR);
             
             // Create a small bar chart for overall percentage
-            CategoryAxis xAxis = new CategoryAxis();
-            NumberAxis yAxis = new NumberAxis(0, 100, 10);
-            yAxis.setTickLabelFormatter(new NumberAxis.DefaultFormatter(yAxis, null, "%"));
-            
-            BarChart<String, Number> chart = new BarChart<>(xAxis, yAxis);
-            chart.setLegendVisible(false);
-            chart.setAnimated(false);
+            CanvasChart chart = new CanvasChart(CanvasChart.Type.BAR);
+            chart.setRange(0, 100, 10);
+            chart.setTickSuffix("%");
+            chart.setPrefSize(300, 150);
             chart.setMaxHeight(150);
             chart.setMaxWidth(300);
-            chart.setTitle(null);
             
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
             double percentage = subject.calculateOverallPercentage();
-            series.getData().add(new XYChart.Data<>("Overall", percentage));
-            
-            chart.getData().add(series);
+            chart.setData(new String[] { "Overall" }, new double[] { percentage });
             
             // Color bar based on grade
             String letterGrade = subject.calculateLetterGrade();
-            String barColor;
+            Color barColor;
             
             if (letterGrade.startsWith("A")) {
-                barColor = "-fx-bar-fill: green;";
+                barColor = Color.GREEN;
             } else if (letterGrade.startsWith("B")) {
-                barColor = "-fx-bar-fill: blue;";
+                barColor = Color.BLUE;
             } else if (letterGrade.startsWith("C")) {
-                barColor = "-fx-bar-fill: orange;";
+                barColor = Color.ORANGE;
             } else {
-                barColor = "-fx-bar-fill: red;";
-            }
-            
-            // Apply the color to the bar
-            if (!series.getData().isEmpty() && series.getData().get(0).getNode() != null) {
-                series.getData().get(0).getNode().setStyle(barColor);
+                barColor = Color.RED;
             }
+            chart.setColors(barColor);
             
             // Summary text
             VBox summaryBox = new VBox(5);
@@ -820,18 +1055,9 @@ public class AnalyticsView {
                 }
                 
                 // Create pie chart
-                PieChart pieChart = new PieChart();
+                CanvasChart pieChart = new CanvasChart(CanvasChart.Type.PIE);
                 pieChart.setTitle("Overall Grade Distribution");
-                
-                for (Map.Entry<String, Integer> entry : gradeDistribution.entrySet()) {
-                    if (entry.getValue() > 0) {
-                        PieChart.Data slice = new PieChart.Data(
-                            entry.getKey() + " (" + entry.getValue() + ")", 
-                            entry.getValue()
-                        );
-                        pieChart.getData().add(slice);
-                    }
-                }
+                setPieData(pieChart, gradeDistribution);
                 
                 summaryContent.getChildren().add(pieChart);
                 summaryTab.setContent(summaryContent);
@@ -874,18 +1100,9 @@ public class AnalyticsView {
                     }
                     
                     // Create pie chart
-                    PieChart typePieChart = new PieChart();
+                    CanvasChart typePieChart = new CanvasChart(CanvasChart.Type.PIE);
                     typePieChart.setTitle(typeName + " Grade Distribution");
-                    
-                    for (Map.Entry<String, Integer> distEntry : typeDistribution.entrySet()) {
-                        if (distEntry.getValue() > 0) {
-                            PieChart.Data slice = new PieChart.Data(
-                                distEntry.getKey() + " (" + distEntry.getValue() + ")", 
-                                distEntry.getValue()
-                            );
-                            typePieChart.getData().add(slice);
-                        }
-                    }
+                    setPieData(typePieChart, typeDistribution);
                     
                     typeContent.getChildren().add(typePieChart);
                     typeTab.setContent(typeContent);
@@ -902,6 +1119,30 @@ public class AnalyticsView {
         return content;
     }
     
+    /**
+     * Fill a pie chart with the non-empty grade ranges of a distribution
+     * 
+     * @param pieChart The chart
+     * @param distribution The number of scores per grade range
+     */
+    private void setPieData(CanvasChart pieChart, Map<String, Integer> distribution) {
+        List<String> labels = new ArrayList<>();
+        List<Double> counts = new ArrayList<>();
+        
+        for (Map.Entry<String, Integer> entry : distribution.entrySet()) {
+            if (entry.getValue() > 0) {
+                labels.add(entry.getKey() + " (" + entry.getValue() + ")");
+                counts.add((double) entry.getValue());
+            }
+        }
+        
+        double[] values = new double[counts.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counts.get(i);
+        }
+        pieChart.setData(labels.toArray(new String[0]), values);
+    }
+    
     /**
      * Create content for the trends tab
      * 
@@ -1030,27 +1271,21 @@ public class AnalyticsView {
                     VBox typeContent = new VBox(15);
                     typeContent.setPadding(new Insets(15));
                     
-                    // Create line chart for this type
-                    CategoryAxis xAxis = new CategoryAxis();
-                    NumberAxis yAxis = new NumberAxis(0, 100, 10);
-                    xAxis.setLabel("Assessment");
-                    yAxis.setLabel("Score (%)");
-                    
-                    LineChart<String, Number> lineChart = new LineChart<>(xAxis, yAxis);
+                    // Create line chart for this type; it is downsampled to what its width can show
+                    CanvasChart lineChart = new CanvasChart(CanvasChart.Type.LINE);
                     lineChart.setTitle("Grade Trend for " + typeName);
-                    lineChart.setAnimated(false);
+                    lineChart.setAxisLabels("Assessment", "Score (%)");
+                    lineChart.setRange(0, 100, 10);
+                    lineChart.setSeriesName(typeName);
+                    lineChart.setLegendVisible(true);
                     
-                    // Create series for trend
-                    XYChart.Series<String, Number> series = new XYChart.Series<>();
-                    series.setName(typeName);
-                    
-                    for (Map.Entry<String, Double> assessment : assessments) {
-                        series.getData().add(
-                            new XYChart.Data<>(assessment.getKey(), assessment.getValue())
-                        );
+                    String[] names = new String[assessments.size()];
+                    double[] scores = new double[assessments.size()];
+                    for (int i = 0; i < scores.length; i++) {
+                        names[i] = assessments.get(i).getKey();
+                        scores[i] = assessments.get(i).getValue();
                     }
-                    
-                    lineChart.getData().add(series);
+                    lineChart.setData(names, scores);
                     
                     // Add trend analysis
                     VBox analysisBox = new VBox(10);
@@ -1139,87 +1374,13 @@ public class AnalyticsView {
         content.setPrefWidth(screenWidth - 60);
         content.setAlignment(Pos.CENTER);
         
-        // Get fresh subject data
-        List<Subject> freshSubjects = loadFreshSubjectData();
-        
-        // Calculate current GPA directly
-        double totalGPA = 0.0;
-        int validSubjectCount = 0;
-        
-        for (Subject subject : freshSubjects) {
-            double gpa = subject.calculateGPA();
-            if (gpa > 0) {
-                totalGPA += gpa;
-                validSubjectCount++;
-            }
-        }
-        
-        double currentGPA = validSubjectCount > 0 ? totalGPA / validSubjectCount : 0.0;
-        
-        // Get all semesters to calculate overall GPA
-        List<Semester> allSemesters = controller.getAllSemesters();
-        double overallTotalGPA = 0.0;
-        int validSemesterCount = 0;
-        
-        // Calculate overall GPA manually
-        for (Semester sem : allSemesters) {
-            // For the current semester, use our freshly calculated GPA
-            if (sem.getId() == semester.getId()) {
-                if (currentGPA > 0) {
-                    overallTotalGPA += currentGPA;
-                    validSemesterCount++;
-                }
-            } else {
-                // Calculate GPA for other semesters
-                double semesterGPA = 0.0;
-                int semesterValidSubjects = 0;
-                
-                for (Subject subject : sem.getSubjects()) {
-                    double subjectGPA = subject.calculateGPA();
-                    if (subjectGPA > 0) {
-                        semesterGPA += subjectGPA;
-                        semesterValidSubjects++;
-                    }
-                }
-                
-                if (semesterValidSubjects > 0) {
-                    double semGPA = semesterGPA / semesterValidSubjects;
-                    if (semGPA > 0) {
-                        overallTotalGPA += semGPA;
-                        validSemesterCount++;
-                    }
-                }
-            }
-        }
-        
-        double overallGPA = validSemesterCount > 0 ? overallTotalGPA / validSemesterCount : 0.0;
-        
-        // Create projections
-        Map<String, Double> projections = new HashMap<>();
-        projections.put("current", overallGPA);
-        
-        int completedSemesters = validSemesterCount;
+        // Projections were computed with the other sections
+        Map<String, Double> projections = sections.getProjections();
+        double overallGPA = projections.get("current");
+        int completedSemesters = projections.get("completed").intValue();
         int totalSemesters = 8; // Assuming 8 semesters for a degree
         int remainingSemesters = totalSemesters - completedSemesters;
         
-        if (remainingSemesters <= 0) {
-            // No remaining semesters
-            projections.put("best", overallGPA);
-            projections.put("worst", overallGPA);
-            projections.put("realistic", overallGPA);
-        } else {
-            // Best case: 4.0 for remaining semesters
-            double bestCase = ((overallGPA * completedSemesters) + (4.0 * remainingSemesters)) / totalSemesters;
-            projections.put("best", Math.min(4.0, bestCase)); // Cap at 4.0
-            
-            // Worst case: 2.0 for remaining semesters
-            double worstCase = ((overallGPA * completedSemesters) + (2.0 * remainingSemesters)) / totalSemesters;
-            projections.put("worst", worstCase);
-            
-            // Realistic case: current GPA for remaining semesters
-            projections.put("realistic", overallGPA);
-        }
-        
         // Create projections display
         VBox projectionsContent = new VBox(20);
         
@@ -1229,29 +1390,20 @@ public class AnalyticsView {
         currentGpaLabel.setTextFill(PRIMARY_COLOR);
         
         // Create bar chart for GPA projections
-        CategoryAxis xAxis = new CategoryAxis();
-        NumberAxis yAxis = new NumberAxis(0, 4, 0.5);
-        xAxis.setLabel("Scenario");
-        yAxis.setLabel("GPA");
-        
-        BarChart<String, Number> chart = new BarChart<>(xAxis, yAxis);
+        CanvasChart chart = new CanvasChart(CanvasChart.Type.BAR);
         chart.setTitle("GPA Projections");
-        chart.setLegendVisible(false);
-        chart.setAnimated(false);
-        
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.getData().add(new XYChart.Data<>("Current", projections.get("current")));
-        series.getData().add(new XYChart.Data<>("Best Case", projections.get("best")));
-        series.getData().add(new XYChart.Data<>("Realistic", projections.get("realistic")));
-        series.getData().add(new XYChart.Data<>("Worst Case", projections.get("worst")));
-        
-        chart.getData().add(series);
+        chart.setAxisLabels("Scenario", "GPA");
+        chart.setRange(0, 4, 0.5);
+        chart.setData(
+            new String[] { "Current", "Best Case", "Realistic", "Worst Case" },
+            new double[] {
+                projections.get("current"), projections.get("best"),
+                projections.get("realistic"), projections.get("worst")
+            }
+        );
         
-        // Style the chart bars
-        series.getData().get(0).getNode().setStyle("-fx-bar-fill: #6495ED;"); // Current - Blue
-        series.getData().get(1).getNode().setStyle("-fx-bar-fill: #32CD32;"); // Best - Green
-        series.getData().get(2).getNode().setStyle("-fx-bar-fill: #FFA500;"); // Realistic - Orange
-        series.getData().get(3).getNode().setStyle("-fx-bar-fill: #FF6347;"); // Worst - Red
+        // Style the chart bars: current blue, best green, realistic orange, worst red
+        chart.setColors(Color.web("#6495ED"), Color.web("#32CD32"), Color.web("#FFA500"), Color.web("#FF6347"));
         
         // GPA goals section
         Label goalsLabel = new Label("GPA Goals");
@@ -1366,8 +1518,8 @@ public class AnalyticsView {
         content.setPrefWidth(screenWidth - 60);
         content.setAlignment(Pos.CENTER);
         
-        // Get fresh subject data
-        List<Subject> freshSubjects = loadFreshSubjectData();
+        // Subjects and their metrics were computed with the other sections
+        List<Subject> freshSubjects = sections.getSubjects();
         
         if (freshSubjects.isEmpty()) {
             VBox noDataContent = new VBox(10);
@@ -1390,8 +1542,9 @@ public class AnalyticsView {
             boolean hasPendingAssessments = false;
             int totalGradedAssessments = 0;
             
-            double overallPercentage = subject.calculateOverallPercentage();
-            String letterGrade = subject.calculateLetterGrade();
+            AnalyticsSections.SubjectMetrics metrics = sections.getSubjectMetrics(subject.getId());
+            double overallPercentage = metrics.getPercentage();
+            String letterGrade = metrics.getLetterGrade();
             
             // Check for graded and pending assessments
             for (AssessmentType assessmentType : subject.getAssessmentTypes().values()) {
@@ -1443,7 +1596,7 @@ public class AnalyticsView {
                 Label currentStatusLabel = new Label(
                     "Current Status: " + String.format("%.1f%%", overallPercentage) + 
                     ", Grade: " + letterGrade + 
-                    ", GPA: " + String.format("%.1f", subject.calculateGPA())
+                    ", GPA: " + String.format("%.1f", metrics.getGpa())
                 );
                 currentStatusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
                 
@@ -1817,7 +1970,7 @@ public class AnalyticsView {
 //        try {
 //            // Show file save dialog
 //            String fileName = ExportUtility.generateExportFileName(semester.getName(), "csv");
-//            java.io.File file = ExportUtility.showSaveFileDialog("Export to CSV", fileName, "csv");
+//            java.io.File file = showSaveFileDialog("Export to CSV", fileName, "csv");
 //            
 //            if (file != null) {
 //                ExportUtility.exportSemesterToCSV(semester, file.getAbsolutePath());
@@ -1835,7 +1988,7 @@ public class AnalyticsView {
 //        try {
 //            // Show file save dialog
 //            String fileName = ExportUtility.generateExportFileName(semester.getName(), "html");
-//            java.io.File file = ExportUtility.showSaveFileDialog("Export to HTML", fileName, "html");
+//            java.io.File file = showSaveFileDialog("Export to HTML", fileName, "html");
 //            
 //            if (file != null) {
 //                ExportUtility.exportSemesterToHTML(semester, file.getAbsolutePath());
@@ -1855,7 +2008,7 @@ public class AnalyticsView {
             String baseFileName = semester.getName().replaceAll("\\s+", "_");
             
             // Show file save dialog with CSV type
-            java.io.File file = ExportUtility.showSaveFileDialog("Export to CSV", baseFileName, "csv");
+            java.io.File file = showSaveFileDialog("Export to CSV", baseFileName, "csv");
             
             if (file != null) {
                 // Get the file path
@@ -1873,105 +2026,93 @@ public class AnalyticsView {
                 
                 final String finalPath = filePath;
                 
-                // Use direct export to file (bypassing ExportUtility's dialogs)
-                try {
-                    // Create a CSV writer
-                    java.io.FileWriter writer = new java.io.FileWriter(finalPath);
-                    java.io.BufferedWriter bufferedWriter = new java.io.BufferedWriter(writer);
-                    
-                    // Write semester info
-                    bufferedWriter.write("Semester: " + semester.getName() + "\n");
-                    double semesterGpa = semester.calculateGPA();
-                    bufferedWriter.write("GPA: " + String.format("%.2f", semesterGpa) + "\n\n");
-                    
-                    // Write detailed information for each subject
-                    for (Subject subject : semester.getSubjects()) {
-                        bufferedWriter.write("Subject: " + subject.getName() + "\n");
-                        
-                        // Subject overall stats
-                        double percentage = subject.calculateOverallPercentage();
-                        String letterGrade = subject.calculateLetterGrade();
-                        double gpa = subject.calculateGPA();
-                        
-                        bufferedWriter.write("Overall Percentage: " + String.format("%.2f%%", percentage) + "\n");
-                        bufferedWriter.write("Letter Grade: " + letterGrade + "\n");
-                        bufferedWriter.write("GPA: " + String.format("%.2f", gpa) + "\n\n");
-                        
-                        // Assessment Types table
-                        bufferedWriter.write("Assessment Type,Count,Weight,Average Score,Weighted Score\n");
-                        
-                        for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                            AssessmentType assessmentType = entry.getValue();
-                            
-                            if (assessmentType.getWeight() > 0) {
-                                // Calculate average score for this type
-                                double totalScore = 0;
-                                int scoredCount = 0;
-                                
-                                for (Assessment assessment : assessmentType.getAssessments()) {
-                                    if (assessment.getScore() > 0) {
-                                        totalScore += assessment.getScore();
-                                        scoredCount++;
-                                    }
-                                }
-                                
-                                double averageScore = scoredCount > 0 ? totalScore / scoredCount : 0.0;
-                                double weightedScore = averageScore * (assessmentType.getWeight() / 100.0);
-                                
-                                bufferedWriter.write(
-                                    assessmentType.getDisplayName() + "," +
-                                    assessmentType.getCount() + "," +
-                                    String.format("%.2f%%", assessmentType.getWeight()) + "," +
-                                    String.format("%.2f%%", averageScore) + "," +
-                                    String.format("%.2f%%", weightedScore) + "\n"
-                                );
-                            }
-                        }
-                        
-                        bufferedWriter.write("\n");
-                        
-                        // Individual Assessments
-                        bufferedWriter.write("Assessment,Score,Finalized\n");
-                        
-                        for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                            AssessmentType assessmentType = entry.getValue();
-                            
-                            if (assessmentType.getWeight() > 0) {
-                                for (Assessment assessment : assessmentType.getAssessments()) {
-                                    String assessmentName = assessment.getDisplayName(assessmentType.getType());
-                                    double score = assessment.getScore();
-                                    boolean isFinal = assessment.isFinal();
-                                    
-                                    bufferedWriter.write(
-                                        assessmentName + "," +
-                                        String.format("%.2f%%", score) + "," +
-                                        (isFinal ? "Yes" : "No") + "\n"
-                                    );
-                                }
-                            }
+                // Export once the sections are computed, without reloading anything
+                computeSections()
+                    .thenAcceptAsync(computed -> startExport(ExportSnapshot.of(semester, computed),
+                                                             ReportExporter.Format.SEMESTER_CSV, finalPath),
+                                     AsyncExecutor.fxThread())
+                    .exceptionally(error -> {
+                        Throwable cause = AsyncExecutor.unwrap(error);
+                        if (!(cause instanceof CancellationException)) {
+                            Platform.runLater(() -> showCustomErrorDialog("Failed to export data: " + cause.getMessage()));
                         }
-                        
-                        bufferedWriter.write("\n\n");
-                    }
-                    
-                    bufferedWriter.close();
-                    writer.close();
-                    
-                    // Show custom success dialog
-                    Platform.runLater(() -> {
-                        showCustomSuccessDialog("Data exported to CSV successfully!");
+                        return null;
                     });
-                } catch (Exception ex) {
-                    Platform.runLater(() -> {
-                        showCustomErrorDialog("Failed to export data: " + ex.getMessage());
-                    });
-                }
             }
         } catch (Exception e) {
             showCustomErrorDialog("Failed to export data: " + e.getMessage());
         }
     }
-
+    
+    
+    /**
+     * Write an export in the background, showing its progress
+     * The export can be cancelled from the progress dialog
+     * 
+     * @param snapshot The data to write
+     * @param format The report format
+     * @param finalPath The file path
+     */
+    private void startExport(ExportSnapshot snapshot, ReportExporter.Format format, String finalPath) {
+        ExportTask task = new ExportTask(snapshot, format, java.nio.file.Paths.get(finalPath));
+        String formatName = format.getExtension().toUpperCase();
+        
+        // Progress dialog
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.setTitle("Exporting");
+        dialog.setWidth(400);
+        dialog.setHeight(200);
+        
+        VBox content = new VBox(15);
+        content.setPadding(new Insets(30));
+        content.setAlignment(Pos.CENTER);
+        content.setStyle("-fx-background-color: white;");
+        
+        Label messageLabel = new Label("Exporting to " + formatName + "...");
+        messageLabel.setFont(Font.font("Arial", 16));
+        messageLabel.setTextFill(Color.rgb(0, 59, 111)); // Northeastern Blue
+        
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(300);
+        progressBar.progressProperty().bind(task.progressProperty());
+        
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setPrefWidth(80);
+        cancelButton.setFont(Font.font("Arial", 14));
+        cancelButton.setOnAction(e -> task.cancel());
+        
+        content.getChildren().addAll(messageLabel, progressBar, cancelButton);
+        dialog.setScene(new Scene(content));
+        dialog.setOnCloseRequest(e -> task.cancel());
+        
+        task.setOnSucceeded(e -> {
+            dialog.close();
+            showCustomSuccessDialog("Data exported to " + formatName + " successfully!");
+        });
+        task.setOnFailed(e -> {
+            dialog.close();
+            Throwable error = task.getException();
+            error.printStackTrace();
+            showCustomErrorDialog("Failed to export data: " + error.getMessage());
+        });
+        task.setOnCancelled(e -> {
+            System.out.println("Export to " + finalPath + " was cancelled");
+            dialog.close();
+        });
+        
+        task.start();
+        
+        // Small exports finish before the dialog would be noticed
+        PauseTransition delay = new PauseTransition(Duration.millis(300));
+        delay.setOnFinished(e -> {
+            if (task.isRunning()) {
+                dialog.show();
+            }
+        });
+        delay.play();
+    }
+    
     /**
      * Export semester data to HTML with improved extension handling and detailed content
      */
@@ -1981,7 +2122,7 @@ public class AnalyticsView {
             String baseFileName = semester.getName().replaceAll("\\s+", "_");
             
             // Show file save dialog with HTML type
-            java.io.File file = ExportUtility.showSaveFileDialog("Export to HTML", baseFileName, "html");
+            java.io.File file = showSaveFileDialog("Export to HTML", baseFileName, "html");
             
             if (file != null) {
                 // Get the file path
@@ -1999,165 +2140,25 @@ public class AnalyticsView {
                 
                 final String finalPath = filePath;
                 
-                // Use direct export to file (bypassing ExportUtility's dialogs)
-                try {
-                    // Create HTML writer
-                    java.io.FileWriter writer = new java.io.FileWriter(finalPath);
-                    java.io.BufferedWriter bufferedWriter = new java.io.BufferedWriter(writer);
-                    
-                    // HTML header
-                    bufferedWriter.write("<!DOCTYPE html>\n");
-                    bufferedWriter.write("<html lang=\"en\">\n");
-                    bufferedWriter.write("<head>\n");
-                    bufferedWriter.write("    <meta charset=\"UTF-8\">\n");
-                    bufferedWriter.write("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
-                    bufferedWriter.write("    <title>" + semester.getName() + " - Grade Report</title>\n");
-                    bufferedWriter.write("    <style>\n");
-                    bufferedWriter.write("        body { font-family: Arial, sans-serif; margin: 20px; color: #333; }\n");
-                    bufferedWriter.write("        h1, h2, h3 { color: #003B6F; }\n"); // Northeastern Blue
-                    bufferedWriter.write("        table { border-collapse: collapse; width: 100%; margin-bottom: 20px; }\n");
-                    bufferedWriter.write("        th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n");
-                    bufferedWriter.write("        th { background-color: #f2f2f2; }\n");
-                    bufferedWriter.write("        tr:nth-child(even) { background-color: #f9f9f9; }\n");
-                    bufferedWriter.write("        .section { margin-bottom: 30px; }\n");
-                    bufferedWriter.write("        .summary { font-weight: bold; margin: 20px 0; }\n");
-                    bufferedWriter.write("        .subject-header { background-color: #e0e0f0; padding: 10px; margin-top: 30px; }\n");
-                    bufferedWriter.write("        .finalized { color: green; }\n");
-                    bufferedWriter.write("        .not-finalized { color: orange; }\n");
-                    bufferedWriter.write("    </style>\n");
-                    bufferedWriter.write("</head>\n");
-                    bufferedWriter.write("<body>\n");
-                    
-                    // Semester title and info
-                    bufferedWriter.write("    <h1>" + semester.getName() + " - Grade Report</h1>\n");
-                    bufferedWriter.write("    <p>Generated on: " + java.time.LocalDate.now() + "</p>\n");
-                    
-                    double semesterGpa = semester.calculateGPA();
-                    bufferedWriter.write("    <div class=\"summary\">\n");
-                    bufferedWriter.write("        <p>Semester GPA: " + String.format("%.2f", semesterGpa) + "</p>\n");
-                    bufferedWriter.write("    </div>\n");
-                    
-                    // For each subject
-                    for (Subject subject : semester.getSubjects()) {
-                        bufferedWriter.write("    <div class=\"section\">\n");
-                        bufferedWriter.write("        <div class=\"subject-header\">\n");
-                        bufferedWriter.write("            <h2>Subject: " + subject.getName() + "</h2>\n");
-                        
-                        // Subject overall stats
-                        double percentage = subject.calculateOverallPercentage();
-                        String letterGrade = subject.calculateLetterGrade();
-                        double gpa = subject.calculateGPA();
-                        
-                        bufferedWriter.write("            <p><strong>Overall Percentage:</strong> " + 
-                                            String.format("%.2f%%", percentage) + "</p>\n");
-                        bufferedWriter.write("            <p><strong>Letter Grade:</strong> " + letterGrade + "</p>\n");
-                        bufferedWriter.write("            <p><strong>GPA:</strong> " + String.format("%.2f", gpa) + "</p>\n");
-                        bufferedWriter.write("        </div>\n");
-                        
-                        // Assessment Types table
-                        bufferedWriter.write("        <div class=\"section\">\n");
-                        bufferedWriter.write("            <h3>Assessment Types</h3>\n");
-                        bufferedWriter.write("            <table>\n");
-                        bufferedWriter.write("                <tr>\n");
-                        bufferedWriter.write("                    <th>Assessment Type</th>\n");
-                        bufferedWriter.write("                    <th>Count</th>\n");
-                        bufferedWriter.write("                    <th>Weight</th>\n");
-                        bufferedWriter.write("                    <th>Average Score</th>\n");
-                        bufferedWriter.write("                    <th>Weighted Score</th>\n");
-                        bufferedWriter.write("                </tr>\n");
-                        
-                        for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                            AssessmentType assessmentType = entry.getValue();
-                            
-                            if (assessmentType.getWeight() > 0) {
-                                // Calculate average score for this type
-                                double totalScore = 0;
-                                int scoredCount = 0;
-                                
-                                for (Assessment assessment : assessmentType.getAssessments()) {
-                                    if (assessment.getScore() > 0) {
-                                        totalScore += assessment.getScore();
-                                        scoredCount++;
-                                    }
-                                }
-                                
-                                double averageScore = scoredCount > 0 ? totalScore / scoredCount : 0.0;
-                                double weightedScore = averageScore * (assessmentType.getWeight() / 100.0);
-                                
-                                bufferedWriter.write("                <tr>\n");
-                                bufferedWriter.write("                    <td>" + assessmentType.getDisplayName() + "</td>\n");
-                                bufferedWriter.write("                    <td>" + assessmentType.getCount() + "</td>\n");
-                                bufferedWriter.write("                    <td>" + String.format("%.2f%%", assessmentType.getWeight()) + "</td>\n");
-                                bufferedWriter.write("                    <td>" + String.format("%.2f%%", averageScore) + "</td>\n");
-                                bufferedWriter.write("                    <td>" + String.format("%.2f%%", weightedScore) + "</td>\n");
-                                bufferedWriter.write("                </tr>\n");
-                            }
-                        }
-                        
-                        bufferedWriter.write("            </table>\n");
-                        bufferedWriter.write("        </div>\n");
-                        
-                        // Individual Assessments table
-                        bufferedWriter.write("        <div class=\"section\">\n");
-                        bufferedWriter.write("            <h3>Individual Assessments</h3>\n");
-                        bufferedWriter.write("            <table>\n");
-                        bufferedWriter.write("                <tr>\n");
-                        bufferedWriter.write("                    <th>Assessment</th>\n");
-                        bufferedWriter.write("                    <th>Score</th>\n");
-                        bufferedWriter.write("                    <th>Status</th>\n");
-                        bufferedWriter.write("                </tr>\n");
-                        
-                        for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                            AssessmentType assessmentType = entry.getValue();
-                            
-                            if (assessmentType.getWeight() > 0) {
-                                for (Assessment assessment : assessmentType.getAssessments()) {
-                                    String assessmentName = assessment.getDisplayName(assessmentType.getType());
-                                    double score = assessment.getScore();
-                                    boolean isFinal = assessment.isFinal();
-                                    
-                                    bufferedWriter.write("                <tr>\n");
-                                    bufferedWriter.write("                    <td>" + assessmentName + "</td>\n");
-                                    bufferedWriter.write("                    <td>" + String.format("%.2f%%", score) + "</td>\n");
-                                    
-                                    if (isFinal) {
-                                        bufferedWriter.write("                    <td class=\"finalized\">Finalized</td>\n");
-                                    } else {
-                                        bufferedWriter.write("                    <td class=\"not-finalized\">Not Finalized</td>\n");
-                                    }
-                                    
-                                    bufferedWriter.write("                </tr>\n");
-                                }
-                            }
+                // Export once the sections are computed, without reloading anything
+                computeSections()
+                    .thenAcceptAsync(computed -> startExport(ExportSnapshot.of(semester, computed),
+                                                             ReportExporter.Format.SEMESTER_HTML, finalPath),
+                                     AsyncExecutor.fxThread())
+                    .exceptionally(error -> {
+                        Throwable cause = AsyncExecutor.unwrap(error);
+                        if (!(cause instanceof CancellationException)) {
+                            Platform.runLater(() -> showCustomErrorDialog("Failed to export data: " + cause.getMessage()));
                         }
-                        
-                        bufferedWriter.write("            </table>\n");
-                        bufferedWriter.write("        </div>\n");
-                        bufferedWriter.write("    </div>\n");
-                    }
-                    
-                    // HTML footer
-                    bufferedWriter.write("</body>\n");
-                    bufferedWriter.write("</html>");
-                    
-                    bufferedWriter.close();
-                    writer.close();
-                    
-                    // Show custom success dialog
-                    Platform.runLater(() -> {
-                        showCustomSuccessDialog("Data exported to HTML successfully!");
-                    });
-                } catch (Exception ex) {
-                    Platform.runLater(() -> {
-                        showCustomErrorDialog("Failed to export data: " + ex.getMessage());
+                        return null;
                     });
-                }
             }
         } catch (Exception e) {
             showCustomErrorDialog("Failed to export data: " + e.getMessage());
         }
     }
-
+    
+    
     /**
      * Show a clean success dialog with text and OK button
      */
@@ -2317,4 +2318,43 @@ public class AnalyticsView {
         
         return mainLayout;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Show a file save dialog to the user
+     * 
+     * @param title The dialog title
+     * @param initialFileName The initial file name
+     * @param extension The file extension
+     * @return The selected file, or null if the dialog was cancelled
+     */
+    private File showSaveFileDialog(String title, String initialFileName, String extension) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(title);
+        
+        try {
+            fileChooser.setInitialDirectory(new File(ExportUtility.getExportsDirectory()));
+        } catch (IOException e) {
+            // Default to user home directory if exports directory doesn't exist
+            fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));
+        }
+        
+        fileChooser.setInitialFileName(initialFileName + "." + extension);
+        
+        // Add extension filter
+        FileChooser.ExtensionFilter extFilter;
+        switch (extension.toLowerCase()) {
+            case "csv":
+                extFilter = new FileChooser.ExtensionFilter("CSV Files (*.csv)", "*.csv");
+                break;
+            case "html":
+                extFilter = new FileChooser.ExtensionFilter("HTML Files (*.html)", "*.html");
+                break;
+            default:
+                extFilter = new FileChooser.ExtensionFilter("All Files (*.*)", "*.*");
+        }
+        
+        fileChooser.getExtensionFilters().add(extFilter);
+        
+        return fileChooser.showSaveDialog(null);
+    }
+}
@@ -1,21 +1,27 @@
 package application.views;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.animation.FadeTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Glow;
 import javafx.scene.effect.InnerShadow;
 import javafx.scene.effect.Reflection;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -37,22 +43,66 @@ import javafx.application.Platform;
 import javafx.stage.Screen;
 
 import application.controllers.HomeController;
+import application.metrics.Histogram;
+import application.metrics.MetricsRegistry;
 import application.models.Semester;
+import application.models.Subject;
 import application.models.User;
 import application.services.UserService;
+import application.utils.AssessmentTypeReweightedEvent;
+import application.utils.AsyncExecutor;
+import application.utils.CachedView;
+import application.utils.DashboardCache;
+import application.utils.DashboardSnapshot;
+import application.utils.DataChangedEvent;
+import application.utils.EventBus;
+import application.utils.GradeBatchChangedEvent;
+import application.utils.GradeChangedEvent;
+import application.utils.SemesterRefreshedEvent;
+import application.utils.SemesterRenamedEvent;
+import application.utils.SubjectAddedEvent;
+import application.utils.SubjectRemovedEvent;
+import application.utils.VirtualCardGrid;
 import javafx.util.Duration;
 
 /**
  * Enhanced view class for the home screen with modern styling
  */
-public class HomeView {
+public class HomeView implements CachedView {
+    private static final Histogram constructionTime =
+        MetricsRegistry.getInstance().histogram("view.HomeView.construct");
+    private static final Histogram initializationTime =
+        MetricsRegistry.getInstance().histogram("view.HomeView.initialize");
+    
     private BorderPane mainLayout;
     private HomeController controller;
     private User currentUser;
-    private FlowPane semestersPane;
+    private VirtualCardGrid<Semester> semesterGrid;
     private Label overallGpaLabel;
     private TextField goalGpaField;
     private Label requiredGpaLabel;
+    private Label belowGoalLabel;
+    private EventBus.SubscriptionScope eventSubscriptions;
+    
+    // Displayed semesters and their GPAs; the grid's cards are bound to these
+    private final Map<Integer, Semester> loadedSemesters = new LinkedHashMap<>();
+    private final Map<Integer, Double> semesterGpas = new LinkedHashMap<>();
+    
+    // Snapshot entry of each displayed semester, rebuilt only when that semester changes
+    private final Map<Integer, DashboardSnapshot.SemesterEntry> snapshotEntries = new LinkedHashMap<>();
+    
+    // Semesters being reloaded, and those changed again while their reload was running
+    private final Set<Integer> reloadingSemesters = new HashSet<>();
+    private final Set<Integer> staleSemesters = new HashSet<>();
+    private int loadGeneration;
+    
+    // True while the cards show the startup snapshot instead of loaded data
+    private boolean showingSnapshot;
+    
+    // Size of a semester card in the grid
+    private static final double CARD_WIDTH = 280;
+    private static final double CARD_HEIGHT = 180;
+    private static final double CARD_GAP = 30;
     
     // Define color constants for consistent styling
     private static final Color PRIMARY_COLOR = Color.rgb(0, 59, 111); // Northeastern Blue
@@ -66,31 +116,27 @@ public class HomeView {
     private final double screenWidth = Screen.getPrimary().getVisualBounds().getWidth();
     private final double screenHeight = Screen.getPrimary().getVisualBounds().getHeight();
     
+    // Key of the home screen in the navigator's view cache
+    public static final String CACHE_KEY = "home";
+    
     /**
-     * Constructor with forced UI update
+     * Constructor
+     * The layout is shown immediately; semesters are loaded in the background
      */
     public HomeView() {
+        long start = System.nanoTime();
         System.out.println("Creating new HomeView");
         controller = new HomeController();
         currentUser = UserService.getCurrentUser();
         initialize();
-        
-        // Force UI update after a short delay to ensure all components are rendered
-        Platform.runLater(() -> {
-            try {
-                // Wait for 100ms to ensure JavaFX has completed initial rendering
-                Thread.sleep(100);
-                forceUpdateUI();
-            } catch (InterruptedException e) {
-                System.err.println("Interrupted while waiting to update UI: " + e.getMessage());
-            }
-        });
+        constructionTime.recordSince(start);
     }
 
     /**
      * Initialize the view with enhanced styling
      */
     private void initialize() {
+        long start = System.nanoTime();
         try {
             System.out.println("Initializing HomeView");
             mainLayout = new BorderPane();
@@ -126,22 +172,17 @@ public class HomeView {
             // Create footer
             createFooter();
             
-            // Force an aggressive GPA update immediately
-            forceDisplayGPAs();
+            registerEventListeners();
             
-            // Register for data change events
-            application.utils.EventBus.getInstance().register(
-                application.utils.DataChangedEvent.class,
-                event -> {
-                    System.out.println("DataChangedEvent received in HomeView - refreshing view");
-                    Platform.runLater(this::forceDisplayGPAs);
-                }
-            );
+            // Load semesters off the JavaFX thread
+            loadSemesters();
             
             System.out.println("HomeView initialization complete");
         } catch (Exception e) {
             e.printStackTrace();
             System.err.println("Error initializing HomeView: " + e.getMessage());
+        } finally {
+            initializationTime.recordSince(start);
         }
     }
     
@@ -312,8 +353,9 @@ public class HomeView {
         // Create Semesters Panel
         VBox semestersSection = createSemestersSection();
         
-        // Add all to content
+        // Add all to content; the semester grid takes the remaining height
         contentBox.getChildren().addAll(summaryPanel, semestersSection);
+        VBox.setVgrow(semestersSection, Priority.ALWAYS);
         
         // Animate content with fade in
         FadeTransition fadeIn = new FadeTransition(Duration.millis(1000), contentBox);
@@ -406,6 +448,14 @@ public class HomeView {
         );
         styleGpaBox(requiredGpaBox);
         
+        // Subjects already below the goal, filled in after each calculation
+        belowGoalLabel = new Label();
+        belowGoalLabel.setFont(Font.font("Arial", 12));
+        belowGoalLabel.setTextFill(Color.rgb(80, 80, 80));
+        belowGoalLabel.setWrapText(true);
+        belowGoalLabel.setMaxWidth(220);
+        requiredGpaBox.getChildren().add(belowGoalLabel);
+        
         // Add all to summary content
         summaryContent.getChildren().addAll(currentGpaBox, goalGpaBox, calculateBox, requiredGpaBox);
         
@@ -434,13 +484,13 @@ public class HomeView {
         
         titleBox.getChildren().add(semestersTitle);
         
-        // Create FlowPane for semester cards
-        semestersPane = new FlowPane();
-        semestersPane.setHgap(30);
-        semestersPane.setVgap(30);
-        semestersPane.setAlignment(Pos.CENTER);
-        semestersPane.setPrefWidth(Math.min(900, screenWidth - 60)); // Responsive width
-        semestersPane.setPadding(new Insets(20, 0, 20, 0));
+        // Virtualized grid for semester cards; only visible cards are created
+        semesterGrid = new VirtualCardGrid<>(CARD_WIDTH, CARD_GAP, CARD_GAP, SemesterCard::new);
+        semesterGrid.setPrefWidth(Math.min(900, screenWidth - 60)); // Responsive width
+        semesterGrid.setMaxWidth(Math.min(900, screenWidth - 60));
+        semesterGrid.setPrefHeight(2 * (CARD_HEIGHT + CARD_GAP) + CARD_GAP);
+        semesterGrid.setPadding(new Insets(20, 0, 20, 0));
+        VBox.setVgrow(semesterGrid, Priority.ALWAYS);
         
         // Create 'Add Semester' button
         Button addSemesterButton = createStyledButton("Add Semester", PRIMARY_COLOR);
@@ -464,7 +514,7 @@ public class HomeView {
         buttonBox.getChildren().add(addSemesterButton);
         
         // Add all to section
-        semestersSection.getChildren().addAll(titleBox, semestersPane, buttonBox);
+        semestersSection.getChildren().addAll(titleBox, semesterGrid, buttonBox);
         
         return semestersSection;
     }
@@ -644,246 +694,370 @@ public class HomeView {
     
     /**
      * Load and display all semesters for the current user with fresh data from the database
+     * The data is loaded off the JavaFX thread; the grid then creates only the visible cards.
+     * On the first load the last saved snapshot is shown until the data arrives.
      */
     private void loadSemesters() {
-        try {
-            System.out.println("\n===== LOADING SEMESTERS WITH FRESH DATA =====");
-            
-            // Get fresh data from the database
-            List<Semester> semesters = controller.getAllSemesters();
-            semestersPane.getChildren().clear();
-            
-            System.out.println("Found " + semesters.size() + " semesters");
-            
-            if (semesters.isEmpty()) {
-                // Create a styled "no semesters" message
-                StackPane emptyPane = new StackPane();
-                emptyPane.setPrefWidth(Math.min(800, screenWidth - 100)); // Responsive width
-                emptyPane.setPrefHeight(200);
-                
-                VBox emptyBox = new VBox(15);
-                emptyBox.setAlignment(Pos.CENTER);
-                
-                Text emptyText = new Text("You don't have any semesters yet");
-                emptyText.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
-                emptyText.setFill(Color.rgb(120, 120, 140));
-                
-                Text addText = new Text("Click 'Add Semester' to get started");
-                addText.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                addText.setFill(Color.rgb(150, 150, 170));
-                
-                emptyBox.getChildren().addAll(emptyText, addText);
-                emptyPane.getChildren().add(emptyBox);
-                
-                semestersPane.getChildren().add(emptyPane);
+        int generation = ++loadGeneration;
+        
+        if (loadedSemesters.isEmpty()) {
+            DashboardSnapshot snapshot = DashboardCache.load(currentUser.getId());
+            if (snapshot != null) {
+                displaySnapshot(snapshot);
             } else {
-                // Calculate overall GPA here
-                double totalGPA = 0.0;
-                int validSemesterCount = 0;
-                
-                // Add each semester card to the UI
-                for (Semester semester : semesters) {
-                    // Force GPA calculation for each semester
-                    double semesterGPA = semester.calculateGPA();
-                    
-                    if (semesterGPA > 0) {
-                        totalGPA += semesterGPA;
-                        validSemesterCount++;
-                    }
-                    
-                    // Create card with calculated GPA
-                    StackPane semesterCard = createEnhancedSemesterCard(semester, semesterGPA);
-                    semestersPane.getChildren().add(semesterCard);
-                }
-                
-                // Calculate and set overall GPA
-                double overallGPA = validSemesterCount > 0 ? totalGPA / validSemesterCount : 0.0;
-                overallGpaLabel.setText(String.format("%.2f", overallGPA));
-                System.out.println("Overall GPA set to: " + overallGPA);
+                showLoadingPlaceholder();
             }
-            
-            System.out.println("===== SEMESTERS LOADED SUCCESSFULLY =====\n");
-        } catch (Exception e) {
-            System.err.println("Error loading semesters: " + e.getMessage());
-            e.printStackTrace();
-            showErrorAlert("Error", "Failed to load semesters: " + e.getMessage());
         }
+        
+        controller.getAllSemestersAsync()
+            .thenAcceptAsync(semesters -> {
+                // Ignore results of loads superseded by a newer one
+                if (generation == loadGeneration) {
+                    displaySemesters(semesters);
+                }
+            }, AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                System.err.println("Error loading semesters: " + cause.getMessage());
+                cause.printStackTrace();
+                AsyncExecutor.fxThread().execute(
+                    () -> showErrorAlert("Error", "Failed to load semesters: " + cause.getMessage()));
+                return null;
+            });
     }
     
     /**
-     * Creates an enhanced semester card with visual styling
+     * Display loaded semesters and the overall GPA
+     * 
+     * @param semesters Semesters whose subjects include their assessment data
      */
-    private StackPane createEnhancedSemesterCard(Semester semester, double forcedGPA) {
-        System.out.println("Creating enhanced semester card with GPA: " + forcedGPA);
-        
-        StackPane cardContainer = new StackPane();
-        
-        // Create card background with rounded corners
-        Rectangle cardBg = new Rectangle(280, 180);
-        cardBg.setArcWidth(15);
-        cardBg.setArcHeight(15);
-        
-        // Create card gradient
-        LinearGradient cardGradient = new LinearGradient(
-            0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
-            new Stop(0, CARD_COLOR),
-            new Stop(1, Color.rgb(245, 245, 250))
-        );
-        cardBg.setFill(cardGradient);
-        
-        // Add card shadow
-        DropShadow cardShadow = new DropShadow();
-        cardShadow.setRadius(10);
-        cardShadow.setColor(Color.rgb(0, 0, 0, 0.2));
-        cardShadow.setOffsetY(5);
-        cardBg.setEffect(cardShadow);
-        
-        // Create card content
-        VBox cardContent = new VBox(12);
-        cardContent.setPadding(new Insets(20, 20, 20, 20));
-        cardContent.setPrefWidth(280);
-        cardContent.setPrefHeight(180);
-        
-        // Header with semester name and delete button
-        HBox headerBox = new HBox(10);
-        headerBox.setAlignment(Pos.CENTER_LEFT);
-        
-        Text nameText = new Text(semester.getName());
-        nameText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        nameText.setFill(PRIMARY_COLOR);
-        
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        Button deleteButton = new Button("×");
-        deleteButton.setStyle(
-            "-fx-background-color: " + toRgbString(SECONDARY_COLOR) + "; " +
-            "-fx-text-fill: white; " +
-            "-fx-font-weight: bold; " +
-            "-fx-font-size: 14px; " +
-            "-fx-min-width: 24px; " +
-            "-fx-min-height: 24px; " +
-            "-fx-max-width: 24px; " +
-            "-fx-max-height: 24px; " +
-            "-fx-padding: 0; " +
-            "-fx-background-radius: 12;"
-        );
+    private void displaySemesters(List<Semester> semesters) {
+        System.out.println("Displaying " + semesters.size() + " semesters");
+        
+        loadedSemesters.clear();
+        semesterGpas.clear();
+        snapshotEntries.clear();
+        showingSnapshot = false;
+        
+        if (semesters.isEmpty()) {
+            semesterGrid.setPlaceholder(createEmptySemestersPane());
+            semesterGrid.setCards(new ArrayList<>());
+            overallGpaLabel.setText("0.00");
+            saveSnapshot();
+            return;
+        }
         
-        // Add hover effect to delete button
-        deleteButton.setOnMouseEntered(e -> 
-            deleteButton.setStyle(
-                "-fx-background-color: " + toRgbString(SECONDARY_COLOR.darker()) + "; " +
-                "-fx-text-fill: white; " +
-                "-fx-font-weight: bold; " +
-                "-fx-font-size: 14px; " +
-                "-fx-min-width: 24px; " +
-                "-fx-min-height: 24px; " +
-                "-fx-max-width: 24px; " +
-                "-fx-max-height: 24px; " +
-                "-fx-padding: 0; " +
-                "-fx-background-radius: 12;"
-            )
-        );
+        // GPAs come from the already loaded data, so the overall GPA is shown right away
+        for (Semester semester : semesters) {
+            double semesterGPA = Semester.calculateGPA(semester.getSubjects());
+            loadedSemesters.put(semester.getId(), semester);
+            semesterGpas.put(semester.getId(), semesterGPA);
+            snapshotEntries.put(semester.getId(), DashboardSnapshot.entryOf(semester, semesterGPA));
+        }
+        updateOverallGPA();
         
-        deleteButton.setOnMouseExited(e -> 
-            deleteButton.setStyle(
-                "-fx-background-color: " + toRgbString(SECONDARY_COLOR) + "; " +
-                "-fx-text-fill: white; " +
-                "-fx-font-weight: bold; " +
-                "-fx-font-size: 14px; " +
-                "-fx-min-width: 24px; " +
-                "-fx-min-height: 24px; " +
-                "-fx-max-width: 24px; " +
-                "-fx-max-height: 24px; " +
-                "-fx-padding: 0; " +
-                "-fx-background-radius: 12;"
-            )
-        );
+        // Cards already on screen are rebound to the new data; cards whose values
+        // match the snapshot they showed don't visibly change
+        semesterGrid.setCards(semesters);
+        saveSnapshot();
+    }
+    
+    /**
+     * Show the semesters of a saved snapshot until the real data is loaded
+     * The cards get placeholder semesters with the snapshot's names, GPAs and subject counts
+     * 
+     * @param snapshot The user's last saved snapshot
+     */
+    private void displaySnapshot(DashboardSnapshot snapshot) {
+        System.out.println("Displaying " + snapshot.getSemesters().size() + " semesters from snapshot");
+        
+        List<Semester> semesters = new ArrayList<>();
+        for (DashboardSnapshot.SemesterEntry entry : snapshot.getSemesters()) {
+            Semester semester = new Semester(entry.getId(), currentUser.getId(), entry.getName());
+            for (DashboardSnapshot.SubjectEntry subject : entry.getSubjects()) {
+                semester.getSubjects().add(new Subject(subject.getId(), entry.getId(), subject.getName()));
+            }
+            
+            semesters.add(semester);
+            loadedSemesters.put(semester.getId(), semester);
+            semesterGpas.put(semester.getId(), entry.getGpa());
+            snapshotEntries.put(semester.getId(), entry);
+        }
+        showingSnapshot = true;
         
-        headerBox.getChildren().addAll(nameText, spacer, deleteButton);
+        if (semesters.isEmpty()) {
+            semesterGrid.setPlaceholder(createEmptySemestersPane());
+        } else {
+            updateOverallGPA();
+        }
+        semesterGrid.setCards(semesters);
+    }
+    
+    /**
+     * Save the displayed state as the user's snapshot, written in the background
+     * Built from the kept per-semester entries; nothing is saved while the snapshot itself is shown
+     */
+    private void saveSnapshot() {
+        if (showingSnapshot) {
+            return;
+        }
         
-        // GPA display with circle indicator
-        HBox gpaBox = new HBox(15);
-        gpaBox.setAlignment(Pos.CENTER_LEFT);
-        gpaBox.setPadding(new Insets(10, 0, 10, 0));
+        try {
+            DashboardCache.save(new DashboardSnapshot(currentUser.getId(),
+                                                      new ArrayList<>(snapshotEntries.values()),
+                                                      System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // The snapshot only speeds up the next start
+            System.err.println("Error saving dashboard snapshot: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Open a semester's details
+     * While the snapshot is shown the semester has no assessment data yet, so it is loaded first
+     * 
+     * @param semester The semester of a card
+     */
+    private void openSemester(Semester semester) {
+        if (!showingSnapshot) {
+            controller.navigateToSemesterDetails(semester);
+            return;
+        }
         
-        // Create GPA circle
-        StackPane gpaCircle = new StackPane();
+        controller.getSemesterAsync(semester.getId())
+            .thenAcceptAsync(loaded -> {
+                if (loaded != null) {
+                    controller.navigateToSemesterDetails(loaded);
+                }
+            }, AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                cause.printStackTrace();
+                AsyncExecutor.fxThread().execute(
+                    () -> showErrorAlert("Error", "Failed to open semester: " + cause.getMessage()));
+                return null;
+            });
+    }
+    
+    /**
+     * Show a loading indicator in place of the semester cards
+     */
+    private void showLoadingPlaceholder() {
+        VBox loadingBox = new VBox(15);
+        loadingBox.setAlignment(Pos.CENTER);
+        loadingBox.setPrefWidth(Math.min(800, screenWidth - 100));
+        loadingBox.setPrefHeight(200);
         
-        Circle circle = new Circle(28);
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setMaxSize(40, 40);
         
-        // Color the circle based on GPA value
-        Color circleColor;
-        if (forcedGPA >= 3.7) {
-            circleColor = ACCENT_COLOR; // Green for A/A+
-        } else if (forcedGPA >= 3.0) {
-            circleColor = Color.rgb(66, 133, 244); // Blue for B
-        } else if (forcedGPA >= 2.0) {
-            circleColor = Color.rgb(251, 188, 5); // Yellow for C
-        } else {
-            circleColor = SECONDARY_COLOR; // Red for D/F
-        }
+        Text loadingText = new Text("Loading semesters...");
+        loadingText.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        loadingText.setFill(Color.rgb(120, 120, 140));
         
-        circle.setFill(circleColor);
+        loadingBox.getChildren().addAll(progressIndicator, loadingText);
         
-        // Add inner glow effect
-        DropShadow innerGlow = new DropShadow();
-        innerGlow.setRadius(10);
-        innerGlow.setColor(circleColor.deriveColor(0, 1.2, 1, 0.3));
-        innerGlow.setOffsetX(0);
-        innerGlow.setOffsetY(0);
-        circle.setEffect(innerGlow);
+        semesterGrid.setPlaceholder(loadingBox);
+    }
+    
+    /**
+     * Create the styled "no semesters" message
+     * 
+     * @return The message pane
+     */
+    private StackPane createEmptySemestersPane() {
+        StackPane emptyPane = new StackPane();
+        emptyPane.setPrefWidth(Math.min(800, screenWidth - 100)); // Responsive width
+        emptyPane.setPrefHeight(200);
         
-        // GPA text inside circle
-        Text gpaText = new Text(String.format("%.1f", forcedGPA));
-        gpaText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        gpaText.setFill(Color.WHITE);
+        VBox emptyBox = new VBox(15);
+        emptyBox.setAlignment(Pos.CENTER);
         
-        gpaCircle.getChildren().addAll(circle, gpaText);
+        Text emptyText = new Text("You don't have any semesters yet");
+        emptyText.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
+        emptyText.setFill(Color.rgb(120, 120, 140));
         
-        // GPA information
-        VBox gpaInfoBox = new VBox(2);
+        Text addText = new Text("Click 'Add Semester' to get started");
+        addText.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        addText.setFill(Color.rgb(150, 150, 170));
         
-        Label gpaLabel = new Label("GPA");
-        gpaLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        gpaLabel.setTextFill(Color.rgb(100, 100, 100));
+        emptyBox.getChildren().addAll(emptyText, addText);
+        emptyPane.getChildren().add(emptyBox);
         
-        Label gpaValueLabel = new Label(String.format("%.2f", forcedGPA));
-        gpaValueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        gpaValueLabel.setTextFill(circleColor);
+        return emptyPane;
+    }
+    
+    /**
+     * Register for change events on the FX thread
+     * Subscriptions are weak, so this view stops receiving events once it is discarded
+     */
+    private void registerEventListeners() {
+        eventSubscriptions = new EventBus.SubscriptionScope();
         
-        gpaInfoBox.getChildren().addAll(gpaLabel, gpaValueLabel);
+        EventBus eventBus = EventBus.getInstance();
+        EventBus.DispatchMode fxThread = EventBus.DispatchMode.FX_THREAD;
         
-        // Add divider for subjects
-        Region divider = new Region();
-        divider.setPrefHeight(1);
-        divider.setStyle("-fx-background-color: #e0e0e0;");
+        // Semesters added or deleted still rebuild all cards
+        eventSubscriptions.add(eventBus.registerWeak(DataChangedEvent.class, event -> {
+            System.out.println("DataChangedEvent received in HomeView - refreshing view");
+            forceDisplayGPAs();
+        }, fxThread));
+        
+        // Grade changes carry their new values, so they are applied without reloading
+        eventSubscriptions.add(eventBus.registerWeak(GradeChangedEvent.class,
+            event -> applyGradeChanges(event.getSemesterId(), event.getSubjectId(), List.of(event)), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(GradeBatchChangedEvent.class,
+            event -> applyGradeChanges(event.getSemesterId(), event.getSubjectId(), event.getChanges()), fxThread));
+        
+        // Other changes within a semester reload only that semester's card
+        eventSubscriptions.add(eventBus.registerWeak(AssessmentTypeReweightedEvent.class,
+            event -> updateSemesterCard(event.getSemesterId()), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(SubjectAddedEvent.class,
+            event -> updateSemesterCard(event.getSemesterId()), fxThread));
+        eventSubscriptions.add(eventBus.registerWeak(SubjectRemovedEvent.class,
+            event -> updateSemesterCard(event.getSemesterId()), fxThread));
+        
+        // A completed background refresh carries the loaded semester
+        eventSubscriptions.add(eventBus.registerWeak(SemesterRefreshedEvent.class, event -> {
+            if (loadedSemesters.containsKey(event.getSemesterId())) {
+                Semester semester = event.getSemester();
+                replaceSemesterCard(semester, Semester.calculateGPA(semester.getSubjects()));
+                updateOverallGPA();
+            }
+        }, fxThread));
+        
+        // A rename needs no data at all
+        eventSubscriptions.add(eventBus.registerWeak(SemesterRenamedEvent.class, event -> {
+            Semester semester = loadedSemesters.get(event.getSemesterId());
+            if (semester != null) {
+                semester.setName(event.getNewName());
+                replaceSemesterCard(semester, semesterGpas.get(semester.getId()));
+            }
+        }, fxThread));
+    }
+    
+    /**
+     * Apply saved grade changes to the displayed semester and update its card and the overall GPA
+     * Falls back to reloading the semester if the subject's assessments are not in memory
+     * 
+     * @param semesterId The ID of the changed semester
+     * @param subjectId The ID of the changed subject
+     * @param changes The changes to apply
+     */
+    private void applyGradeChanges(int semesterId, int subjectId, List<GradeChangedEvent> changes) {
+        Semester semester = loadedSemesters.get(semesterId);
+        if (semester == null) {
+            return;
+        }
         
-        gpaBox.getChildren().addAll(gpaCircle, gpaInfoBox);
+        Subject subject = null;
+        if (!reloadingSemesters.contains(semesterId)) {
+            for (Subject candidate : semester.getSubjects()) {
+                if (candidate.getId() == subjectId) {
+                    subject = candidate;
+                    break;
+                }
+            }
+        }
         
-        // Subject count
-        Label subjectsLabel = new Label(String.format("Subjects: %d", semester.getSubjects().size()));
-        subjectsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
-        subjectsLabel.setTextFill(Color.rgb(100, 100, 100));
+        boolean applied = subject != null;
+        for (int i = 0; applied && i < changes.size(); i++) {
+            applied = changes.get(i).applyTo(subject);
+        }
         
-        // Button to view details
-        Button viewButton = createStyledButton("View Details", PRIMARY_COLOR);
-        viewButton.setTextFill(Color.WHITE);
-        viewButton.setPrefWidth(240);
-        viewButton.setOnAction(e -> controller.navigateToSemesterDetails(semester));
+        if (!applied) {
+            updateSemesterCard(semesterId);
+            return;
+        }
         
-        // Spacer to push the button to the bottom
-        Region verticalSpacer = new Region();
-        VBox.setVgrow(verticalSpacer, Priority.ALWAYS);
+        controller.updateGradeIndex(subject);
+        replaceSemesterCard(semester, Semester.calculateGPA(semester.getSubjects()));
+        updateOverallGPA();
+    }
+    
+    /**
+     * Reload one semester and update its card and the overall GPA
+     * Changes arriving while the semester is being reloaded cause one more reload, not one each
+     * 
+     * @param semesterId The ID of the changed semester
+     */
+    private void updateSemesterCard(int semesterId) {
+        if (!loadedSemesters.containsKey(semesterId)) {
+            return;
+        }
         
-        cardContent.getChildren().addAll(headerBox, gpaBox, divider, subjectsLabel, verticalSpacer, viewButton);
+        if (!reloadingSemesters.add(semesterId)) {
+            staleSemesters.add(semesterId);
+            return;
+        }
         
-        // Set up delete button event handler
-        deleteButton.setOnAction(e -> showDeleteSemesterConfirmation(semester));
+        controller.getSemesterAsync(semesterId)
+            .thenAcceptAsync(semester -> {
+                if (semester == null || !loadedSemesters.containsKey(semesterId)) {
+                    return;
+                }
+                
+                double semesterGPA = Semester.calculateGPA(semester.getSubjects());
+                replaceSemesterCard(semester, semesterGPA);
+                updateOverallGPA();
+            }, AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                System.err.println("Error updating semester card: " + cause.getMessage());
+                cause.printStackTrace();
+                return null;
+            })
+            .thenRunAsync(() -> {
+                reloadingSemesters.remove(semesterId);
+                if (staleSemesters.remove(semesterId)) {
+                    updateSemesterCard(semesterId);
+                }
+            }, AsyncExecutor.fxThread());
+    }
+    
+    /**
+     * Show a changed semester; its card is updated in place if it is visible
+     * 
+     * @param semester The semester
+     * @param semesterGPA The semester's GPA
+     */
+    private void replaceSemesterCard(Semester semester, double semesterGPA) {
+        loadedSemesters.put(semester.getId(), semester);
+        semesterGpas.put(semester.getId(), semesterGPA);
+        snapshotEntries.put(semester.getId(), DashboardSnapshot.entryOf(semester, semesterGPA));
+        semesterGrid.setCards(new ArrayList<>(loadedSemesters.values()));
+        saveSnapshot();
+    }
+    
+    /**
+     * Recalculate the overall GPA from the displayed semester GPAs
+     */
+    private void updateOverallGPA() {
+        double totalGPA = 0.0;
+        int validSemesters = 0;
+        
+        for (double semesterGPA : semesterGpas.values()) {
+            if (semesterGPA > 0) {
+                totalGPA += semesterGPA;
+                validSemesters++;
+            }
+        }
         
-        cardContainer.getChildren().addAll(cardBg, cardContent);
+        double overallGPA = validSemesters > 0 ? totalGPA / validSemesters : 0.0;
+        overallGpaLabel.setText(String.format("%.2f", overallGPA));
         
-        return cardContainer;
+        // Automatically recalculate required GPA if goal is set, from the displayed GPAs
+        if (!goalGpaField.getText().isEmpty()) {
+            try {
+                double goalGPA = Double.parseDouble(goalGpaField.getText());
+                if (goalGPA >= 0.0 && goalGPA <= 4.0) {
+                    showRequiredGPA(controller.calculateRequiredGPA(semesterGpas.values(), goalGPA));
+                    showSubjectsBelowGoal(controller.getSubjectsBelowGPA(goalGPA));
+                }
+            } catch (NumberFormatException ex) {
+                // Ignore an invalid goal during refresh
+            }
+        }
     }
     
     /**
@@ -951,9 +1125,17 @@ public class HomeView {
                     throw new IllegalArgumentException("Semester name cannot be empty");
                 }
                 
-                controller.createSemester(name);
-                dialog.close();
-                loadSemesters();
+                // The cards are reloaded by the DataChangedEvent the controller posts
+                addButton.setDisable(true);
+                controller.createSemesterAsync(name)
+                    .thenRunAsync(dialog::close, AsyncExecutor.fxThread())
+                    .exceptionally(error -> {
+                        AsyncExecutor.fxThread().execute(() -> {
+                            addButton.setDisable(false);
+                            showErrorAlert("Error", AsyncExecutor.unwrap(error).getMessage());
+                        });
+                        return null;
+                    });
             } catch (Exception ex) {
                 showErrorAlert("Error", ex.getMessage());
             }
@@ -993,25 +1175,75 @@ public class HomeView {
         // Show the dialog and handle the result
         alert.showAndWait().ifPresent(buttonType -> {
             if (buttonType == deleteButton) {
-                try {
-                    // Delete the semester
-                    controller.deleteSemester(semester.getId());
-                    
-                    // Refresh the view
-                    loadSemesters();
-                    
-                    // Show success message
-                    showInfoAlert("Semester Deleted", "The semester was successfully deleted.");
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    showErrorAlert("Error", "Failed to delete semester: " + ex.getMessage());
-                }
+                // Delete the semester; the cards are reloaded by the DataChangedEvent
+                controller.deleteSemesterAsync(semester.getId())
+                    .thenRunAsync(() -> showInfoAlert("Semester Deleted", "The semester was successfully deleted."),
+                                  AsyncExecutor.fxThread())
+                    .exceptionally(error -> {
+                        Throwable cause = AsyncExecutor.unwrap(error);
+                        cause.printStackTrace();
+                        AsyncExecutor.fxThread().execute(
+                            () -> showErrorAlert("Error", "Failed to delete semester: " + cause.getMessage()));
+                        return null;
+                    });
             }
         });
     }
     
+    /**
+     * Display a calculated required GPA
+     * 
+     * @param requiredGPA The required GPA
+     */
+    private void showRequiredGPA(double requiredGPA) {
+        requiredGpaLabel.setText(String.format("%.2f", requiredGPA));
+        
+        // Color code based on difficulty
+        if (requiredGPA > 3.7) {
+            requiredGpaLabel.setTextFill(SECONDARY_COLOR); // Red for difficult
+        } else if (requiredGPA > 3.0) {
+            requiredGpaLabel.setTextFill(Color.rgb(251, 188, 5)); // Yellow for moderate
+        } else {
+            requiredGpaLabel.setTextFill(ACCENT_COLOR); // Green for achievable
+        }
+        
+        // Add animation
+        FadeTransition fadeInOut = new FadeTransition(Duration.millis(300), requiredGpaLabel);
+        fadeInOut.setFromValue(0.5);
+        fadeInOut.setToValue(1.0);
+        fadeInOut.setCycleCount(2);
+        fadeInOut.setAutoReverse(true);
+        fadeInOut.play();
+    }
+    
+    /**
+     * Display the subjects whose GPA is below the goal
+     * 
+     * @param subjects The subjects, weakest first
+     */
+    private void showSubjectsBelowGoal(List<Subject> subjects) {
+        if (subjects.isEmpty()) {
+            belowGoalLabel.setText("All subjects meet your goal");
+            return;
+        }
+        
+        StringBuilder text = new StringBuilder("Below goal: ");
+        int shown = Math.min(3, subjects.size());
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(subjects.get(i).getName());
+        }
+        if (subjects.size() > shown) {
+            text.append(" and ").append(subjects.size() - shown).append(" more");
+        }
+        belowGoalLabel.setText(text.toString());
+    }
+    
     /**
      * Calculate and display the required GPA based on the goal
+     * The calculation reads all semesters, so it runs in the background
      */
     private void calculateRequiredGPA() {
         try {
@@ -1021,26 +1253,16 @@ public class HomeView {
                 throw new IllegalArgumentException("GPA must be between 0.0 and 4.0");
             }
             
-            double requiredGPA = controller.calculateRequiredGPA(goalGPA);
-            requiredGpaLabel.setText(String.format("%.2f", requiredGPA));
-            
-            // Color code based on difficulty
-            if (requiredGPA > 3.7) {
-                requiredGpaLabel.setTextFill(SECONDARY_COLOR); // Red for difficult
-            } else if (requiredGPA > 3.0) {
-                requiredGpaLabel.setTextFill(Color.rgb(251, 188, 5)); // Yellow for moderate
-            } else {
-                requiredGpaLabel.setTextFill(ACCENT_COLOR); // Green for achievable
-            }
-            
-            // Add animation
-            FadeTransition fadeInOut = new FadeTransition(Duration.millis(300), requiredGpaLabel);
-            fadeInOut.setFromValue(0.5);
-            fadeInOut.setToValue(1.0);
-            fadeInOut.setCycleCount(2);
-            fadeInOut.setAutoReverse(true);
-            fadeInOut.play();
-            
+            controller.calculateRequiredGPAAsync(goalGPA)
+                .thenAcceptAsync(requiredGPA -> {
+                    showRequiredGPA(requiredGPA);
+                    showSubjectsBelowGoal(controller.getSubjectsBelowGPA(goalGPA));
+                }, AsyncExecutor.fxThread())
+                .exceptionally(error -> {
+                    AsyncExecutor.fxThread().execute(
+                        () -> showErrorAlert("Error", AsyncExecutor.unwrap(error).getMessage()));
+                    return null;
+                });
         } catch (NumberFormatException e) {
             showErrorAlert("Error", "Please enter a valid number for GPA goal");
         } catch (Exception e) {
@@ -1050,165 +1272,18 @@ public class HomeView {
     
     /**
      * Force update of all UI elements with fresh data
-     * This is a more direct approach when event-based updates aren't working
+     * The reload runs in the background; the current cards stay visible until it completes
      */
     public void forceUpdateUI() {
-        try {
-            System.out.println("\n===== FORCE UPDATING HOME VIEW UI =====");
-            
-            // Clear the semesters pane
-            semestersPane.getChildren().clear();
-            
-            // Get fresh data from the database
-            List<Semester> semesters = controller.getAllSemesters();
-            
-            if (semesters.isEmpty()) {
-                // Create a styled "no semesters" message
-                StackPane emptyPane = new StackPane();
-                emptyPane.setPrefWidth(Math.min(800, screenWidth - 100)); // Responsive width
-                emptyPane.setPrefHeight(200);
-                
-                VBox emptyBox = new VBox(15);
-                emptyBox.setAlignment(Pos.CENTER);
-                
-                Text emptyText = new Text("You don't have any semesters yet");
-                emptyText.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
-                emptyText.setFill(Color.rgb(120, 120, 140));
-                
-                Text addText = new Text("Click 'Add Semester' to get started");
-                addText.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                addText.setFill(Color.rgb(150, 150, 170));
-                
-                emptyBox.getChildren().addAll(emptyText, addText);
-                emptyPane.getChildren().add(emptyBox);
-                
-                semestersPane.getChildren().add(emptyPane);
-            } else {
-                // Calculate overall GPA directly here
-                double totalGPA = 0.0;
-                int validSemesterCount = 0;
-                
-                for (Semester semester : semesters) {
-                    // Force GPA calculation for each semester
-                    double semesterGPA = semester.calculateGPA();
-                    System.out.println("Semester: " + semester.getName() + ", GPA: " + semesterGPA);
-                    
-                    // Only count valid GPAs
-                    if (semesterGPA > 0) {
-                        totalGPA += semesterGPA;
-                        validSemesterCount++;
-                    }
-                    
-                    // Add semester card with enhanced visuals
-                    StackPane semesterCard = createEnhancedSemesterCard(semester, semesterGPA);
-                    semestersPane.getChildren().add(semesterCard);
-                }
-                
-                // Update overall GPA label
-                double overallGPA = validSemesterCount > 0 ? totalGPA / validSemesterCount : 0.0;
-                System.out.println("Overall GPA (direct calculation): " + overallGPA);
-                
-                // Update the label directly
-                Platform.runLater(() -> {
-                    overallGpaLabel.setText(String.format("%.2f", overallGPA));
-                    System.out.println("Overall GPA label updated to: " + overallGpaLabel.getText());
-                    
-                    // Automatically recalculate required GPA if goal is set
-                    if (!goalGpaField.getText().isEmpty()) {
-                        try {
-                            calculateRequiredGPA();
-                        } catch (Exception ex) {
-                            // Ignore calculation errors during refresh
-                        }
-                    }
-                });
-            }
-            
-            System.out.println("===== HOME VIEW UI UPDATE COMPLETE =====\n");
-        } catch (Exception e) {
-            System.err.println("Error during force UI update: " + e.getMessage());
-            e.printStackTrace();
-        }
+        loadSemesters();
     }
     
     /**
-     * This method aggressively calculates and displays GPAs
+     * Recalculate and display all GPAs with fresh data
      * Call this after any operation that might affect GPAs
      */
     public void forceDisplayGPAs() {
-        try {
-            System.out.println("\n=== AGGRESSIVE GPA DISPLAY UPDATE ===");
-            
-            // Get fresh semester data
-            List<Semester> semesters = controller.getAllSemesters();
-            System.out.println("Found " + semesters.size() + " semesters to process");
-            
-            // Calculate total semester GPA
-            double totalGPA = 0.0;
-            int validSemesters = 0;
-            
-            // Clear the semester pane
-            semestersPane.getChildren().clear();
-            
-            if (semesters.isEmpty()) {
-                // Create a styled "no semesters" message
-                StackPane emptyPane = new StackPane();
-                emptyPane.setPrefWidth(Math.min(800, screenWidth - 100)); // Responsive width
-                emptyPane.setPrefHeight(200);
-                
-                VBox emptyBox = new VBox(15);
-                emptyBox.setAlignment(Pos.CENTER);
-                
-                Text emptyText = new Text("You don't have any semesters yet");
-                emptyText.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
-                emptyText.setFill(Color.rgb(120, 120, 140));
-                
-                Text addText = new Text("Click 'Add Semester' to get started");
-                addText.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                addText.setFill(Color.rgb(150, 150, 170));
-                
-                emptyBox.getChildren().addAll(emptyText, addText);
-                emptyPane.getChildren().add(emptyBox);
-                
-                semestersPane.getChildren().add(emptyPane);
-                
-                // Set overall GPA to 0
-                overallGpaLabel.setText("0.00");
-                System.out.println("No semesters found, overall GPA set to 0.00");
-            } else {
-                // Process each semester
-                for (Semester semester : semesters) {
-                    // Force GPA calculation
-                    double semesterGPA = semester.calculateGPA();
-                    System.out.println("Semester: " + semester.getName() + " - GPA: " + semesterGPA);
-                    
-                    // Create an enhanced card
-                    StackPane card = createEnhancedSemesterCard(semester, semesterGPA);
-                    semestersPane.getChildren().add(card);
-                    
-                    // Count for overall GPA if valid
-                    if (semesterGPA > 0) {
-                        totalGPA += semesterGPA;
-                        validSemesters++;
-                    }
-                }
-                
-                // Calculate and set overall GPA
-                if (validSemesters > 0) {
-                    double overallGPA = totalGPA / validSemesters;
-                    overallGpaLabel.setText(String.format("%.2f", overallGPA));
-                    System.out.println("Overall GPA set to: " + overallGPA);
-                } else {
-                    overallGpaLabel.setText("0.00");
-                    System.out.println("No valid semester GPAs, overall set to 0.00");
-                }
-            }
-            
-            System.out.println("=== GPA DISPLAY UPDATE COMPLETE ===\n");
-        } catch (Exception e) {
-            System.err.println("ERROR in forceDisplayGPAs: " + e.getMessage());
-            e.printStackTrace();
-        }
+        loadSemesters();
     }
     
     /**
@@ -1279,6 +1354,16 @@ public class HomeView {
         });
     }
     
+    /**
+     * Stop receiving change events once the navigator drops this view
+     */
+    @Override
+    public void dispose() {
+        if (eventSubscriptions != null) {
+            eventSubscriptions.close();
+        }
+    }
+    
     /**
      * Get the main layout for this view.
      * Additional sizing enforced here to ensure full screen display.
@@ -1295,4 +1380,175 @@ public class HomeView {
         
         return mainLayout;
     }
-}
\ No newline at end of file
+    
+    /**
+     * A semester card of the grid, built once and rebound to other semesters while scrolling
+     */
+    private class SemesterCard implements VirtualCardGrid.Card<Semester> {
+        private final StackPane cardContainer = new StackPane();
+        private final Text nameText = new Text();
+        private final Circle circle = new Circle(28);
+        private final DropShadow innerGlow = new DropShadow();
+        private final Text gpaText = new Text();
+        private final Label gpaValueLabel = new Label();
+        private final Label subjectsLabel = new Label();
+        private Semester semester;
+        
+        /**
+         * Create the card's nodes with visual styling
+         */
+        public SemesterCard() {
+            // Create card background with rounded corners
+            Rectangle cardBg = new Rectangle(CARD_WIDTH, CARD_HEIGHT);
+            cardBg.setArcWidth(15);
+            cardBg.setArcHeight(15);
+            
+            // Create card gradient
+            LinearGradient cardGradient = new LinearGradient(
+                0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                new Stop(0, CARD_COLOR),
+                new Stop(1, Color.rgb(245, 245, 250))
+            );
+            cardBg.setFill(cardGradient);
+            
+            // Add card shadow
+            DropShadow cardShadow = new DropShadow();
+            cardShadow.setRadius(10);
+            cardShadow.setColor(Color.rgb(0, 0, 0, 0.2));
+            cardShadow.setOffsetY(5);
+            cardBg.setEffect(cardShadow);
+            
+            // Create card content
+            VBox cardContent = new VBox(12);
+            cardContent.setPadding(new Insets(20, 20, 20, 20));
+            cardContent.setPrefWidth(CARD_WIDTH);
+            cardContent.setPrefHeight(CARD_HEIGHT);
+            
+            // Header with semester name and delete button
+            HBox headerBox = new HBox(10);
+            headerBox.setAlignment(Pos.CENTER_LEFT);
+            
+            nameText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+            nameText.setFill(PRIMARY_COLOR);
+            
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            
+            Button deleteButton = new Button("×");
+            deleteButton.setStyle(deleteButtonStyle(SECONDARY_COLOR));
+            
+            // Add hover effect to delete button
+            deleteButton.setOnMouseEntered(e -> deleteButton.setStyle(deleteButtonStyle(SECONDARY_COLOR.darker())));
+            deleteButton.setOnMouseExited(e -> deleteButton.setStyle(deleteButtonStyle(SECONDARY_COLOR)));
+            
+            headerBox.getChildren().addAll(nameText, spacer, deleteButton);
+            
+            // GPA display with circle indicator
+            HBox gpaBox = new HBox(15);
+            gpaBox.setAlignment(Pos.CENTER_LEFT);
+            gpaBox.setPadding(new Insets(10, 0, 10, 0));
+            
+            // Create GPA circle with inner glow effect
+            StackPane gpaCircle = new StackPane();
+            innerGlow.setRadius(10);
+            innerGlow.setOffsetX(0);
+            innerGlow.setOffsetY(0);
+            circle.setEffect(innerGlow);
+            
+            // GPA text inside circle
+            gpaText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+            gpaText.setFill(Color.WHITE);
+            
+            gpaCircle.getChildren().addAll(circle, gpaText);
+            
+            // GPA information
+            VBox gpaInfoBox = new VBox(2);
+            
+            Label gpaLabel = new Label("GPA");
+            gpaLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            gpaLabel.setTextFill(Color.rgb(100, 100, 100));
+            
+            gpaValueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+            
+            gpaInfoBox.getChildren().addAll(gpaLabel, gpaValueLabel);
+            
+            // Add divider for subjects
+            Region divider = new Region();
+            divider.setPrefHeight(1);
+            divider.setStyle("-fx-background-color: #e0e0e0;");
+            
+            gpaBox.getChildren().addAll(gpaCircle, gpaInfoBox);
+            
+            // Subject count
+            subjectsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+            subjectsLabel.setTextFill(Color.rgb(100, 100, 100));
+            
+            // Button to view details
+            Button viewButton = createStyledButton("View Details", PRIMARY_COLOR);
+            viewButton.setTextFill(Color.WHITE);
+            viewButton.setPrefWidth(240);
+            
+            // Spacer to push the button to the bottom
+            Region verticalSpacer = new Region();
+            VBox.setVgrow(verticalSpacer, Priority.ALWAYS);
+            
+            cardContent.getChildren().addAll(headerBox, gpaBox, divider, subjectsLabel, verticalSpacer, viewButton);
+            
+            // Handlers act on whichever semester the card currently shows
+            viewButton.setOnAction(e -> openSemester(semester));
+            deleteButton.setOnAction(e -> showDeleteSemesterConfirmation(semester));
+            
+            cardContainer.getChildren().addAll(cardBg, cardContent);
+        }
+        
+        @Override
+        public Node getNode() {
+            return cardContainer;
+        }
+        
+        /**
+         * Show a semester and its GPA from the loaded data
+         * 
+         * @param semester The semester
+         */
+        @Override
+        public void update(Semester semester) {
+            this.semester = semester;
+            double semesterGPA = semesterGpas.getOrDefault(semester.getId(), 0.0);
+            
+            nameText.setText(semester.getName());
+            
+            // Color the circle based on GPA value
+            Color circleColor;
+            if (semesterGPA >= 3.7) {
+                circleColor = ACCENT_COLOR; // Green for A/A+
+            } else if (semesterGPA >= 3.0) {
+                circleColor = Color.rgb(66, 133, 244); // Blue for B
+            } else if (semesterGPA >= 2.0) {
+                circleColor = Color.rgb(251, 188, 5); // Yellow for C
+            } else {
+                circleColor = SECONDARY_COLOR; // Red for D/F
+            }
+            
+            circle.setFill(circleColor);
+            innerGlow.setColor(circleColor.deriveColor(0, 1.2, 1, 0.3));
+            gpaText.setText(String.format("%.1f", semesterGPA));
+            gpaValueLabel.setText(String.format("%.2f", semesterGPA));
+            gpaValueLabel.setTextFill(circleColor);
+            subjectsLabel.setText(String.format("Subjects: %d", semester.getSubjects().size()));
+        }
+    }
+    
+    private String deleteButtonStyle(Color color) {
+        return "-fx-background-color: " + toRgbString(color) + "; " +
+               "-fx-text-fill: white; " +
+               "-fx-font-weight: bold; " +
+               "-fx-font-size: 14px; " +
+               "-fx-min-width: 24px; " +
+               "-fx-min-height: 24px; " +
+               "-fx-max-width: 24px; " +
+               "-fx-max-height: 24px; " +
+               "-fx-padding: 0; " +
+               "-fx-background-radius: 12;";
+    }
+}
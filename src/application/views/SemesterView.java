@@ -4,9 +4,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.control.ScrollPane;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,11 +19,11 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Separator;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TextField;
-import javafx.scene.control.CheckBox;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
@@ -41,22 +45,63 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.control.ButtonBar;
 import javafx.stage.Screen;
+import javafx.util.StringConverter;
 
 import application.controllers.SemesterController;
+import application.metrics.Histogram;
+import application.metrics.MetricsRegistry;
 import application.models.Assessment;
 import application.models.AssessmentType;
 import application.models.Semester;
 import application.models.Subject;
+import application.utils.AssessmentTypeReweightedEvent;
+import application.utils.AsyncExecutor;
+import application.utils.CachedView;
+import application.utils.CanvasChart;
+import application.utils.DataChangedEvent;
+import application.utils.EventBus;
+import application.utils.GradeBatchChangedEvent;
+import application.utils.GradeChangedEvent;
+import application.utils.GradeTable;
+import application.utils.GraphUtility.PrerequisiteGraph;
+import application.utils.SemesterRefreshedEvent;
+import application.utils.SemesterRenamedEvent;
+import application.utils.SubjectAddedEvent;
+import application.utils.SubjectRemovedEvent;
+import application.utils.VirtualCardGrid;
 
 /**
  * View class for the semester details screen with enhanced styling
  */
-public class SemesterView {
+public class SemesterView implements CachedView {
+    private static final Histogram constructionTime =
+        MetricsRegistry.getInstance().histogram("view.SemesterView.construct");
+    private static final Histogram initializationTime =
+        MetricsRegistry.getInstance().histogram("view.SemesterView.initialize");
+    
     // Original fields - unchanged
     private BorderPane mainLayout;
     private SemesterController controller;
     private Semester semester;
     private TabPane tabPane;
+    private Label headerLabel;
+    private Label gpaLabel;
+    private EventBus.SubscriptionScope eventSubscriptions;
+    
+    // Subjects shown on the dashboard; the grid's cards are bound to these
+    private final Map<Integer, Subject> loadedSubjects = new LinkedHashMap<>();
+    private VirtualCardGrid<Subject> subjectGrid;
+    
+    // Subjects being reloaded, and those changed again while their reload was running
+    private final Set<Integer> reloadingSubjects = new HashSet<>();
+    private final Set<Integer> staleSubjects = new HashSet<>();
+    
+    // Aggregate tabs are rebuilt when next shown rather than on every change
+    private boolean transcriptStale;
+    private boolean performanceStale;
+    
+    // Subjects are loaded in the background; until then the tabs show placeholders
+    private boolean dataLoaded;
     
     // Define color constants for consistent styling across the application
     private static final Color PRIMARY_COLOR = Color.rgb(0, 59, 111); // Northeastern Blue
@@ -68,33 +113,39 @@ public class SemesterView {
     private final double screenWidth = Screen.getPrimary().getVisualBounds().getWidth();
     private final double screenHeight = Screen.getPrimary().getVisualBounds().getHeight();
     
+    /**
+     * Get the key of a semester's view in the navigator's view cache
+     * 
+     * @param semesterId The semester ID
+     * @return The cache key
+     */
+    public static String cacheKey(int semesterId) {
+        return "semester:" + semesterId;
+    }
+    
     /**
      * Constructor
      * 
      * @param semester The semester to display
      */
     public SemesterView(Semester semester) {
+        long start = System.nanoTime();
         try {
         	
             this.semester = semester;
             this.controller = new SemesterController(semester);
            
-            // Force refresh the semester data from the database
-            controller.refreshSemester();
-            
-            // Get the refreshed semester object
-            this.semester = controller.getSemester();
-            
+            // Subjects and grades are loaded in the background once the layout exists
             System.out.println("SemesterView: Initialized with semester ID " + semester.getId());
             System.out.println("  Semester name: " + semester.getName());
-            System.out.println("  Number of subjects: " + semester.getSubjects().size());
-            System.out.println("  GPA: " + semester.calculateGPA());
             
             initialize();
         } catch (Exception e) {
             e.printStackTrace();
             // We can't show an alert here because we don't have a UI yet
             System.err.println("Error initializing SemesterView: " + e.getMessage());
+        } finally {
+            constructionTime.recordSince(start);
         }
     }
     
@@ -103,19 +154,12 @@ public class SemesterView {
      */
 
     private void initialize() {
+        long start = System.nanoTime();
         try {
             System.out.println("\n===== INITIALIZING SEMESTER VIEW =====");
             
-            // First, refresh semester data to ensure we have the latest
-            controller.refreshSemester();
-            semester = controller.getSemester();
-            
             System.out.println("Working with semester: " + semester.getName() + ", ID: " + semester.getId());
-            System.out.println("Subject count: " + semester.getSubjects().size());
-            
-            // Print current GPA
-            double semesterGpa = semester.calculateGPA();
-            System.out.println("Current semester GPA: " + semesterGpa);
+            dataLoaded = false;
             
             // Create a completely new layout (discard the old one)
             mainLayout = new BorderPane();
@@ -128,23 +172,14 @@ public class SemesterView {
             mainLayout.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
             
             // Create header with enhanced styling
-            Label headerLabel = new Label(semester.getName());
+            headerLabel = new Label(semester.getName());
             headerLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
             headerLabel.setTextFill(PRIMARY_COLOR);
             
-            // Create a GPA label with color based on value
-            Label gpaLabel = new Label(String.format("GPA: %.2f", semesterGpa));
+            // Create a GPA label; its value and color are set once the subjects are loaded
+            gpaLabel = new Label("GPA: --");
             gpaLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-            
-            if (semesterGpa >= 3.7) {
-                gpaLabel.setTextFill(ACCENT_COLOR); // Green for A/A+
-            } else if (semesterGpa >= 3.0) {
-                gpaLabel.setTextFill(Color.rgb(66, 133, 244)); // Blue for B
-            } else if (semesterGpa >= 2.0) {
-                gpaLabel.setTextFill(Color.rgb(251, 188, 5)); // Yellow for C
-            } else {
-                gpaLabel.setTextFill(SECONDARY_COLOR); // Red for D/F
-            }
+            gpaLabel.setTextFill(Color.rgb(100, 100, 120));
             
             HBox headerBox = new HBox(20);
             headerBox.setAlignment(Pos.CENTER_LEFT);
@@ -213,11 +248,12 @@ public class SemesterView {
             // Add ScrollPane for dashboardContent to enable scrolling
             ScrollPane dashboardScrollPane = new ScrollPane();
             dashboardScrollPane.setFitToWidth(true);
+            dashboardScrollPane.setFitToHeight(true); // The subject grid scrolls itself
             dashboardScrollPane.setPrefWidth(screenWidth - 60);
             dashboardScrollPane.setStyle("-fx-background-color: transparent;");
             
-            // Create dashboard content
-            VBox dashboardContent = createDashboardContent();
+            // Show a placeholder until the subjects are loaded
+            VBox dashboardContent = createLoadingContent("Loading subjects...");
             
             // Set the content to the scroll pane
             dashboardScrollPane.setContent(dashboardContent);
@@ -233,8 +269,8 @@ public class SemesterView {
             transcriptScrollPane.setPrefWidth(screenWidth - 60);
             transcriptScrollPane.setStyle("-fx-background-color: transparent;");
             
-            // Create transcript content
-            VBox transcriptContent = createTranscriptContent();
+            // Built from the loaded subjects when the tab is first shown
+            VBox transcriptContent = createLoadingContent("Loading transcript...");
             
             // Set the content to the scroll pane
             transcriptScrollPane.setContent(transcriptContent);
@@ -250,14 +286,18 @@ public class SemesterView {
             performanceScrollPane.setPrefWidth(screenWidth - 60);
             performanceScrollPane.setStyle("-fx-background-color: transparent;");
             
-            // Create performance content
-            VBox performanceContent = createPerformanceContent();
+            // Built from the loaded subjects when the tab is first shown
+            VBox performanceContent = createLoadingContent("Loading performance...");
             
             // Set the content to the scroll pane
             performanceScrollPane.setContent(performanceContent);
             performanceTab.setContent(performanceScrollPane);
             
             tabPane.getTabs().addAll(dashboardTab, transcriptTab, performanceTab);
+            transcriptStale = true;
+            performanceStale = true;
+            tabPane.getSelectionModel().selectedIndexProperty().addListener(
+                (obs, oldIndex, newIndex) -> refreshStaleTab(newIndex.intValue()));
             
             // Create a container for the tab pane with shadow
             StackPane tabContainer = new StackPane();
@@ -279,370 +319,558 @@ public class SemesterView {
             addSubjectButton.setOnAction(e -> showAddSubjectDialog());
             analyticsButton.setOnAction(e -> controller.navigateToAnalytics());
             
-            // Register for data change events - unchanged
-            application.utils.EventBus.getInstance().register(
-                application.utils.DataChangedEvent.class,
-                event -> javafx.application.Platform.runLater(() -> {
-                    System.out.println("DataChangedEvent received in SemesterView - refreshing view");
-                    // Full refresh of the view
-                    try {
-                        // Refresh semester data
-                        controller.refreshSemester();
-                        semester = controller.getSemester();
-                        
-                        // Completely rebuild tabs with fresh data
-                        Tab currentTab = tabPane.getSelectionModel().getSelectedItem();
-                        int selectedIndex = tabPane.getSelectionModel().getSelectedIndex();
-                        
-                        // Update dashboard tab with scrolling
-                        VBox newDashboardContent = createDashboardContent();
-                        ScrollPane newDashboardScrollPane = (ScrollPane) tabPane.getTabs().get(0).getContent();
-                        newDashboardScrollPane.setContent(newDashboardContent);
-                        
-                        // Update transcript tab with scrolling
-                        VBox newTranscriptContent = createTranscriptContent();
-                        ScrollPane newTranscriptScrollPane = (ScrollPane) tabPane.getTabs().get(1).getContent();
-                        newTranscriptScrollPane.setContent(newTranscriptContent);
-                        
-                        // Update performance tab with scrolling
-                        VBox newPerformanceContent = createPerformanceContent();
-                        ScrollPane newPerformanceScrollPane = (ScrollPane) tabPane.getTabs().get(2).getContent();
-                        newPerformanceScrollPane.setContent(newPerformanceContent);
-                        
-                        // Re-select the previously selected tab
-                        tabPane.getSelectionModel().select(selectedIndex);
-                        
-                        // Update GPA in header
-                        gpaLabel.setText(String.format("GPA: %.2f", semester.calculateGPA()));
-                        
-                        // Update color based on new GPA
-                        double updatedGpa = semester.calculateGPA();
-                        if (updatedGpa >= 3.7) {
-                            gpaLabel.setTextFill(ACCENT_COLOR);
-                        } else if (updatedGpa >= 3.0) {
-                            gpaLabel.setTextFill(Color.rgb(66, 133, 244));
-                        } else if (updatedGpa >= 2.0) {
-                            gpaLabel.setTextFill(Color.rgb(251, 188, 5));
-                        } else {
-                            gpaLabel.setTextFill(SECONDARY_COLOR);
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error refreshing tabs: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                })
-            );
+            registerEventListeners();
+            
+            // Load subjects and grades off the JavaFX thread; the result arrives
+            // as a SemesterRefreshedEvent
+            controller.refreshEverything();
             
             System.out.println("===== SEMESTER VIEW INITIALIZATION COMPLETE =====\n");
         } catch (Exception e) {
             System.err.println("Error initializing view: " + e.getMessage());
             e.printStackTrace();
             showErrorAlert("Error", "Failed to initialize view: " + e.getMessage());
+        } finally {
+            initializationTime.recordSince(start);
         }
     }
     /**
-     * Create content for the dashboard tab with fresh data
+     * Create content for the dashboard tab from the semester's loaded subjects
      * Enhanced styling only, functionality unchanged
      * 
      * @return The dashboard content
      */
     private VBox createDashboardContent() {
-        System.out.println("\n===== CREATING DASHBOARD TAB WITH FRESH DATA =====");
+        loadedSubjects.clear();
+        for (Subject subject : semester.getSubjects()) {
+            loadedSubjects.put(subject.getId(), subject);
+        }
+        
+        return renderDashboardContent();
+    }
+    
+    /**
+     * Build the dashboard from the subjects in loadedSubjects
+     * Subjects are shown in a virtualized grid, so only visible cards are created
+     * 
+     * @return The dashboard content
+     */
+    private VBox renderDashboardContent() {
+        System.out.println("Dashboard: Rendering " + loadedSubjects.size() + " subjects for semester ID " + semester.getId());
         
         VBox content = new VBox(20);
         content.setPadding(new Insets(20));
         content.setPrefWidth(screenWidth - 60); // Maximize width
         
-        try {
-            // Ensure we have fresh data - unchanged
-            controller.refreshSemester();
-            semester = controller.getSemester();
+        if (loadedSubjects.isEmpty()) {
+            subjectGrid = null;
             
-            List<Subject> subjects = semester.getSubjects();
-            System.out.println("Dashboard: Found " + subjects.size() + " subjects for semester ID " + semester.getId());
+            // Style the empty state message
+            StackPane emptyPane = new StackPane();
+            emptyPane.setPadding(new Insets(40));
+            emptyPane.setStyle(
+                "-fx-background-color: #f8f8ff; " +
+                "-fx-border-color: #e0e0e0; " +
+                "-fx-border-radius: 10; " +
+                "-fx-background-radius: 10;"
+            );
             
-            if (subjects.isEmpty()) {
-                // Style the empty state message
-                StackPane emptyPane = new StackPane();
-                emptyPane.setPadding(new Insets(40));
-                emptyPane.setStyle(
-                    "-fx-background-color: #f8f8ff; " +
-                    "-fx-border-color: #e0e0e0; " +
-                    "-fx-border-radius: 10; " +
-                    "-fx-background-radius: 10;"
-                );
-                
-                Label noSubjectsLabel = new Label("No subjects added yet. Click 'Add Subject' to get started.");
-                noSubjectsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                noSubjectsLabel.setTextFill(Color.rgb(100, 100, 120));
-                
-                emptyPane.getChildren().add(noSubjectsLabel);
-                content.getChildren().add(emptyPane);
-            } else {
-                // For each subject, get fresh data and recalculate values - unchanged
-                for (Subject subject : subjects) {
-                    System.out.println("Dashboard: Processing subject ID " + subject.getId() + ": " + subject.getName());
-                    
-                    // Get fresh data for this subject
-                    Subject refreshedSubject = controller.refreshSubjectData(subject.getId());
-                    if (refreshedSubject != null) {
-                        // Replace with the fresh data
-                        subject = refreshedSubject;
-                    } else {
-                        System.out.println("Warning: Could not refresh subject data for ID " + subject.getId());
-                    }
-                    
-                    // Create card with the fresh data and enhanced styling
-                    VBox subjectCard = createEnhancedSubjectCard(subject);
-                    content.getChildren().add(subjectCard);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error creating dashboard content: " + e.getMessage());
-            e.printStackTrace();
+            Label noSubjectsLabel = new Label("No subjects added yet. Click 'Add Subject' to get started.");
+            noSubjectsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+            noSubjectsLabel.setTextFill(Color.rgb(100, 100, 120));
             
-            Label errorLabel = new Label("Error loading subjects: " + e.getMessage());
-            errorLabel.setTextFill(SECONDARY_COLOR);
-            content.getChildren().add(errorLabel);
+            emptyPane.getChildren().add(noSubjectsLabel);
+            content.getChildren().add(emptyPane);
+        } else {
+            // One full-width card per row
+            subjectGrid = new VirtualCardGrid<>(0, 0, 20, SubjectCard::new);
+            subjectGrid.setCards(new ArrayList<>(loadedSubjects.values()));
+            VBox.setVgrow(subjectGrid, Priority.ALWAYS);
+            content.getChildren().add(subjectGrid);
         }
         
-        System.out.println("===== DASHBOARD TAB CREATION COMPLETE =====\n");
         return content;
     }
-      
-    /**
-     * Update the dashboard tab with fresh data
-     * Called after adding a new subject
-     */
-    private void updateDashboardTab() {
-        try {
-            System.out.println("\n===== UPDATING DASHBOARD TAB DIRECTLY =====");
-            
-            // Refresh semester data
-            controller.refreshSemester();
-            semester = controller.getSemester();
-            
-            System.out.println("Semester: " + semester.getName() + ", ID: " + semester.getId());
-            System.out.println("Subject count: " + semester.getSubjects().size());
-            
-            // Calculate semester GPA
-            double semesterGPA = semester.calculateGPA();
-            System.out.println("Semester GPA: " + semesterGPA);
-            
-            // Update the GPA label in the header
-            VBox headerContainer = (VBox) mainLayout.getTop();
-            HBox headerBox = (HBox) headerContainer.getChildren().get(0);
-            VBox titleBox = (VBox) headerBox.getChildren().get(0);
-            Label gpaLabel = (Label) titleBox.getChildren().get(1);
-            
-            gpaLabel.setText(String.format("GPA: %.2f", semesterGPA));
-            
-            // Update color based on GPA
-            if (semesterGPA >= 3.7) {
-                gpaLabel.setTextFill(ACCENT_COLOR);
-            } else if (semesterGPA >= 3.0) {
-                gpaLabel.setTextFill(Color.rgb(66, 133, 244));
-            } else if (semesterGPA >= 2.0) {
-                gpaLabel.setTextFill(Color.rgb(251, 188, 5));
-            } else {
-                gpaLabel.setTextFill(SECONDARY_COLOR);
-            }
-            
-            System.out.println("Updated header GPA label to: " + semesterGPA);
-            
-            // Refresh the dashboard tab content with scrolling
-            Tab dashboardTab = tabPane.getTabs().get(0);
-            
-            // Get the current scroll pane
-            ScrollPane scrollPane = (ScrollPane) dashboardTab.getContent();
-            
-            // Create new dashboard content
-            VBox newContent = createDashboardContent();
-            
-            // Update the scroll pane content
-            scrollPane.setContent(newContent);
-            
-            System.out.println("===== DASHBOARD TAB UPDATE COMPLETE =====\n");
-        } catch (Exception e) {
-            System.err.println("Error updating dashboard tab: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     
     /**
-     * Create a visual card for a subject with fresh calculations and enhanced styling
+     * Create a placeholder shown while data is loaded in the background
      * 
-     * @param subject The subject
-     * @return The VBox representing the subject card
+     * @param message The message to show
+     * @return The placeholder content
      */
-    private VBox createEnhancedSubjectCard(Subject subject) {
-        System.out.println("Creating card for subject: " + subject.getName() + ", ID: " + subject.getId());
-        
-        // Force recalculation of values - unchanged
-        double percentage = subject.calculateOverallPercentage();
-        String letterGrade = subject.calculateLetterGrade();
-        double gpa = subject.calculateGPA();
-        
-        System.out.println("  Current values - Percentage: " + percentage + 
-                         ", Grade: " + letterGrade + 
-                         ", GPA: " + gpa);
-        
-        // Create enhanced card
-        VBox card = new VBox(15);
-        card.setPadding(new Insets(20));
-        card.setPrefWidth(screenWidth - 100); // Set preferred width to maximize
-        card.setStyle(
-            "-fx-background-color: white; " +
-            "-fx-border-color: #e0e0e0; " +
-            "-fx-border-radius: 10; " +
-            "-fx-background-radius: 10;"
-        );
-        
-        // Add shadow to card
-        DropShadow cardShadow = new DropShadow();
-        cardShadow.setRadius(8);
-        cardShadow.setColor(Color.rgb(0, 0, 0, 0.15));
-        cardShadow.setOffsetY(3);
-        card.setEffect(cardShadow);
+    private VBox createLoadingContent(String message) {
+        VBox content = new VBox(15);
+        content.setPadding(new Insets(40));
+        content.setAlignment(Pos.CENTER);
+        content.setPrefWidth(screenWidth - 60);
         
-        // Header with subject name and delete button
-        HBox headerBox = new HBox(10);
-        headerBox.setAlignment(Pos.CENTER_LEFT);
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setMaxSize(40, 40);
         
-        Label nameLabel = new Label(subject.getName());
-        nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        nameLabel.setTextFill(PRIMARY_COLOR);
+        Label loadingLabel = new Label(message);
+        loadingLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        loadingLabel.setTextFill(Color.rgb(100, 100, 120));
         
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        // Enhanced delete button
-        Button deleteButton = new Button("×");
-        deleteButton.setStyle(
-            "-fx-background-color: " + toRgbString(SECONDARY_COLOR) + "; " +
-            "-fx-text-fill: white; " +
-            "-fx-font-weight: bold; " +
-            "-fx-font-size: 14px; " +
-            "-fx-min-width: 28px; " +
-            "-fx-min-height: 28px; " +
-            "-fx-max-width: 28px; " +
-            "-fx-max-height: 28px; " +
-            "-fx-padding: 0; " +
-            "-fx-background-radius: 14;"
-        );
-        
-        headerBox.getChildren().addAll(nameLabel, spacer, deleteButton);
-        
-        // Grade info with enhanced styling
-        HBox gradeBox = new HBox(15);
-        gradeBox.setAlignment(Pos.CENTER_LEFT);
-        
-        // Create grade circle indicator
-        StackPane gradeCircle = new StackPane();
-        Circle circle = new Circle(24);
-        
-        // Color the circle based on grade
-        Color circleColor;
-        if (gpa >= 3.7) {
-            circleColor = ACCENT_COLOR;
-        } else if (gpa >= 3.0) {
-            circleColor = Color.rgb(66, 133, 244);
-        } else if (gpa >= 2.0) {
-            circleColor = Color.rgb(251, 188, 5);
-        } else {
-            circleColor = SECONDARY_COLOR;
+        content.getChildren().addAll(progressIndicator, loadingLabel);
+        return content;
+    }
+      
+    /**
+     * Register for change events on the FX thread, replacing any previous
+     * registrations of this view (initialize() also runs on refresh)
+     */
+    private void registerEventListeners() {
+        if (eventSubscriptions != null) {
+            eventSubscriptions.close();
         }
+        eventSubscriptions = new EventBus.SubscriptionScope();
         
-        circle.setFill(circleColor);
-        
-        // Grade letter inside circle
-        Label letterLabel = new Label(letterGrade);
-        letterLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        letterLabel.setTextFill(Color.WHITE);
+        EventBus eventBus = EventBus.getInstance();
+        EventBus.DispatchMode fxThread = EventBus.DispatchMode.FX_THREAD;
         
-        gradeCircle.getChildren().addAll(circle, letterLabel);
+        // Unspecified changes still rebuild everything
+        eventSubscriptions.add(eventBus.registerWeak(DataChangedEvent.class, event -> {
+            System.out.println("DataChangedEvent received in SemesterView - refreshing view");
+            controller.refreshEverything();
+        }, fxThread));
         
-        // Styled grade label
-        Label gradeLabel = new Label(String.format("%.1f%% | GPA: %.1f", percentage, gpa));
-        gradeLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-        gradeLabel.setTextFill(PRIMARY_COLOR);
+        // A completed background refresh carries the loaded semester
+        eventSubscriptions.add(eventBus.registerWeak(SemesterRefreshedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                showRefreshedSemester(event.getSemester());
+            }
+        }, fxThread));
         
-        gradeBox.getChildren().addAll(gradeCircle, gradeLabel);
+        // Grade changes carry their new values, so they are applied without reloading
+        eventSubscriptions.add(eventBus.registerWeak(GradeChangedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                applyGradeChanges(event.getSubjectId(), List.of(event));
+            }
+        }, fxThread));
         
-        // Styled separator
-        Separator separator = new Separator();
-        separator.setStyle("-fx-background-color: #e0e0e0;");
+        eventSubscriptions.add(eventBus.registerWeak(GradeBatchChangedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                applyGradeChanges(event.getSubjectId(), event.getChanges());
+            }
+        }, fxThread));
         
-        // Progress section - keep original implementation with enhanced styling
-        VBox progressBox = new VBox(12);
+        eventSubscriptions.add(eventBus.registerWeak(AssessmentTypeReweightedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                updateSubjectCard(event.getSubjectId());
+            }
+        }, fxThread));
         
-        // Goal section
-        HBox goalBox = new HBox(10);
-        goalBox.setAlignment(Pos.CENTER_LEFT);
+        eventSubscriptions.add(eventBus.registerWeak(SubjectAddedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                addSubjectCard(event.getSubjectId());
+            }
+        }, fxThread));
         
-        Label goalLabel = new Label("Goal:");
-        goalLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        goalLabel.setTextFill(PRIMARY_COLOR);
+        eventSubscriptions.add(eventBus.registerWeak(SubjectRemovedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                removeSubjectCard(event.getSubjectId());
+            }
+        }, fxThread));
         
-        TextField goalField = new TextField(String.valueOf(subject.getGoalPercentage()));
-        goalField.setPrefWidth(80);
-        styleTextField(goalField);
+        eventSubscriptions.add(eventBus.registerWeak(SemesterRenamedEvent.class, event -> {
+            if (event.getSemesterId() == semester.getId()) {
+                semester.setName(event.getNewName());
+                headerLabel.setText(event.getNewName());
+            }
+        }, fxThread));
+    }
+    
+    /**
+     * Show a semester reloaded in the background, without further database access
+     * 
+     * @param refreshedSemester The semester with loaded subjects
+     */
+    private void showRefreshedSemester(Semester refreshedSemester) {
+        semester = refreshedSemester;
+        dataLoaded = true;
         
-        Button calculateButton = createStyledButton("Calculate Required Scores", ACCENT_COLOR);
-        calculateButton.setTextFill(Color.WHITE);
-        calculateButton.setPrefWidth(200);
-        addButtonShadow(calculateButton);
+        ScrollPane dashboardScrollPane = (ScrollPane) tabPane.getTabs().get(0).getContent();
+        dashboardScrollPane.setContent(createDashboardContent());
         
-        goalBox.getChildren().addAll(goalLabel, goalField, calculateButton);
+        updateGpaLabel();
+        markAggregateTabsStale();
+    }
+    
+    /**
+     * Apply saved grade changes to the displayed subject and update its card
+     * Falls back to reloading the subject if an assessment is not in memory
+     * 
+     * @param subjectId The ID of the changed subject
+     * @param changes The changes to apply
+     */
+    private void applyGradeChanges(int subjectId, List<GradeChangedEvent> changes) {
+        if (!dataLoaded) {
+            // The pending initial load already includes this change
+            return;
+        }
         
-        // Required scores section - use VBox instead of single label
-        VBox requiredScoresBox = new VBox(8);
-        requiredScoresBox.setPadding(new Insets(12));
-        requiredScoresBox.setStyle(
-            "-fx-background-color: #f8f8ff; " +
-            "-fx-border-color: #e0e0e0; " +
-            "-fx-border-radius: 8; " +
-            "-fx-background-radius: 8;"
-        );
+        Subject subject = loadedSubjects.get(subjectId);
+        boolean applied = subject != null && !reloadingSubjects.contains(subjectId);
+        for (int i = 0; applied && i < changes.size(); i++) {
+            applied = changes.get(i).applyTo(subject);
+        }
         
-        Label requiredScoresHeaderLabel = new Label("Required Scores for Remaining Assessments:");
-        requiredScoresHeaderLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        requiredScoresHeaderLabel.setTextFill(PRIMARY_COLOR);
-        requiredScoresBox.getChildren().add(requiredScoresHeaderLabel);
+        if (applied) {
+            showUpdatedSubject(subject);
+        } else {
+            updateSubjectCard(subjectId);
+        }
+    }
+    
+    /**
+     * Reload one subject in the background and update only its dashboard card
+     * Changes arriving while the subject is being reloaded cause one more reload, not one each
+     * 
+     * @param subjectId The ID of the changed subject
+     */
+    private void updateSubjectCard(int subjectId) {
+        if (!dataLoaded) {
+            // The pending initial load already includes this change
+            return;
+        }
         
-        // Add this initially - will be updated when Calculate button is clicked
-        Label initialMessageLabel = new Label("Enter a goal percentage and click Calculate.");
-        initialMessageLabel.setStyle("-fx-font-style: italic;");
-        initialMessageLabel.setTextFill(Color.rgb(120, 120, 120));
-        requiredScoresBox.getChildren().add(initialMessageLabel);
+        if (!reloadingSubjects.add(subjectId)) {
+            staleSubjects.add(subjectId);
+            return;
+        }
         
-        progressBox.getChildren().addAll(goalBox, requiredScoresBox);
+        controller.getSubjectAsync(subjectId)
+            .thenAcceptAsync(refreshedSubject -> {
+                if (refreshedSubject != null) {
+                    showUpdatedSubject(refreshedSubject);
+                }
+            }, AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                System.err.println("Error reloading subject " + subjectId + ": " + cause.getMessage());
+                cause.printStackTrace();
+                return null;
+            })
+            .thenRunAsync(() -> {
+                reloadingSubjects.remove(subjectId);
+                if (staleSubjects.remove(subjectId)) {
+                    updateSubjectCard(subjectId);
+                }
+            }, AsyncExecutor.fxThread());
+    }
+    
+    /**
+     * Show a reloaded subject, updating its card in place or appending a new one
+     * 
+     * @param refreshedSubject The subject with fresh assessment data
+     */
+    private void showUpdatedSubject(Subject refreshedSubject) {
+        loadedSubjects.put(refreshedSubject.getId(), refreshedSubject);
+        replaceSubjectInSemester(refreshedSubject);
+        showSubjectCards();
         
-        // Button actions with enhanced styling
-        HBox buttonBox = new HBox(20);
-        buttonBox.setAlignment(Pos.CENTER);
-        buttonBox.setPadding(new Insets(5, 0, 0, 0));
+        updateGpaLabel();
+        markAggregateTabsStale();
+    }
+    
+    /**
+     * Bind the dashboard grid to loadedSubjects, replacing the empty state message if needed
+     */
+    private void showSubjectCards() {
+        if (subjectGrid == null || loadedSubjects.isEmpty()) {
+            ((ScrollPane) tabPane.getTabs().get(0).getContent()).setContent(renderDashboardContent());
+        } else {
+            subjectGrid.setCards(new ArrayList<>(loadedSubjects.values()));
+        }
+    }
+    
+    /**
+     * Load a newly added subject and append its card
+     * 
+     * @param subjectId The ID of the added subject
+     */
+    private void addSubjectCard(int subjectId) {
+        updateSubjectCard(subjectId);
+    }
+    
+    /**
+     * Remove the card of a deleted subject
+     * 
+     * @param subjectId The ID of the removed subject
+     */
+    private void removeSubjectCard(int subjectId) {
+        if (!dataLoaded) {
+            return;
+        }
         
-        Button editButton = createStyledButton("Edit Weightages", PRIMARY_COLOR);
-        editButton.setTextFill(Color.WHITE);
-        editButton.setPrefWidth(180);
-        addButtonShadow(editButton);
+        loadedSubjects.remove(subjectId);
+        semester.getSubjects().removeIf(subject -> subject.getId() == subjectId);
+        showSubjectCards();
         
-        Button inputGradesButton = createStyledButton("Input Grades", PRIMARY_COLOR);
-        inputGradesButton.setTextFill(Color.WHITE);
-        inputGradesButton.setPrefWidth(180);
-        addButtonShadow(inputGradesButton);
+        updateGpaLabel();
+        markAggregateTabsStale();
+    }
+    
+    private void replaceSubjectInSemester(Subject subject) {
+        List<Subject> subjects = semester.getSubjects();
+        for (int i = 0; i < subjects.size(); i++) {
+            if (subjects.get(i).getId() == subject.getId()) {
+                subjects.set(i, subject);
+                return;
+            }
+        }
+        subjects.add(subject);
+    }
+    
+    /**
+     * Update the header GPA from the subjects already loaded by the dashboard
+     */
+    private void updateGpaLabel() {
+        double semesterGpa = Semester.calculateGPA(loadedSubjects.values());
+        gpaLabel.setText(String.format("GPA: %.2f", semesterGpa));
+        
+        // Update color based on GPA
+        if (semesterGpa >= 3.7) {
+            gpaLabel.setTextFill(ACCENT_COLOR);
+        } else if (semesterGpa >= 3.0) {
+            gpaLabel.setTextFill(Color.rgb(66, 133, 244));
+        } else if (semesterGpa >= 2.0) {
+            gpaLabel.setTextFill(Color.rgb(251, 188, 5));
+        } else {
+            gpaLabel.setTextFill(SECONDARY_COLOR);
+        }
+    }
+    
+    /**
+     * Mark the transcript and performance tabs as outdated
+     * The visible one is rebuilt immediately, the other when it is next selected
+     */
+    private void markAggregateTabsStale() {
+        transcriptStale = true;
+        performanceStale = true;
+        refreshStaleTab(tabPane.getSelectionModel().getSelectedIndex());
+    }
+    
+    /**
+     * Rebuild a tab if it is outdated
+     * 
+     * @param tabIndex The tab index
+     */
+    private void refreshStaleTab(int tabIndex) {
+        if (!dataLoaded) {
+            return;
+        }
         
-        buttonBox.getChildren().addAll(editButton, inputGradesButton);
+        if (tabIndex == 1 && transcriptStale) {
+            ((ScrollPane) tabPane.getTabs().get(1).getContent()).setContent(createTranscriptContent());
+            transcriptStale = false;
+        } else if (tabIndex == 2 && performanceStale) {
+            ((ScrollPane) tabPane.getTabs().get(2).getContent()).setContent(createPerformanceContent());
+            performanceStale = false;
+        }
+    }
+    
+    /**
+     * A recyclable subject card for the dashboard grid
+     * The nodes are built once; update() binds the card to a subject
+     */
+    private class SubjectCard implements VirtualCardGrid.Card<Subject> {
+        private final VBox card = new VBox(15);
+        private final Label nameLabel = new Label();
+        private final Circle circle = new Circle(24);
+        private final Label letterLabel = new Label();
+        private final Label gradeLabel = new Label();
+        private final TextField goalField = new TextField();
+        private final VBox requiredScoresBox = new VBox(8);
+        private final Label requiredScoresHeaderLabel = new Label("Required Scores for Remaining Assessments:");
+        private final Label initialMessageLabel = new Label("Enter a goal percentage and click Calculate.");
+        private Subject subject;
+        
+        /**
+         * Create the card's nodes with enhanced styling
+         */
+        public SubjectCard() {
+            card.setPadding(new Insets(20));
+            card.setPrefWidth(screenWidth - 100); // Set preferred width to maximize
+            card.setStyle(
+                "-fx-background-color: white; " +
+                "-fx-border-color: #e0e0e0; " +
+                "-fx-border-radius: 10; " +
+                "-fx-background-radius: 10;"
+            );
+            
+            // Add shadow to card
+            DropShadow cardShadow = new DropShadow();
+            cardShadow.setRadius(8);
+            cardShadow.setColor(Color.rgb(0, 0, 0, 0.15));
+            cardShadow.setOffsetY(3);
+            card.setEffect(cardShadow);
+            
+            // Header with subject name and delete button
+            HBox headerBox = new HBox(10);
+            headerBox.setAlignment(Pos.CENTER_LEFT);
+            
+            nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+            nameLabel.setTextFill(PRIMARY_COLOR);
+            
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            
+            // Enhanced delete button
+            Button deleteButton = new Button("×");
+            deleteButton.setStyle(
+                "-fx-background-color: " + toRgbString(SECONDARY_COLOR) + "; " +
+                "-fx-text-fill: white; " +
+                "-fx-font-weight: bold; " +
+                "-fx-font-size: 14px; " +
+                "-fx-min-width: 28px; " +
+                "-fx-min-height: 28px; " +
+                "-fx-max-width: 28px; " +
+                "-fx-max-height: 28px; " +
+                "-fx-padding: 0; " +
+                "-fx-background-radius: 14;"
+            );
+            
+            headerBox.getChildren().addAll(nameLabel, spacer, deleteButton);
+            
+            // Grade info with enhanced styling
+            HBox gradeBox = new HBox(15);
+            gradeBox.setAlignment(Pos.CENTER_LEFT);
+            
+            // Grade circle indicator with the letter inside
+            StackPane gradeCircle = new StackPane();
+            letterLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+            letterLabel.setTextFill(Color.WHITE);
+            gradeCircle.getChildren().addAll(circle, letterLabel);
+            
+            // Styled grade label
+            gradeLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+            gradeLabel.setTextFill(PRIMARY_COLOR);
+            
+            gradeBox.getChildren().addAll(gradeCircle, gradeLabel);
+            
+            // Styled separator
+            Separator separator = new Separator();
+            separator.setStyle("-fx-background-color: #e0e0e0;");
+            
+            // Progress section
+            VBox progressBox = new VBox(12);
+            
+            // Goal section
+            HBox goalBox = new HBox(10);
+            goalBox.setAlignment(Pos.CENTER_LEFT);
+            
+            Label goalLabel = new Label("Goal:");
+            goalLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            goalLabel.setTextFill(PRIMARY_COLOR);
+            
+            goalField.setPrefWidth(80);
+            styleTextField(goalField);
+            
+            Button calculateButton = createStyledButton("Calculate Required Scores", ACCENT_COLOR);
+            calculateButton.setTextFill(Color.WHITE);
+            calculateButton.setPrefWidth(200);
+            addButtonShadow(calculateButton);
+            
+            goalBox.getChildren().addAll(goalLabel, goalField, calculateButton);
+            
+            // Required scores section
+            requiredScoresBox.setPadding(new Insets(12));
+            requiredScoresBox.setStyle(
+                "-fx-background-color: #f8f8ff; " +
+                "-fx-border-color: #e0e0e0; " +
+                "-fx-border-radius: 8; " +
+                "-fx-background-radius: 8;"
+            );
+            
+            requiredScoresHeaderLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            requiredScoresHeaderLabel.setTextFill(PRIMARY_COLOR);
+            
+            // Shown until the Calculate button is clicked
+            initialMessageLabel.setStyle("-fx-font-style: italic;");
+            initialMessageLabel.setTextFill(Color.rgb(120, 120, 120));
+            requiredScoresBox.getChildren().addAll(requiredScoresHeaderLabel, initialMessageLabel);
+            
+            progressBox.getChildren().addAll(goalBox, requiredScoresBox);
+            
+            // Button actions with enhanced styling
+            HBox buttonBox = new HBox(20);
+            buttonBox.setAlignment(Pos.CENTER);
+            buttonBox.setPadding(new Insets(5, 0, 0, 0));
+            
+            Button editButton = createStyledButton("Edit Weightages", PRIMARY_COLOR);
+            editButton.setTextFill(Color.WHITE);
+            editButton.setPrefWidth(180);
+            addButtonShadow(editButton);
+            
+            Button inputGradesButton = createStyledButton("Input Grades", PRIMARY_COLOR);
+            inputGradesButton.setTextFill(Color.WHITE);
+            inputGradesButton.setPrefWidth(180);
+            addButtonShadow(inputGradesButton);
+            
+            Button prerequisitesButton = createStyledButton("Prerequisites", PRIMARY_COLOR);
+            prerequisitesButton.setTextFill(Color.WHITE);
+            prerequisitesButton.setPrefWidth(180);
+            addButtonShadow(prerequisitesButton);
+            
+            buttonBox.getChildren().addAll(editButton, inputGradesButton, prerequisitesButton);
+            
+            card.getChildren().addAll(headerBox, gradeBox, separator, progressBox, buttonBox);
+            
+            // Handlers act on the subject the card currently shows
+            editButton.setOnAction(e -> showEditWeightagesDialog(subject));
+            inputGradesButton.setOnAction(e -> showInputGradesDialog(subject));
+            prerequisitesButton.setOnAction(e -> showPrerequisitesDialog(subject));
+            calculateButton.setOnAction(e -> showRequiredScores());
+            deleteButton.setOnAction(e -> showDeleteSubjectConfirmation(subject));
+        }
         
-        card.getChildren().addAll(headerBox, gradeBox, separator, progressBox, buttonBox);
+        @Override
+        public Node getNode() {
+            return card;
+        }
         
-        // Set up event handlers - unchanged
-        editButton.setOnAction(e -> showEditWeightagesDialog(subject));
-        inputGradesButton.setOnAction(e -> showInputGradesDialog(subject));
+        /**
+         * Show a subject with fresh calculations
+         * 
+         * @param subject The subject
+         */
+        @Override
+        public void update(Subject subject) {
+            // Calculated results belong to the previous subject
+            if (subject != this.subject) {
+                requiredScoresBox.getChildren().setAll(requiredScoresHeaderLabel, initialMessageLabel);
+            }
+            this.subject = subject;
+            
+            double percentage = subject.calculateOverallPercentage();
+            String letterGrade = subject.calculateLetterGrade();
+            double gpa = subject.calculateGPA();
+            
+            nameLabel.setText(subject.getName());
+            
+            // Color the circle based on grade
+            Color circleColor;
+            if (gpa >= 3.7) {
+                circleColor = ACCENT_COLOR;
+            } else if (gpa >= 3.0) {
+                circleColor = Color.rgb(66, 133, 244);
+            } else if (gpa >= 2.0) {
+                circleColor = Color.rgb(251, 188, 5);
+            } else {
+                circleColor = SECONDARY_COLOR;
+            }
+            circle.setFill(circleColor);
+            
+            letterLabel.setText(letterGrade);
+            gradeLabel.setText(String.format("%.1f%% | GPA: %.1f", percentage, gpa));
+            goalField.setText(String.valueOf(subject.getGoalPercentage()));
+        }
         
-        // Original calculateButton implementation - unchanged
-        calculateButton.setOnAction(e -> {
+        /**
+         * Calculate and list the scores needed on the remaining assessments to reach the goal
+         */
+        private void showRequiredScores() {
             try {
                 // First, clear existing results
                 requiredScoresBox.getChildren().clear();
@@ -662,7 +890,7 @@ public class SemesterView {
                     requiredScoresBox.getChildren().add(unachievableLabel);
                     
                     // Add suggestion for a possible achievable goal if applicable
-                    if (percentage > 0) {
+                    if (subject.calculateOverallPercentage() > 0) {
                         double achievableGoal = subject.calculateMaxPossibleScore();
                         Label suggestionLabel = new Label(String.format(
                             "Maximum possible score with remaining assessments: %.1f%%", achievableGoal));
@@ -724,12 +952,7 @@ public class SemesterView {
                 errorLabel.setStyle("-fx-text-fill: " + toRgbString(SECONDARY_COLOR) + ";");
                 requiredScoresBox.getChildren().add(errorLabel);
             }
-        });
-        
-        // Set up delete button event handler - unchanged
-        deleteButton.setOnAction(e -> showDeleteSubjectConfirmation(subject));
-        
-        return card;
+        }
     }
     
     /**
@@ -779,32 +1002,18 @@ public class SemesterView {
 //                }
 //            }
         	if (buttonType == deleteButton) {
-        	    try {
-        	        // Delete the subject
-        	        controller.deleteSubject(subject.getId());
-        	        
-        	        // Use Platform.runLater() to update the UI components as in add subject
-        	        Platform.runLater(() -> {
-        	            // Update the dashboard tab
-        	            updateDashboardTab();
-        	            
-        	            // Update the transcript tab content
-        	            Tab transcriptTab = tabPane.getTabs().get(1);
-        	            transcriptTab.setContent(createTranscriptContent());
-        	            
-        	            // Update the performance tab if there are at least 2 subjects
-        	            if (semester.getSubjects().size() >= 2) {
-        	                Tab performanceTab = tabPane.getTabs().get(2);
-        	                performanceTab.setContent(createPerformanceContent());
-        	            }
+        	    // Delete the subject in the background
+        	    // The card is removed by the SubjectRemovedEvent handler
+        	    controller.deleteSubjectAsync(subject.getId())
+        	        .thenRunAsync(() -> showInfoAlert("Subject Deleted", "The subject was successfully deleted."),
+        	                      AsyncExecutor.fxThread())
+        	        .exceptionally(error -> {
+        	            Throwable cause = AsyncExecutor.unwrap(error);
+        	            cause.printStackTrace();
+        	            AsyncExecutor.fxThread().execute(
+        	                () -> showErrorAlert("Error", "Failed to delete subject: " + cause.getMessage()));
+        	            return null;
         	        });
-        	        
-        	        // Show success message
-        	        showInfoAlert("Subject Deleted", "The subject was successfully deleted.");
-        	    } catch (Exception ex) {
-        	        ex.printStackTrace();
-        	        showErrorAlert("Error", "Failed to delete subject: " + ex.getMessage());
-        	    }
         	}
 
         });
@@ -880,12 +1089,10 @@ public class SemesterView {
         headerLine.setFill(Color.rgb(230, 230, 240));
         grid.add(headerLine, 0, 1, 4, 1);
         
-        // Make sure we have the freshest data - unchanged
+        // Use the subjects already loaded for the dashboard
         try {
-            controller.refreshSemester();
-            List<Subject> subjects = semester.getSubjects();
+            List<Subject> subjects = new ArrayList<>(loadedSubjects.values());
             
-            System.out.println("Transcript: Refreshed semester data");
             System.out.println("Transcript: Number of subjects: " + subjects.size());
             
             if (subjects.isEmpty()) {
@@ -901,12 +1108,6 @@ public class SemesterView {
                 for (int i = 0; i < subjects.size(); i++) {
                     Subject subject = subjects.get(i);
                     
-                    // Make sure we have fresh data - unchanged
-                    Subject refreshedSubject = controller.refreshSubjectData(subject.getId());
-                    if (refreshedSubject != null) {
-                        subject = refreshedSubject;
-                    }
-                    
                     // Force recalculation of values - unchanged
                     double percentage = subject.calculateOverallPercentage();
                     String letterGrade = subject.calculateLetterGrade();
@@ -1028,31 +1229,10 @@ public class SemesterView {
         titleLabel.setTextFill(PRIMARY_COLOR);
         
         try {
-            // Ensure we have fresh data - unchanged
-            controller.refreshSemester();
-            semester = controller.getSemester();
-            
-            List<Subject> subjects = semester.getSubjects();
+            // Use the subjects already loaded for the dashboard
+            List<Subject> subjects = new ArrayList<>(loadedSubjects.values());
             System.out.println("Performance: Found " + subjects.size() + " subjects");
             
-            // For each subject, refresh data and recalculate - unchanged
-            for (int i = 0; i < subjects.size(); i++) {
-                Subject refreshedSubject = controller.refreshSubjectData(subjects.get(i).getId());
-                if (refreshedSubject != null) {
-                    subjects.set(i, refreshedSubject);
-                    
-                    // Force recalculation
-                    double percentage = refreshedSubject.calculateOverallPercentage();
-                    String letterGrade = refreshedSubject.calculateLetterGrade();
-                    double gpa = refreshedSubject.calculateGPA();
-                    
-                    System.out.println("Performance: Subject " + refreshedSubject.getName() + 
-                                      " - Percentage: " + percentage + 
-                                      ", Grade: " + letterGrade + 
-                                      ", GPA: " + gpa);
-                }
-            }
-            
             if (subjects.size() < 2) {
                 // Styled empty state
                 StackPane emptyPane = new StackPane();
@@ -1100,34 +1280,25 @@ public class SemesterView {
                 percentageContent.setPadding(new Insets(15));
                 percentageContent.setPrefSize(screenWidth - 150, screenHeight - 300); // Maximize size
                 
-                // Create bar chart for percentages
-                javafx.scene.chart.CategoryAxis xAxis = new javafx.scene.chart.CategoryAxis();
-                javafx.scene.chart.NumberAxis yAxis = new javafx.scene.chart.NumberAxis(0, 100, 10);
-                xAxis.setLabel("Subject");
-                yAxis.setLabel("Percentage");
-                
-                javafx.scene.chart.BarChart<String, Number> percentageChart = 
-                    new javafx.scene.chart.BarChart<>(xAxis, yAxis);
+                // Create bar chart for percentages, drawn in a single pass
+                CanvasChart percentageChart = new CanvasChart(CanvasChart.Type.BAR);
                 percentageChart.setTitle("Overall Percentage Comparison");
+                percentageChart.setAxisLabels("Subject", "Percentage");
+                percentageChart.setRange(0, 100, 10);
                 percentageChart.setPrefSize(screenWidth - 200, screenHeight - 350); // Maximize chart size
                 
-                // Create a series for the data
-                javafx.scene.chart.XYChart.Series<String, Number> percentageSeries = 
-                    new javafx.scene.chart.XYChart.Series<>();
-                percentageSeries.setName("Overall Percentage");
+                String[] subjectNames = new String[subjects.size()];
+                double[] percentages = new double[subjects.size()];
+                double[] gpas = new double[subjects.size()];
                 
-                for (Subject subject : subjects) {
-                    percentageSeries.getData().add(
-                        new javafx.scene.chart.XYChart.Data<>(
-                            subject.getName(), 
-                            subject.calculateOverallPercentage()
-                        )
-                    );
+                for (int i = 0; i < subjects.size(); i++) {
+                    Subject subject = subjects.get(i);
+                    subjectNames[i] = subject.getName();
+                    percentages[i] = subject.calculateOverallPercentage();
+                    gpas[i] = subject.calculateGPA();
                 }
                 
-                percentageChart.getData().add(percentageSeries);
-                percentageChart.setAnimated(false);
-                percentageChart.setLegendVisible(false);
+                percentageChart.setData(subjectNames, percentages);
                 
                 percentageContent.getChildren().add(percentageChart);
                 percentageTab.setContent(percentageContent);
@@ -1139,33 +1310,12 @@ public class SemesterView {
                 gpaContent.setPrefSize(screenWidth - 150, screenHeight - 300); // Maximize size
                 
                 // Create bar chart for GPAs
-                javafx.scene.chart.CategoryAxis gpaXAxis = new javafx.scene.chart.CategoryAxis();
-                javafx.scene.chart.NumberAxis gpaYAxis = new javafx.scene.chart.NumberAxis(0, 4, 0.5);
-                gpaXAxis.setLabel("Subject");
-                gpaYAxis.setLabel("GPA");
-                
-                javafx.scene.chart.BarChart<String, Number> gpaChart = 
-                    new javafx.scene.chart.BarChart<>(gpaXAxis, gpaYAxis);
+                CanvasChart gpaChart = new CanvasChart(CanvasChart.Type.BAR);
                 gpaChart.setTitle("GPA Comparison");
+                gpaChart.setAxisLabels("Subject", "GPA");
+                gpaChart.setRange(0, 4, 0.5);
                 gpaChart.setPrefSize(screenWidth - 200, screenHeight - 350); // Maximize chart size
-                
-                // Create a series for the data
-                javafx.scene.chart.XYChart.Series<String, Number> gpaSeries = 
-                    new javafx.scene.chart.XYChart.Series<>();
-                gpaSeries.setName("GPA");
-                
-                for (Subject subject : subjects) {
-                    gpaSeries.getData().add(
-                        new javafx.scene.chart.XYChart.Data<>(
-                            subject.getName(), 
-                            subject.calculateGPA()
-                        )
-                    );
-                }
-                
-                gpaChart.getData().add(gpaSeries);
-                gpaChart.setAnimated(false);
-                gpaChart.setLegendVisible(false);
+                gpaChart.setData(subjectNames, gpas);
                 
                 gpaContent.getChildren().add(gpaChart);
                 gpaTab.setContent(gpaContent);
@@ -1553,41 +1703,27 @@ public class SemesterView {
                 assessmentConfig.put("final_exam", new Object[] {finalExamWeight});
                 assessmentConfig.put("final_project", new Object[] {finalProjectWeight});
                 
-                // Create subject
-                Subject newSubject = controller.createSubject(name, assessmentConfig);
-                
-                if (newSubject != null) {
-                    System.out.println("Subject created successfully: " + newSubject.getName() + ", ID: " + newSubject.getId());
-                    
-                    // Close the dialog
-                    dialog.close();
-                    
-                    // Show a success message
-                    showInfoAlert("Subject Added", "Subject \"" + name + "\" added successfully!");
-                    
-                    // IMPORTANT: Update the dashboard immediately with the new subject
-                    Platform.runLater(() -> {
-                        try {
-                            // Direct update of the dashboard tab
-                            updateDashboardTab();
+                // Create subject in the background; the dialog stays open until it is saved
+                addButton.setDisable(true);
+                controller.createSubjectAsync(name, assessmentConfig)
+                    .whenCompleteAsync((newSubject, error) -> {
+                        addButton.setDisable(false);
+                        
+                        if (error != null) {
+                            showErrorAlert("Error", AsyncExecutor.unwrap(error).getMessage());
+                        } else if (newSubject != null) {
+                            System.out.println("Subject created successfully: " + newSubject.getName() + ", ID: " + newSubject.getId());
                             
-                            // Also update the transcript tab since it should show the new subject
-                            Tab transcriptTab = tabPane.getTabs().get(1);
-                            transcriptTab.setContent(createTranscriptContent());
+                            // Close the dialog
+                            dialog.close();
                             
-                            // Update performance tab if there are now at least 2 subjects
-                            if (semester.getSubjects().size() >= 2) {
-                                Tab performanceTab = tabPane.getTabs().get(2);
-                                performanceTab.setContent(createPerformanceContent());
-                            }
-                        } catch (Exception ex) {
-                            System.err.println("Error updating UI after adding subject: " + ex.getMessage());
-                            ex.printStackTrace();
+                            // Show a success message; the new card is added
+                            // by the SubjectAddedEvent handler
+                            showInfoAlert("Subject Added", "Subject \"" + name + "\" added successfully!");
+                        } else {
+                            showErrorAlert("Error", "Failed to create subject. Please try again.");
                         }
-                    });
-                } else {
-                    showErrorAlert("Error", "Failed to create subject. Please try again.");
-                }
+                    }, AsyncExecutor.fxThread());
             } catch (NumberFormatException ex) {
                 showErrorAlert("Invalid Input", "Please enter valid numbers for weights");
             } catch (Exception ex) {
@@ -1798,7 +1934,8 @@ public class SemesterView {
                 }
                 
                 // Update assessment type weights - unchanged
-                boolean anyChange = false;
+                List<application.models.AssessmentType> changedTypes = new ArrayList<>();
+                Map<Integer, Double> previousWeights = new HashMap<>();
                 
                 for (String type : assessmentTypes) {
                     TextField field = weightFields.get(type);
@@ -1808,11 +1945,9 @@ public class SemesterView {
                     
                     if (assessmentType != null) {
                         if (assessmentType.getWeight() != weight) {
+                            previousWeights.put(assessmentType.getId(), assessmentType.getWeight());
                             assessmentType.setWeight(weight);
-                            
-                            // Update in database
-                            controller.updateAssessmentType(assessmentType);
-                            anyChange = true;
+                            changedTypes.add(assessmentType);
                         }
                     } else if (weight > 0) {
                         // We can't create new assessment types here because we need their count
@@ -1827,28 +1962,18 @@ public class SemesterView {
 //                    // Refresh view
 //                    initialize();
 //                }
-                if (anyChange) {
-                    // Refresh semester data and update the local semester reference
-                    controller.refreshSemester();
-                    semester = controller.getSemester();
-                    
-                    // Update the UI components on the JavaFX Application Thread
-                    Platform.runLater(() -> {
-                        // Update the dashboard tab
-                        updateDashboardTab();
-                        
-                        // Refresh the transcript tab content
-                        Tab transcriptTab = tabPane.getTabs().get(1);
-                        transcriptTab.setContent(createTranscriptContent());
-                        
-                        // Update the performance tab if there are at least 2 subjects
-                        if (semester.getSubjects().size() >= 2) {
-                            Tab performanceTab = tabPane.getTabs().get(2);
-                            performanceTab.setContent(createPerformanceContent());
-                        }
-                    });
+                // Update the database in the background; each changed weight is posted
+                // as an AssessmentTypeReweightedEvent, which rebuilds only this subject's card
+                if (!changedTypes.isEmpty()) {
+                    controller.updateAssessmentTypesAsync(changedTypes, previousWeights)
+                        .exceptionally(error -> {
+                            Throwable cause = AsyncExecutor.unwrap(error);
+                            cause.printStackTrace();
+                            AsyncExecutor.fxThread().execute(
+                                () -> showErrorAlert("Error", "Failed to update weights: " + cause.getMessage()));
+                            return null;
+                        });
                 }
-
                 
                 dialog.close();
             } catch (NumberFormatException ex) {
@@ -1861,16 +1986,165 @@ public class SemesterView {
         dialog.showAndWait();
     }
     
+    /**
+     * Show a subject's place in the user's prerequisite graph
+     * The graph is loaded (or taken from the cache) in the background first
+     * 
+     * @param subject The subject
+     */
+    private void showPrerequisitesDialog(Subject subject) {
+        controller.getPrerequisiteGraphAsync(subject.getId())
+            .thenAcceptAsync(graph -> showPrerequisitesDialog(subject, graph), AsyncExecutor.fxThread())
+            .exceptionally(error -> {
+                Throwable cause = AsyncExecutor.unwrap(error);
+                cause.printStackTrace();
+                AsyncExecutor.fxThread().execute(
+                    () -> showErrorAlert("Error", "Failed to load prerequisites: " + cause.getMessage()));
+                return null;
+            });
+    }
+    
+    /**
+     * Show a subject's prerequisites, the future subjects its grade affects and
+     * its earliest possible semester, and let the user add or remove prerequisites
+     * 
+     * @param subject The subject
+     * @param graph The user's prerequisite graph
+     */
+    private void showPrerequisitesDialog(Subject subject, PrerequisiteGraph graph) {
+        int subjectId = subject.getId();
+        
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.setTitle("Prerequisites - " + subject.getName());
+        dialog.setMinWidth(600);
+        
+        VBox dialogVBox = new VBox(20);
+        dialogVBox.setPadding(new Insets(30));
+        dialogVBox.setStyle("-fx-background-color: #f8f8ff;");
+        
+        Label titleLabel = new Label("Prerequisites of " + subject.getName());
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
+        titleLabel.setTextFill(PRIMARY_COLOR);
+        
+        // Direct prerequisites, each with a button to remove it
+        VBox prerequisitesBox = new VBox(8);
+        List<Subject> prerequisites = graph.getPrerequisites(subjectId);
+        if (prerequisites.isEmpty()) {
+            Label noneLabel = new Label("This subject has no prerequisites.");
+            noneLabel.setStyle("-fx-font-style: italic;");
+            prerequisitesBox.getChildren().add(noneLabel);
+        }
+        for (Subject prerequisite : prerequisites) {
+            Label nameLabel = new Label(prerequisite.getName());
+            nameLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+            
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            
+            Button removeButton = createStyledButton("Remove", SECONDARY_COLOR);
+            removeButton.setTextFill(Color.WHITE);
+            removeButton.setOnAction(e -> controller.removePrerequisiteAsync(subjectId, prerequisite.getId())
+                .thenRunAsync(dialog::close, AsyncExecutor.fxThread())
+                .exceptionally(error -> {
+                    Throwable cause = AsyncExecutor.unwrap(error);
+                    AsyncExecutor.fxThread().execute(
+                        () -> showErrorAlert("Error", "Failed to remove prerequisite: " + cause.getMessage()));
+                    return null;
+                }));
+            
+            HBox row = new HBox(10, nameLabel, spacer, removeButton);
+            row.setAlignment(Pos.CENTER_LEFT);
+            prerequisitesBox.getChildren().add(row);
+        }
+        
+        // Future subjects whose plan depends on this subject's grade
+        List<String> affectedNames = new ArrayList<>();
+        for (Subject affected : graph.findAffectedSubjects(subjectId)) {
+            affectedNames.add(affected.getName());
+        }
+        Label affectedLabel = new Label(affectedNames.isEmpty()
+            ? "No later subject depends on this one."
+            : "A grade here affects: " + String.join(", ", affectedNames));
+        affectedLabel.setWrapText(true);
+        affectedLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+        
+        Integer earliest = graph.getEarliestSemesters().get(subjectId);
+        Label earliestLabel = new Label("Earliest possible semester: " + (earliest != null ? earliest + 1 : 1));
+        earliestLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+        if (graph.findSchedulingConflicts().contains(graph.getSubject(subjectId))) {
+            earliestLabel.setText(earliestLabel.getText() + " (planned before its prerequisites allow)");
+            earliestLabel.setTextFill(SECONDARY_COLOR);
+        }
+        
+        // Any other subject of the user that would not create a cycle
+        ComboBox<Subject> candidateBox = new ComboBox<>();
+        candidateBox.setPromptText("Choose a subject");
+        candidateBox.setPrefWidth(300);
+        candidateBox.setConverter(new StringConverter<Subject>() {
+            @Override
+            public String toString(Subject candidate) {
+                return candidate != null ? candidate.getName() : "";
+            }
+            
+            @Override
+            public Subject fromString(String text) {
+                return null;
+            }
+        });
+        for (int candidateId : graph.getTopologicalOrder()) {
+            Subject candidate = graph.getSubject(candidateId);
+            if (!prerequisites.contains(candidate) && !graph.wouldCreateCycle(candidateId, subjectId)) {
+                candidateBox.getItems().add(candidate);
+            }
+        }
+        
+        Button addButton = createStyledButton("Add Prerequisite", ACCENT_COLOR);
+        addButton.setTextFill(Color.WHITE);
+        addButtonShadow(addButton);
+        addButton.setOnAction(e -> {
+            Subject selected = candidateBox.getValue();
+            if (selected == null) {
+                return;
+            }
+            
+            controller.addPrerequisiteAsync(subjectId, selected.getId())
+                .thenRunAsync(dialog::close, AsyncExecutor.fxThread())
+                .exceptionally(error -> {
+                    Throwable cause = AsyncExecutor.unwrap(error);
+                    AsyncExecutor.fxThread().execute(
+                        () -> showErrorAlert("Error", "Failed to add prerequisite: " + cause.getMessage()));
+                    return null;
+                });
+        });
+        
+        HBox addBox = new HBox(15, candidateBox, addButton);
+        addBox.setAlignment(Pos.CENTER_LEFT);
+        
+        Button closeButton = createStyledButton("Close", LIGHT_GRAY);
+        closeButton.setTextFill(PRIMARY_COLOR);
+        closeButton.setPrefWidth(150);
+        closeButton.setOnAction(e -> dialog.close());
+        
+        HBox buttonBox = new HBox(closeButton);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
+        
+        dialogVBox.getChildren().addAll(titleLabel, prerequisitesBox, new Separator(), affectedLabel,
+                                        earliestLabel, addBox, buttonBox);
+        dialog.setScene(new javafx.scene.Scene(dialogVBox));
+        dialog.show();
+    }
+    
     /**
      * Show dialog to input grades for a subject
-     * Fixed to clearly show different assessment types with mark as completed checkboxes
+     * Grades are edited inline in a virtualized grid and saved together as one batch
      * 
      * @param subject The subject to input grades for
      */
     private void showInputGradesDialog(Subject subject) {
         try {
-            // First, refresh the subject data to ensure we have all assessment types and assessments
-            subject = controller.refreshSubjectData(subject.getId());
+            // Use the latest loaded copy, which carries all assessment types and assessments
+            subject = loadedSubjects.getOrDefault(subject.getId(), subject);
             
             if (subject == null) {
                 showErrorAlert("Error", "Failed to load subject data.");
@@ -1920,173 +2194,30 @@ public class SemesterView {
             titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
             titleLabel.setTextFill(PRIMARY_COLOR);
             
-            // Create a tabbed pane to separate different assessment types
-            TabPane assessmentTypeTabs = new TabPane();
-            assessmentTypeTabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
-            assessmentTypeTabs.setStyle(
-                "-fx-background-color: transparent; " +
-                "-fx-tab-min-width: 150px; " +
-                "-fx-tab-min-height: 40px;"
-            );
+            // Editable grid of all weighted assessments; only visible rows are built
+            GradeTable gradeTable = new GradeTable(subject);
+            gradeTable.setStyle("-fx-font-size: 14px;");
             
-            // Map to store references to UI controls - unchanged
-            Map<Integer, TextField> scoreFields = new HashMap<>();
-            Map<Integer, CheckBox> finalCheckboxes = new HashMap<>();
-            
-            boolean hasAnyAssessments = false;
-            
-            // Create tabs for each assessment type
-            for (Map.Entry<String, AssessmentType> entry : subject.getAssessmentTypes().entrySet()) {
-                AssessmentType assessmentType = entry.getValue();
-                String typeName = entry.getKey();
-                
-                // Skip if weight is 0
-                if (assessmentType.getWeight() <= 0) {
-                    System.out.println("Skipping type with zero weight: " + typeName);
-                    continue;
-                }
-                
-                List<Assessment> assessments = assessmentType.getAssessments();
-                
-                if (assessments == null || assessments.isEmpty()) {
-                    System.out.println("No assessments found for type: " + typeName);
-                    continue;
-                }
-                
-                hasAnyAssessments = true;
-                
-                // Create tab for this assessment type
-                Tab typeTab = new Tab(assessmentType.getDisplayName() + " (" + assessmentType.getWeight() + "%)");
-                typeTab.setStyle("-fx-font-size: 16px;");
-                
-                // Create styled container for assessment grid
-                StackPane typeContainer = new StackPane();
-                typeContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10;");
-                typeContainer.setPadding(new Insets(5));
-                
-                // Add shadow
-                DropShadow containerShadow = new DropShadow();
-                containerShadow.setRadius(8);
-                containerShadow.setColor(Color.rgb(0, 0, 0, 0.15));
-                containerShadow.setOffsetY(3);
-                typeContainer.setEffect(containerShadow);
-                
-                // Create grid for assessments of this type
-                GridPane assessmentGrid = new GridPane();
-                assessmentGrid.setHgap(25);
-                assessmentGrid.setVgap(20);
-                assessmentGrid.setPadding(new Insets(25));
-                
-                // Headers with styling
-                Label assessmentNumberLabel = new Label("Assessment");
-                assessmentNumberLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-                assessmentNumberLabel.setTextFill(PRIMARY_COLOR);
-                
-                Label scoreLabel = new Label("Score (%)");
-                scoreLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-                scoreLabel.setTextFill(PRIMARY_COLOR);
-                
-                Label finalizedLabel = new Label("Mark as Final");
-                finalizedLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-                finalizedLabel.setTextFill(PRIMARY_COLOR);
-                
-                assessmentGrid.add(assessmentNumberLabel, 0, 0);
-                assessmentGrid.add(scoreLabel, 1, 0);
-                assessmentGrid.add(finalizedLabel, 2, 0);
-                
-                // Set column constraints for better layout
-                assessmentGrid.getColumnConstraints().add(new javafx.scene.layout.ColumnConstraints(250)); // Assessment column
-                assessmentGrid.getColumnConstraints().add(new javafx.scene.layout.ColumnConstraints(150)); // Score column
-                assessmentGrid.getColumnConstraints().add(new javafx.scene.layout.ColumnConstraints(150)); // Mark as Final column
-                
-                // Add header separator
-                Rectangle headerLine = new Rectangle(700, 2);
-                headerLine.setFill(Color.rgb(230, 230, 240));
-                assessmentGrid.add(headerLine, 0, 1, 3, 1);
-                
-                // Sort assessments by number
-                List<Assessment> sortedAssessments = new ArrayList<>(assessments);
-                sortedAssessments.sort((a1, a2) -> Integer.compare(a1.getNumber(), a2.getNumber()));
-                
-                int rowIndex = 2;
-                for (Assessment assessment : sortedAssessments) {
-                    // Assessment name
-                    String displayName = assessment.getDisplayName(assessmentType.getType());
-                    Label nameLabel = new Label(displayName);
-                    nameLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                    
-                    // Score input - show current score if available
-                    TextField scoreField = new TextField(String.format("%.1f", assessment.getScore()));
-                    scoreField.setPrefWidth(120);
-                    scoreField.setPrefHeight(40);
-                    styleTextField(scoreField);
-                    
-                    // Store reference to the field
-                    scoreFields.put(assessment.getId(), scoreField);
-                    
-                    // Finalized checkbox - set to current value
-                    CheckBox finalizedCheckbox = new CheckBox("Completed");
-                    finalizedCheckbox.setSelected(assessment.isFinal());
-                    finalizedCheckbox.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
-                    
-                    // Store reference to the checkbox
-                    finalCheckboxes.put(assessment.getId(), finalizedCheckbox);
-                    
-                    // Add to grid with alternating row colors
-                    if (rowIndex % 2 == 0) {
-                        Rectangle rowBg = new Rectangle(700, 50);
-                        rowBg.setFill(Color.rgb(248, 248, 255, 0.5));
-                        rowBg.setArcWidth(5);
-                        rowBg.setArcHeight(5);
-                        assessmentGrid.add(rowBg, 0, rowIndex, 3, 1);
-                    }
-                    
-                    assessmentGrid.add(nameLabel, 0, rowIndex);
-                    assessmentGrid.add(scoreField, 1, rowIndex);
-                    assessmentGrid.add(finalizedCheckbox, 2, rowIndex);
-                    
-                    rowIndex++;
-                }
-                
-                typeContainer.getChildren().add(assessmentGrid);
-                typeTab.setContent(typeContainer);
-                assessmentTypeTabs.getTabs().add(typeTab);
-            }
-            
-            // Create styled container for the tabs
-            StackPane tabsContainer = new StackPane();
-            tabsContainer.setStyle("-fx-background-color: transparent;");
+            // Create styled container for the grid
+            StackPane tabsContainer = new StackPane(gradeTable);
+            tabsContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10;");
+            tabsContainer.setPadding(new Insets(5));
             tabsContainer.setPrefHeight(400);
+            VBox.setVgrow(tabsContainer, Priority.ALWAYS);
             
-            // Check if we have any assessments
-            if (!hasAnyAssessments) {
-                // Show message when no assessments
-                StackPane emptyContainer = new StackPane();
-                emptyContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10;");
-                emptyContainer.setPadding(new Insets(40));
-                
-                Label noAssessmentsLabel = new Label("No assessments found with weight > 0. Please check subject configuration.");
-                noAssessmentsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-                noAssessmentsLabel.setTextFill(Color.rgb(100, 100, 120));
-                
-                emptyContainer.getChildren().add(noAssessmentsLabel);
-                
-                // Add shadow to empty container
-                DropShadow emptyContainerShadow = new DropShadow();
-                emptyContainerShadow.setRadius(8);
-                emptyContainerShadow.setColor(Color.rgb(0, 0, 0, 0.15));
-                emptyContainerShadow.setOffsetY(3);
-                emptyContainer.setEffect(emptyContainerShadow);
-                
-                tabsContainer.getChildren().add(emptyContainer);
-            } else {
-                tabsContainer.getChildren().add(assessmentTypeTabs);
-            }
+            // Add shadow
+            DropShadow containerShadow = new DropShadow();
+            containerShadow.setRadius(8);
+            containerShadow.setColor(Color.rgb(0, 0, 0, 0.15));
+            containerShadow.setOffsetY(3);
+            tabsContainer.setEffect(containerShadow);
+            
+            Label hintLabel = new Label("Type a score to edit it, Enter or Tab to move to the next row, "
+                                        + "Space to mark completed. Paste (Ctrl+V) a column of scores from a spreadsheet.");
+            hintLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 13));
+            hintLabel.setTextFill(Color.rgb(100, 100, 120));
+            hintLabel.setWrapText(true);
             
-            // Calculate current values - unchanged
-            double percentage = subject.calculateOverallPercentage();
-            String letterGrade = subject.calculateLetterGrade();
-            double gpa = subject.calculateGPA();
             
             // Create styled summary panel
             StackPane summaryPane = new StackPane();
@@ -2102,36 +2233,43 @@ public class SemesterView {
             StackPane gradeCircle = new StackPane();
             Circle circle = new Circle(30);
             
-            // Color based on grade
-            Color circleColor;
-            if (gpa >= 3.7) {
-                circleColor = ACCENT_COLOR;
-            } else if (gpa >= 3.0) {
-                circleColor = Color.rgb(66, 133, 244);
-            } else if (gpa >= 2.0) {
-                circleColor = Color.rgb(251, 188, 5);
-            } else {
-                circleColor = SECONDARY_COLOR;
-            }
-            
-            circle.setFill(circleColor);
-            
             // Grade letter inside circle
-            Label letterLabel = new Label(letterGrade);
+            Label letterLabel = new Label();
             letterLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
             letterLabel.setTextFill(Color.WHITE);
             
             gradeCircle.getChildren().addAll(circle, letterLabel);
             
             // Current overall label
-            Label currentOverallLabel = new Label(String.format(
-                "Current Overall: %.1f%% | GPA: %.2f",
-                percentage,
-                gpa
-            ));
+            Label currentOverallLabel = new Label();
             currentOverallLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
             currentOverallLabel.setTextFill(PRIMARY_COLOR);
             
+            // The summary follows the edited scores while typing
+            Runnable updateSummary = () -> {
+                double percentage = gradeTable.getPercentage();
+                String letterGrade = Subject.letterGradeFor(percentage);
+                double gpa = Subject.gpaFor(letterGrade);
+                
+                // Color based on grade
+                Color circleColor;
+                if (gpa >= 3.7) {
+                    circleColor = ACCENT_COLOR;
+                } else if (gpa >= 3.0) {
+                    circleColor = Color.rgb(66, 133, 244);
+                } else if (gpa >= 2.0) {
+                    circleColor = Color.rgb(251, 188, 5);
+                } else {
+                    circleColor = SECONDARY_COLOR;
+                }
+                
+                circle.setFill(circleColor);
+                letterLabel.setText(letterGrade);
+                currentOverallLabel.setText(String.format("Current Overall: %.1f%% | GPA: %.2f", percentage, gpa));
+            };
+            updateSummary.run();
+            gradeTable.percentageProperty().addListener((obs, oldPercentage, newPercentage) -> updateSummary.run());
+            
             HBox summaryBox = new HBox(20);
             summaryBox.setAlignment(Pos.CENTER);
             summaryBox.getChildren().addAll(gradeCircle, currentOverallLabel);
@@ -2162,13 +2300,13 @@ public class SemesterView {
             buttonBox.getChildren().addAll(cancelButton, saveButton);
             
             // Add all components to dialog
-            dialogVBox.getChildren().addAll(titleLabel, tabsContainer, summaryPane, buttonBox);
+            dialogVBox.getChildren().addAll(titleLabel, hintLabel, tabsContainer, summaryPane, buttonBox);
             
             dialog.setScene(new javafx.scene.Scene(dialogVBox));
             
-            // Create grade input handler - unchanged
+            // Create grade input handler
             application.utils.GradeInputHandler gradeHandler = 
-                new application.utils.GradeInputHandler(subject, controller, scoreFields, finalCheckboxes, dialog);
+                new application.utils.GradeInputHandler(subject, controller, gradeTable, dialog);
             
             // Set up event handlers - unchanged
             cancelButton.setOnAction(e -> dialog.close());
@@ -2184,25 +2322,8 @@ public class SemesterView {
 //                    }
 //                }
 //            });
-            saveButton.setOnAction(e -> {
-                if (gradeHandler.saveGrades()) {
-                    // Successfully saved, now update specific UI components on the JavaFX Application Thread
-                    Platform.runLater(() -> {
-                        // Update the dashboard tab
-                        updateDashboardTab();
-                        
-                        // Update the transcript tab content
-                        Tab transcriptTab = tabPane.getTabs().get(1);
-                        transcriptTab.setContent(createTranscriptContent());
-                        
-                        // Update the performance tab (if there are at least 2 subjects)
-                        if (semester.getSubjects().size() >= 2) {
-                            Tab performanceTab = tabPane.getTabs().get(2);
-                            performanceTab.setContent(createPerformanceContent());
-                        }
-                    });
-                }
-            });
+            // Saved grades are posted as one GradeBatchChangedEvent, which updates the affected card
+            saveButton.setOnAction(e -> gradeHandler.saveGrades());
 
             
             dialog.showAndWait();
@@ -2395,6 +2516,16 @@ public class SemesterView {
         alert.showAndWait();
     }
     
+    /**
+     * Stop receiving change events once the navigator drops this view
+     */
+    @Override
+    public void dispose() {
+        if (eventSubscriptions != null) {
+            eventSubscriptions.close();
+        }
+    }
+    
     /**
      * Get the main layout of this view
      * Unchanged
@@ -1,6 +1,7 @@
 module NEUGradeCalculator {
 	requires javafx.controls;
 	requires java.sql;
+	requires jdk.httpserver;
 	
 	opens application to javafx.graphics, javafx.fxml;
 }